@@ -0,0 +1,230 @@
+package capston2024.bustracker.benchmark;
+
+import capston2024.bustracker.config.RealtimeLogSampler;
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.domain.Bus;
+import capston2024.bustracker.domain.Route;
+import capston2024.bustracker.domain.Station;
+import capston2024.bustracker.repository.BusRepository;
+import capston2024.bustracker.repository.RouteRepository;
+import capston2024.bustracker.repository.StationRepository;
+import capston2024.bustracker.service.BusMotionTracker;
+import capston2024.bustracker.service.BusService;
+import capston2024.bustracker.service.PassengerLocationPolicy;
+import capston2024.bustracker.service.PassengerStateStore;
+import capston2024.bustracker.service.StationGeofenceIndex;
+import capston2024.bustracker.service.cluster.ClusterEventBus;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.InProcessClusterEventBus;
+import capston2024.bustracker.service.cluster.LocalLeaderElection;
+import capston2024.bustracker.service.cluster.LocalOrganizationOwnership;
+import capston2024.bustracker.service.cluster.OrganizationOwnership;
+import com.mongodb.DBRef;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * 벤치마크용 합성 데이터와 스텁
+ * - Mongo 없이 서비스 코드를 그대로 실행하기 위해 리포지토리/MongoOperations 를 동적 프록시로 대체
+ * - 좌표는 서울 도심 부근, 시드 고정으로 실행마다 동일한 데이터 생성
+ */
+public final class BenchmarkFixtures {
+
+    public static final String ORGANIZATION_ID = "BENCH_ORG";
+    public static final double BASE_LATITUDE = 37.5665;
+    public static final double BASE_LONGITUDE = 126.9780;
+    public static final int STATIONS_PER_ROUTE = 30;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 인터페이스 스텁 생성
+     * handlers 에 없는 메서드는 반환 타입 기본값 (Optional.empty, 빈 List, 0, false, null)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = handlers.get(method.getName());
+            if (handler != null) {
+                return handler.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + "Stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+    }
+
+    private static Object defaultValue(Class<?> returnType) {
+        if (returnType == Optional.class) return Optional.empty();
+        if (returnType == List.class || returnType == Collection.class || returnType == Iterable.class) return List.of();
+        if (returnType == boolean.class) return false;
+        if (returnType == int.class) return 0;
+        if (returnType == long.class) return 0L;
+        if (returnType == double.class) return 0.0;
+        return null;
+    }
+
+    public static RealtimeMetrics metrics() {
+        return new RealtimeMetrics(new SimpleMeterRegistry());
+    }
+
+    public static RealtimeLogSampler logSampler() {
+        return new RealtimeLogSampler("sampled", 60_000);
+    }
+
+    /**
+     * 단일 노드 구성 (모든 조직을 이 노드가 소유)
+     */
+    public static ClusterEventBus clusterEventBus() {
+        return new InProcessClusterEventBus("benchmark");
+    }
+
+    public static OrganizationOwnership ownership() {
+        return new LocalOrganizationOwnership();
+    }
+
+    public static ClusterJobScheduler jobScheduler() {
+        return new ClusterJobScheduler(new LocalLeaderElection(), metrics());
+    }
+
+    public static BusMotionTracker busMotionTracker() {
+        return new BusMotionTracker(jobScheduler(), metrics(), 8, 0.5);
+    }
+
+    public static PassengerLocationPolicy locationPolicy() {
+        return new PassengerLocationPolicy(30_000, 2_000, 10_000, 500);
+    }
+
+    /**
+     * 스냅샷 저장/복원 없이 메모리만 사용하는 승객 상태 저장소
+     */
+    public static PassengerStateStore passengerStateStore() {
+        return new PassengerStateStore(stub(MongoOperations.class, Map.of()), ownership(), jobScheduler(), metrics(),
+                30 * 60_000L, 100_000);
+    }
+
+    /**
+     * 노선 1개당 정류장 30개, 버스는 노선에 고르게 배치된 합성 운행 데이터
+     */
+    public static final class Fleet {
+        public final List<Bus> buses = new ArrayList<>();
+        public final Map<String, Bus> busesByNumber = new HashMap<>();
+        public final Map<String, Route> routesById = new HashMap<>();
+        public final Map<String, Station> stationsById = new HashMap<>();
+        // BusService 와 PassengerLocationService 가 공유하는 버스 운동 모델
+        public final BusMotionTracker motionTracker = busMotionTracker();
+
+        public Fleet(int busCount, int routeCount, long seed) {
+            Random random = new Random(seed);
+            for (int r = 0; r < routeCount; r++) {
+                List<Route.RouteStation> routeStations = new ArrayList<>();
+                double heading = random.nextDouble() * Math.PI * 2;
+                for (int s = 0; s < STATIONS_PER_ROUTE; s++) {
+                    String stationId = "station-" + r + "-" + s;
+                    // 정류장 간격 약 400m
+                    double lat = BASE_LATITUDE + Math.sin(heading) * 0.0036 * s;
+                    double lng = BASE_LONGITUDE + Math.cos(heading) * 0.0045 * s;
+                    stationsById.put(stationId, Station.builder()
+                            .id(stationId)
+                            .name("정류장 " + r + "-" + s)
+                            .location(new GeoJsonPoint(lng, lat))
+                            .organizationId(ORGANIZATION_ID)
+                            .build());
+                    routeStations.add(new Route.RouteStation(s, new DBRef("Station", stationId)));
+                }
+                String routeId = "route-" + r;
+                routesById.put(routeId, Route.builder()
+                        .id(routeId)
+                        .routeName("노선 " + r)
+                        .organizationId(ORGANIZATION_ID)
+                        .stations(routeStations)
+                        .build());
+            }
+
+            for (int b = 0; b < busCount; b++) {
+                String routeId = "route-" + (b % routeCount);
+                Route route = routesById.get(routeId);
+                int stationIdx = random.nextInt(STATIONS_PER_ROUTE - 1);
+                GeoJsonPoint stationLocation = stationsById
+                        .get(route.getStations().get(stationIdx).getStationId().getId().toString()).getLocation();
+                Bus bus = Bus.builder()
+                        .id("bus-id-" + b)
+                        .busNumber(String.valueOf(1000 + b))
+                        .busRealNumber("BENCH-" + b)
+                        .organizationId(ORGANIZATION_ID)
+                        .totalSeats(45)
+                        .occupiedSeats(random.nextInt(45))
+                        .location(new GeoJsonPoint(stationLocation.getX(), stationLocation.getY()))
+                        .routeId(new DBRef("routes", routeId))
+                        .timestamp(Instant.now())
+                        .prevStationIdx(stationIdx)
+                        .isOperate(true)
+                        .build();
+                bus.setAvailableSeats(bus.getTotalSeats() - bus.getOccupiedSeats());
+                buses.add(bus);
+                busesByNumber.put(bus.getBusNumber(), bus);
+            }
+        }
+
+        public BusRepository busRepository() {
+            return stub(BusRepository.class, Map.of(
+                    "findByBusNumberAndOrganizationId", args -> Optional.ofNullable(busesByNumber.get((String) args[0])),
+                    "findByOrganizationIdAndIsOperateTrue", args -> buses));
+        }
+
+        public RouteRepository routeRepository() {
+            return stub(RouteRepository.class, Map.of(
+                    "findById", args -> Optional.ofNullable(routesById.get((String) args[0]))));
+        }
+
+        public StationRepository stationRepository() {
+            return stub(StationRepository.class, Map.of(
+                    "findById", args -> Optional.ofNullable(stationsById.get((String) args[0])),
+                    "findAll", args -> new ArrayList<>(stationsById.values()),
+                    "findAllByOrganizationId", args -> new ArrayList<>(stationsById.values())));
+        }
+
+        public StationGeofenceIndex stationGeofenceIndex() {
+            return new StationGeofenceIndex(stationRepository(), 80, 300_000);
+        }
+
+        /**
+         * flushLocationUpdates 가 사용하는 findOne/updateFirst 만 동작하는 MongoOperations
+         * (쿼리의 busNumber 조건으로만 조회)
+         */
+        public MongoOperations mongoOperations() {
+            return stub(MongoOperations.class, Map.of(
+                    "findOne", args -> {
+                        Object busNumber = ((Query) args[0]).getQueryObject().get("busNumber");
+                        return busesByNumber.get((String) busNumber);
+                    },
+                    "updateFirst", args -> null));
+        }
+
+        /**
+         * Mongo 없이 동작하는 BusService (이벤트 발행은 버림)
+         */
+        public BusService busService() {
+            return new BusService(busRepository(), routeRepository(), stationRepository(), mongoOperations(),
+                    null, event -> { }, null, metrics(), logSampler(), clusterEventBus(), ownership(),
+                    jobScheduler(), motionTracker);
+        }
+    }
+}
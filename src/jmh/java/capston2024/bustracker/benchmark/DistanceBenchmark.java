@@ -0,0 +1,50 @@
+package capston2024.bustracker.benchmark;
+
+import capston2024.bustracker.domain.utils.GeoUtils;
+import capston2024.bustracker.service.BusService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거리 계산 벤치마크
+ * - BusService.calculateDistance (정류장 탐색, 운행 관리에서 사용)
+ * - GeoUtils.haversineMeters (PassengerLocationService 탑승/하차 감지에서 사용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DistanceBenchmark {
+
+    private static final int POINTS = 1024;
+
+    private final double[] latitudes = new double[POINTS];
+    private final double[] longitudes = new double[POINTS];
+    private BusService busService;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = BenchmarkFixtures.BASE_LATITUDE + (random.nextDouble() - 0.5) * 0.1;
+            longitudes[i] = BenchmarkFixtures.BASE_LONGITUDE + (random.nextDouble() - 0.5) * 0.1;
+        }
+        busService = new BenchmarkFixtures.Fleet(0, 1, 42).busService();
+    }
+
+    @Benchmark
+    public double busServiceCalculateDistance() {
+        int i = index++ & (POINTS - 1);
+        int j = (i + 1) & (POINTS - 1);
+        return busService.calculateDistance(latitudes[i], longitudes[i], latitudes[j], longitudes[j]);
+    }
+
+    @Benchmark
+    public double passengerHaversine() {
+        int i = index++ & (POINTS - 1);
+        int j = (i + 1) & (POINTS - 1);
+        return GeoUtils.haversineMeters(latitudes[i], longitudes[i], latitudes[j], longitudes[j]);
+    }
+}
@@ -0,0 +1,70 @@
+package capston2024.bustracker.benchmark;
+
+import capston2024.bustracker.config.dto.BusRealTimeLocationDTO;
+import capston2024.bustracker.config.dto.BusRealTimeStatusDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실시간 메시지 JSON 직렬화/역직렬화 벤치마크
+ * - 승객 브로드캐스트 메시지 (busUpdate + BusRealTimeStatusDTO)
+ * - 기사 앱 위치 프레임 (Map 파싱 / 레거시 DTO 파싱)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, Object> busUpdateMessage;
+    private String busUpdateJson;
+    private String locationFrameJson;
+    private String legacyLocationJson;
+
+    @Setup
+    public void setup() throws Exception {
+        BusRealTimeStatusDTO status = new BusRealTimeStatusDTO("bus-id-1", "1001", "BENCH-1", "노선 1",
+                BenchmarkFixtures.ORGANIZATION_ID, 37.5665, 126.9780, 45, 20, 25, "정류장 1-3",
+                System.currentTimeMillis(), 3, 30, true, false, "route-1", 8.0, 90.0);
+        busUpdateMessage = Map.of(
+                "type", "busUpdate",
+                "data", status,
+                "timestamp", System.currentTimeMillis());
+        busUpdateJson = objectMapper.writeValueAsString(busUpdateMessage);
+
+        locationFrameJson = objectMapper.writeValueAsString(Map.of(
+                "type", "location_update",
+                "busNumber", "1001",
+                "organizationId", BenchmarkFixtures.ORGANIZATION_ID,
+                "latitude", 37.5665,
+                "longitude", 126.9780,
+                "occupiedSeats", 20,
+                "timestamp", System.currentTimeMillis()));
+        legacyLocationJson = objectMapper.writeValueAsString(new BusRealTimeLocationDTO(
+                "1001", BenchmarkFixtures.ORGANIZATION_ID, 37.5665, 126.9780, 20, System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public String encodeBusUpdate() throws Exception {
+        return objectMapper.writeValueAsString(busUpdateMessage);
+    }
+
+    @Benchmark
+    public Map<?, ?> decodeBusUpdate() throws Exception {
+        return objectMapper.readValue(busUpdateJson, Map.class);
+    }
+
+    @Benchmark
+    public Map<?, ?> decodeLocationFrame() throws Exception {
+        return objectMapper.readValue(locationFrameJson, Map.class);
+    }
+
+    @Benchmark
+    public BusRealTimeLocationDTO decodeLegacyLocationFrame() throws Exception {
+        return objectMapper.readValue(legacyLocationJson, BusRealTimeLocationDTO.class);
+    }
+}
@@ -0,0 +1,69 @@
+package capston2024.bustracker.benchmark;
+
+import capston2024.bustracker.config.dto.BusRealTimeLocationDTO;
+import capston2024.bustracker.config.dto.PassengerLocationDTO;
+import capston2024.bustracker.domain.Bus;
+import capston2024.bustracker.repository.PassengerTripEventRepository;
+import capston2024.bustracker.service.BusService;
+import capston2024.bustracker.service.PassengerLocationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가장 가까운 정류장/버스 탐색 벤치마크
+ * - nearestStation: flushLocationUpdates 의 버스별 정류장 탐색 + 상태 변환 (운행 버스 전체 1틱)
+ * - nearestBus: 승객 위치 1건당 조직 내 전체 버스 거리 비교 (탑승 감지 경로)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NearestSearchBenchmark {
+
+    @Param({"50", "500"})
+    public int fleetSize;
+
+    private BenchmarkFixtures.Fleet fleet;
+    private BusService busService;
+    private PassengerLocationService passengerLocationService;
+    private long timestamp;
+
+    @Setup
+    public void setup() {
+        fleet = new BenchmarkFixtures.Fleet(fleetSize, Math.max(1, fleetSize / 10), 42);
+        busService = fleet.busService();
+        passengerLocationService = new PassengerLocationService(fleet.busRepository(), busService,
+                BenchmarkFixtures.stub(PassengerTripEventRepository.class, Map.of()), BenchmarkFixtures.metrics(),
+                BenchmarkFixtures.clusterEventBus(), BenchmarkFixtures.ownership(), BenchmarkFixtures.jobScheduler(),
+                BenchmarkFixtures.locationPolicy(), fleet.stationGeofenceIndex(), fleet.motionTracker,
+                event -> { }, BenchmarkFixtures.passengerStateStore());
+        timestamp = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public int nearestStationFlush() {
+        for (Bus bus : fleet.buses) {
+            busService.updateBusLocation(new BusRealTimeLocationDTO(bus.getBusNumber(), bus.getOrganizationId(),
+                    bus.getLocation().getY() + 0.0001, bus.getLocation().getX() + 0.0001,
+                    bus.getOccupiedSeats(), timestamp));
+        }
+        busService.flushLocationUpdates();
+        return busService.getPendingLocationUpdatesCount();
+    }
+
+    @Benchmark
+    public PassengerLocationService.DetectionResult nearestBus() {
+        // 노선에서 떨어진 위치(약 1km)의 승객 - 탑승 감지 없이 전체 버스 거리 비교
+        // (모든 버스가 근접 반경 밖이면 근접 격자 갱신 주기 동안은 버스 위치 조회 없이 종료)
+        PassengerLocationDTO location = new PassengerLocationDTO();
+        location.setUserId("bench-user");
+        location.setOrganizationId(BenchmarkFixtures.ORGANIZATION_ID);
+        location.setLatitude(BenchmarkFixtures.BASE_LATITUDE - 0.009);
+        location.setLongitude(BenchmarkFixtures.BASE_LONGITUDE - 0.009);
+        // 최소 업데이트 간격(1초) 검증을 통과하도록 타임스탬프 증가
+        timestamp += 2000;
+        location.setTimestamp(timestamp);
+        return passengerLocationService.processPassengerLocation(location);
+    }
+}
@@ -0,0 +1,75 @@
+package capston2024.bustracker.benchmark;
+
+import capston2024.bustracker.config.dto.NetworkInsightResponseDTO;
+import capston2024.bustracker.domain.Bus;
+import capston2024.bustracker.domain.PassengerTripEvent;
+import capston2024.bustracker.domain.Route;
+import capston2024.bustracker.repository.PassengerTripEventRepository;
+import capston2024.bustracker.service.StationInsightService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StationInsightService 네트워크 집계 벤치마크
+ * 조회 기간의 탑승/하차 이벤트 목록을 정류장별로 집계하는 비용 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StationInsightBenchmark {
+
+    @Param({"10000", "100000"})
+    public int eventCount;
+
+    private StationInsightService stationInsightService;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.Fleet fleet = new BenchmarkFixtures.Fleet(100, 10, 42);
+        List<PassengerTripEvent> events = syntheticEvents(fleet, eventCount, 42);
+
+        PassengerTripEventRepository eventRepository = BenchmarkFixtures.stub(PassengerTripEventRepository.class,
+                Map.of("findByTimestampBetween", args -> events));
+        stationInsightService = new StationInsightService(eventRepository, fleet.stationRepository(),
+                fleet.routeRepository(), fleet.busService(), null);
+    }
+
+    @Benchmark
+    public NetworkInsightResponseDTO analyzeNetwork() {
+        return stationInsightService.analyzeNetwork(7);
+    }
+
+    /**
+     * 최근 7일간 버스 정류장에서 발생한 탑승/하차 이벤트 (탑승 60%, 하차 40%)
+     */
+    static List<PassengerTripEvent> syntheticEvents(BenchmarkFixtures.Fleet fleet, int count, long seed) {
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+        long sevenDays = TimeUnit.DAYS.toMillis(7);
+        List<Bus> buses = fleet.buses;
+        List<PassengerTripEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Bus bus = buses.get(random.nextInt(buses.size()));
+            Route route = fleet.routesById.get(bus.getRouteId().getId().toString());
+            String stationId = route.getStations().get(random.nextInt(route.getStations().size()))
+                    .getStationId().getId().toString();
+            events.add(PassengerTripEvent.builder()
+                    .userId("user-" + random.nextInt(5000))
+                    .organizationId(BenchmarkFixtures.ORGANIZATION_ID)
+                    .busNumber(bus.getBusNumber())
+                    .stationId(stationId)
+                    .eventType(random.nextInt(10) < 6 ? PassengerTripEvent.EventType.BOARD
+                            : PassengerTripEvent.EventType.ALIGHT)
+                    .latitude(bus.getLocation().getY())
+                    .longitude(bus.getLocation().getX())
+                    .timestamp(now - (long) (random.nextDouble() * sevenDays))
+                    .build());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,75 @@
+package capston2024.bustracker.handler;
+
+import capston2024.bustracker.benchmark.BenchmarkFixtures;
+import capston2024.bustracker.config.dto.BusRealTimeStatusDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 승객 브로드캐스트 벤치마크
+ * 조직의 승객 세션 전체에 버스 상태 1건을 전송하는 비용 (세션 수 대비 선형 증가 여부 확인)
+ * - 세션은 전송 바이트만 세는 스텁이므로 네트워크 I/O 를 제외한 직렬화/동기화 비용만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int sessionCount;
+
+    private final LongAdder sentBytes = new LongAdder();
+    private BusPassengerWebSocketHandler handler;
+    private BusRealTimeStatusDTO busStatus;
+
+    @Setup
+    public void setup() throws Exception {
+        handler = new BusPassengerWebSocketHandler(new ObjectMapper(), null,
+                BenchmarkFixtures.metrics(), BenchmarkFixtures.logSampler(),
+                BenchmarkFixtures.clusterEventBus(), BenchmarkFixtures.ownership(), BenchmarkFixtures.jobScheduler(),
+                BenchmarkFixtures.locationPolicy());
+
+        // 조직 ID가 포함된 첫 메시지로 세션 등록
+        TextMessage heartbeat = new TextMessage(
+                "{\"type\":\"heartbeat\",\"organizationId\":\"" + BenchmarkFixtures.ORGANIZATION_ID + "\"}");
+        for (int i = 0; i < sessionCount; i++) {
+            handler.handleTextMessage(session("bench-session-" + i), heartbeat);
+        }
+
+        busStatus = new BusRealTimeStatusDTO("bus-id-1", "1001", "BENCH-1", "노선 1",
+                BenchmarkFixtures.ORGANIZATION_ID, 37.5665, 126.9780, 45, 20, 25, "정류장 1-3",
+                System.currentTimeMillis(), 3, 30, true, false, "route-1", 8.0, 90.0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        handler.shutdown();
+    }
+
+    @Benchmark
+    public long broadcast() {
+        handler.broadcastBusStatus(BenchmarkFixtures.ORGANIZATION_ID, busStatus);
+        return sentBytes.sum();
+    }
+
+    private WebSocketSession session(String id) {
+        Map<String, Object> attributes = new HashMap<>();
+        Map<String, Function<Object[], Object>> handlers = Map.of(
+                "getId", args -> id,
+                "isOpen", args -> true,
+                "getAttributes", args -> attributes,
+                "sendMessage", args -> {
+                    sentBytes.add(((TextMessage) args[0]).getPayloadLength());
+                    return null;
+                });
+        return BenchmarkFixtures.stub(WebSocketSession.class, handlers);
+    }
+}
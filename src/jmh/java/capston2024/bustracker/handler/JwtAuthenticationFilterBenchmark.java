@@ -0,0 +1,90 @@
+package capston2024.bustracker.handler;
+
+import capston2024.bustracker.benchmark.BenchmarkFixtures;
+import capston2024.bustracker.config.status.Role;
+import capston2024.bustracker.domain.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * 요청당 JWT 인증 필터 비용
+ * - twoParses: 기존 방식 (validateToken + getAuthentication 으로 서명 검증/파싱 2회)
+ * - filterUncached: 필터 1회 통과, 캐시 없음 (파싱 1회)
+ * - filterCached: 필터 1회 통과, 검증된 토큰 캐시 적중 (다이제스트 계산만)
+ *
+ * 요청/응답/필터 체인은 스텁이므로 서블릿 컨테이너 비용은 제외
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtTokenProvider uncachedProvider;
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private String accessToken;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setup() throws Exception {
+        byte[] secret = new byte[64];
+        new Random(42).nextBytes(secret);
+        String key = Base64.getEncoder().encodeToString(secret);
+
+        uncachedProvider = provider(key, 0);
+        uncachedFilter = new JwtAuthenticationFilter(uncachedProvider);
+        cachedFilter = new JwtAuthenticationFilter(provider(key, 1000));
+
+        accessToken = uncachedProvider.createAccessTokenFromUser(User.builder()
+                .email("bench@example.com")
+                .role(Role.USER)
+                .organizationId(BenchmarkFixtures.ORGANIZATION_ID)
+                .build());
+        request = BenchmarkFixtures.stub(HttpServletRequest.class, Map.of(
+                "getHeader", args -> AUTHORIZATION.equals(args[0]) ? "Bearer " + accessToken : null));
+        response = BenchmarkFixtures.stub(HttpServletResponse.class, Map.of());
+        filterChain = BenchmarkFixtures.stub(FilterChain.class, Map.of());
+    }
+
+    private static JwtTokenProvider provider(String key, int cacheMaxEntries) {
+        JwtTokenProvider provider = new JwtTokenProvider(key, null, null, null,
+                BenchmarkFixtures.metrics(), cacheMaxEntries);
+        provider.setSecretKey();
+        return provider;
+    }
+
+    @TearDown
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void twoParses(Blackhole blackhole) {
+        if (uncachedProvider.validateToken(accessToken)) {
+            blackhole.consume(uncachedProvider.getAuthentication(accessToken));
+        }
+    }
+
+    @Benchmark
+    public void filterUncached() throws Exception {
+        uncachedFilter.doFilterInternal(request, response, filterChain);
+    }
+
+    @Benchmark
+    public void filterCached() throws Exception {
+        cachedFilter.doFilterInternal(request, response, filterChain);
+    }
+}
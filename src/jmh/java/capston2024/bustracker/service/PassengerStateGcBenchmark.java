@@ -0,0 +1,128 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.benchmark.BenchmarkFixtures;
+import capston2024.bustracker.service.PassengerLocationService.PassengerState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 승객 감지 상태 저장 방식별 GC 부담 비교 (승객 50,000명)
+ * - heapObjects: 승객마다 필드 객체를 하나씩 두는 기존 방식 (Long 박싱 포함)
+ * - slab: PassengerStateSlab (필드별 기본형 배열 + 필요할 때만 만드는 뷰)
+ *
+ * 위치 1건 처리(조회 → 위치/카운터 갱신)와 주기 작업(전체 순회) 비용을 측정하며,
+ * 할당량/GC 횟수는 gc 프로파일러로 확인: ./gradlew jmh -PjmhIncludes=PassengerStateGc -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PassengerStateGcBenchmark {
+
+    private static final int PINGS = 4096;
+    private static final String BUS_NUMBER = "BENCH-1";
+
+    @Param({"50000"})
+    public int riders;
+
+    private final Map<String, HeapPassengerState> heapStates = new ConcurrentHashMap<>();
+    private final PassengerStateSlab slab = new PassengerStateSlab();
+    private String[] userIds;
+    private final double[] latitudes = new double[PINGS];
+    private final double[] longitudes = new double[PINGS];
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        userIds = new String[riders];
+        for (int i = 0; i < riders; i++) {
+            userIds[i] = "rider-" + i;
+            heapStates.put(userIds[i], new HeapPassengerState(userIds[i], BenchmarkFixtures.ORGANIZATION_ID));
+            slab.getOrAllocate(userIds[i], BenchmarkFixtures.ORGANIZATION_ID);
+        }
+        for (int i = 0; i < PINGS; i++) {
+            latitudes[i] = BenchmarkFixtures.BASE_LATITUDE + (random.nextDouble() - 0.5) * 0.1;
+            longitudes[i] = BenchmarkFixtures.BASE_LONGITUDE + (random.nextDouble() - 0.5) * 0.1;
+        }
+    }
+
+    @Benchmark
+    public int heapObjectsPing() {
+        int i = index++;
+        HeapPassengerState state = heapStates.get(userIds[i % riders]);
+        long now = System.currentTimeMillis();
+        state.latitude = latitudes[i & (PINGS - 1)];
+        state.longitude = longitudes[i & (PINGS - 1)];
+        state.lastUpdateTime = now;
+        state.lastAccessTime = now;
+        if ((i & 7) == 0) {
+            state.boardingTime = now;   // 탑승 확정 시 박싱
+            state.boardingDetectionCount = 0;
+        } else {
+            state.pendingBusNumber = BUS_NUMBER;
+            state.boardingDetectionCount++;
+        }
+        return state.boardingDetectionCount;
+    }
+
+    @Benchmark
+    public int slabPing() {
+        int i = index++;
+        PassengerState state = slab.get(userIds[i % riders]);
+        long now = System.currentTimeMillis();
+        state.updateLocation(latitudes[i & (PINGS - 1)], longitudes[i & (PINGS - 1)], now);
+        state.setLastAccessTime(now);
+        if ((i & 7) == 0) {
+            state.setBoardingTime(now);
+            state.resetBoardingDetectionCount();
+        } else {
+            state.incrementBoardingDetectionCount(BUS_NUMBER);
+        }
+        return state.getBoardingDetectionCount();
+    }
+
+    @Benchmark
+    public long heapObjectsScan() {
+        long oldest = Long.MAX_VALUE;
+        for (HeapPassengerState state : heapStates.values()) {
+            oldest = Math.min(oldest, Math.max(state.lastUpdateTime, state.lastAccessTime));
+        }
+        return oldest;
+    }
+
+    @Benchmark
+    public long slabScan() {
+        long[] oldest = {Long.MAX_VALUE};
+        slab.forEach(state -> oldest[0] = Math.min(oldest[0],
+                Math.max(state.getLastUpdateTime(), state.getLastAccessTime())));
+        return oldest[0];
+    }
+
+    /**
+     * 슬랩 도입 전 승객 상태 클래스와 같은 구성
+     */
+    static final class HeapPassengerState {
+        final String userId;
+        final String organizationId;
+        double latitude;
+        double longitude;
+        long lastUpdateTime;
+        long locationSetTime;
+        volatile long lastAccessTime;
+        boolean onBus;
+        String currentBusNumber;
+        Long boardingTime;
+        int boardingDetectionCount;
+        String pendingBusNumber;
+        int alightingDetectionCount;
+
+        HeapPassengerState(String userId, String organizationId) {
+            this.userId = userId;
+            this.organizationId = organizationId;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package capston2024.bustracker.loadsim;
+
+import capston2024.bustracker.domain.Bus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 버스 기사 앱 시뮬레이터
+ * 노선 폴리라인을 따라 일정 속도로 주행하고 정류장마다 정차하며 GPS 프레임을 /ws/driver 로 전송
+ * 종점에 도착하면 반대 방향으로 운행
+ */
+public class DriverSimulator {
+
+    private static final double SPEED_MPS = 8.3;       // 약 30km/h
+    private static final long DWELL_MS = 20_000;       // 정류장 정차 시간
+
+    private final Bus bus;
+    private final SimRoute route;
+    private final SimSocket socket;
+
+    // 승객 시뮬레이터가 읽는 실제(ground truth) 상태
+    private volatile double[] position;
+    private volatile int direction = 1;
+    private volatile int dwellingStationIdx = -1;
+    private final Set<PassengerSimulator> riders = ConcurrentHashMap.newKeySet();
+
+    private double offsetMeters;
+    private int nextStationIdx;
+    private long dwellUntil;
+
+    public DriverSimulator(Bus bus, SimRoute route, SimSocket socket, Random random) {
+        this.bus = bus;
+        this.route = route;
+        this.socket = socket;
+        // 노선 위에 고르게 분산 배치
+        this.offsetMeters = random.nextDouble() * route.lengthMeters();
+        this.nextStationIdx = 1;
+        while (nextStationIdx < route.stationCount() - 1 && route.stationOffset(nextStationIdx) <= offsetMeters) {
+            nextStationIdx++;
+        }
+        this.position = route.positionAt(offsetMeters);
+    }
+
+    public SimSocket socket() {
+        return socket;
+    }
+
+    public String busNumber() {
+        return bus.getBusNumber();
+    }
+
+    public SimRoute route() {
+        return route;
+    }
+
+    public double[] position() {
+        return position;
+    }
+
+    public int direction() {
+        return direction;
+    }
+
+    public int dwellingStationIdx() {
+        return dwellingStationIdx;
+    }
+
+    public void board(PassengerSimulator passenger) {
+        riders.add(passenger);
+    }
+
+    public void alight(PassengerSimulator passenger) {
+        riders.remove(passenger);
+    }
+
+    /**
+     * 주행 1틱 진행 후 위치 프레임 전송
+     */
+    public void tick(long now, long elapsedMs) {
+        if (dwellingStationIdx >= 0) {
+            if (now < dwellUntil) {
+                sendLocation(now);
+                return;
+            }
+            dwellingStationIdx = -1;
+        }
+
+        double target = route.stationOffset(nextStationIdx);
+        offsetMeters += direction * SPEED_MPS * elapsedMs / 1000.0;
+        if ((direction > 0 && offsetMeters >= target) || (direction < 0 && offsetMeters <= target)) {
+            offsetMeters = target;
+            dwellingStationIdx = nextStationIdx;
+            dwellUntil = now + DWELL_MS;
+            if (nextStationIdx == route.stationCount() - 1) {
+                direction = -1;
+            } else if (nextStationIdx == 0) {
+                direction = 1;
+            }
+            nextStationIdx += direction;
+        }
+        position = route.positionAt(offsetMeters);
+        sendLocation(now);
+    }
+
+    private void sendLocation(long now) {
+        double[] current = position;
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", "location_update");
+        message.put("busNumber", bus.getBusNumber());
+        message.put("organizationId", bus.getOrganizationId());
+        message.put("latitude", current[0]);
+        message.put("longitude", current[1]);
+        message.put("occupiedSeats", Math.min(riders.size(), bus.getTotalSeats()));
+        message.put("timestamp", now);
+        socket.send(message);
+    }
+}
@@ -0,0 +1,48 @@
+package capston2024.bustracker.loadsim;
+
+/**
+ * 부하 시뮬레이션 설정
+ * 시스템 프로퍼티 (-Dloadsim.drivers=...) 또는 환경 변수 (LOADSIM_DRIVERS=...) 로 지정
+ *
+ * @param drivers          시뮬레이션할 버스 기사 수
+ * @param passengers       시뮬레이션할 승객 수
+ * @param durationSeconds  측정 시간 (초)
+ * @param gpsIntervalMs    기사 앱 GPS 전송 주기
+ * @param passengerIntervalMs 승객 앱 위치 전송 주기
+ * @param organizationId   시뮬레이션 조직 ID (노선이 없으면 합성 노선 생성)
+ * @param mongoUri         사용할 Mongo URI (비어 있으면 임베디드 Mongo 기동)
+ * @param reportPath       JSON 리포트 출력 경로
+ */
+public record LoadSimConfig(int drivers,
+                            int passengers,
+                            int durationSeconds,
+                            long gpsIntervalMs,
+                            long passengerIntervalMs,
+                            String organizationId,
+                            String mongoUri,
+                            String reportPath) {
+
+    public static LoadSimConfig fromEnvironment() {
+        return new LoadSimConfig(
+                Integer.parseInt(setting("drivers", "20")),
+                Integer.parseInt(setting("passengers", "200")),
+                Integer.parseInt(setting("duration.seconds", "300")),
+                Long.parseLong(setting("gps.interval.ms", "1000")),
+                Long.parseLong(setting("passenger.interval.ms", "2000")),
+                setting("organization.id", "loadsim"),
+                setting("mongodb.uri", ""),
+                setting("report.path", "build/reports/loadsim/report.json"));
+    }
+
+    public boolean embeddedMongo() {
+        return mongoUri == null || mongoUri.isBlank();
+    }
+
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty("loadsim." + key);
+        if (value == null || value.isBlank()) {
+            value = System.getenv("LOADSIM_" + key.replace('.', '_').toUpperCase());
+        }
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,195 @@
+package capston2024.bustracker.loadsim;
+
+import capston2024.bustracker.BustrackerApplication;
+import capston2024.bustracker.domain.Bus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔드투엔드 부하 시뮬레이션 (용량 산정용)
+ * 1. 임베디드 Mongo(또는 LOADSIM_MONGODB_URI) 로 앱을 같은 JVM 에서 기동
+ * 2. 조직의 Route 정류장 좌표를 따라 N대 버스 기사 시뮬레이터가 /ws/driver 로 GPS 전송
+ * 3. M명 승객 시뮬레이터가 /ws/passenger 로 정류장까지 걷고, 탑승·하차하며 위치 전송
+ * 4. 브로드캐스트 지연, flush 시간, 탑승/하차 감지 정확도, 자원 사용량을 리포트
+ *
+ * 실행: ./gradlew loadSimulation -Ploadsim.drivers=50 -Ploadsim.passengers=1000 -Ploadsim.duration.seconds=600
+ */
+@Slf4j
+public final class LoadSimulation {
+
+    private static final long RESOURCE_SAMPLE_INTERVAL_MS = 5_000;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    private LoadSimulation() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSimConfig config = LoadSimConfig.fromEnvironment();
+        log.info("부하 시뮬레이션 설정: {}", config);
+
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        String mongoUri = config.mongoUri();
+        if (config.embeddedMongo()) {
+            mongod = Mongod.instance().start(Version.Main.V6_0);
+            ServerAddress address = mongod.current().getServerAddress();
+            mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort();
+            log.info("임베디드 Mongo 기동: {}", mongoUri);
+        }
+
+        // 시스템 프로퍼티는 application.properties 보다 우선
+        System.setProperty("spring.profiles.active", "loadsim");
+        System.setProperty("MONGODB_URI", mongoUri);
+        ConfigurableApplicationContext context = SpringApplication.run(BustrackerApplication.class, args);
+
+        int exitCode = 0;
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            Map<String, Object> report = run(context, config, port);
+            writeReport(config, report);
+        } catch (Exception e) {
+            log.error("부하 시뮬레이션 실패", e);
+            exitCode = 1;
+        } finally {
+            context.close();
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static Map<String, Object> run(ConfigurableApplicationContext context, LoadSimConfig config, int port)
+            throws Exception {
+        RouteFixtures.Fleet fleet = RouteFixtures.prepare(context, config);
+        SimStats stats = new SimStats();
+        ServerStats serverStats = new ServerStats(context.getBean(MeterRegistry.class));
+        Random random = new Random(42);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        URI driverUri = URI.create("ws://localhost:" + port + "/ws/driver");
+        URI passengerUri = URI.create("ws://localhost:" + port + "/ws/passenger");
+
+        // 버스 기사 연결
+        List<DriverSimulator> drivers = new ArrayList<>();
+        Map<String, List<DriverSimulator>> driversByRoute = new HashMap<>();
+        List<CompletableFuture<?>> connections = new ArrayList<>();
+        int clientIndex = 0;
+        for (Bus bus : fleet.buses()) {
+            SimRoute route = fleet.routesById().get(bus.getRouteId().getId().toString());
+            DriverSimulator driver = new DriverSimulator(bus, route,
+                    new SimSocket(stats.skippedFrames, stats.sendErrors), random);
+            drivers.add(driver);
+            driversByRoute.computeIfAbsent(route.getRouteId(), key -> new ArrayList<>()).add(driver);
+            connections.add(driver.socket().connect(client, driverUri, forwardedIp(clientIndex++), message -> { }));
+        }
+
+        // 승객 연결 - 버스가 배정된 노선에만 배치
+        List<String> servedRoutes = new ArrayList<>(driversByRoute.keySet());
+        List<PassengerSimulator> passengers = new ArrayList<>();
+        for (int i = 0; i < config.passengers(); i++) {
+            SimRoute route = fleet.routesById().get(servedRoutes.get(i % servedRoutes.size()));
+            PassengerSimulator passenger = new PassengerSimulator("loadsim-user-" + i, config.organizationId(),
+                    route, driversByRoute.get(route.getRouteId()),
+                    new SimSocket(stats.skippedFrames, stats.sendErrors), stats, new Random(random.nextLong()));
+            passengers.add(passenger);
+            connections.add(passenger.socket().connect(client, passengerUri, forwardedIp(clientIndex++),
+                    passenger::onMessage).thenRun(() -> passenger.socket().send(passenger.subscribeMessage())));
+        }
+
+        for (CompletableFuture<?> connection : connections) {
+            try {
+                connection.get(CONNECT_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            } catch (Exception e) {
+                stats.connectFailures.increment();
+            }
+        }
+        log.info("연결 완료 - 기사 {}명, 승객 {}명, 실패 {}건", drivers.size(), passengers.size(),
+                stats.connectFailures.sum());
+
+        // 시뮬레이터별로 전송 시점을 분산해 스케줄링
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()), Thread.ofVirtual().factory());
+        for (DriverSimulator driver : drivers) {
+            scheduleTicks(scheduler, config.gpsIntervalMs(), random, driver::tick);
+        }
+        for (PassengerSimulator passenger : passengers) {
+            scheduleTicks(scheduler, config.passengerIntervalMs(), random, passenger::tick);
+        }
+        scheduler.scheduleAtFixedRate(serverStats::sampleResources, 0, RESOURCE_SAMPLE_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+
+        long startedAt = System.currentTimeMillis();
+        TimeUnit.SECONDS.sleep(config.durationSeconds());
+        scheduler.shutdownNow();
+        long elapsedMs = System.currentTimeMillis() - startedAt;
+
+        drivers.forEach(driver -> driver.socket().close());
+        passengers.forEach(passenger -> passenger.socket().close());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("elapsedSeconds", elapsedMs / 1000);
+        report.put("client", stats.toReport());
+        report.put("server", serverStats.toReport());
+        return report;
+    }
+
+    private interface Tick {
+        void run(long now, long elapsedMs);
+    }
+
+    private static void scheduleTicks(ScheduledExecutorService scheduler, long intervalMs, Random random, Tick tick) {
+        long initialDelay = (long) (random.nextDouble() * intervalMs);
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                tick.run(System.currentTimeMillis(), intervalMs);
+            } catch (Exception e) {
+                log.warn("시뮬레이터 틱 오류: {}", e.getMessage());
+            }
+        }, initialDelay, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 클라이언트마다 다른 사설 IP (서버의 IP당 연결 제한 회피)
+     */
+    private static String forwardedIp(int index) {
+        return "10." + (index / 62500) % 256 + "." + (index / 250) % 250 + "." + (index % 250 + 1);
+    }
+
+    private static void writeReport(LoadSimConfig config, Map<String, Object> report) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String json = objectMapper.writeValueAsString(report);
+        File file = new File(config.reportPath());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(file, report);
+        log.info("부하 시뮬레이션 결과 ({}):\n{}", file.getAbsolutePath(), json);
+    }
+}
@@ -0,0 +1,241 @@
+package capston2024.bustracker.loadsim;
+
+import capston2024.bustracker.domain.utils.GeoUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 승객 앱 시뮬레이터
+ * 정류장까지 걸어가 기다리다가 같은 노선·같은 방향 버스가 정차하면 탑승하고,
+ * 목적지 정류장에서 하차해 걸어서 멀어진 뒤 그 정류장에서 다음 여정을 시작
+ * 실제 탑승/하차 시각을 기록해 서버의 자동 탑승/하차 감지 결과와 비교
+ * 위치는 서버가 location_policy 로 권장한 주기마다 전송 (받기 전에는 매 틱)
+ */
+public class PassengerSimulator {
+
+    private static final double WALK_SPEED_MPS = 1.4;
+    private static final double START_DISTANCE_METERS = 150;
+    private static final double ARRIVAL_RADIUS_METERS = 5;
+    private static final long WALK_AWAY_MS = 90_000;
+    private static final double GPS_NOISE_METERS = 3;
+    private static final double METERS_PER_DEGREE = 111_000;
+
+    private enum Phase { WALKING_TO_STOP, WAITING, RIDING, WALKING_AWAY }
+
+    private final String userId;
+    private final String organizationId;
+    private final SimRoute route;
+    private final List<DriverSimulator> routeDrivers;
+    private final SimSocket socket;
+    private final SimStats stats;
+    private final Random random;
+
+    private Phase phase;
+    private double[] position;
+    private int originIdx;
+    private int destinationIdx;
+    private int tripDirection;
+    private double walkHeading;
+    private long walkAwayUntil;
+
+    private DriverSimulator bus;
+    private long actualBoardAt;
+    private long actualAlightAt;
+    private boolean boardDetected;
+    private boolean alightDetected;
+
+    private volatile long reportIntervalMs;
+    private long lastSentAt;
+
+    public PassengerSimulator(String userId, String organizationId, SimRoute route,
+                              List<DriverSimulator> routeDrivers, SimSocket socket, SimStats stats, Random random) {
+        this.userId = userId;
+        this.organizationId = organizationId;
+        this.route = route;
+        this.routeDrivers = routeDrivers;
+        this.socket = socket;
+        this.stats = stats;
+        this.random = random;
+
+        int origin = random.nextInt(route.stationCount());
+        double[] stop = route.stationPoint(origin);
+        double heading = random.nextDouble() * Math.PI * 2;
+        this.position = offset(stop, heading, START_DISTANCE_METERS);
+        startTrip(origin);
+    }
+
+    public SimSocket socket() {
+        return socket;
+    }
+
+    public Map<String, Object> subscribeMessage() {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", "subscribe");
+        message.put("organizationId", organizationId);
+        return message;
+    }
+
+    /**
+     * 1틱 이동 후 위치 전송
+     */
+    public synchronized void tick(long now, long elapsedMs) {
+        double walked = WALK_SPEED_MPS * elapsedMs / 1000.0;
+        switch (phase) {
+            case WALKING_TO_STOP -> {
+                double[] stop = route.stationPoint(originIdx);
+                double remaining = GeoUtils.haversineMeters(position[0], position[1], stop[0], stop[1]);
+                if (remaining <= Math.max(walked, ARRIVAL_RADIUS_METERS)) {
+                    position = stop.clone();
+                    phase = Phase.WAITING;
+                } else {
+                    double ratio = walked / remaining;
+                    position = new double[]{position[0] + (stop[0] - position[0]) * ratio,
+                            position[1] + (stop[1] - position[1]) * ratio};
+                }
+            }
+            case WAITING -> {
+                for (DriverSimulator driver : routeDrivers) {
+                    if (driver.dwellingStationIdx() == originIdx && driver.direction() == tripDirection) {
+                        bus = driver;
+                        driver.board(this);
+                        actualBoardAt = now;
+                        stats.actualBoardings.increment();
+                        phase = Phase.RIDING;
+                        position = driver.position().clone();
+                        break;
+                    }
+                }
+            }
+            case RIDING -> {
+                position = bus.position().clone();
+                if (bus.dwellingStationIdx() == destinationIdx) {
+                    bus.alight(this);
+                    actualAlightAt = now;
+                    stats.actualAlightings.increment();
+                    walkHeading = random.nextDouble() * Math.PI * 2;
+                    walkAwayUntil = now + WALK_AWAY_MS;
+                    phase = Phase.WALKING_AWAY;
+                }
+            }
+            case WALKING_AWAY -> {
+                position = offset(position, walkHeading, walked);
+                if (now >= walkAwayUntil) {
+                    finishTrip();
+                    startTrip(destinationIdx);
+                }
+            }
+        }
+        if (now - lastSentAt >= reportIntervalMs) {
+            lastSentAt = now;
+            sendLocation();
+        }
+    }
+
+    /**
+     * 서버 메시지 처리 - 브로드캐스트 지연 측정, 탑승/하차 감지 결과 판정
+     */
+    @SuppressWarnings("unchecked")
+    public void onMessage(Map<String, Object> message) {
+        Object type = message.get("type");
+        if ("busUpdate".equals(type)) {
+            Object data = message.get("data");
+            if (data instanceof Map<?, ?> status && Boolean.TRUE.equals(status.get("extrapolated"))) {
+                // 서버 외삽 위치는 lastUpdateTime 이 마지막 실제 위치 시각이라 지연 측정에서 제외
+                stats.extrapolatedUpdatesReceived.increment();
+            } else if (data instanceof Map<?, ?> status && status.get("lastUpdateTime") instanceof Number lastUpdateTime) {
+                stats.broadcastLatency.record(System.currentTimeMillis() - lastUpdateTime.longValue());
+                stats.busUpdatesReceived.increment();
+            }
+        } else if ("boarding_update".equals(type)) {
+            Object status = message.get("status");
+            if ("boarded".equals(status)) {
+                Object data = message.get("data");
+                Object busNumber = data instanceof Map<?, ?> map ? ((Map<String, Object>) map).get("busNumber") : null;
+                onBoardingDetected(busNumber != null ? busNumber.toString() : null);
+            } else if ("alighted".equals(status)) {
+                onAlightingDetected();
+            }
+        } else if ("location_policy".equals(type)) {
+            Object data = message.get("data");
+            if (data instanceof Map<?, ?> policy && policy.get("intervalMs") instanceof Number intervalMs) {
+                reportIntervalMs = intervalMs.longValue();
+                stats.locationPolicyUpdates.increment();
+            }
+        }
+    }
+
+    private synchronized void onBoardingDetected(String busNumber) {
+        if (actualBoardAt == 0 || boardDetected) {
+            stats.falseBoardings.increment();
+            return;
+        }
+        boardDetected = true;
+        if (bus != null && bus.busNumber().equals(busNumber)) {
+            stats.detectedBoardings.increment();
+            stats.boardingDetectionDelay.record(System.currentTimeMillis() - actualBoardAt);
+        } else {
+            stats.wrongBusBoardings.increment();
+        }
+    }
+
+    private synchronized void onAlightingDetected() {
+        if (actualAlightAt == 0 || alightDetected) {
+            stats.falseAlightings.increment();
+            return;
+        }
+        alightDetected = true;
+        stats.detectedAlightings.increment();
+        stats.alightingDetectionDelay.record(System.currentTimeMillis() - actualAlightAt);
+    }
+
+    private void startTrip(int origin) {
+        originIdx = origin;
+        int stations = route.stationCount();
+        do {
+            destinationIdx = random.nextInt(stations);
+        } while (destinationIdx == originIdx || (stations > 2 && Math.abs(destinationIdx - originIdx) < 2));
+        tripDirection = destinationIdx > originIdx ? 1 : -1;
+        phase = Phase.WALKING_TO_STOP;
+        bus = null;
+        actualBoardAt = 0;
+        actualAlightAt = 0;
+        boardDetected = false;
+        alightDetected = false;
+    }
+
+    private void finishTrip() {
+        if (actualBoardAt > 0 && !boardDetected) {
+            stats.missedBoardings.increment();
+        }
+        if (actualAlightAt > 0 && !alightDetected) {
+            stats.missedAlightings.increment();
+        }
+    }
+
+    private void sendLocation() {
+        double noiseLat = random.nextGaussian() * GPS_NOISE_METERS / METERS_PER_DEGREE;
+        double noiseLng = random.nextGaussian() * GPS_NOISE_METERS
+                / (METERS_PER_DEGREE * Math.cos(Math.toRadians(position[0])));
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("userId", userId);
+        data.put("latitude", position[0] + noiseLat);
+        data.put("longitude", position[1] + noiseLng);
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", "location");
+        message.put("organizationId", organizationId);
+        message.put("data", data);
+        socket.send(message);
+        stats.locationsSent.increment();
+    }
+
+    private static double[] offset(double[] from, double heading, double meters) {
+        double lat = from[0] + Math.sin(heading) * meters / METERS_PER_DEGREE;
+        double lng = from[1] + Math.cos(heading) * meters / (METERS_PER_DEGREE * Math.cos(Math.toRadians(from[0])));
+        return new double[]{lat, lng};
+    }
+}
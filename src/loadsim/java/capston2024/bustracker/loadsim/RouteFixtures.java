@@ -0,0 +1,153 @@
+package capston2024.bustracker.loadsim;
+
+import capston2024.bustracker.domain.Bus;
+import capston2024.bustracker.domain.Route;
+import capston2024.bustracker.domain.Station;
+import capston2024.bustracker.repository.BusRepository;
+import capston2024.bustracker.repository.RouteRepository;
+import capston2024.bustracker.repository.StationRepository;
+import com.mongodb.DBRef;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 시뮬레이션 조직의 노선/정류장/버스 준비
+ * - 조직에 노선이 있으면 실제 Route 정류장 좌표를 그대로 사용
+ * - 없으면 (임베디드 Mongo 등) 합성 노선을 생성해 저장
+ * - 기사 수만큼 노선이 지정된 운행 버스를 확보
+ */
+@Slf4j
+public final class RouteFixtures {
+
+    // 합성 노선 기준점 (울산 동구 부근)
+    private static final double BASE_LATITUDE = 35.5050;
+    private static final double BASE_LONGITUDE = 129.4160;
+    private static final int SYNTHETIC_STATIONS_PER_ROUTE = 20;
+    private static final int DRIVERS_PER_SYNTHETIC_ROUTE = 5;
+    private static final int SIM_BUS_NUMBER_BASE = 700000;
+
+    private RouteFixtures() {
+    }
+
+    public record Fleet(List<SimRoute> routes, List<Bus> buses, Map<String, SimRoute> routesById) {
+    }
+
+    public static Fleet prepare(ApplicationContext context, LoadSimConfig config) {
+        BusRepository busRepository = context.getBean(BusRepository.class);
+        RouteRepository routeRepository = context.getBean(RouteRepository.class);
+        StationRepository stationRepository = context.getBean(StationRepository.class);
+        String organizationId = config.organizationId();
+
+        Map<String, SimRoute> routesById = loadRoutes(routeRepository, stationRepository, organizationId);
+        if (routesById.isEmpty()) {
+            int routeCount = Math.max(1, (config.drivers() + DRIVERS_PER_SYNTHETIC_ROUTE - 1) / DRIVERS_PER_SYNTHETIC_ROUTE);
+            log.info("조직 {}에 사용 가능한 노선이 없어 합성 노선 {}개를 생성합니다", organizationId, routeCount);
+            seedSyntheticRoutes(routeRepository, stationRepository, organizationId, routeCount);
+            routesById = loadRoutes(routeRepository, stationRepository, organizationId);
+        }
+
+        List<SimRoute> routes = new ArrayList<>(routesById.values());
+        List<Bus> buses = ensureBuses(busRepository, organizationId, routes, config.drivers());
+        log.info("시뮬레이션 준비 완료 - 노선 {}개, 버스 {}대", routes.size(), buses.size());
+        return new Fleet(routes, buses, routesById);
+    }
+
+    private static Map<String, SimRoute> loadRoutes(RouteRepository routeRepository,
+                                                    StationRepository stationRepository,
+                                                    String organizationId) {
+        Map<String, Station> stationsById = stationRepository.findAllByOrganizationId(organizationId).stream()
+                .collect(Collectors.toMap(Station::getId, Function.identity()));
+        Map<String, SimRoute> routes = new HashMap<>();
+        for (Route route : routeRepository.findByOrganizationId(organizationId)) {
+            SimRoute simRoute = SimRoute.of(route, stationsById);
+            if (simRoute != null) {
+                routes.put(route.getId(), simRoute);
+            }
+        }
+        return routes;
+    }
+
+    private static void seedSyntheticRoutes(RouteRepository routeRepository,
+                                            StationRepository stationRepository,
+                                            String organizationId,
+                                            int routeCount) {
+        Random random = new Random(42);
+        for (int r = 0; r < routeCount; r++) {
+            double heading = random.nextDouble() * Math.PI * 2;
+            List<Route.RouteStation> routeStations = new ArrayList<>();
+            double lat = BASE_LATITUDE;
+            double lng = BASE_LONGITUDE;
+            for (int s = 0; s < SYNTHETIC_STATIONS_PER_ROUTE; s++) {
+                Station station = stationRepository.save(Station.builder()
+                        .name(String.format("시뮬레이션 %d-%02d", r, s))
+                        .location(new GeoJsonPoint(lng, lat))
+                        .organizationId(organizationId)
+                        .build());
+                routeStations.add(new Route.RouteStation(s, new DBRef("Station", station.getId())));
+
+                // 정류장 간격 300~500m, 진행 방향은 조금씩 꺾임
+                heading += (random.nextDouble() - 0.5) * 0.6;
+                double step = 300 + random.nextDouble() * 200;
+                lat += Math.sin(heading) * step / 111_000;
+                lng += Math.cos(heading) * step / (111_000 * Math.cos(Math.toRadians(lat)));
+            }
+            routeRepository.save(Route.builder()
+                    .routeName("시뮬레이션 노선 " + r)
+                    .organizationId(organizationId)
+                    .stations(routeStations)
+                    .build());
+        }
+    }
+
+    private static List<Bus> ensureBuses(BusRepository busRepository, String organizationId,
+                                         List<SimRoute> routes, int drivers) {
+        List<Bus> buses = busRepository.findByOrganizationId(organizationId).stream()
+                .filter(bus -> bus.getRouteId() != null)
+                .filter(bus -> routes.stream().anyMatch(route ->
+                        route.getRouteId().equals(bus.getRouteId().getId().toString())))
+                .limit(drivers)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        int next = SIM_BUS_NUMBER_BASE;
+        while (buses.size() < drivers) {
+            String busNumber = String.valueOf(next++);
+            if (busRepository.findBusByBusNumber(busNumber).isPresent()) {
+                continue;
+            }
+            SimRoute route = routes.get(buses.size() % routes.size());
+            double[] start = route.stationPoint(0);
+            buses.add(busRepository.save(Bus.builder()
+                    .busNumber(busNumber)
+                    .busRealNumber("SIM-" + busNumber)
+                    .organizationId(organizationId)
+                    .totalSeats(45)
+                    .occupiedSeats(0)
+                    .availableSeats(45)
+                    .location(new GeoJsonPoint(start[1], start[0]))
+                    .routeId(new DBRef("routes", route.getRouteId()))
+                    .timestamp(Instant.now())
+                    .prevStationIdx(0)
+                    .isOperate(true)
+                    .build()));
+        }
+
+        // 기존 버스도 운행 상태로 전환
+        for (Bus bus : buses) {
+            if (!bus.isOperate()) {
+                bus.setOperate(true);
+                busRepository.save(bus);
+            }
+        }
+        return buses;
+    }
+}
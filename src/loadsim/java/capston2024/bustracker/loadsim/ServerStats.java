@@ -0,0 +1,107 @@
+package capston2024.bustracker.loadsim;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 측 지표 수집 (앱과 같은 JVM 의 MeterRegistry 에서 직접 조회)
+ * - 실시간 파이프라인 타이머 (flush, 브로드캐스트, 탑승 감지)
+ * - 주기적으로 샘플링한 CPU / 힙 / 스레드 사용량
+ * 시뮬레이터도 같은 JVM 에서 동작하므로 자원 사용량에는 클라이언트 부하가 포함됨
+ */
+public class ServerStats {
+
+    private final MeterRegistry registry;
+
+    private double maxProcessCpu;
+    private double sumProcessCpu;
+    private double maxHeapUsedMb;
+    private double maxLiveThreads;
+    private int samples;
+
+    public ServerStats(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public synchronized void sampleResources() {
+        double cpu = gauge("process.cpu.usage");
+        double heapMb = registry.find("jvm.memory.used").tag("area", "heap").gauges().stream()
+                .mapToDouble(Gauge::value).sum() / (1024 * 1024);
+        double threads = gauge("jvm.threads.live");
+
+        maxProcessCpu = Math.max(maxProcessCpu, cpu);
+        sumProcessCpu += cpu;
+        maxHeapUsedMb = Math.max(maxHeapUsedMb, heapMb);
+        maxLiveThreads = Math.max(maxLiveThreads, threads);
+        samples++;
+    }
+
+    public synchronized Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("flush", timer("bustracker.location.flush"));
+        report.put("busUpdate", timer("bustracker.location.bus.update"));
+        report.put("broadcastFanout", timer("bustracker.broadcast.fanout"));
+        report.put("passengerDetection", timer("bustracker.passenger.detection"));
+        report.put("boardingProcess", timer("bustracker.boarding.process"));
+
+        Map<String, Object> dropped = new LinkedHashMap<>();
+        for (Counter counter : registry.find("bustracker.messages.dropped").counters()) {
+            dropped.put(counter.getId().getTag("channel") + ":" + counter.getId().getTag("reason"),
+                    (long) counter.count());
+        }
+        report.put("droppedMessages", dropped);
+
+        Map<String, Object> resources = new LinkedHashMap<>();
+        resources.put("samples", samples);
+        resources.put("avgProcessCpu", samples == 0 ? 0.0 : round(sumProcessCpu / samples));
+        resources.put("maxProcessCpu", round(maxProcessCpu));
+        resources.put("maxHeapUsedMb", round(maxHeapUsedMb));
+        resources.put("maxLiveThreads", (long) maxLiveThreads);
+        report.put("resources", resources);
+        return report;
+    }
+
+    private double gauge(String name) {
+        Gauge gauge = registry.find(name).gauge();
+        return gauge != null ? gauge.value() : 0.0;
+    }
+
+    private Map<String, Object> timer(String name) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Timer timer = registry.find(name).timer();
+        if (timer == null) {
+            return summary;
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        summary.put("count", snapshot.count());
+        summary.put("meanMs", round(snapshot.mean(TimeUnit.MILLISECONDS)));
+        summary.put("p99Ms", round(percentile(snapshot, 0.99)));
+        summary.put("maxMs", round(snapshot.max(TimeUnit.MILLISECONDS)));
+        return summary;
+    }
+
+    /**
+     * 퍼센타일 히스토그램 버킷(누적 카운트)에서 근사 퍼센타일 계산 - 해당 버킷 상한값
+     */
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        double target = snapshot.count() * percentile;
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            if (bucket.count() >= target) {
+                return bucket.bucket(TimeUnit.MILLISECONDS);
+            }
+        }
+        return snapshot.max(TimeUnit.MILLISECONDS);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,97 @@
+package capston2024.bustracker.loadsim;
+
+import capston2024.bustracker.domain.Route;
+import capston2024.bustracker.domain.Station;
+import capston2024.bustracker.domain.utils.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route 정류장 순서를 이은 폴리라인
+ * 버스/승객 시뮬레이터가 노선 위 거리(m)로 위치를 계산하는 데 사용
+ */
+public class SimRoute {
+
+    private final String routeId;
+    private final List<String> stationIds = new ArrayList<>();
+    private final List<double[]> points = new ArrayList<>();   // [lat, lng]
+    private final List<Double> cumulativeMeters = new ArrayList<>();
+
+    private SimRoute(String routeId) {
+        this.routeId = routeId;
+    }
+
+    /**
+     * 위치 정보가 있는 정류장이 2개 미만이면 null
+     */
+    public static SimRoute of(Route route, Map<String, Station> stationsById) {
+        if (route.getStations() == null) {
+            return null;
+        }
+        SimRoute simRoute = new SimRoute(route.getId());
+        route.getStations().stream()
+                .sorted(Comparator.comparingInt(Route.RouteStation::getSequence))
+                .forEach(routeStation -> {
+                    Station station = stationsById.get(routeStation.getStationId().getId().toString());
+                    if (station == null || station.getLocation() == null) {
+                        return;
+                    }
+                    double[] point = {station.getLocation().getY(), station.getLocation().getX()};
+                    double distance = 0;
+                    if (!simRoute.points.isEmpty()) {
+                        double[] last = simRoute.points.get(simRoute.points.size() - 1);
+                        distance = simRoute.cumulativeMeters.get(simRoute.cumulativeMeters.size() - 1)
+                                + GeoUtils.haversineMeters(last[0], last[1], point[0], point[1]);
+                    }
+                    simRoute.stationIds.add(station.getId());
+                    simRoute.points.add(point);
+                    simRoute.cumulativeMeters.add(distance);
+                });
+        return simRoute.points.size() >= 2 ? simRoute : null;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public int stationCount() {
+        return points.size();
+    }
+
+    public String stationId(int index) {
+        return stationIds.get(index);
+    }
+
+    public double lengthMeters() {
+        return cumulativeMeters.get(cumulativeMeters.size() - 1);
+    }
+
+    public double stationOffset(int index) {
+        return cumulativeMeters.get(index);
+    }
+
+    public double[] stationPoint(int index) {
+        return points.get(index);
+    }
+
+    /**
+     * 노선 시작점으로부터 distance(m) 지점의 좌표 [lat, lng]
+     */
+    public double[] positionAt(double distance) {
+        double clamped = Math.max(0, Math.min(distance, lengthMeters()));
+        for (int i = 1; i < points.size(); i++) {
+            double segmentEnd = cumulativeMeters.get(i);
+            if (clamped <= segmentEnd) {
+                double segmentStart = cumulativeMeters.get(i - 1);
+                double ratio = segmentEnd > segmentStart ? (clamped - segmentStart) / (segmentEnd - segmentStart) : 0;
+                double[] from = points.get(i - 1);
+                double[] to = points.get(i);
+                return new double[]{from[0] + (to[0] - from[0]) * ratio, from[1] + (to[1] - from[1]) * ratio};
+            }
+        }
+        return points.get(points.size() - 1).clone();
+    }
+}
@@ -0,0 +1,104 @@
+package capston2024.bustracker.loadsim;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 시뮬레이터 1개가 사용하는 WebSocket 클라이언트
+ * - 서버의 IP당 연결 제한(ConnectionLimitInterceptor)을 피하기 위해 클라이언트마다 X-Forwarded-For 를 다르게 지정
+ * - 이전 전송이 끝나지 않았으면 이번 프레임은 건너뛰고 카운트 (클라이언트 측 적체 지표)
+ */
+public class SimSocket {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+    private final LongAdder skippedFrames;
+    private final LongAdder sendErrors;
+    private volatile WebSocket webSocket;
+
+    public SimSocket(LongAdder skippedFrames, LongAdder sendErrors) {
+        this.skippedFrames = skippedFrames;
+        this.sendErrors = sendErrors;
+    }
+
+    public CompletableFuture<WebSocket> connect(HttpClient client, URI uri, String forwardedIp,
+                                                Consumer<Map<String, Object>> onMessage) {
+        return client.newWebSocketBuilder()
+                .header("X-Forwarded-For", forwardedIp)
+                .buildAsync(uri, new JsonListener(onMessage))
+                .thenApply(ws -> this.webSocket = ws);
+    }
+
+    public void send(Map<String, Object> message) {
+        WebSocket ws = webSocket;
+        if (ws == null || ws.isOutputClosed()) {
+            sendErrors.increment();
+            return;
+        }
+        if (!sending.compareAndSet(false, true)) {
+            skippedFrames.increment();
+            return;
+        }
+        String json;
+        try {
+            json = OBJECT_MAPPER.writeValueAsString(message);
+        } catch (Exception e) {
+            sending.set(false);
+            sendErrors.increment();
+            return;
+        }
+        ws.sendText(json, true).whenComplete((result, error) -> {
+            sending.set(false);
+            if (error != null) {
+                sendErrors.increment();
+            }
+        });
+    }
+
+    public void close() {
+        WebSocket ws = webSocket;
+        if (ws != null && !ws.isOutputClosed()) {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "loadsim finished");
+        }
+    }
+
+    /**
+     * 분할 수신된 텍스트 프레임을 모아 JSON Map 으로 전달
+     */
+    private static final class JsonListener implements WebSocket.Listener {
+
+        private final Consumer<Map<String, Object>> onMessage;
+        private final StringBuilder buffer = new StringBuilder();
+
+        private JsonListener(Consumer<Map<String, Object>> onMessage) {
+            this.onMessage = onMessage;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                String text = buffer.toString();
+                buffer.setLength(0);
+                try {
+                    onMessage.accept(OBJECT_MAPPER.readValue(text, Map.class));
+                } catch (Exception ignored) {
+                    // 서버 응답 형식 오류는 시뮬레이션을 멈추지 않음
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package capston2024.bustracker.loadsim;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클라이언트 측에서 관측한 시뮬레이션 결과
+ */
+public class SimStats {
+
+    // 버스 GPS 전송 시각(lastUpdateTime) → 승객 수신 시각
+    final LatencyRecorder broadcastLatency = new LatencyRecorder();
+    final LongAdder busUpdatesReceived = new LongAdder();
+    final LongAdder extrapolatedUpdatesReceived = new LongAdder();
+
+    // 탑승/하차 감지 정확도 (실제 탑승/하차 대비)
+    final LongAdder actualBoardings = new LongAdder();
+    final LongAdder detectedBoardings = new LongAdder();
+    final LongAdder wrongBusBoardings = new LongAdder();
+    final LongAdder falseBoardings = new LongAdder();
+    final LongAdder missedBoardings = new LongAdder();
+    final LatencyRecorder boardingDetectionDelay = new LatencyRecorder();
+
+    final LongAdder actualAlightings = new LongAdder();
+    final LongAdder detectedAlightings = new LongAdder();
+    final LongAdder falseAlightings = new LongAdder();
+    final LongAdder missedAlightings = new LongAdder();
+    final LatencyRecorder alightingDetectionDelay = new LatencyRecorder();
+
+    // 클라이언트 전송 상태
+    final LongAdder skippedFrames = new LongAdder();
+    final LongAdder sendErrors = new LongAdder();
+    final LongAdder connectFailures = new LongAdder();
+    final LongAdder locationsSent = new LongAdder();
+    final LongAdder locationPolicyUpdates = new LongAdder();
+
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+
+        Map<String, Object> broadcast = new LinkedHashMap<>(broadcastLatency.summary());
+        broadcast.put("received", busUpdatesReceived.sum());
+        broadcast.put("extrapolated", extrapolatedUpdatesReceived.sum());
+        report.put("broadcastLatency", broadcast);
+
+        Map<String, Object> boarding = new LinkedHashMap<>();
+        boarding.put("actual", actualBoardings.sum());
+        boarding.put("detected", detectedBoardings.sum());
+        boarding.put("wrongBus", wrongBusBoardings.sum());
+        boarding.put("falsePositive", falseBoardings.sum());
+        boarding.put("missed", missedBoardings.sum());
+        boarding.put("recall", ratio(detectedBoardings.sum(), actualBoardings.sum()));
+        boarding.put("detectionDelay", boardingDetectionDelay.summary());
+        report.put("boardingDetection", boarding);
+
+        Map<String, Object> alighting = new LinkedHashMap<>();
+        alighting.put("actual", actualAlightings.sum());
+        alighting.put("detected", detectedAlightings.sum());
+        alighting.put("falsePositive", falseAlightings.sum());
+        alighting.put("missed", missedAlightings.sum());
+        alighting.put("recall", ratio(detectedAlightings.sum(), actualAlightings.sum()));
+        alighting.put("detectionDelay", alightingDetectionDelay.summary());
+        report.put("alightingDetection", alighting);
+
+        Map<String, Object> client = new LinkedHashMap<>();
+        client.put("skippedFrames", skippedFrames.sum());
+        client.put("sendErrors", sendErrors.sum());
+        client.put("connectFailures", connectFailures.sum());
+        client.put("passengerLocationsSent", locationsSent.sum());
+        client.put("locationPolicyUpdates", locationPolicyUpdates.sum());
+        report.put("client", client);
+        return report;
+    }
+
+    private static double ratio(long numerator, long denominator) {
+        return denominator == 0 ? 0.0 : Math.round(numerator * 1000.0 / denominator) / 1000.0;
+    }
+}
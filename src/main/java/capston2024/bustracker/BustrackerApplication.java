@@ -9,6 +9,7 @@ import capston2024.bustracker.repository.BusRepository;
 import capston2024.bustracker.repository.PassengerTripEventRepository;
 import capston2024.bustracker.repository.RouteRepository;
 import capston2024.bustracker.repository.StationRepository;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
 import com.mongodb.DBRef;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -42,9 +43,11 @@ public class BustrackerApplication {
             PassengerTripEventRepository tripEventRepository,
             BusRepository busRepository,
             RouteRepository routeRepository,
-            StationRepository stationRepository
+            StationRepository stationRepository,
+            ClusterJobScheduler clusterJobScheduler
     ) {
-        return args -> {
+        // 여러 인스턴스가 동시에 기동해도 시드는 리더 한 곳에서만 실행
+        return args -> clusterJobScheduler.runOnLeader("passenger-trip-event-seeder", () -> {
             long existingCount = tripEventRepository.countByOrganizationId(SEED_ORGANIZATION_ID);
             if (existingCount >= TARGET_EVENT_COUNT) {
                 log.info("PassengerTripEvent mock data already prepared ({} records)", existingCount);
@@ -100,7 +103,7 @@ public class BustrackerApplication {
                 log.info("Seeded {} PassengerTripEvent docs for organization '{}'", seedEvents.size(),
                         SEED_ORGANIZATION_ID);
             }
-        };
+        });
     }
 
     private Map<String, List<Route>> buildStationRouteIndex(List<Route> routes) {
@@ -1,24 +1,139 @@
 package capston2024.bustracker.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
+@Slf4j
 public class AsyncConfig {
 
+    // 플랫폼 스레드 모드 설정 (기존 값 유지)
+    private static final int PLATFORM_POOL_SIZE = 2;
+    private static final int PLATFORM_QUEUE_CAPACITY = 500;
+
+    // 가상 스레드 모드에서 Mongo 커넥션 풀을 보호하기 위해 남겨둘 여유 커넥션 수
+    private static final int MONGO_RESERVED_CONNECTIONS = 20;
+
+    @Value("${EXECUTION_MODE:platform}")
+    private String executionMode;
+
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(RealtimeMetrics realtimeMetrics) {
+        ExecutionMode mode = ExecutionMode.from(executionMode);
+        if (mode == ExecutionMode.VIRTUAL) {
+            int permits = virtualPermits();
+            log.info("비동기 이벤트 실행 모드: VIRTUAL (동시 실행 제한 {})", permits);
+            BoundedVirtualThreadExecutor executor = virtualThreadExecutor(permits);
+            realtimeMetrics.gauge("bustracker.async.queue.depth", "실행 대기 중인 비동기 이벤트 작업 수",
+                    executor, BoundedVirtualThreadExecutor::waitingTasks, "mode", "virtual");
+            return executor;
+        }
+        log.info("비동기 이벤트 실행 모드: PLATFORM (스레드 {}, 큐 {})", PLATFORM_POOL_SIZE, PLATFORM_QUEUE_CAPACITY);
+
+        // 큐가 가득 차 거부되는 작업은 카운트 후 기존과 동일하게 예외 발생
+        ThreadPoolExecutor.AbortPolicy abortPolicy = new ThreadPoolExecutor.AbortPolicy();
+        ThreadPoolTaskExecutor executor = platformThreadExecutor((task, pool) -> {
+            realtimeMetrics.recordDropped("async", "rejected");
+            abortPolicy.rejectedExecution(task, pool);
+        });
+        realtimeMetrics.gauge("bustracker.async.queue.depth", "실행 대기 중인 비동기 이벤트 작업 수",
+                executor, pool -> pool.getThreadPoolExecutor().getQueue().size(), "mode", "platform");
+        return executor;
+    }
+
+    /**
+     * 기존 고정 크기 플랫폼 스레드 풀
+     */
+    static ThreadPoolTaskExecutor platformThreadExecutor(RejectedExecutionHandler rejectedExecutionHandler) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(2);
-        executor.setQueueCapacity(500);
+        executor.setCorePoolSize(PLATFORM_POOL_SIZE);
+        executor.setMaxPoolSize(PLATFORM_POOL_SIZE);
+        executor.setQueueCapacity(PLATFORM_QUEUE_CAPACITY);
         executor.setThreadNamePrefix("BusLocation-");
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler);
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 가상 스레드 모드의 동시 실행 제한 (Mongo 최대 커넥션 수 - 여유 커넥션)
+     */
+    static int virtualPermits() {
+        return Math.max(1, MongoConfig.MAX_POOL_SIZE - MONGO_RESERVED_CONNECTIONS);
+    }
+
+    /**
+     * 작업당 가상 스레드 1개를 생성하는 실행기
+     * - 작업 수 자체는 제한하지 않고, 세마포어로 동시에 실행되는 작업 수만 제한
+     * - 리스너 내부에서 Mongo 조회가 일어나도 커넥션 풀이 고갈되지 않도록 permits 를 풀 크기 이하로 유지
+     *
+     * spring.threads.virtual.enabled 를 쓰지 않는 이유
+     * - 이 설정이 만드는 SimpleAsyncTaskExecutor 는 기본적으로 동시 실행 제한이 없고,
+     *   제한(spring.task.execution.simple.concurrency-limit)을 걸면 execute() 를 호출한 스레드가 자리가 날 때까지 대기함
+     *   (이벤트를 발행하는 WebSocket/요청 처리 스레드가 막힘) - 여기서는 가상 스레드 안에서 허가를 기다림
+     * - 여기서 taskExecutor 빈을 직접 정의하므로 Boot 의 기본 실행기 자동 설정(과 이 설정)은 @Async 에 적용되지 않음
+     * - Tomcat(TomcatConfig)과 비동기 실행기를 EXECUTION_MODE 하나로 함께 전환하고, 기본값은 플랫폼 스레드로 유지
+     */
+    static BoundedVirtualThreadExecutor virtualThreadExecutor(int permits) {
+        ThreadFactory factory = Thread.ofVirtual().name("BusLocation-vt-", 0).factory();
+        return new BoundedVirtualThreadExecutor(Executors.newThreadPerTaskExecutor(factory), permits);
+    }
+
+    /**
+     * 세마포어로 동시 실행 수를 제한하는 가상 스레드 실행기
+     * 허가를 기다리는 동안 블로킹되는 것은 가상 스레드이므로 제출 스레드는 막히지 않음
+     */
+    static final class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        BoundedVirtualThreadExecutor(ExecutorService delegate, int maxConcurrency) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        int availablePermits() {
+            return permits.availablePermits();
+        }
+
+        int waitingTasks() {
+            return permits.getQueueLength();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
 }
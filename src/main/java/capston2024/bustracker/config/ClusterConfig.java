@@ -0,0 +1,113 @@
+package capston2024.bustracker.config;
+
+import capston2024.bustracker.service.cluster.ClusterBusMode;
+import capston2024.bustracker.service.cluster.ClusterEventBus;
+import capston2024.bustracker.service.cluster.InProcessClusterEventBus;
+import capston2024.bustracker.service.cluster.LeaderElection;
+import capston2024.bustracker.service.cluster.LocalLeaderElection;
+import capston2024.bustracker.service.cluster.LocalOrganizationOwnership;
+import capston2024.bustracker.service.cluster.MongoChangeStreamClusterEventBus;
+import capston2024.bustracker.service.cluster.MongoLeaseLeaderElection;
+import capston2024.bustracker.service.cluster.MongoLeaseOrganizationOwnership;
+import capston2024.bustracker.service.cluster.OrganizationOwnership;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * 다중 인스턴스 배포를 위한 클러스터 이벤트 버스 설정
+ * - CLUSTER_BUS_MODE=in-process (기본값): 단일 노드
+ * - CLUSTER_BUS_MODE=mongo: MongoDB Change Stream 으로 노드 간 이벤트 전달,
+ *   조직별 소유 노드는 일관성 해시 + MongoDB 리스로 결정, 클러스터당 1회 작업은 리스 기반 리더가 실행
+ */
+@Configuration
+@Slf4j
+public class ClusterConfig {
+
+    @Value("${CLUSTER_BUS_MODE:in-process}")
+    private String clusterBusMode;
+
+    @Value("${CLUSTER_NODE_ID:}")
+    private String configuredNodeId;
+
+    @Value("${CLUSTER_EVENT_TTL_SECONDS:60}")
+    private long eventTtlSeconds;
+
+    @Value("${CLUSTER_LEASE_TTL_MS:15000}")
+    private long leaseTtlMs;
+
+    @Value("${CLUSTER_LEADER_LEASE_TTL_MS:60000}")
+    private long leaderLeaseTtlMs;
+
+    private String nodeId;
+
+    @Bean  // MONGO 모드에서는 종료 시 close() 로 Change Stream 정리 (destroy 메서드 자동 추론)
+    public ClusterEventBus clusterEventBus(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                                           RealtimeMetrics realtimeMetrics) {
+        String nodeId = resolveNodeId();
+        if (isMongoMode()) {
+            MongoChangeStreamClusterEventBus bus = new MongoChangeStreamClusterEventBus(
+                    nodeId, mongoTemplate, objectMapper, realtimeMetrics, eventTtlSeconds);
+            bus.start();
+            return bus;
+        }
+        log.info("🌐 클러스터 이벤트 버스: IN_PROCESS (노드 {})", nodeId);
+        return new InProcessClusterEventBus(nodeId);
+    }
+
+    @Bean  // MONGO 모드에서는 종료 시 close() 로 보유 리스 반납
+    public OrganizationOwnership organizationOwnership(MongoTemplate mongoTemplate, RealtimeMetrics realtimeMetrics) {
+        if (!isMongoMode()) {
+            return new LocalOrganizationOwnership();
+        }
+        MongoLeaseOrganizationOwnership ownership =
+                new MongoLeaseOrganizationOwnership(resolveNodeId(), mongoTemplate, leaseTtlMs);
+        ownership.start();
+        realtimeMetrics.gauge("bustracker.cluster.owned.organizations", "이 노드가 소유한 조직 수",
+                ownership, owner -> owner.getOwnedOrganizations().size());
+        return ownership;
+    }
+
+    @Bean  // MONGO 모드에서는 종료 시 close() 로 리더 리스 반납
+    public LeaderElection leaderElection(MongoTemplate mongoTemplate) {
+        if (!isMongoMode()) {
+            return new LocalLeaderElection();
+        }
+        return new MongoLeaseLeaderElection(resolveNodeId(), mongoTemplate, leaderLeaseTtlMs);
+    }
+
+    private boolean isMongoMode() {
+        return ClusterBusMode.from(clusterBusMode) == ClusterBusMode.MONGO;
+    }
+
+    /**
+     * 노드 ID - 지정하지 않으면 호스트명 + 임의 접미사 (버스와 소유권이 같은 ID 를 쓰도록 한 번만 생성)
+     */
+    private synchronized String resolveNodeId() {
+        if (nodeId != null) {
+            return nodeId;
+        }
+        nodeId = createNodeId();
+        return nodeId;
+    }
+
+    private String createNodeId() {
+        if (StringUtils.hasText(configuredNodeId)) {
+            return configuredNodeId;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -17,6 +17,7 @@ public class CorsConfig {
                         .allowedOriginPatterns("*")  // 모든 Origin 패턴 허용
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("ETag")  // 인사이트 스냅샷/토폴로지 응답 버전 (If-None-Match 재요청용)
                         .allowCredentials(false);
             }
         };
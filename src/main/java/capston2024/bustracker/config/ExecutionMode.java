@@ -0,0 +1,21 @@
+package capston2024.bustracker.config;
+
+/**
+ * 요청 처리 및 비동기 이벤트 처리에 사용할 스레드 실행 모델
+ * - PLATFORM: 기존 고정 크기 플랫폼 스레드 풀
+ * - VIRTUAL: Java 21 가상 스레드 (작업당 1 스레드)
+ */
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL;
+
+    /**
+     * 설정 문자열을 실행 모드로 변환 (알 수 없는 값은 PLATFORM)
+     */
+    public static ExecutionMode from(String value) {
+        if (value == null) {
+            return PLATFORM;
+        }
+        return "virtual".equalsIgnoreCase(value.trim()) ? VIRTUAL : PLATFORM;
+    }
+}
@@ -16,7 +16,7 @@ import java.util.concurrent.TimeUnit;
 public class MongoConfig {
 
     // 대규모 동시 접속 대응 설정 (상수값)
-    private static final int MAX_POOL_SIZE = 200;              // 최대 연결 수
+    static final int MAX_POOL_SIZE = 200;                      // 최대 연결 수
     private static final int MIN_POOL_SIZE = 20;               // 최소 연결 수
     private static final int MAX_CONNECTION_IDLE_TIME = 60000; // 유휴 연결 타임아웃 (60초)
     private static final int MAX_CONNECTION_LIFE_TIME = 300000;// 연결 최대 수명 (5분)
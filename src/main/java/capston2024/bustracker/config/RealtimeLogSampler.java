@@ -0,0 +1,156 @@
+package capston2024.bustracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static net.logstash.logback.argument.StructuredArguments.entries;
+
+/**
+ * 실시간 핸들러(WebSocket 위치/탑승 메시지) 전용 로그 샘플러
+ * - verbose: 모든 메시지의 상세 로그 출력 (개발용)
+ * - sampled: 버스/세션별로 일정 간격에 한 번만 상세 로그, 나머지는 주기별 집계 로그로 대체 (운영용)
+ * - 특정 버스/사용자는 런타임에 추적(trace) 대상으로 지정하면 DEBUG 로그까지 모두 출력
+ *
+ * 추적 대상 메시지를 처리하는 동안 MDC 에 {@link #TRACE_MDC_KEY} 를 설정하며,
+ * logback-spring.xml 의 MDCFilter 가 이 값을 보고 로그 레벨과 무관하게 출력한다.
+ */
+@Component
+@Slf4j
+public class RealtimeLogSampler {
+
+    public static final String TRACE_MDC_KEY = "realtimeTrace";
+
+    private final boolean verbose;
+    private final long sampleIntervalMs;
+
+    // 키(버스 번호/사용자 ID/세션 ID)별 마지막 상세 로그 출력 시각
+    private final Map<String, Long> lastSampledAt = new ConcurrentHashMap<>();
+    // 런타임 추적 대상 (버스 번호 또는 사용자 ID)
+    private final Set<String> tracedKeys = ConcurrentHashMap.newKeySet();
+    // 주기별 집계 카운터
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public RealtimeLogSampler(@Value("${REALTIME_LOG_MODE:sampled}") String mode,
+                              @Value("${REALTIME_LOG_SAMPLE_INTERVAL_MS:60000}") long sampleIntervalMs) {
+        this.verbose = "verbose".equalsIgnoreCase(mode);
+        this.sampleIntervalMs = sampleIntervalMs;
+        log.info("실시간 로그 모드: {} (샘플 간격 {}ms)", verbose ? "verbose" : "sampled", sampleIntervalMs);
+    }
+
+    /**
+     * 메시지 처리 시작 - 추적 대상이면 MDC 설정
+     * 반드시 finally 에서 {@link #endMessage()} 를 호출해야 함
+     *
+     * @return 이 메시지의 상세 로그를 남겨야 하는지 여부
+     */
+    public boolean beginMessage(String counterKey, String... keys) {
+        count(counterKey);
+        if (verbose || isTraced(keys)) {
+            MDC.put(TRACE_MDC_KEY, "true");
+            return true;
+        }
+        return shouldSample(keys.length > 0 ? keys[0] : null);
+    }
+
+    /**
+     * 스케줄러 등 메시지 수신 외 경로에서 키 단위 처리 시작 - 추적 대상인 경우에만 MDC 설정
+     * 반드시 finally 에서 {@link #endMessage()} 를 호출해야 함
+     */
+    public void beginKey(String key) {
+        if (isTraced(key)) {
+            MDC.put(TRACE_MDC_KEY, "true");
+        }
+    }
+
+    public void endMessage() {
+        MDC.remove(TRACE_MDC_KEY);
+    }
+
+    /**
+     * 키별로 샘플 간격마다 한 번만 true
+     */
+    public boolean shouldSample(String key) {
+        if (verbose) {
+            return true;
+        }
+        if (key == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        boolean[] sampled = {false};
+        lastSampledAt.compute(key, (k, last) -> {
+            if (last == null || now - last >= sampleIntervalMs) {
+                sampled[0] = true;
+                return now;
+            }
+            return last;
+        });
+        return sampled[0];
+    }
+
+    private boolean isTraced(String... keys) {
+        if (tracedKeys.isEmpty()) {
+            return false;
+        }
+        for (String key : keys) {
+            if (key != null && tracedKeys.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void count(String counterKey) {
+        counters.computeIfAbsent(counterKey, k -> new LongAdder()).increment();
+    }
+
+    public void trace(String key) {
+        tracedKeys.add(key);
+        log.info("실시간 로그 추적 시작: {}", key);
+    }
+
+    public void untrace(String key) {
+        tracedKeys.remove(key);
+        log.info("실시간 로그 추적 종료: {}", key);
+    }
+
+    public Set<String> getTracedKeys() {
+        return Set.copyOf(tracedKeys);
+    }
+
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    /**
+     * 주기별 집계 로그 - 메시지마다 남기던 INFO 로그를 한 줄로 대체
+     */
+    @Scheduled(fixedRateString = "${REALTIME_LOG_SUMMARY_INTERVAL_MS:10000}")
+    public void logSummary() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, adder) -> {
+            long value = adder.sumThenReset();
+            if (value > 0) {
+                snapshot.put(key, value);
+            }
+        });
+
+        // 오래된 샘플링 기록 정리 (샘플 간격의 10배 이상 지난 키)
+        long expireBefore = System.currentTimeMillis() - sampleIntervalMs * 10;
+        lastSampledAt.values().removeIf(last -> last < expireBefore);
+
+        if (!snapshot.isEmpty()) {
+            log.info("📊 [실시간요약] {} {}", Instant.now(), entries(snapshot));
+        }
+    }
+}
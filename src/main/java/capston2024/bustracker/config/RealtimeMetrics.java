@@ -0,0 +1,123 @@
+package capston2024.bustracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 실시간 파이프라인(위치 수신 → DB 반영 → 승객 브로드캐스트 → 탑승 감지) 메트릭
+ * - /actuator/prometheus 로 노출 (ADMIN 권한 필요)
+ * - 타이머는 p99 확인을 위해 퍼센타일 히스토그램을 함께 기록
+ */
+@Component
+@Getter
+public class RealtimeMetrics {
+
+    private final MeterRegistry registry;
+
+    // 타이머
+    private final Timer flushTimer;
+    private final Timer busUpdateTimer;
+    private final Timer broadcastTimer;
+    private final Timer boardingTimer;
+    private final Timer detectionTimer;
+
+    // 정류장/버스 근처가 아니어서 감지를 생략한 승객 위치 수
+    private final Counter detectionShortCircuitCounter;
+
+    // 유실/거부 메시지 카운터 캐시 (channel:reason -> counter)
+    private final Map<String, Counter> droppedCounters = new ConcurrentHashMap<>();
+    // 스케줄 작업 타이머/건너뜀 카운터 캐시
+    private final Map<String, Timer> jobTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> jobSkippedCounters = new ConcurrentHashMap<>();
+
+    public RealtimeMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.flushTimer = timer("bustracker.location.flush", "pending 위치 업데이트 일괄 DB 반영 시간");
+        this.busUpdateTimer = timer("bustracker.location.bus.update", "버스 1대 위치/정류장 반영 시간");
+        this.broadcastTimer = timer("bustracker.broadcast.fanout", "조직 승객 세션 전체에 버스 상태 전송 시간");
+        this.boardingTimer = timer("bustracker.boarding.process", "탑승/하차 처리 시간");
+        this.detectionTimer = timer("bustracker.passenger.detection", "승객 위치 기반 탑승/하차 감지 시간");
+        this.detectionShortCircuitCounter = Counter.builder("bustracker.passenger.detection.short_circuit")
+                .description("정류장/버스 근처가 아니어서 버스 위치 조회 없이 끝낸 승객 위치 수")
+                .register(registry);
+    }
+
+    private Timer timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * 시작 시각(System.nanoTime) 기준 경과 시간 기록
+     */
+    public void recordSince(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 유실/거부된 메시지 카운트
+     *
+     * @param channel driver / passenger / async 등 메시지 경로
+     * @param reason  유실 사유 (invalid_location, send_failed, rejected ...)
+     */
+    public void recordDropped(String channel, String reason) {
+        droppedCounters.computeIfAbsent(channel + ":" + reason, key -> Counter.builder("bustracker.messages.dropped")
+                        .description("처리되지 못하고 버려진 메시지 수")
+                        .tag("channel", channel)
+                        .tag("reason", reason)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * 스케줄 작업 실행 시간 기록
+     *
+     * @param scope leader (클러스터당 1회) / local (노드마다)
+     */
+    public void recordJob(String job, String scope, boolean success, long startNanos) {
+        String outcome = success ? "success" : "failure";
+        recordSince(jobTimers.computeIfAbsent(job + ":" + scope + ":" + outcome, key -> Timer.builder("bustracker.job.duration")
+                .description("스케줄 작업 실행 시간")
+                .tag("job", job)
+                .tag("scope", scope)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)), startNanos);
+    }
+
+    /**
+     * 실행되지 않고 건너뛴 스케줄 작업 카운트
+     *
+     * @param reason not_leader (다른 노드가 리더) / overlap (이전 실행 진행 중)
+     */
+    public void recordJobSkipped(String job, String reason) {
+        jobSkippedCounters.computeIfAbsent(job + ":" + reason, key -> Counter.builder("bustracker.job.skipped")
+                        .description("건너뛴 스케줄 작업 수")
+                        .tag("job", job)
+                        .tag("reason", reason)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * 게이지 등록 (이미 등록된 동일 이름/태그 게이지는 재사용됨)
+     */
+    public <T> void gauge(String name, String description, T stateObject, ToDoubleFunction<T> valueFunction,
+                          String... tags) {
+        Gauge.builder(name, stateObject, valueFunction)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -1,5 +1,6 @@
 package capston2024.bustracker.config;
 
+import capston2024.bustracker.config.status.Role;
 import capston2024.bustracker.handler.JwtAuthenticationFilter;
 import capston2024.bustracker.handler.JwtTokenProvider;
 import capston2024.bustracker.handler.OAuth2LoginSuccessHandler;
@@ -43,6 +44,9 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/private/**").authenticated()
+                        // 메트릭 태그에 조직 ID/조직별 세션 수가 들어가므로 health 외 actuator 는 관리자만
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority(Role.ADMIN.getKey())
                         .anyRequest().permitAll()
                 )
                 .oauth2Login(oauth2 -> oauth2
@@ -1,6 +1,9 @@
 package capston2024.bustracker.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.http11.Http11NioProtocol;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
@@ -8,8 +11,10 @@ import org.springframework.context.annotation.Configuration;
 
 /**
  * Tomcat 서버 설정 - 대규모 동시 접속 대응
+ * - EXECUTION_MODE=virtual 인 경우 요청 처리에 가상 스레드 사용 (고정 500 스레드 대신)
  */
 @Configuration
+@Slf4j
 public class TomcatConfig {
 
     // 대규모 동시 접속 대응 설정 (상수값)
@@ -21,15 +26,26 @@ public class TomcatConfig {
     private static final int KEEP_ALIVE_TIMEOUT = 60000;        // Keep-Alive 타임아웃 (60초)
     private static final int MAX_KEEP_ALIVE_REQUESTS = 100;     // 최대 Keep-Alive 요청 수
 
+    @Value("${EXECUTION_MODE:platform}")
+    private String executionMode;
+
     @Bean
     public WebServerFactoryCustomizer<TomcatServletWebServerFactory> tomcatCustomizer() {
+        ExecutionMode mode = ExecutionMode.from(executionMode);
+        log.info("Tomcat 요청 처리 실행 모드: {}", mode);
+
         return factory -> {
             factory.addConnectorCustomizers(connector -> {
                 Http11NioProtocol protocol = (Http11NioProtocol) connector.getProtocolHandler();
 
-                // 스레드 풀 설정
-                protocol.setMaxThreads(MAX_THREADS);
-                protocol.setMinSpareThreads(MIN_SPARE_THREADS);
+                // 스레드 설정
+                if (mode == ExecutionMode.VIRTUAL) {
+                    // 요청당 가상 스레드 - 블로킹 I/O(Mongo, 외부 API) 대기 중에도 캐리어 스레드를 점유하지 않음
+                    protocol.setExecutor(new VirtualThreadExecutor("tomcat-handler-"));
+                } else {
+                    protocol.setMaxThreads(MAX_THREADS);
+                    protocol.setMinSpareThreads(MIN_SPARE_THREADS);
+                }
 
                 // 연결 설정
                 protocol.setMaxConnections(MAX_CONNECTIONS);
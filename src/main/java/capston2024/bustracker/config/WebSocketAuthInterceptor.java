@@ -0,0 +1,141 @@
+package capston2024.bustracker.config;
+
+import capston2024.bustracker.domain.User;
+import capston2024.bustracker.exception.TokenException;
+import capston2024.bustracker.handler.JwtTokenProvider;
+import capston2024.bustracker.repository.BusRepository;
+import capston2024.bustracker.repository.UserRepository;
+import io.jsonwebtoken.ExpiredJwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * WebSocket 핸드셰이크 JWT 인증
+ * - Authorization: Bearer 헤더 또는 ?token= 쿼리 파라미터의 액세스 토큰을 연결 시 한 번만 검증
+ * - 사용자/권한/조직(기사는 버스 번호까지)을 WebSocketPrincipal 로 세션 속성에 저장
+ * - 승객: 토큰의 이메일로 사용자 ID 를 한 번 조회
+ * - 기사: 기사/관리자 권한 필요, ?busNumber= 를 지정하면 조직의 버스인지 한 번 확인
+ *
+ * 토큰이 없으면 required=false 일 때만 기존 방식(메시지의 조직/사용자 값 사용)으로 연결 허용
+ * ConnectionLimitInterceptor 보다 먼저 등록해야 거부된 연결이 IP 연결 수에 남지 않음
+ */
+@Slf4j
+public class WebSocketAuthInterceptor implements HandshakeInterceptor {
+
+    private static final String TOKEN_PREFIX = "Bearer ";
+    private static final Set<String> DRIVER_ROLES = Set.of("ROLE_DRIVER", "STAFF", "ADMIN");
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserRepository userRepository;
+    private final BusRepository busRepository;
+    private final boolean driverEndpoint;
+    private final boolean required;
+
+    public WebSocketAuthInterceptor(JwtTokenProvider tokenProvider, UserRepository userRepository,
+                                    BusRepository busRepository, boolean driverEndpoint, boolean required) {
+        this.tokenProvider = tokenProvider;
+        this.userRepository = userRepository;
+        this.busRepository = busRepository;
+        this.driverEndpoint = driverEndpoint;
+        this.required = required;
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        MultiValueMap<String, String> queryParams = UriComponentsBuilder.fromUri(request.getURI()).build()
+                .getQueryParams();
+        String token = resolveToken(request, queryParams);
+        if (token == null) {
+            if (required) {
+                return reject(response, HttpStatus.UNAUTHORIZED, "토큰 없음");
+            }
+            return true;
+        }
+
+        Authentication authentication;
+        try {
+            authentication = tokenProvider.authenticate(token);
+        } catch (ExpiredJwtException e) {
+            return reject(response, HttpStatus.UNAUTHORIZED, "토큰 만료");
+        } catch (TokenException e) {
+            return reject(response, HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰");
+        }
+        if (!(authentication.getPrincipal() instanceof OAuth2User user)) {
+            return reject(response, HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰");
+        }
+
+        Set<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toUnmodifiableSet());
+        String organizationId = user.getAttribute("organizationId");
+        String email = user.getAttribute("email");
+        if (email == null) {
+            email = user.getName();
+        }
+        if (!StringUtils.hasText(organizationId)) {
+            return reject(response, HttpStatus.FORBIDDEN, "조직 미인증 사용자");
+        }
+
+        WebSocketPrincipal principal;
+        if (driverEndpoint) {
+            if (roles.stream().noneMatch(DRIVER_ROLES::contains)) {
+                return reject(response, HttpStatus.FORBIDDEN, "기사 권한 없음");
+            }
+            String busNumber = queryParams.getFirst("busNumber");
+            if (busNumber != null
+                    && busRepository.findByBusNumberAndOrganizationId(busNumber, organizationId).isEmpty()) {
+                return reject(response, HttpStatus.FORBIDDEN, "조직에 없는 버스");
+            }
+            principal = new WebSocketPrincipal(null, email, roles, organizationId, busNumber);
+        } else {
+            String userId = userRepository.findByEmail(email).map(User::getId).orElse(null);
+            if (userId == null) {
+                return reject(response, HttpStatus.FORBIDDEN, "사용자 없음");
+            }
+            principal = new WebSocketPrincipal(userId, email, roles, organizationId, null);
+        }
+
+        attributes.put(WebSocketPrincipal.ATTRIBUTE, principal);
+        log.debug("🔐 [WebSocket인증] 핸드셰이크 인증 완료 - 사용자: {}, 조직: {}, 버스: {}",
+                email, organizationId, principal.busNumber());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private String resolveToken(ServerHttpRequest request, MultiValueMap<String, String> queryParams) {
+        String header = request.getHeaders().getFirst(AUTHORIZATION);
+        if (header != null && header.startsWith(TOKEN_PREFIX)) {
+            return header.substring(TOKEN_PREFIX.length());
+        }
+        // 브라우저/일부 클라이언트는 WebSocket 요청에 헤더를 넣을 수 없어 쿼리 파라미터도 허용
+        String token = queryParams.getFirst("token");
+        return StringUtils.hasText(token) ? token : null;
+    }
+
+    private boolean reject(ServerHttpResponse response, HttpStatus status, String reason) {
+        log.warn("🔒 [WebSocket인증] 핸드셰이크 거부 - {} ({})", reason, driverEndpoint ? "기사" : "승객");
+        response.setStatusCode(status);
+        return false;
+    }
+}
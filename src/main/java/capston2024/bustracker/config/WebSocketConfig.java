@@ -2,7 +2,11 @@ package capston2024.bustracker.config;
 
 import capston2024.bustracker.handler.BusDriverWebSocketHandler;
 import capston2024.bustracker.handler.BusPassengerWebSocketHandler;
+import capston2024.bustracker.handler.JwtTokenProvider;
+import capston2024.bustracker.repository.BusRepository;
+import capston2024.bustracker.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
@@ -19,16 +23,34 @@ public class WebSocketConfig implements WebSocketConfigurer {
     @Autowired
     private BusPassengerWebSocketHandler busPassengerWebSocketHandler;
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    // true 면 토큰 없는 연결 거부 (앱이 모두 토큰을 보내도록 배포된 뒤 활성화)
+    @Value("${WS_AUTH_REQUIRED:false}")
+    private boolean authRequired;
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         // 버스 기사용 웹소켓 엔드포인트 - 보안 강화
         registry.addHandler(busDriverWebSocketHandler, "/ws/driver")
                 .setAllowedOriginPatterns("*")
-                .addInterceptors(new ConnectionLimitInterceptor()); // 연결 제한 추가
+                .addInterceptors(authInterceptor(true), new ConnectionLimitInterceptor()); // 인증 후 연결 제한
 
         // 승객용 웹소켓 엔드포인트 - 보안 강화
         registry.addHandler(busPassengerWebSocketHandler, "/ws/passenger")
                 .setAllowedOriginPatterns("*")
-                .addInterceptors(new ConnectionLimitInterceptor()); // 연결 제한 추가
+                .addInterceptors(authInterceptor(false), new ConnectionLimitInterceptor()); // 인증 후 연결 제한
+    }
+
+    private WebSocketAuthInterceptor authInterceptor(boolean driverEndpoint) {
+        return new WebSocketAuthInterceptor(jwtTokenProvider, userRepository, busRepository,
+                driverEndpoint, authRequired);
     }
 }
\ No newline at end of file
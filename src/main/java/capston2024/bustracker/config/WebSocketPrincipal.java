@@ -0,0 +1,28 @@
+package capston2024.bustracker.config;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Set;
+
+/**
+ * 핸드셰이크 때 JWT 로 확인한 WebSocket 세션 사용자 정보
+ * - 세션 속성(ATTRIBUTE)에 저장되어 메시지마다 다시 검증하지 않음
+ * - 토큰 없이 연결한 세션(WS_AUTH_REQUIRED=false)에는 없음 → 메시지의 값을 그대로 사용
+ *
+ * @param userId         사용자 ID (승객 세션만)
+ * @param roles          권한 목록 (ROLE_USER, ROLE_DRIVER ...)
+ * @param organizationId 조직 ID
+ * @param busNumber      연결 시 지정한 버스 번호 (기사 세션만, 지정하지 않았으면 null)
+ */
+public record WebSocketPrincipal(String userId, String email, Set<String> roles, String organizationId,
+                                 String busNumber) {
+
+    public static final String ATTRIBUTE = "WS_PRINCIPAL";
+
+    /**
+     * 세션의 인증 정보 (토큰 없이 연결했으면 null)
+     */
+    public static WebSocketPrincipal of(WebSocketSession session) {
+        return (WebSocketPrincipal) session.getAttributes().get(ATTRIBUTE);
+    }
+}
@@ -26,4 +26,8 @@ public class BusRealTimeStatusDTO {
     private int currentStationIndex;    // 현재 정류장 인덱스
     private int totalStations;          // 전체 정류장 수
     private boolean isOperate;          // 운행 여부
+    private boolean extrapolated;       // 서버에서 외삽한 위치 여부 (기사 앱 위치가 아님)
+    private String routeId;             // 노선 ID
+    private double speedMps;            // 운동 모델의 추정 속도 (m/s)
+    private Double headingDegrees;      // 운동 모델의 추정 진행 방향 (북쪽 기준 시계 방향 도, 모르면 null)
 }
\ No newline at end of file
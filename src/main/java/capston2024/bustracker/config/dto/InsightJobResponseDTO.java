@@ -0,0 +1,20 @@
+package capston2024.bustracker.config.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class InsightJobResponseDTO {
+    private String jobId;
+    // PENDING, COMPLETED, FAILED
+    private String status;
+    private long submittedAt;
+    private Long completedAt;
+    private InsightQuestionResponseDTO result;
+    private String error;
+}
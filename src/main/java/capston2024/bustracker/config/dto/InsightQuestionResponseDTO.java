@@ -14,6 +14,8 @@ import java.util.Map;
 public class InsightQuestionResponseDTO {
     private String question;
     private String answer;
+    // AI 답변 여부 (false 면 AI 호출 실패/미설정으로 통계 기반 기본 답변)
+    private boolean aiGenerated;
     private Map<String, String> externalFactors;
     private StationStatsResponseDTO stationStats;
     private NetworkInsightResponseDTO networkStats;
@@ -7,6 +7,7 @@ import capston2024.bustracker.domain.EventReward;
 import capston2024.bustracker.repository.EventMissionRepository;
 import capston2024.bustracker.repository.EventRepository;
 import capston2024.bustracker.repository.EventRewardRepository;
+import capston2024.bustracker.service.EventCatalog;
 import com.mongodb.DBRef;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,6 +36,7 @@ public class EventAdminController {
     private final EventRepository eventRepository;
     private final EventMissionRepository eventMissionRepository;
     private final EventRewardRepository eventRewardRepository;
+    private final EventCatalog eventCatalog;
 
     /**
      * 샘플 이벤트 데이터 일괄 생성
@@ -172,6 +174,8 @@ public class EventAdminController {
         rewards = eventRewardRepository.saveAll(rewards);
         log.info("✅ 상품 생성 완료: {}개", rewards.size());
 
+        eventCatalog.invalidate(organizationId);
+
         // 결과 반환
         Map<String, Object> result = new HashMap<>();
         result.put("eventId", event.getId());
@@ -199,6 +203,7 @@ public class EventAdminController {
         event.setActive(!event.isActive());
         event.setUpdatedAt(LocalDateTime.now());
         event = eventRepository.save(event);
+        eventCatalog.invalidate(event.getOrganizationId());
 
         log.info("이벤트 활성화 상태 변경: {} -> {}", eventId, event.isActive());
 
@@ -221,6 +226,10 @@ public class EventAdminController {
     @DeleteMapping("/{eventId}")
     @Operation(summary = "이벤트 삭제", description = "이벤트와 관련된 모든 데이터를 삭제합니다.")
     public ResponseEntity<ApiResponse<String>> deleteEvent(@PathVariable String eventId) {
+        String organizationId = eventRepository.findById(eventId)
+                .map(Event::getOrganizationId)
+                .orElse(null);
+
         // 이벤트 삭제
         eventRepository.deleteById(eventId);
 
@@ -232,6 +241,8 @@ public class EventAdminController {
         List<EventReward> rewards = eventRewardRepository.findByEventIdOrderByRewardGrade(eventId);
         eventRewardRepository.deleteAll(rewards);
 
+        eventCatalog.invalidate(organizationId);
+
         log.info("이벤트 삭제 완료: {}", eventId);
 
         return ResponseEntity.ok(new ApiResponse<>("이벤트 삭제 완료", "이벤트 삭제 성공"));
@@ -1,11 +1,15 @@
 package capston2024.bustracker.controller;
 
 import capston2024.bustracker.config.dto.ApiResponse;
+import capston2024.bustracker.config.dto.InsightJobResponseDTO;
 import capston2024.bustracker.config.dto.InsightQuestionRequestDTO;
 import capston2024.bustracker.config.dto.InsightQuestionResponseDTO;
 import capston2024.bustracker.config.dto.NetworkAnalysisRequestDTO;
 import capston2024.bustracker.config.dto.NetworkInsightResponseDTO;
 import capston2024.bustracker.config.dto.StationStatsResponseDTO;
+import capston2024.bustracker.exception.BusinessException;
+import capston2024.bustracker.service.InsightQuestionService;
+import capston2024.bustracker.service.InsightSnapshotService;
 import capston2024.bustracker.service.StationInsightService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,6 +20,8 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,6 +30,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/insight")
@@ -33,19 +44,32 @@ import org.springframework.web.bind.annotation.RestController;
 @SecurityRequirement(name = "Bearer Authentication")
 public class InsightController {
 
+    // AI 응답 최대 대기(120초)보다 길게 유지
+    private static final long JOB_EVENTS_TIMEOUT_MS = 150_000;
+
     private final StationInsightService stationInsightService;
+    private final InsightQuestionService insightQuestionService;
+    private final InsightSnapshotService insightSnapshotService;
 
     @GetMapping("/stations/{stationId}/analysis")
-    @Operation(summary = "정류장 혼잡 분석", description = "특정 정류장의 최근 혼잡도, 피크 시간대, 이용률을 반환합니다.")
+    @Operation(summary = "정류장 혼잡 분석", description = "특정 정류장의 최근 혼잡도, 피크 시간대, 이용률을 반환합니다. "
+            + "1/7/30일 기간은 미리 계산한 스냅샷으로 응답하며 ETag(If-None-Match)를 지원합니다.")
     public ResponseEntity<ApiResponse<StationStatsResponseDTO>> analyzeStation(
             @Parameter(description = "정류장 ID") @PathVariable String stationId,
-            @Parameter(description = "분석 기간(일)", example = "7") @RequestParam(defaultValue = "7") int days) {
+            @Parameter(description = "분석 기간(일)", example = "7") @RequestParam(defaultValue = "7") int days,
+            WebRequest webRequest) {
+        Optional<InsightSnapshotService.Snapshot<StationStatsResponseDTO>> snapshot =
+                insightSnapshotService.findStation(stationId, days);
+        if (snapshot.isPresent()) {
+            return snapshotResponse(webRequest, snapshot.get(), "정류장 분석 결과");
+        }
         StationStatsResponseDTO stats = stationInsightService.analyzeStation(stationId, days);
         return ResponseEntity.ok(new ApiResponse<>(stats, "정류장 분석 결과"));
     }
 
     @GetMapping("/network/analysis")
-    @Operation(summary = "네트워크 전체 혼잡 분석 (간단 필터)", description = "최근 기간 동안 가장 혼잡한 정류장, 노선별 통계, 시간대별 통계 등을 제공합니다.")
+    @Operation(summary = "네트워크 전체 혼잡 분석 (간단 필터)", description = "최근 기간 동안 가장 혼잡한 정류장, 노선별 통계, 시간대별 통계 등을 제공합니다. "
+            + "조직/기간(1/7/30일)만 지정한 기본 조회는 미리 계산한 스냅샷으로 응답하며 ETag(If-None-Match)를 지원합니다.")
     public ResponseEntity<ApiResponse<NetworkInsightResponseDTO>> analyzeNetwork(
             @Parameter(description = "분석 기간(일)", example = "7") @RequestParam(required = false) Integer lookbackDays,
             @Parameter(description = "시작 날짜 (YYYY-MM-DD)") @RequestParam(required = false) String startDate,
@@ -55,7 +79,8 @@ public class InsightController {
             @Parameter(description = "정류장 ID (콤마 구분)") @RequestParam(required = false) String stationIds,
             @Parameter(description = "집계 타입 (HOUR, DAY, WEEK, MONTH, DAY_OF_WEEK, ALL)") @RequestParam(required = false) String aggregationType,
             @Parameter(description = "노선별 통계 포함") @RequestParam(required = false, defaultValue = "true") Boolean includeRouteStats,
-            @Parameter(description = "시간대별 통계 포함") @RequestParam(required = false, defaultValue = "true") Boolean includeTimeStats) {
+            @Parameter(description = "시간대별 통계 포함") @RequestParam(required = false, defaultValue = "true") Boolean includeTimeStats,
+            WebRequest webRequest) {
 
         NetworkAnalysisRequestDTO requestDTO = NetworkAnalysisRequestDTO.builder()
                 .lookbackDays(lookbackDays)
@@ -69,6 +94,11 @@ public class InsightController {
                 .includeTimeStats(includeTimeStats)
                 .build();
 
+        Optional<InsightSnapshotService.Snapshot<NetworkInsightResponseDTO>> snapshot =
+                insightSnapshotService.findNetwork(requestDTO);
+        if (snapshot.isPresent()) {
+            return snapshotResponse(webRequest, snapshot.get(), "네트워크 분석 결과");
+        }
         NetworkInsightResponseDTO stats = stationInsightService.analyzeNetworkWithFilters(requestDTO);
         return ResponseEntity.ok(new ApiResponse<>(stats, "네트워크 분석 결과"));
     }
@@ -91,7 +121,68 @@ public class InsightController {
     })
     public ResponseEntity<ApiResponse<InsightQuestionResponseDTO>> askInsight(
             @RequestBody InsightQuestionRequestDTO requestDTO) {
-        InsightQuestionResponseDTO response = stationInsightService.answerQuestion(requestDTO);
+        InsightQuestionResponseDTO response = insightQuestionService.ask(requestDTO);
         return ResponseEntity.ok(new ApiResponse<>(response, "인사이트 생성 완료"));
     }
+
+    @PostMapping("/ask/jobs")
+    @Operation(summary = "AI 질의응답 비동기 요청",
+            description = "질문을 작업으로 등록하고 작업 ID 를 바로 반환합니다. 결과는 작업 조회 또는 SSE 로 받습니다.")
+    public ResponseEntity<ApiResponse<InsightJobResponseDTO>> submitInsightJob(
+            @RequestBody InsightQuestionRequestDTO requestDTO) {
+        try {
+            InsightQuestionService.InsightJob job = insightQuestionService.submit(requestDTO);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse<>(job.toDTO(), "인사이트 작업 등록 완료"));
+        } catch (BusinessException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(new ApiResponse<>(null, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/ask/jobs/{jobId}")
+    @Operation(summary = "AI 질의응답 작업 조회", description = "작업 상태(PENDING, COMPLETED, FAILED)와 완료된 경우 결과를 반환합니다.")
+    public ResponseEntity<ApiResponse<InsightJobResponseDTO>> getInsightJob(
+            @Parameter(description = "작업 ID") @PathVariable String jobId) {
+        return insightQuestionService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(new ApiResponse<>(job.toDTO(), "인사이트 작업 조회")))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse<>(null, "존재하지 않거나 만료된 작업입니다: " + jobId)));
+    }
+
+    @GetMapping(value = "/ask/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "AI 질의응답 작업 결과 구독 (SSE)", description = "작업이 끝나면 result 이벤트로 작업 결과를 한 번 보내고 연결을 종료합니다.")
+    public ResponseEntity<SseEmitter> streamInsightJob(
+            @Parameter(description = "작업 ID") @PathVariable String jobId) {
+        return insightQuestionService.getJob(jobId)
+                .map(job -> {
+                    SseEmitter emitter = new SseEmitter(JOB_EVENTS_TIMEOUT_MS);
+                    job.future().whenComplete((response, error) -> {
+                        try {
+                            emitter.send(SseEmitter.event().name("result").data(job.toDTO()));
+                            emitter.complete();
+                        } catch (IOException | IllegalStateException e) {
+                            log.debug("인사이트 작업 결과 전송 실패 - jobId: {}, 오류: {}", jobId, e.getMessage());
+                            emitter.completeWithError(e);
+                        }
+                    });
+                    return ResponseEntity.ok(emitter);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    /**
+     * 스냅샷 응답 - If-None-Match 가 현재 ETag 와 같으면 본문 없이 304
+     */
+    private <T> ResponseEntity<ApiResponse<T>> snapshotResponse(WebRequest webRequest,
+                                                                InsightSnapshotService.Snapshot<T> snapshot,
+                                                                String message) {
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .lastModified(snapshot.computedAt())
+                .body(new ApiResponse<>(snapshot.value(), message));
+    }
 }
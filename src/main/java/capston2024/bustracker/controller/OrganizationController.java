@@ -5,11 +5,15 @@ import capston2024.bustracker.config.dto.OrganizationDTO;
 import capston2024.bustracker.domain.Organization;
 import capston2024.bustracker.domain.auth.OrganizationIdGenerator;
 import capston2024.bustracker.service.OrganizationService;
+import capston2024.bustracker.service.topology.TopologyResponseCache;
+import capston2024.bustracker.service.topology.TopologyVersions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.Map;
 
 // Swagger 어노테이션 추가
@@ -28,9 +32,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 public class OrganizationController {
 
     private final OrganizationService organizationService;
+    private final TopologyResponseCache topologyResponseCache;
 
-    public OrganizationController(OrganizationService organizationService) {
+    public OrganizationController(OrganizationService organizationService,
+                                  TopologyResponseCache topologyResponseCache) {
         this.organizationService = organizationService;
+        this.topologyResponseCache = topologyResponseCache;
     }
 
     /**
@@ -97,24 +104,28 @@ public class OrganizationController {
     }
 
     /**
-     * 조직 정보 조회
+     * 조직 정보 조회 (조직 목록 버전 ETag 로 캐시)
      */
     @GetMapping("/{organizationId}")
     @Operation(summary = "조직 정보 조회",
             description = "조직 ID로 조직의 상세 정보를 조회합니다.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조직 정보 조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "존재하지 않는 조직")
     })
-    public ResponseEntity<ApiResponse<Organization>> getOrganizationInfo(
-            @Parameter(description = "조직 ID") @PathVariable String organizationId) {
+    public ResponseEntity<byte[]> getOrganizationInfo(
+            @Parameter(description = "조직 ID") @PathVariable String organizationId,
+            @Parameter(hidden = true) WebRequest webRequest) {
 
         log.info("조직 정보 조회 요청 - 조직 ID: {}", organizationId);
 
         try {
-            Organization organization = organizationService.getOrganization(organizationId); // 🔄 기존 메서드 재사용
-
-            return ResponseEntity.ok(new ApiResponse<>(organization, "조직 정보가 성공적으로 조회되었습니다."));
+            return topologyResponseCache.respond(webRequest, "organization:" + organizationId,
+                    List.of(TopologyVersions.ORGANIZATIONS_SCOPE), () -> {
+                        Organization organization = organizationService.getOrganization(organizationId); // 🔄 기존 메서드 재사용
+                        return new ApiResponse<>(organization, "조직 정보가 성공적으로 조회되었습니다.");
+                    });
 
         } catch (Exception e) {
             log.error("조직 정보 조회 중 오류: {}", e.getMessage(), e);
@@ -123,7 +134,7 @@ public class OrganizationController {
     }
 
     /**
-     * 모든 조직 목록 조회
+     * 모든 조직 목록 조회 (조직 목록 버전 ETag 로 캐시)
      */
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
@@ -132,13 +143,15 @@ public class OrganizationController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조직 목록 조회 성공",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음 (총관리자 권한 필요)")
     })
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<ApiResponse<java.util.List<Organization>>> getAllOrganizations() {
+    public ResponseEntity<byte[]> getAllOrganizations(@Parameter(hidden = true) WebRequest webRequest) {
         log.info("모든 조직 목록 조회 요청");
-        java.util.List<Organization> organizations = organizationService.getAllOrganizations();
-        return ResponseEntity.ok(new ApiResponse<>(organizations, "조직 목록을 성공적으로 조회했습니다."));
+        return topologyResponseCache.respond(webRequest, "organizations",
+                List.of(TopologyVersions.ORGANIZATIONS_SCOPE),
+                () -> new ApiResponse<>(organizationService.getAllOrganizations(), "조직 목록을 성공적으로 조회했습니다."));
     }
 }
\ No newline at end of file
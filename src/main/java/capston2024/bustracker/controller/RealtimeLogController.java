@@ -0,0 +1,57 @@
+package capston2024.bustracker.controller;
+
+import capston2024.bustracker.config.RealtimeLogSampler;
+import capston2024.bustracker.config.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+/**
+ * 실시간 로그 추적 관리자 컨트롤러
+ * 운영 중 특정 버스/사용자의 상세 로그를 켜고 끔
+ */
+@RestController
+@RequestMapping("/api/admin/realtime-log")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Realtime Log Admin", description = "실시간 로그 추적 관리자 API")
+public class RealtimeLogController {
+
+    private final RealtimeLogSampler logSampler;
+
+    @GetMapping("/trace")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'ADMIN')")
+    @Operation(summary = "추적 대상 조회", description = "상세 로그를 출력 중인 버스 번호/사용자 ID 목록을 조회합니다.")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<ApiResponse<Set<String>>> getTracedKeys() {
+        return ResponseEntity.ok(new ApiResponse<>(logSampler.getTracedKeys(), "추적 대상 조회 완료"));
+    }
+
+    @PostMapping("/trace/{key}")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'ADMIN')")
+    @Operation(summary = "추적 시작", description = "지정한 버스 번호 또는 사용자 ID의 실시간 메시지 로그를 DEBUG 까지 모두 출력합니다.")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<ApiResponse<Set<String>>> trace(
+            @Parameter(description = "버스 번호 또는 사용자 ID") @PathVariable String key) {
+        logSampler.trace(key);
+        return ResponseEntity.ok(new ApiResponse<>(logSampler.getTracedKeys(), "추적을 시작했습니다."));
+    }
+
+    @DeleteMapping("/trace/{key}")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'ADMIN')")
+    @Operation(summary = "추적 종료", description = "지정한 버스 번호 또는 사용자 ID의 상세 로그 출력을 중지합니다.")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<ApiResponse<Set<String>>> untrace(
+            @Parameter(description = "버스 번호 또는 사용자 ID") @PathVariable String key) {
+        logSampler.untrace(key);
+        return ResponseEntity.ok(new ApiResponse<>(logSampler.getTracedKeys(), "추적을 종료했습니다."));
+    }
+}
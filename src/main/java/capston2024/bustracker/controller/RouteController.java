@@ -9,6 +9,8 @@ import capston2024.bustracker.exception.ResourceNotFoundException;
 import capston2024.bustracker.exception.UnauthorizedException;
 import capston2024.bustracker.service.AuthService;
 import capston2024.bustracker.service.RouteService;
+import capston2024.bustracker.service.topology.TopologyResponseCache;
+import capston2024.bustracker.service.topology.TopologyVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -17,6 +19,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -40,10 +43,11 @@ public class RouteController {
 
     private final RouteService routeService;
     private final AuthService authService;
+    private final TopologyResponseCache topologyResponseCache;
 
     /**
      * 조직 라우트 조회
-     * 검색어가 있으면 검색, 없으면 전체 조회
+     * 검색어가 있으면 검색, 없으면 전체 조회 (전체 조회는 조직 토폴로지 버전 ETag 로 캐시)
      */
     @GetMapping
     @Operation(summary = "조직 라우트 목록 조회",
@@ -51,13 +55,15 @@ public class RouteController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "라우트 목록 조회 성공",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음")
     })
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<ApiResponse<List<RouteDTO>>> getRoutesByOrganization(
+    public ResponseEntity<?> getRoutesByOrganization(
             @Parameter(hidden = true) @AuthenticationPrincipal OAuth2User principal,
-            @Parameter(description = "라우트 이름 검색어 (선택사항)") @RequestParam(required = false) String name) {
+            @Parameter(description = "라우트 이름 검색어 (선택사항)") @RequestParam(required = false) String name,
+            @Parameter(hidden = true) WebRequest webRequest) {
 
         if (principal == null) {
             log.warn("인증된 사용자를 찾을 수 없음");
@@ -73,26 +79,27 @@ public class RouteController {
 
         log.info("📍 라우트 조회 요청 - 조직 ID: {}, 검색어: '{}'", organizationId, name);
 
-        List<RouteDTO> routes;
-        String responseMessage;
-
         if (name != null && !name.trim().isEmpty()) {
             // 🔍 검색 모드
-            routes = routeService.searchRoutesByNameAndOrganizationId(name.trim(), organizationId);
-            responseMessage = String.format("'%s' 검색 결과 %d개 라우트가 조회되었습니다.", name.trim(), routes.size());
+            List<RouteDTO> routes = routeService.searchRoutesByNameAndOrganizationId(name.trim(), organizationId);
+            String responseMessage = String.format("'%s' 검색 결과 %d개 라우트가 조회되었습니다.", name.trim(), routes.size());
             log.info("🔍 라우트 검색 완료 - 검색어: '{}', 결과: {}개", name.trim(), routes.size());
-        } else {
-            // 📋 전체 조회 모드
-            routes = routeService.getAllRoutesByOrganizationId(organizationId);
-            responseMessage = String.format("조직의 전체 라우트 %d개가 조회되었습니다.", routes.size());
-            log.info("📋 전체 라우트 조회 완료 - 총 {}개", routes.size());
+            return ResponseEntity.ok(new ApiResponse<>(routes, responseMessage));
         }
 
-        return ResponseEntity.ok(new ApiResponse<>(routes, responseMessage));
+        // 📋 전체 조회 모드
+        return topologyResponseCache.respond(webRequest, "routes:" + organizationId,
+                List.of(TopologyVersions.organizationScope(organizationId)), () -> {
+                    List<RouteDTO> routes = routeService.getAllRoutesByOrganizationId(organizationId);
+                    log.info("📋 전체 라우트 조회 완료 - 총 {}개", routes.size());
+                    return new ApiResponse<>(routes,
+                            String.format("조직의 전체 라우트 %d개가 조회되었습니다.", routes.size()));
+                });
     }
 
     /**
      * 특정 라우트 상세 조회 - 프론트엔드 완벽 호환 ✅
+     * 조직 토폴로지 버전 ETag 로 캐시
      */
     @GetMapping("/{id}")
     @Operation(summary = "특정 라우트 상세 조회",
@@ -100,14 +107,16 @@ public class RouteController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "라우트 상세 조회 성공",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "라우트를 찾을 수 없음"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음")
     })
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<ApiResponse<RouteDTO>> getRouteById(
+    public ResponseEntity<byte[]> getRouteById(
             @Parameter(description = "조회할 라우트 ID") @PathVariable String id,
-            @Parameter(hidden = true) @AuthenticationPrincipal OAuth2User principal) {
+            @Parameter(hidden = true) @AuthenticationPrincipal OAuth2User principal,
+            @Parameter(hidden = true) WebRequest webRequest) {
 
         if (principal == null) {
             throw new UnauthorizedException("인증된 사용자만 라우트를 조회할 수 있습니다.");
@@ -122,13 +131,16 @@ public class RouteController {
 
         log.info("🔍 라우트 상세 조회 - ID: {}, 조직: {}", id, organizationId);
 
-        RouteDTO route = routeService.getRouteById(id, organizationId);
+        return topologyResponseCache.respond(webRequest, "route:" + organizationId + ":" + id,
+                List.of(TopologyVersions.organizationScope(organizationId)), () -> {
+                    RouteDTO route = routeService.getRouteById(id, organizationId);
 
-        log.info("✅ 라우트 조회 성공 - 이름: '{}', 정류장: {}개",
-                route.getRouteName(), route.getStations().size());
+                    log.info("✅ 라우트 조회 성공 - 이름: '{}', 정류장: {}개",
+                            route.getRouteName(), route.getStations().size());
 
-        return ResponseEntity.ok(new ApiResponse<>(route,
-                String.format("라우트 '%s' 조회가 완료되었습니다.", route.getRouteName())));
+                    return new ApiResponse<>(route,
+                            String.format("라우트 '%s' 조회가 완료되었습니다.", route.getRouteName()));
+                });
     }
 
     /**
@@ -7,6 +7,8 @@ import capston2024.bustracker.exception.BusinessException;
 import capston2024.bustracker.exception.UnauthorizedException;
 import capston2024.bustracker.service.AuthService;
 import capston2024.bustracker.service.StationService;
+import capston2024.bustracker.service.topology.TopologyResponseCache;
+import capston2024.bustracker.service.topology.TopologyVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,6 +24,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -34,14 +37,18 @@ public class StationController {
 
     private final StationService stationService;
     private final AuthService authService;
+    private final TopologyResponseCache topologyResponseCache;
 
-    public StationController(StationService stationService, AuthService authService) {
+    public StationController(StationService stationService, AuthService authService,
+                             TopologyResponseCache topologyResponseCache) {
         this.stationService = stationService;
         this.authService = authService;
+        this.topologyResponseCache = topologyResponseCache;
     }
 
     /**
      * 정류장 조회 (이름 검색 또는 전체 조회)
+     * 전체 조회는 조직 토폴로지 버전 ETag 로 캐시 (변경이 없으면 304)
      */
     @GetMapping
     @Operation(summary = "정류장 목록 조회",
@@ -49,13 +56,15 @@ public class StationController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "정류장 목록 조회 성공",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "권한 없음")
     })
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<ApiResponse<List<Station>>> getStations(
+    public ResponseEntity<?> getStations(
             @Parameter(description = "정류장 이름 검색어 (선택사항)") @RequestParam(required = false) String name,
-            @Parameter(hidden = true) @AuthenticationPrincipal OAuth2User principal) {
+            @Parameter(hidden = true) @AuthenticationPrincipal OAuth2User principal,
+            @Parameter(hidden = true) WebRequest webRequest) {
 
         log.info("유저의 principal : {} ", principal);
         if (principal == null) {
@@ -72,17 +81,17 @@ public class StationController {
 
         log.info("정류장 조회 요청 - 조직 ID: {}, 검색어: {}", organizationId, name);
 
-        List<Station> stations;
         if (name != null && !name.trim().isEmpty()) {
             // 정류장 이름으로 조회
             log.info("정류장 이름으로 조회: {}", name);
-            stations = stationService.searchStationsByNameAndOrganizationId(name, organizationId);
+            List<Station> stations = stationService.searchStationsByNameAndOrganizationId(name, organizationId);
             return ResponseEntity.ok(new ApiResponse<> (stations, "버스 정류장 검색이 성공적으로 완료되었습니다."));
         } else {
             // 모든 정류장 조회
             log.info("모든 정류장 조회 요청");
-            stations = stationService.getAllStations(organizationId);
-            return ResponseEntity.ok(new ApiResponse<>(stations, "모든 정류장 조회 완료"));
+            return topologyResponseCache.respond(webRequest, "stations:" + organizationId,
+                    List.of(TopologyVersions.organizationScope(organizationId)),
+                    () -> new ApiResponse<>(stationService.getAllStations(organizationId), "모든 정류장 조회 완료"));
         }
     }
 
@@ -8,6 +8,8 @@ import capston2024.bustracker.exception.BusinessException;
 import capston2024.bustracker.exception.UnauthorizedException;
 import capston2024.bustracker.service.AuthService;
 import capston2024.bustracker.service.UserService;
+import capston2024.bustracker.service.topology.TopologyResponseCache;
+import capston2024.bustracker.service.topology.TopologyVersions;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -16,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -38,6 +41,7 @@ public class UserController {
 
     private final UserService userService;
     private final AuthService authService;
+    private final TopologyResponseCache topologyResponseCache;
 
     /**
      * 조직별 모든 사용자 조회 (관리자 전용)
@@ -154,6 +158,7 @@ public class UserController {
 
     /**
      * 내 정류장 목록 조회
+     * 내 정류장 버전 + 조직 토폴로지 버전 ETag 로 캐시 (정류장 정보가 바뀌어도 갱신)
      */
     @GetMapping("/my-station")
     @Operation(summary = "내 정류장 목록 조회",
@@ -161,11 +166,13 @@ public class UserController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "내 정류장 목록 조회 성공",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 일치)"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증되지 않은 사용자")
     })
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<ApiResponse<List<Station>>> getMyStationList(
-            @Parameter(hidden = true) @AuthenticationPrincipal OAuth2User principal) {
+    public ResponseEntity<byte[]> getMyStationList(
+            @Parameter(hidden = true) @AuthenticationPrincipal OAuth2User principal,
+            @Parameter(hidden = true) WebRequest webRequest) {
 
         log.info("유저의 principal : {} ", principal);
         if (principal == null) {
@@ -174,10 +181,14 @@ public class UserController {
         }
         Map<String, Object> obj = authService.getUserDetails(principal);
         String email = (String)obj.get("email");
-        List<Station> myStationList = userService.getMyStationList(email);
-
-        log.info("{}님의 내 정류장이 조회되었습니다.", email);
-        return ResponseEntity.ok(new ApiResponse<>(myStationList, "내 정류장 조회가 성공적으로 완료되었습니다."));
+        String organizationId = (String) obj.get("organizationId");
+
+        return topologyResponseCache.respond(webRequest, "my-stations:" + email,
+                List.of(TopologyVersions.userScope(email), TopologyVersions.organizationScope(organizationId)), () -> {
+                    List<Station> myStationList = userService.getMyStationList(email);
+                    log.info("{}님의 내 정류장이 조회되었습니다.", email);
+                    return new ApiResponse<>(myStationList, "내 정류장 조회가 성공적으로 완료되었습니다.");
+                });
     }
 
     /**
@@ -32,6 +32,8 @@ public class EventParticipation {
     private boolean hasDrawn; // 뽑기 완료 여부
     private DBRef drawnRewardId; // 당첨된 상품 ID
     private LocalDateTime drawTimestamp; // 뽑기 시각
+    private String drawClaim; // 뽑기 진행 중인 요청 토큰 (완료/실패 시 제거)
+    private LocalDateTime drawClaimedAt; // 뽑기 선점 시각
     private LocalDateTime createdAt; // 생성일
     private LocalDateTime updatedAt; // 수정일
 
@@ -18,6 +18,7 @@ public class TokenInfo {
     private String username;
     private String refreshToken;
     private String accessToken;
+    private String accessTokenHash;  // accessToken 의 SHA-256 (조회용 인덱스 키)
     @Indexed(expireAfterSeconds = 0)  // TTL 인덱스 설정
     private Date expirationDate;  // 만료 시간 필드 추가
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package capston2024.bustracker.domain.utils;
+
+/**
+ * 위경도 좌표 계산 유틸리티
+ * BusService, PassengerLocationService 에서 각각 구현하던 Haversine 거리 계산을 한 곳으로 모음
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_METERS = 6371000; // 지구의 반지름 (미터)
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 두 위치 사이의 거리 계산 (Haversine 공식, 미터 단위)
+     */
+    public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        if (lat1 == lat2 && lon1 == lon2) {
+            return 0;
+        }
+
+        // 위도, 경도를 라디안으로 변환
+        double lat1Rad = Math.toRadians(lat1);
+        double lat2Rad = Math.toRadians(lat2);
+
+        // 위도, 경도 차이
+        double dLat = lat2Rad - lat1Rad;
+        double dLon = Math.toRadians(lon2 - lon1);
+
+        // Haversine 공식
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat + Math.cos(lat1Rad) * Math.cos(lat2Rad) * sinLon * sinLon;
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        // 최종 거리 (미터 단위)
+        return EARTH_RADIUS_METERS * c;
+    }
+}
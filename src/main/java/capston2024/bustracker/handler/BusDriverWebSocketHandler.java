@@ -1,10 +1,14 @@
 package capston2024.bustracker.handler;
 
 import capston2024.bustracker.config.ConnectionLimitInterceptor;
+import capston2024.bustracker.config.RealtimeLogSampler;
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.config.WebSocketPrincipal;
 import capston2024.bustracker.config.dto.BusRealTimeLocationDTO;
 import capston2024.bustracker.config.dto.BusSeatDTO;
 import capston2024.bustracker.domain.Bus;
 import capston2024.bustracker.service.BusService;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
@@ -19,12 +23,10 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 개선된 버스 기사 앱과의 WebSocket 통신 핸들러
@@ -42,20 +44,21 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
 
     private final BusService busService;
     private final ObjectMapper objectMapper;
+    private final RealtimeMetrics realtimeMetrics;
+    private final RealtimeLogSampler logSampler;
+    private final ClusterJobScheduler clusterJobScheduler;
 
-    // 세션 관리를 위한 맵들 - 메모리 누수 방지를 위해 ConcurrentHashMap 사용
-    private final Map<String, WebSocketSession> driverSessions = new ConcurrentHashMap<>();
-    private final Map<String, String> sessionToBusMap = new ConcurrentHashMap<>();
-    private final Map<String, String> sessionToOrganizationMap = new ConcurrentHashMap<>();
-    private final Map<String, Instant> lastHeartbeatMap = new ConcurrentHashMap<>();
+    // 하트비트 타임아웃 (마지막 메시지 후 2분) / 만료 확인 주기
+    private static final long HEARTBEAT_TIMEOUT_MS = 120_000;
+    private static final long SESSION_EXPIRY_TICK_MS = 5_000;
+
+    // 세션 레지스트리 - 세션당 레코드 하나 (버스/조직 인덱스, 하트비트 만료는 타이밍 휠)
+    private final SessionRegistry sessionRegistry = new SessionRegistry(HEARTBEAT_TIMEOUT_MS, SESSION_EXPIRY_TICK_MS);
 
     // 실시간 위치 추적을 위한 추가 맵
     private final Map<String, BusRealTimeLocationDTO> lastKnownLocations = new ConcurrentHashMap<>();
     private final Map<String, Instant> lastLocationUpdateTime = new ConcurrentHashMap<>();
 
-    // 하트비트 체크를 위한 스케줄러
-    private final ScheduledExecutorService heartbeatScheduler = Executors.newScheduledThreadPool(2);
-
     // 통계 정보
     private long totalMessagesReceived = 0;
     private long totalLocationUpdates = 0;
@@ -67,11 +70,18 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
         log.info("🚌 ================== WebSocket 연결 설정 ==================");
         log.info("🚌 세션 ID: {}", session.getId());
         log.info("🚌 클라이언트 IP: {}", clientIp);
-        log.info("🚌 현재 활성 버스 기사 수: {}", driverSessions.size());
+        log.info("🚌 현재 활성 버스 기사 수: {}", sessionRegistry.busCount());
         log.info("🚌 ========================================================");
 
-        // 하트비트 초기화
-        lastHeartbeatMap.put(session.getId(), Instant.now());
+        // 세션 등록 (하트비트 만료 대상)
+        sessionRegistry.register(session);
+
+        // 핸드셰이크에서 버스까지 확인된 세션은 첫 위치 메시지를 기다리지 않고 바로 등록
+        WebSocketPrincipal principal = WebSocketPrincipal.of(session);
+        if (principal != null && principal.busNumber() != null) {
+            registerDriverSession(session, principal.busNumber(), principal.organizationId());
+            log.info("🔐 인증된 버스 기사 등록: 버스 {}, 조직 {}", principal.busNumber(), principal.organizationId());
+        }
 
         // 연결 성공 메시지 전송
         try {
@@ -90,8 +100,10 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
         String sessionId = session.getId();
-        String busNumber = sessionToBusMap.remove(sessionId);
-        String organizationId = sessionToOrganizationMap.remove(sessionId);
+        // 하트비트 만료로 이미 정리된 세션이면 null
+        SessionRegistry.Entry entry = sessionRegistry.remove(sessionId);
+        String busNumber = entry != null ? entry.busNumber() : null;
+        String organizationId = entry != null ? entry.organizationId() : null;
         String clientIp = (String) session.getAttributes().get("CLIENT_IP");
 
         log.warn("🚌 ================== WebSocket 연결 종료 ==================");
@@ -99,26 +111,38 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
         log.warn("🚌 버스 번호: {}", busNumber != null ? busNumber : "미등록");
         log.warn("🚌 조직 ID: {}", organizationId != null ? organizationId : "미등록");
         log.warn("🚌 종료 상태: {} - {}", status.getCode(), status.getReason());
-        log.warn("🚌 남은 활성 버스: {}", driverSessions.size() - (busNumber != null ? 1 : 0));
+        log.warn("🚌 남은 활성 버스: {}", sessionRegistry.busCount());
         log.warn("🚌 ========================================================");
 
-        // 모든 맵에서 세션 정보 제거 (메모리 누수 방지)
-        if (busNumber != null) {
-            driverSessions.remove(busNumber);
-            lastKnownLocations.remove(busNumber);
-            lastLocationUpdateTime.remove(busNumber);
-        }
-
-        // 하트비트 정보 제거
-        lastHeartbeatMap.remove(sessionId);
-
         // IP별 연결 수 감소
         if (clientIp != null) {
             ConnectionLimitInterceptor.decrementConnection(clientIp);
         }
 
-        // 버스 상태를 비활성으로 업데이트 및 모든 승객 강제 하차
-        if (busNumber != null && organizationId != null) {
+        if (entry != null) {
+            releaseBus(entry);
+        }
+    }
+
+    /**
+     * 레지스트리에서 빠진 세션의 버스 정리 - 위치 정보 제거, 버스 비활성 처리 및 모든 승객 강제 하차
+     * 같은 버스의 새 기사 세션으로 이미 대체된 세션이면 새 세션의 상태를 건드리지 않음
+     */
+    private void releaseBus(SessionRegistry.Entry entry) {
+        String busNumber = entry.busNumber();
+        String organizationId = entry.organizationId();
+        if (busNumber == null) {
+            return;
+        }
+        if (entry.isReplaced()) {
+            log.info("ℹ️ 버스 {}는 새 기사 세션으로 대체됨 - 비활성 처리 생략 (세션 ID: {})", busNumber, entry.id());
+            return;
+        }
+
+        lastKnownLocations.remove(busNumber);
+        lastLocationUpdateTime.remove(busNumber);
+
+        if (organizationId != null) {
             try {
                 busService.updateBusInactiveStatus(busNumber, organizationId);
                 log.info("🔴 버스 {} 비활성 상태로 변경됨 (조직: {})", busNumber, organizationId);
@@ -133,21 +157,35 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
         String payload = message.getPayload();
         totalMessagesReceived++;
 
-        log.info("📨 ============= WebSocket 메시지 수신 #{} =============", totalMessagesReceived);
-        log.info("📨 세션 ID: {}", session.getId());
-        log.info("📨 메시지 크기: {} bytes", payload.length());
-        log.info("📨 메시지 내용: {}", payload.length() > 200 ? payload.substring(0, 200) + "..." : payload);
+        // GPS 프레임마다 남기던 로그는 DEBUG - 버스별 샘플링된 한 줄만 INFO 로 남김 (추적 대상은 전부 출력)
+        String sessionId = session.getId();
+        String busNumber = busNumberOf(session);
+        boolean sampled = logSampler.beginMessage("driver.message",
+                busNumber != null ? busNumber : sessionId, sessionId);
+        try {
+            handleDriverMessage(session, payload, sampled);
+        } finally {
+            logSampler.endMessage();
+        }
+    }
+
+    private void handleDriverMessage(WebSocketSession session, String payload, boolean sampled) {
+        log.debug("📨 메시지 수신 #{}: 세션 ID = {}, 크기 = {} bytes, 내용 = {}", totalMessagesReceived,
+                session.getId(), payload.length(), payload.length() > 200 ? payload.substring(0, 200) + "..." : payload);
 
         try {
             // 메시지 타입 판별
             Map<String, Object> messageData = objectMapper.readValue(payload, Map.class);
             String messageType = (String) messageData.get("type");
 
-            log.info("📨 메시지 타입: {}", messageType != null ? messageType : "LEGACY");
-            log.info("📨 =====================================================");
+            if (sampled) {
+                log.info("📨 메시지 수신(샘플) #{}: 타입 = {}, 버스 = {}, 세션 ID = {}", totalMessagesReceived,
+                        messageType != null ? messageType : "LEGACY", busNumberOf(session),
+                        session.getId());
+            }
 
             // 하트비트 업데이트
-            lastHeartbeatMap.put(session.getId(), Instant.now());
+            sessionRegistry.touch(session.getId());
 
             if (messageType != null) {
                 switch (messageType) {
@@ -176,7 +214,7 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
                 }
             } else {
                 // type 필드가 없는 경우 레거시 처리
-                log.info("📨 레거시 메시지 형식 감지");
+                log.debug("📨 레거시 메시지 형식 감지");
                 handleLegacyLocationUpdate(session, payload);
             }
 
@@ -198,8 +236,8 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
         log.info("🔧 ========== 수동 좌석 업데이트 처리 ==========");
 
         try {
-            String busNumber = sessionToBusMap.get(session.getId());
-            String organizationId = sessionToOrganizationMap.get(session.getId());
+            String busNumber = busNumberOf(session);
+            String organizationId = organizationIdOf(session);
 
             if (busNumber == null || organizationId == null) {
                 sendErrorMessage(session, "버스 정보를 찾을 수 없습니다.");
@@ -305,11 +343,14 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
      */
     private void handleLocationUpdate(WebSocketSession session, Map<String, Object> messageData) {
         try {
-            log.info("📍 ========== 위치 업데이트 처리 시작 ==========");
-
-            // 데이터 추출 및 검증
-            String busNumber = (String) messageData.get("busNumber");
-            String organizationId = (String) messageData.get("organizationId");
+            // 데이터 추출 및 검증 (인증된 세션은 메시지의 조직/버스 값 대신 핸드셰이크 때 확인한 값 사용)
+            WebSocketPrincipal principal = WebSocketPrincipal.of(session);
+            String busNumber = principal != null
+                    ? boundBusNumber(session, principal, (String) messageData.get("busNumber"))
+                    : (String) messageData.get("busNumber");
+            String organizationId = principal != null
+                    ? principal.organizationId()
+                    : (String) messageData.get("organizationId");
 
             // 숫자 타입 안전하게 처리
             Double latitude = getDoubleValue(messageData.get("latitude"));
@@ -317,10 +358,8 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
             Integer occupiedSeats = getIntegerValue(messageData.get("occupiedSeats"));
             Long timestamp = getLongValue(messageData.get("timestamp"));
 
-            log.info("📍 버스 번호: {}", busNumber);
-            log.info("📍 조직 ID: {}", organizationId);
-            log.info("📍 위치: ({}, {})", latitude, longitude);
-            log.info("📍 승객 수: {}", occupiedSeats);
+            log.debug("📍 위치 업데이트: 버스 = {}, 조직 = {}, 위치 = ({}, {}), 승객 수 = {}",
+                    busNumber, organizationId, latitude, longitude, occupiedSeats);
 
             // 기본 검증
             if (busNumber == null || organizationId == null ||
@@ -338,13 +377,17 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
 
             // (0, 0) 위치 필터링 추가
             if (latitude == 0.0 && longitude == 0.0) {
-                log.warn("⚠️ (0, 0) 위치 수신됨 - 무시합니다. 버스: {}", busNumber);
+                if (logSampler.shouldSample("driver.zero_location:" + busNumber)) {
+                    log.warn("⚠️ (0, 0) 위치 수신됨 - 무시합니다. 버스: {}", busNumber);
+                }
+                realtimeMetrics.recordDropped("driver", "zero_location");
                 sendErrorMessage(session, "유효한 GPS 위치를 기다리는 중입니다.");
                 return;
             }
 
             // 한국 좌표 범위 확인 (선택적 검증)
-            if (latitude < 33.0 || latitude > 39.0 || longitude < 124.0 || longitude > 132.0) {
+            if ((latitude < 33.0 || latitude > 39.0 || longitude < 124.0 || longitude > 132.0)
+                    && logSampler.shouldSample("driver.outside_korea:" + busNumber)) {
                 log.warn("⚠️ 한국 범위 밖의 좌표 수신: ({}, {}), 버스: {}", latitude, longitude, busNumber);
             }
 
@@ -355,16 +398,14 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
             );
 
             // 세션 맵핑 등록 (처음 메시지를 보낼 때)
-            if (!sessionToBusMap.containsKey(session.getId())) {
-                sessionToBusMap.put(session.getId(), busNumber);
-                sessionToOrganizationMap.put(session.getId(), organizationId);
-                driverSessions.put(busNumber, session);
+            if (busNumberOf(session) == null) {
+                registerDriverSession(session, busNumber, organizationId);
 
                 log.info("🆕 ========== 새로운 버스 기사 등록 ==========");
                 log.info("🆕 버스 번호: {}", busNumber);
                 log.info("🆕 조직 ID: {}", organizationId);
                 log.info("🆕 세션 ID: {}", session.getId());
-                log.info("🆕 현재 활성 버스 수: {}", driverSessions.size());
+                log.info("🆕 현재 활성 버스 수: {}", sessionRegistry.busCount());
                 log.info("🆕 ========================================");
             }
 
@@ -423,14 +464,13 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
 
             sendMessage(session, response);
 
-            log.info("✅ 위치 업데이트 #{} 완료 - 좌석: {}/{} (점유율: {:.1f}%)",
+            log.debug("✅ 위치 업데이트 #{} 완료 - 좌석: {}/{} (점유율: {}%)",
                     totalLocationUpdates, currentSeatInfo.getOccupiedSeats(),
-                    currentSeatInfo.getTotalSeats(), occupancyRate);
-
-            log.info("📍 ==========================================");
+                    currentSeatInfo.getTotalSeats(), Math.round(occupancyRate));
 
         } catch (Exception e) {
             log.error("❌ 위치 업데이트 처리 실패: {}", e.getMessage());
+            realtimeMetrics.recordDropped("driver", "invalid_message");
             sendErrorMessage(session, "위치 업데이트 처리 실패: " + e.getMessage());
         }
     }
@@ -442,8 +482,8 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
         log.info("💺 ========== 좌석 정보 요청 처리 ==========");
 
         try {
-            String busNumber = sessionToBusMap.get(session.getId());
-            String organizationId = sessionToOrganizationMap.get(session.getId());
+            String busNumber = busNumberOf(session);
+            String organizationId = organizationIdOf(session);
 
             if (busNumber == null || organizationId == null) {
                 log.error("❌ 세션이 버스와 매핑되지 않음: 세션 ID = {}", session.getId());
@@ -514,8 +554,8 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
         log.info("🔄 ========== 좌석 리셋 요청 처리 ==========");
 
         try {
-            String busNumber = sessionToBusMap.get(session.getId());
-            String organizationId = sessionToOrganizationMap.get(session.getId());
+            String busNumber = busNumberOf(session);
+            String organizationId = organizationIdOf(session);
 
             if (busNumber == null || organizationId == null) {
                 sendErrorMessage(session, "버스 정보를 찾을 수 없습니다.");
@@ -565,31 +605,34 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
      * 레거시 위치 업데이트 처리
      */
     private void handleLegacyLocationUpdate(WebSocketSession session, String payload) throws Exception {
-        log.info("🔄 ========== 레거시 위치 업데이트 처리 ==========");
-
         try {
             // 기존 로직 유지 (하위 호환성)
             BusRealTimeLocationDTO locationUpdate = objectMapper.readValue(payload, BusRealTimeLocationDTO.class);
+            WebSocketPrincipal principal = WebSocketPrincipal.of(session);
+            if (principal != null) {
+                locationUpdate.setBusNumber(boundBusNumber(session, principal, locationUpdate.getBusNumber()));
+                locationUpdate.setOrganizationId(principal.organizationId());
+            }
             String busNumber = locationUpdate.getBusNumber();
             String organizationId = locationUpdate.getOrganizationId();
 
-            log.info("🔄 버스 번호: {}", busNumber);
-            log.info("🔄 조직 ID: {}", organizationId);
-            log.info("🔄 위치: ({}, {})", locationUpdate.getLatitude(), locationUpdate.getLongitude());
-            log.info("🔄 승객 수: {}", locationUpdate.getOccupiedSeats());
+            log.debug("🔄 레거시 위치 업데이트: 버스 = {}, 조직 = {}, 위치 = ({}, {}), 승객 수 = {}",
+                    busNumber, organizationId, locationUpdate.getLatitude(), locationUpdate.getLongitude(),
+                    locationUpdate.getOccupiedSeats());
 
             // (0, 0) 위치 필터링 추가
             if (locationUpdate.getLatitude() == 0.0 && locationUpdate.getLongitude() == 0.0) {
-                log.warn("⚠️ 레거시 메시지에서 (0, 0) 위치 수신됨 - 무시합니다. 버스: {}", busNumber);
+                if (logSampler.shouldSample("driver.zero_location:" + busNumber)) {
+                    log.warn("⚠️ 레거시 메시지에서 (0, 0) 위치 수신됨 - 무시합니다. 버스: {}", busNumber);
+                }
+                realtimeMetrics.recordDropped("driver", "zero_location");
                 sendErrorMessage(session, "유효한 GPS 위치를 기다리는 중입니다.");
                 return; // 처리하지 않고 종료
             }
 
             // 세션 맵핑 등록 (처음 메시지를 보낼 때)
-            if (!sessionToBusMap.containsKey(session.getId())) {
-                sessionToBusMap.put(session.getId(), busNumber);
-                sessionToOrganizationMap.put(session.getId(), organizationId);
-                driverSessions.put(busNumber, session);
+            if (busNumberOf(session) == null) {
+                registerDriverSession(session, busNumber, organizationId);
 
                 log.info("🆕 레거시 버스 기사 등록: 버스 {}, 조직 {}", busNumber, organizationId);
             }
@@ -603,8 +646,7 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
 
             totalLocationUpdates++;
 
-            log.info("✅ 레거시 위치 업데이트 #{} 완료", totalLocationUpdates);
-            log.info("🔄 ============================================");
+            log.debug("✅ 레거시 위치 업데이트 #{} 완료", totalLocationUpdates);
 
             // 성공 응답
             sendSuccessMessage(session, "위치 업데이트가 성공적으로 처리되었습니다.");
@@ -630,12 +672,12 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
 
     private void handleBusStatusUpdate(WebSocketSession session, Map<String, Object> messageData) {
         // 향후 확장을 위한 메서드
-        log.info("🔄 버스 상태 업데이트 수신: {}", messageData);
+        log.debug("🔄 버스 상태 업데이트 수신: {}", messageData);
     }
 
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) {
-        String busNumber = sessionToBusMap.get(session.getId());
+        String busNumber = busNumberOf(session);
         String clientIp = (String) session.getAttributes().get("CLIENT_IP");
 
         log.error("❌ ========== WebSocket 통신 오류 ==========");
@@ -665,21 +707,30 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
      * 특정 버스 기사에게 메시지 전송
      */
     public void sendMessageToBusDriver(String busNumber, Object message) {
-        WebSocketSession session = driverSessions.get(busNumber);
-        if (session != null && session.isOpen()) {
+        SessionRegistry.Entry entry = sessionRegistry.findByBus(busNumber);
+        if (entry != null && entry.isOpen()) {
             try {
-                sendMessage(session, message);
+                sendMessage(entry.session(), message);
                 log.debug("📤 버스 {}에게 메시지 전송 성공", busNumber);
             } catch (Exception e) {
+                // 전송 실패만으로는 버스를 정리하지 않음 - 기사 메시지가 끊기면 하트비트 만료로, 연결이 닫히면
+                // afterConnectionClosed 에서 정리
                 log.error("❌ 버스 {}에게 메시지 전송 실패: {}", busNumber, e.getMessage());
-                // 세션이 유효하지 않으면 정리
-                cleanupSession(session.getId(), busNumber);
+                realtimeMetrics.recordDropped("driver", "send_failed");
             }
         } else {
             log.warn("⚠️ 버스 {}의 세션이 유효하지 않습니다", busNumber);
-            if (session != null) {
-                cleanupSession(session.getId(), busNumber);
-            }
+        }
+    }
+
+    /**
+     * 이 노드에 연결된 버스 기사에게만 메시지 전송
+     * - 다른 노드에 연결된 기사는 그 노드가 클러스터 이벤트를 받아 직접 전송하므로 경고 없이 건너뜀
+     */
+    public void sendMessageToLocalBusDriver(String busNumber, Object message) {
+        SessionRegistry.Entry entry = sessionRegistry.findByBus(busNumber);
+        if (entry != null && entry.isOpen()) {
+            sendMessageToBusDriver(busNumber, message);
         }
     }
 
@@ -687,17 +738,21 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
      * 활성화된 버스 기사 수 조회
      */
     public int getActiveBusDriverCount() {
-        // 유효하지 않은 세션 제거 후 반환
-        cleanupInvalidSessions();
-        return driverSessions.size();
+        return getActiveBusNumbers().size();
     }
 
     /**
-     * 활성화된 버스 번호 목록 조회
+     * 활성화된 버스 번호 목록 조회 (연결이 열려 있는 세션만)
      */
     public Set<String> getActiveBusNumbers() {
-        cleanupInvalidSessions();
-        return new HashSet<>(driverSessions.keySet());
+        Set<String> busNumbers = new HashSet<>();
+        for (String busNumber : sessionRegistry.busNumbers()) {
+            SessionRegistry.Entry entry = sessionRegistry.findByBus(busNumber);
+            if (entry != null && entry.isOpen()) {
+                busNumbers.add(busNumber);
+            }
+        }
+        return busNumbers;
     }
 
     /**
@@ -729,6 +784,53 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
 
     // 헬퍼 메서드들
 
+    /**
+     * 세션을 버스/조직에 등록하고 조직별 버스 기사 세션 수 게이지 등록 (조직당 최초 1회만 실제 등록됨)
+     * 같은 버스로 등록되어 있던 이전 세션은 대체됨 (이전 세션이 닫혀도 버스를 비활성 처리하지 않음)
+     */
+    private void registerDriverSession(WebSocketSession session, String busNumber, String organizationId) {
+        SessionRegistry.Entry entry = sessionRegistry.register(session);
+        sessionRegistry.bindOrganization(entry, organizationId);
+        SessionRegistry.Entry previous = sessionRegistry.bindBus(entry, busNumber);
+        if (previous != null) {
+            log.warn("🚨 버스 {}의 이전 기사 세션 대체: 이전 세션 ID = {}, 새 세션 ID = {}",
+                    busNumber, previous.id(), entry.id());
+        }
+        registerSessionGauge(organizationId);
+    }
+
+    private String busNumberOf(WebSocketSession session) {
+        SessionRegistry.Entry entry = sessionRegistry.get(session.getId());
+        return entry != null ? entry.busNumber() : null;
+    }
+
+    private String organizationIdOf(WebSocketSession session) {
+        SessionRegistry.Entry entry = sessionRegistry.get(session.getId());
+        return entry != null ? entry.organizationId() : null;
+    }
+
+    /**
+     * 인증된 세션의 버스 번호
+     * 핸드셰이크 때 지정했거나 이미 등록된 버스가 있으면 그 값, 없으면 첫 메시지의 버스가 조직 소속인지 한 번만 확인
+     */
+    private String boundBusNumber(WebSocketSession session, WebSocketPrincipal principal, String requestedBusNumber) {
+        if (principal.busNumber() != null) {
+            return principal.busNumber();
+        }
+        String boundBusNumber = busNumberOf(session);
+        if (boundBusNumber != null || requestedBusNumber == null) {
+            return boundBusNumber;
+        }
+        busService.getBusByNumberAndOrganization(requestedBusNumber, principal.organizationId());
+        return requestedBusNumber;
+    }
+
+    private void registerSessionGauge(String organizationId) {
+        realtimeMetrics.gauge("bustracker.ws.sessions", "조직별 활성 WebSocket 세션 수",
+                sessionRegistry, registry -> registry.countByOrganization(organizationId),
+                "role", "driver", "organization", organizationId);
+    }
+
     private Double getDoubleValue(Object value) {
         if (value == null) return null;
         if (value instanceof Number) {
@@ -824,95 +926,66 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
     }
 
     /**
-     * 하트비트 체크 - 비활성 연결 감지 및 정리
+     * 하트비트 체크 - 타이밍 휠에서 만료 시각이 도래한 세션만 확인해 종료 (이 노드의 세션만 다루므로 노드마다 실행)
      */
-    @Scheduled(fixedRate = 30000) // 30초마다 실행 (60초에서 단축)
-    private void checkHeartbeats() {
-        Instant threshold = Instant.now().minusSeconds(120); // 2분 임계값 (5분에서 단축)
-
-        log.info("💓 ========== 하트비트 체크 시작 ==========");
-        log.info("💓 현재 활성 세션 수: {}", lastHeartbeatMap.size());
-
-        lastHeartbeatMap.entrySet().removeIf(entry -> {
-            String sessionId = entry.getKey();
-            Instant lastHeartbeat = entry.getValue();
-
-            if (lastHeartbeat.isBefore(threshold)) {
-                log.warn("⚠️ 하트비트 타임아웃! 세션 ID: {}", sessionId);
-
-                // 세션 정리
-                String busNumber = sessionToBusMap.get(sessionId);
-                cleanupSession(sessionId, busNumber);
-
-                return true; // 맵에서 제거
-            }
+    @Scheduled(fixedDelay = SESSION_EXPIRY_TICK_MS)
+    public void scheduleHeartbeatCheck() {
+        clusterJobScheduler.runLocal("driver-heartbeat-check", this::checkHeartbeats);
+    }
 
-            return false;
-        });
+    private void checkHeartbeats() {
+        List<SessionRegistry.Entry> expired = sessionRegistry.expire(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
 
-        log.info("💓 하트비트 체크 완료");
+        log.info("💓 ========== 하트비트 타임아웃 처리 ==========");
+        for (SessionRegistry.Entry entry : expired) {
+            log.warn("⚠️ 하트비트 타임아웃! 세션 ID: {}, 버스: {}, 마지막 메시지: {}",
+                    entry.id(), entry.busNumber(), Instant.ofEpochMilli(entry.lastActivity()));
+            closeExpiredSession(entry);
+        }
+        log.info("💓 하트비트 타임아웃 세션 {}개 종료, 남은 활성 버스: {}", expired.size(), sessionRegistry.busCount());
         log.info("💓 ======================================");
     }
 
     /**
-     * 유효하지 않은 세션들 정리
-     */
-    private void cleanupInvalidSessions() {
-        driverSessions.entrySet().removeIf(entry -> {
-            WebSocketSession session = entry.getValue();
-            if (session == null || !session.isOpen()) {
-                String busNumber = entry.getKey();
-                log.info("🧹 유효하지 않은 세션 정리: 버스 번호 = {}", busNumber);
-
-                // 관련 맵에서도 제거
-                sessionToBusMap.values().removeIf(bn -> bn.equals(busNumber));
-                sessionToOrganizationMap.keySet().removeIf(sid ->
-                        busNumber.equals(sessionToBusMap.get(sid)));
-                lastHeartbeatMap.keySet().removeIf(sid ->
-                        busNumber.equals(sessionToBusMap.get(sid)));
-                lastKnownLocations.remove(busNumber);
-                lastLocationUpdateTime.remove(busNumber);
-
-                return true;
-            }
-            return false;
-        });
-    }
-
-    /**
-     * 오래된 세션들 정리 (가비지 컬렉션)
+     * WebSocket 통계 로그 (노드마다 실행)
      */
     @Scheduled(fixedRate = 300000) // 5분마다 실행
-    private void cleanupStaleSessions() {
-        int beforeSize = driverSessions.size();
-        cleanupInvalidSessions();
-        int afterSize = driverSessions.size();
+    public void scheduleStatisticsLog() {
+        clusterJobScheduler.runLocal("driver-session-statistics", this::logStatistics);
+    }
 
+    private void logStatistics() {
         log.info("📊 ========== WebSocket 통계 (5분 주기) ==========");
         log.info("📊 총 수신 메시지: {}", totalMessagesReceived);
         log.info("📊 총 위치 업데이트: {}", totalLocationUpdates);
-        log.info("📊 활성 버스 수: {} (정리됨: {})", afterSize, beforeSize - afterSize);
+        log.info("📊 활성 버스 수: {} (연결된 세션: {})", sessionRegistry.busCount(), sessionRegistry.size());
         log.info("📊 실시간 위치 추적 중: {}대", lastKnownLocations.size());
         log.info("📊 세션별 버스 매핑:");
-        sessionToBusMap.forEach((sessionId, busNumber) -> {
-            log.info("📊   - 세션 {} → 버스 {}", sessionId.substring(0, 8), busNumber);
+        sessionRegistry.all().forEach(entry -> {
+            if (entry.busNumber() != null) {
+                log.info("📊   - 세션 {} → 버스 {}", entry.id().substring(0, Math.min(8, entry.id().length())),
+                        entry.busNumber());
+            }
         });
         log.info("📊 =============================================");
     }
 
     /**
-     * 특정 세션 정리
+     * 레지스트리에서 빠진 세션의 버스를 정리하고 연결 종료
+     * (이후 afterConnectionClosed 에서는 레지스트리에 없으므로 IP 연결 수만 감소)
      */
-    private void cleanupSession(String sessionId, String busNumber) {
-        if (busNumber != null) {
-            driverSessions.remove(busNumber);
-            lastKnownLocations.remove(busNumber);
-            lastLocationUpdateTime.remove(busNumber);
-            log.info("🧹 세션 정리: 버스 {} 제거됨", busNumber);
+    private void closeExpiredSession(SessionRegistry.Entry entry) {
+        releaseBus(entry);
+        try {
+            if (entry.isOpen()) {
+                entry.session().close(CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        } catch (Exception e) {
+            log.error("❌ 세션 종료 중 오류: 세션 ID = {}, 오류 = {}", entry.id(), e.getMessage());
         }
-        sessionToBusMap.remove(sessionId);
-        sessionToOrganizationMap.remove(sessionId);
-        lastHeartbeatMap.remove(sessionId);
     }
 
     /**
@@ -924,30 +997,19 @@ public class BusDriverWebSocketHandler extends TextWebSocketHandler {
         log.warn("🛑 최종 통계:");
         log.warn("🛑   - 총 메시지: {}", totalMessagesReceived);
         log.warn("🛑   - 총 위치 업데이트: {}", totalLocationUpdates);
-        log.warn("🛑   - 활성 버스: {}", driverSessions.size());
+        log.warn("🛑   - 활성 버스: {}", sessionRegistry.busCount());
 
         // 모든 세션 정리
-        driverSessions.values().forEach(session -> {
+        sessionRegistry.all().forEach(entry -> {
             try {
-                if (session.isOpen()) {
-                    session.close(CloseStatus.GOING_AWAY);
+                if (entry.isOpen()) {
+                    entry.session().close(CloseStatus.GOING_AWAY);
                 }
             } catch (Exception e) {
                 log.error("❌ 세션 종료 중 오류: {}", e.getMessage());
             }
         });
 
-        // 스케줄러 종료
-        heartbeatScheduler.shutdown();
-        try {
-            if (!heartbeatScheduler.awaitTermination(10, TimeUnit.SECONDS)) {
-                heartbeatScheduler.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            heartbeatScheduler.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-
         log.warn("🛑 BusDriverWebSocketHandler 종료 완료");
         log.warn("🛑 ================================================");
     }
@@ -1,17 +1,27 @@
 package capston2024.bustracker.handler;
 
 import capston2024.bustracker.config.ConnectionLimitInterceptor;
+import capston2024.bustracker.config.RealtimeLogSampler;
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.config.WebSocketPrincipal;
 import capston2024.bustracker.config.dto.BusBoardingDTO;
 import capston2024.bustracker.config.dto.BusRealTimeStatusDTO;
 import capston2024.bustracker.config.dto.BusSeatDTO;
 import capston2024.bustracker.config.dto.PassengerLocationDTO;
 import capston2024.bustracker.service.BusService;
+import capston2024.bustracker.service.PassengerLocationPolicy;
 import capston2024.bustracker.service.PassengerLocationService;
+import capston2024.bustracker.service.cluster.ClusterEvent;
+import capston2024.bustracker.service.cluster.ClusterEventBus;
+import capston2024.bustracker.service.cluster.ClusterEventType;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.OrganizationOwnership;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
@@ -20,12 +30,9 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 개선된 승객 앱과의 WebSocket 통신 핸들러
@@ -40,32 +47,41 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
 
     private final ObjectMapper objectMapper;
     private final ApplicationContext applicationContext;
-
-    // 조직별 승객 세션 관리
-    private final Map<String, Set<WebSocketSession>> organizationSessions = new ConcurrentHashMap<>();
-    // 세션 역매핑을 위한 맵
-    private final Map<String, String> sessionToOrgMap = new ConcurrentHashMap<>();
-    // 세션과 사용자 ID 매핑
-    private final Map<String, String> sessionToUserMap = new ConcurrentHashMap<>();
-    // 사용자 ID와 세션 역매핑 (중복 연결 방지용)
-    private final Map<String, String> userToSessionMap = new ConcurrentHashMap<>();
-    // 마지막 활동 시간 추적
-    private final Map<String, Instant> lastActivityMap = new ConcurrentHashMap<>();
-
-    // 세션 정리를 위한 스케줄러
-    private final ScheduledExecutorService cleanupScheduler = Executors.newScheduledThreadPool(1);
+    private final RealtimeMetrics realtimeMetrics;
+    private final RealtimeLogSampler logSampler;
+    private final ClusterEventBus clusterEventBus;
+    private final OrganizationOwnership organizationOwnership;
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final PassengerLocationPolicy locationPolicy;
+
+    // 비활성 세션 타임아웃 (마지막 메시지 후 10분) / 만료 확인 주기
+    private static final long IDLE_TIMEOUT_MS = 600_000;
+    private static final long SESSION_EXPIRY_TICK_MS = 5_000;
+    // 전송 실패한 세션의 유예 - 위치 보고 주기 몇 번 동안 메시지가 없을 때만 만료
+    private static final int SEND_FAILURE_GRACE_REPORTS = 3;
+
+    // 세션 레지스트리 - 세션당 레코드 하나 (조직/사용자 인덱스, 비활성 만료는 타이밍 휠)
+    private final SessionRegistry sessionRegistry = new SessionRegistry(IDLE_TIMEOUT_MS, SESSION_EXPIRY_TICK_MS);
 
     @Autowired
-    public BusPassengerWebSocketHandler(ObjectMapper objectMapper, ApplicationContext applicationContext) {
+    public BusPassengerWebSocketHandler(ObjectMapper objectMapper, ApplicationContext applicationContext,
+                                        RealtimeMetrics realtimeMetrics, RealtimeLogSampler logSampler,
+                                        ClusterEventBus clusterEventBus, OrganizationOwnership organizationOwnership,
+                                        ClusterJobScheduler clusterJobScheduler,
+                                        PassengerLocationPolicy locationPolicy) {
         this.objectMapper = objectMapper;
         this.applicationContext = applicationContext;
+        this.realtimeMetrics = realtimeMetrics;
+        this.logSampler = logSampler;
+        this.clusterEventBus = clusterEventBus;
+        this.organizationOwnership = organizationOwnership;
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.locationPolicy = locationPolicy;
 
-        log.info("🏗️ [승객WebSocket] BusPassengerWebSocketHandler 초기화");
-
-        // 10분마다 비활성 세션 정리
-        cleanupScheduler.scheduleAtFixedRate(this::cleanupInactiveSessions, 10, 10, TimeUnit.MINUTES);
+        // 소유 노드에서 감지된 탑승/하차 결과를 이 노드에 연결된 승객에게 전달
+        clusterEventBus.subscribe(this::handleDetectionEvent);
 
-        log.info("⏲️ [승객WebSocket] 세션 정리 스케줄러 시작 (10분 간격)");
+        log.info("🏗️ [승객WebSocket] BusPassengerWebSocketHandler 초기화");
     }
 
     // 지연 초기화를 통해 BusService 얻기 (순환 의존성 방지)
@@ -83,9 +99,16 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
         String clientIp = (String) session.getAttributes().get("CLIENT_IP");
         log.info("🟢 [승객WebSocket] 연결 설정: 세션 ID = {}, IP = {}", session.getId(), clientIp);
 
-        // 활동 시간 초기화
-        lastActivityMap.put(session.getId(), Instant.now());
-        log.debug("⏰ [승객WebSocket] 활동 시간 초기화: 세션 ID = {}", session.getId());
+        // 세션 등록 (비활성 만료 대상)
+        SessionRegistry.Entry entry = sessionRegistry.register(session);
+        log.debug("⏰ [승객WebSocket] 세션 등록 및 활동 시간 초기화: 세션 ID = {}", session.getId());
+
+        // 핸드셰이크에서 인증된 세션은 조직/사용자를 바로 등록 (메시지의 조직/사용자 ID 는 사용하지 않음)
+        WebSocketPrincipal principal = WebSocketPrincipal.of(session);
+        if (principal != null) {
+            registerSession(entry, principal.organizationId());
+            bindUser(entry, principal.userId());
+        }
 
         // 연결 성공 메시지 전송
         try {
@@ -106,26 +129,52 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
         String sessionId = session.getId();
-        String organizationId = sessionToOrgMap.remove(sessionId);
-        String userId = sessionToUserMap.remove(sessionId);
+        // 비활성 만료로 이미 정리된 세션이면 null
+        SessionRegistry.Entry entry = sessionRegistry.remove(sessionId);
+        String organizationId = entry != null ? entry.organizationId() : null;
+        String userId = entry != null ? entry.userId() : null;
         String clientIp = (String) session.getAttributes().get("CLIENT_IP");
 
         log.info("🔴 [승객WebSocket] 연결 종료 시작: 세션 ID = {}, 조직 ID = {}, 사용자 ID = {}, 상태 = {}",
                 sessionId, organizationId, userId, status.getCode());
 
-        // 사용자 ID 역매핑 제거 (중복 연결 방지용)
-        if (userId != null) {
-            String mappedSessionId = userToSessionMap.get(userId);
-            if (sessionId.equals(mappedSessionId)) {
-                userToSessionMap.remove(userId);
-                log.debug("🧹 [승객WebSocket] 사용자 ID 역매핑 제거: 사용자 ID = {}", userId);
-            } else {
-                log.debug("ℹ️ [승객WebSocket] 사용자 ID 역매핑 불일치 (이미 새 세션으로 대체됨): 사용자 ID = {}", userId);
+        if (entry != null) {
+            releasePassenger(entry);
+            if (organizationId != null) {
+                log.debug("🧹 [승객WebSocket] 조직 세션에서 제거: 조직 ID = {}, 남은 세션 수 = {}",
+                        organizationId, sessionRegistry.countByOrganization(organizationId));
             }
         }
 
+        // IP별 연결 수 감소
+        if (clientIp != null) {
+            ConnectionLimitInterceptor.decrementConnection(clientIp);
+            log.debug("🔢 [승객WebSocket] IP 연결 수 감소: IP = {}", clientIp);
+        }
+
+        log.info("✅ [승객WebSocket] 연결 종료 완료: 세션 ID = {}", sessionId);
+    }
+
+    /**
+     * 레지스트리에서 빠진 세션의 승객 정리 (강제 하차)
+     * 같은 사용자의 새 세션으로 이미 대체된 세션이면 재연결한 승객을 하차시키지 않음
+     */
+    private void releasePassenger(SessionRegistry.Entry entry) {
+        String userId = entry.userId();
+        String organizationId = entry.organizationId();
+        if (userId == null) {
+            return;
+        }
+        if (entry.isReplaced()) {
+            log.debug("ℹ️ [승객WebSocket] 이미 새 세션으로 대체됨 - 강제 하차 생략: 사용자 ID = {}", userId);
+            return;
+        }
+
         // ===== 중요: 승객 강제 하차 처리 =====
-        if (userId != null) {
+        if (!organizationOwnership.isOwner(organizationId)) {
+            // 승객 상태는 조직 소유 노드에 있으므로 소유 노드에서 강제 하차 처리
+            clusterEventBus.publish(ClusterEventType.PASSENGER_DISCONNECTED, organizationId, Map.of("userId", userId));
+        } else {
             try {
                 PassengerLocationService passengerService = getPassengerLocationService();
                 boolean forceAlighted = passengerService.forceAlightPassenger(userId);
@@ -140,33 +189,6 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
                         userId, e.getMessage(), e);
             }
         }
-
-        if (organizationId != null) {
-            Set<WebSocketSession> sessions = organizationSessions.get(organizationId);
-            if (sessions != null) {
-                sessions.remove(session);
-                log.debug("🧹 [승객WebSocket] 조직 세션에서 제거: 조직 ID = {}, 남은 세션 수 = {}",
-                        organizationId, sessions.size());
-
-                // 조직에 세션이 없으면 맵에서 제거
-                if (sessions.isEmpty()) {
-                    organizationSessions.remove(organizationId);
-                    log.info("🗑️ [승객WebSocket] 조직 세션 맵 제거: 조직 ID = {}", organizationId);
-                }
-            }
-        }
-
-        // 활동 시간 정보 제거
-        lastActivityMap.remove(sessionId);
-        log.debug("⏰ [승객WebSocket] 활동 시간 정보 제거: 세션 ID = {}", sessionId);
-
-        // IP별 연결 수 감소
-        if (clientIp != null) {
-            ConnectionLimitInterceptor.decrementConnection(clientIp);
-            log.debug("🔢 [승객WebSocket] IP 연결 수 감소: IP = {}", clientIp);
-        }
-
-        log.info("✅ [승객WebSocket] 연결 종료 완료: 세션 ID = {}", sessionId);
     }
 
     @Override
@@ -174,20 +196,44 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
         String payload = message.getPayload();
         String sessionId = session.getId();
 
-        log.info("📥 [승객WebSocket] 메시지 수신: 세션 ID = {}, 크기 = {}bytes, 내용 = {}",
+        // 메시지별 상세 로그는 DEBUG - 사용자/세션별 샘플링된 한 줄만 INFO 로 남김 (추적 대상은 전부 출력)
+        SessionRegistry.Entry entry = sessionRegistry.get(sessionId);
+        String userId = entry != null ? entry.userId() : null;
+        boolean sampled = logSampler.beginMessage("passenger.message",
+                userId != null ? userId : sessionId, sessionId);
+        try {
+            handlePassengerMessage(session, payload, sampled);
+        } finally {
+            logSampler.endMessage();
+        }
+    }
+
+    private void handlePassengerMessage(WebSocketSession session, String payload, boolean sampled) throws Exception {
+        String sessionId = session.getId();
+
+        log.debug("📥 [승객WebSocket] 메시지 수신: 세션 ID = {}, 크기 = {}bytes, 내용 = {}",
                 sessionId, payload.length(), payload);
 
-        // 활동 시간 업데이트
-        lastActivityMap.put(sessionId, Instant.now());
-        log.debug("⏰ [승객WebSocket] 활동 시간 업데이트: 세션 ID = {}", sessionId);
+        // 활동 시간 업데이트 (연결 이벤트 없이 메시지부터 받은 열린 세션은 여기서 등록)
+        SessionRegistry.Entry entry = sessionRegistry.touch(sessionId);
+        if (entry == null && session.isOpen()) {
+            entry = sessionRegistry.register(session);
+        }
 
         try {
             Map<String, Object> data = objectMapper.readValue(payload, Map.class);
             String messageType = (String) data.get("type");
+            WebSocketPrincipal principal = WebSocketPrincipal.of(session);
+            if (principal != null) {
+                // 인증된 세션은 메시지마다 조직을 확인하지 않고 핸드셰이크 때 확인한 조직으로 처리
+                data.put("organizationId", principal.organizationId());
+            }
             String organizationId = (String) data.get("organizationId");
 
-            log.info("🔧 [승객WebSocket] 메시지 파싱 완료: 타입 = {}, 조직 ID = {}, 세션 ID = {}",
-                    messageType, organizationId, sessionId);
+            if (sampled) {
+                log.info("📥 [승객WebSocket] 메시지 수신(샘플): 타입 = {}, 조직 ID = {}, 사용자 ID = {}, 세션 ID = {}",
+                        messageType, organizationId, entry != null ? entry.userId() : null, sessionId);
+            }
 
             // 기본 검증
             if (messageType == null) {
@@ -205,14 +251,14 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
             }
 
             // 세션 맵핑 등록 (처음 메시지를 보낼 때)
-            if (organizationId != null && !sessionToOrgMap.containsKey(sessionId)) {
+            if (organizationId != null && entry != null && entry.organizationId() == null) {
                 log.info("📝 [승객WebSocket] 세션 등록 시도: 조직 ID = {}, 세션 ID = {}",
                         organizationId, sessionId);
-                registerSession(session, organizationId);
+                registerSession(entry, organizationId);
             }
 
             // 메시지 타입에 따른 처리
-            log.info("🔄 [승객WebSocket] 메시지 타입별 처리 시작: 타입 = {}", messageType);
+            log.debug("🔄 [승객WebSocket] 메시지 타입별 처리 시작: 타입 = {}", messageType);
             switch (messageType) {
                 case "subscribe":
                     handleSubscribeMessage(session, data);
@@ -242,8 +288,9 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
             }
 
         } catch (Exception e) {
-            log.error("❌ [승객WebSocket] 메시지 처리 중 오류: 세션 ID = {}, 페이로드 = {}, 오류 = {}",
-                    sessionId, payload, e.getMessage(), e);
+            log.error("❌ [승객WebSocket] 메시지 처리 중 오류: 세션 ID = {}, 크기 = {}bytes, 오류 = {}",
+                    sessionId, payload.length(), e.getMessage(), e);
+            log.debug("❌ [승객WebSocket] 오류 페이로드: {}", payload);
             sendErrorMessage(session, "메시지 처리 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
@@ -365,17 +412,41 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    /**
+     * 사용자 ID 와 세션 매핑 (같은 사용자의 이전 세션은 강제 종료)
+     */
+    private void bindUser(SessionRegistry.Entry entry, String userId) {
+        // ===== 중복 세션 체크 및 이전 세션 강제 종료 =====
+        // 새 세션을 먼저 사용자 인덱스에 올린 뒤 이전 세션을 닫음 (이전 세션의 종료 처리는 대체된 세션으로 보고 하차시키지 않음)
+        SessionRegistry.Entry previous = sessionRegistry.bindUser(entry, userId);
+        if (previous != null) {
+            log.warn("🚨 [중복연결] 사용자 {}의 이전 세션 발견 - 강제 종료: 이전 세션 ID = {}, 새 세션 ID = {}",
+                    userId, previous.id(), entry.id());
+            try {
+                previous.session().close(CloseStatus.GOING_AWAY);
+                log.info("✅ [중복연결] 이전 세션 강제 종료 완료: 세션 ID = {}", previous.id());
+            } catch (Exception e) {
+                log.error("❌ [중복연결] 이전 세션 종료 실패 - 매핑만 정리: 세션 ID = {}, 오류 = {}",
+                        previous.id(), e.getMessage());
+                sessionRegistry.remove(previous.id());
+            }
+        }
+
+        log.debug("💾 [승객WebSocket] 사용자 ID 매핑 저장: 세션 ID = {}, 사용자 ID = {}", entry.id(), userId);
+    }
+
     private boolean needsOrganizationId(String messageType) {
         return !"heartbeat".equals(messageType);
     }
 
-    private void registerSession(WebSocketSession session, String organizationId) {
-        sessionToOrgMap.put(session.getId(), organizationId);
-        organizationSessions.computeIfAbsent(organizationId, k -> ConcurrentHashMap.newKeySet())
-                .add(session);
+    private void registerSession(SessionRegistry.Entry entry, String organizationId) {
+        sessionRegistry.bindOrganization(entry, organizationId);
+        realtimeMetrics.gauge("bustracker.ws.sessions", "조직별 활성 WebSocket 세션 수",
+                sessionRegistry, registry -> registry.countByOrganization(organizationId),
+                "role", "passenger", "organization", organizationId);
 
         log.info("✅ [승객WebSocket] 승객 세션 등록 완료: 조직 ID = {}, 세션 ID = {}",
-                organizationId, session.getId());
+                organizationId, entry.id());
     }
 
     /**
@@ -383,7 +454,7 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
      */
     private void handleLocationMessage(WebSocketSession session, Map<String, Object> data) {
         String sessionId = session.getId();
-        log.info("📍 [승객WebSocket] 위치 메시지 처리 시작: 세션 ID = {}", sessionId);
+        log.debug("📍 [승객WebSocket] 위치 메시지 처리 시작: 세션 ID = {}", sessionId);
 
         try {
             Map<String, Object> locationData = (Map<String, Object>) data.get("data");
@@ -397,11 +468,12 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
             }
 
             // 데이터 추출 및 검증
-            String userId = (String) locationData.get("userId");
+            WebSocketPrincipal principal = WebSocketPrincipal.of(session);
+            String userId = principal != null ? principal.userId() : (String) locationData.get("userId");
             Double latitude = getDoubleValue(locationData.get("latitude"));
             Double longitude = getDoubleValue(locationData.get("longitude"));
 
-            log.info("👤 [승객WebSocket] 위치 정보 추출: 사용자 ID = {}, 위도 = {}, 경도 = {}",
+            log.debug("👤 [승객WebSocket] 위치 정보 추출: 사용자 ID = {}, 위도 = {}, 경도 = {}",
                     userId, latitude, longitude);
 
             if (userId == null || latitude == null || longitude == null) {
@@ -420,7 +492,8 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
             }
 
             // 한국 좌표계 범위 체크 (추가 검증)
-            if (latitude < 33.0 || latitude > 39.0 || longitude < 124.0 || longitude > 132.0) {
+            if ((latitude < 33.0 || latitude > 39.0 || longitude < 124.0 || longitude > 132.0)
+                    && logSampler.shouldSample("passenger.outside_korea:" + userId)) {
                 log.warn("⚠️ [승객WebSocket] 한국 외부 좌표: 위도 = {}, 경도 = {}, 세션 ID = {}",
                         latitude, longitude, sessionId);
                 // 경고만 하고 처리는 계속
@@ -433,82 +506,35 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
             locationDTO.setLongitude(longitude);
             locationDTO.setTimestamp(System.currentTimeMillis());
 
-            log.info("📋 [승객WebSocket] PassengerLocationDTO 생성 완료: {}", locationDTO);
-
-            // ===== 중복 세션 체크 및 이전 세션 강제 종료 =====
-            String existingSessionId = userToSessionMap.get(userId);
-            if (existingSessionId != null && !existingSessionId.equals(sessionId)) {
-                log.warn("🚨 [중복연결] 사용자 {}의 이전 세션 발견 - 강제 종료: 이전 세션 ID = {}, 새 세션 ID = {}",
-                        userId, existingSessionId, sessionId);
-
-                // 이전 세션 찾기 및 강제 종료
-                boolean closedOldSession = false;
-                for (Set<WebSocketSession> sessions : organizationSessions.values()) {
-                    for (WebSocketSession oldSession : sessions) {
-                        if (oldSession.getId().equals(existingSessionId)) {
-                            try {
-                                log.info("🔴 [중복연결] 이전 세션 강제 종료 시작: 세션 ID = {}", existingSessionId);
-                                oldSession.close(CloseStatus.GOING_AWAY);
-                                closedOldSession = true;
-                                log.info("✅ [중복연결] 이전 세션 강제 종료 완료: 세션 ID = {}", existingSessionId);
-                                break;
-                            } catch (Exception e) {
-                                log.error("❌ [중복연결] 이전 세션 종료 실패: 세션 ID = {}, 오류 = {}",
-                                        existingSessionId, e.getMessage());
-                            }
-                        }
-                    }
-                    if (closedOldSession) break;
-                }
+            log.debug("📋 [승객WebSocket] PassengerLocationDTO 생성 완료: {}", locationDTO);
 
-                if (!closedOldSession) {
-                    log.warn("⚠️ [중복연결] 이전 세션을 찾지 못함 - 강제 정리: 세션 ID = {}", existingSessionId);
-                    // 매핑만 정리
-                    String oldOrgId = sessionToOrgMap.remove(existingSessionId);
-                    sessionToUserMap.remove(existingSessionId);
-                    lastActivityMap.remove(existingSessionId);
-                }
+            // 세션의 사용자가 바뀌었을 때만 중복 세션 확인/매핑 (같은 사용자의 이후 메시지는 건너뜀)
+            SessionRegistry.Entry entry = sessionRegistry.get(sessionId);
+            if (entry != null && !userId.equals(entry.userId())) {
+                bindUser(entry, userId);
             }
 
-            // 사용자 ID 저장 (양방향 매핑)
-            sessionToUserMap.put(sessionId, userId);
-            userToSessionMap.put(userId, sessionId);
-            log.info("💾 [승객WebSocket] 사용자 ID 매핑 저장: 세션 ID = {}, 사용자 ID = {}", sessionId, userId);
+            // 다른 노드가 소유한 조직이면 소유 노드에서 감지하고 결과는 클러스터 이벤트로 돌려받음
+            if (!organizationOwnership.isOwner(locationDTO.getOrganizationId())) {
+                clusterEventBus.publish(ClusterEventType.PASSENGER_LOCATION, locationDTO.getOrganizationId(), locationDTO);
+                return;
+            }
 
             // ========================= [수정된 부분 시작] =========================
-            log.info("🚀 [승객WebSocket] PassengerLocationService 호출 시작");
+            log.debug("🚀 [승객WebSocket] PassengerLocationService 호출 시작");
             // 위치 처리 서비스 호출, 자동 탑승/하차 감지
             PassengerLocationService.DetectionResult result = getPassengerLocationService().processPassengerLocation(locationDTO);
 
-            log.info("🎯 [승객WebSocket] 위치 처리 완료: 감지 결과 = {}, 사용자 ID = {}",
+            log.debug("🎯 [승객WebSocket] 위치 처리 완료: 감지 결과 = {}, 사용자 ID = {}",
                     result, userId);
 
-            // 자동 탑승/하차 감지 결과에 따라 메시지 전송
-            switch (result) {
-                case BOARDED:
-                    PassengerLocationService.PassengerState state = getPassengerLocationService().getPassengerState(locationDTO.getUserId());
-                    String boardedBusNumber = state != null ? state.getCurrentBusNumber() : "정보 없음";
-                    log.info("🎉 [승객WebSocket] 자동 탑승 감지! 사용자 ID = {}, 버스 번호 = {}", userId, boardedBusNumber);
-                    // 구조화된 탑승 성공 메시지 전송
-                    sendMessage(session, Map.of(
-                            "type", "boarding_update",
-                            "status", "boarded",
-                            "data", Map.of("busNumber", boardedBusNumber)
-                    ));
-                    break;
-                case ALIGHTED:
-                    log.info("🎉 [승객WebSocket] 자동 하차 감지! 사용자 ID = {}", userId);
-                    // 구조화된 하차 성공 메시지 전송
-                    sendMessage(session, Map.of(
-                            "type", "boarding_update",
-                            "status", "alighted"
-                    ));
-                    break;
-                case NO_CHANGE:
-                    log.debug("📍 [승객WebSocket] 일반 위치 업데이트 처리됨 (상태 변화 없음): 사용자 ID = {}", userId);
-                    // 변화 없을 시에는 별도 메시지를 보내지 않아도 됨
-                    break;
+            String boardedBusNumber = null;
+            if (result == PassengerLocationService.DetectionResult.BOARDED) {
+                PassengerLocationService.PassengerState state = getPassengerLocationService().getPassengerState(locationDTO.getUserId());
+                boardedBusNumber = state != null ? state.getCurrentBusNumber() : "정보 없음";
             }
+            sendDetectionResult(session, userId, result, boardedBusNumber);
+            sendLocationPolicyIfChanged(session, entry, getPassengerLocationService().getLocationTier(userId));
 
         } catch (Exception e) {
             log.error("❌ [승객WebSocket] 위치 메시지 처리 중 오류: 세션 ID = {}, 오류 = {}",
@@ -517,6 +543,79 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    /**
+     * 자동 탑승/하차 감지 결과에 따라 메시지 전송
+     */
+    private void sendDetectionResult(WebSocketSession session, String userId,
+                                     PassengerLocationService.DetectionResult result, String busNumber)
+            throws IOException {
+        switch (result) {
+            case BOARDED:
+                log.info("🎉 [승객WebSocket] 자동 탑승 감지! 사용자 ID = {}, 버스 번호 = {}", userId, busNumber);
+                // 구조화된 탑승 성공 메시지 전송
+                sendMessage(session, Map.of(
+                        "type", "boarding_update",
+                        "status", "boarded",
+                        "data", Map.of("busNumber", busNumber)
+                ));
+                break;
+            case ALIGHTED:
+                log.info("🎉 [승객WebSocket] 자동 하차 감지! 사용자 ID = {}", userId);
+                // 구조화된 하차 성공 메시지 전송
+                sendMessage(session, Map.of(
+                        "type", "boarding_update",
+                        "status", "alighted"
+                ));
+                break;
+            case NO_CHANGE:
+                log.debug("📍 [승객WebSocket] 일반 위치 업데이트 처리됨 (상태 변화 없음): 사용자 ID = {}", userId);
+                // 변화 없을 시에는 별도 메시지를 보내지 않아도 됨
+                break;
+        }
+    }
+
+    /**
+     * 위치 보고 등급이 세션에 마지막으로 알린 값과 다를 때만 location_policy 제어 메시지 전송
+     */
+    private void sendLocationPolicyIfChanged(WebSocketSession session, SessionRegistry.Entry entry,
+                                             PassengerLocationPolicy.Tier tier) throws IOException {
+        if (tier == null || (entry != null && entry.exchangeLocationTier(tier) == tier)) {
+            return;
+        }
+        log.debug("📡 [승객WebSocket] 위치 보고 정책 전송: 세션 ID = {}, 등급 = {}, 주기 = {}ms",
+                session.getId(), tier, locationPolicy.intervalMs(tier));
+        sendMessage(session, locationPolicy.toMessage(tier));
+    }
+
+    /**
+     * 다른 노드(조직 소유 노드)에서 감지된 결과/위치 보고 등급 중 이 노드에 연결된 승객의 것만 전송
+     */
+    private void handleDetectionEvent(ClusterEvent event) {
+        if (event.type() != ClusterEventType.PASSENGER_DETECTION
+                && event.type() != ClusterEventType.PASSENGER_LOCATION_POLICY) {
+            return;
+        }
+        Map<?, ?> payload = (Map<?, ?>) event.payload();
+        String userId = (String) payload.get("userId");
+        SessionRegistry.Entry entry = sessionRegistry.findByUser(userId);
+        if (entry == null || !entry.isOpen() || event.organizationId() == null
+                || !event.organizationId().equals(entry.organizationId())) {
+            return;
+        }
+        try {
+            if (event.type() == ClusterEventType.PASSENGER_LOCATION_POLICY) {
+                sendLocationPolicyIfChanged(entry.session(), entry,
+                        PassengerLocationPolicy.Tier.valueOf((String) payload.get("tier")));
+            } else {
+                sendDetectionResult(entry.session(), userId,
+                        PassengerLocationService.DetectionResult.valueOf((String) payload.get("result")),
+                        (String) payload.get("busNumber"));
+            }
+        } catch (Exception e) {
+            log.error("❌ [승객WebSocket] 감지 결과 전송 실패: 사용자 ID = {}, 오류 = {}", userId, e.getMessage());
+        }
+    }
+
     private Double getDoubleValue(Object value) {
         if (value == null) return null;
         if (value instanceof Number) {
@@ -532,8 +631,9 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
 
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) {
-        String userId = sessionToUserMap.get(session.getId());
-        String organizationId = sessionToOrgMap.get(session.getId());
+        SessionRegistry.Entry entry = sessionRegistry.get(session.getId());
+        String userId = entry != null ? entry.userId() : null;
+        String organizationId = entry != null ? entry.organizationId() : null;
         String clientIp = (String) session.getAttributes().get("CLIENT_IP");
 
         log.error("⚠️ [승객WebSocket] 통신 오류: 세션 ID = {}, 사용자 ID = {}, 조직 ID = {}, 클라이언트 IP = {}, 오류 = {}",
@@ -564,36 +664,47 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
      * - 네트워크 효율성을 위한 배치 전송
      */
     public void broadcastBusStatus(String organizationId, BusRealTimeStatusDTO busStatus) {
-        log.info("📢 [승객WebSocket] 버스 상태 브로드캐스트 시작: 조직 ID = {}", organizationId);
+        broadcastToOrganization(organizationId, "busUpdate", busStatus);
+    }
 
-        Set<WebSocketSession> sessions = organizationSessions.get(organizationId);
-        if (sessions != null && !sessions.isEmpty()) {
+    /**
+     * 특정 조직의 이 노드에 연결된 승객에게 메시지 전송
+     * - 다른 노드의 승객에게는 클러스터 이벤트 버스를 통해 각 노드가 직접 전송
+     */
+    public void broadcastToOrganization(String organizationId, String type, Object data) {
+        log.debug("📢 [승객WebSocket] {} 브로드캐스트 시작: 조직 ID = {}", type, organizationId);
+
+        long startNanos = System.nanoTime();
+        Collection<SessionRegistry.Entry> sessions = sessionRegistry.sessionsOf(organizationId);
+        if (!sessions.isEmpty()) {
             Map<String, Object> message = Map.of(
-                    "type", "busUpdate",
-                    "data", busStatus,
+                    "type", type,
+                    "data", data,
                     "timestamp", System.currentTimeMillis()
             );
 
-            log.info("📤 [승객WebSocket] {}개 세션에 메시지 전송 시작", sessions.size());
+            log.debug("📤 [승객WebSocket] {}개 세션에 메시지 전송 시작", sessions.size());
 
             // 병렬 처리로 성능 향상
-            sessions.parallelStream().forEach(session -> {
+            sessions.parallelStream().map(SessionRegistry.Entry::session).forEach(session -> {
                 if (session.isOpen()) {
                     try {
                         sendMessage(session, message);
                         log.debug("✅ [승객WebSocket] 메시지 전송 성공: 세션 ID = {}", session.getId());
                     } catch (Exception e) {
-                        log.error("❌ [승객WebSocket] 버스 상태 업데이트 전송 실패: 세션 ID = {}, 오류 = {}",
-                                session.getId(), e.getMessage());
+                        log.error("❌ [승객WebSocket] {} 전송 실패: 세션 ID = {}, 오류 = {}",
+                                type, session.getId(), e.getMessage());
 
                         // 전송 실패한 세션은 정리 대상으로 표시
+                        realtimeMetrics.recordDropped("passenger", "send_failed");
                         markSessionForCleanup(session);
                     }
                 }
             });
 
-            log.info("📊 [승객WebSocket] 조직 {}의 {}명의 승객에게 버스 상태 업데이트 전송 완료",
-                    organizationId, sessions.size());
+            realtimeMetrics.recordSince(realtimeMetrics.getBroadcastTimer(), startNanos);
+            log.debug("📊 [승객WebSocket] 조직 {}의 {}명의 승객에게 {} 전송 완료",
+                    organizationId, sessions.size(), type);
         } else {
             log.debug("📭 [승객WebSocket] 브로드캐스트할 세션 없음: 조직 ID = {}", organizationId);
         }
@@ -603,12 +714,9 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
      * 조직별 활성 승객 수 조회
      */
     public int getActivePassengerCount(String organizationId) {
-        Set<WebSocketSession> sessions = organizationSessions.get(organizationId);
-        if (sessions == null) return 0;
-
         // 유효한 세션만 카운트
-        int count = (int) sessions.stream()
-                .filter(session -> session != null && session.isOpen())
+        int count = (int) sessionRegistry.sessionsOf(organizationId).stream()
+                .filter(SessionRegistry.Entry::isOpen)
                 .count();
 
         log.debug("📊 [승객WebSocket] 조직별 활성 승객 수: 조직 ID = {}, 승객 수 = {}", organizationId, count);
@@ -619,11 +727,9 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
      * 전체 활성 승객 수 조회
      */
     public int getTotalActivePassengerCount() {
-        int totalCount = organizationSessions.values().stream()
-                .mapToInt(sessions -> (int) sessions.stream()
-                        .filter(session -> session != null && session.isOpen())
-                        .count())
-                .sum();
+        int totalCount = (int) sessionRegistry.all().stream()
+                .filter(entry -> entry.organizationId() != null && entry.isOpen())
+                .count();
 
         log.debug("📊 [승객WebSocket] 전체 활성 승객 수: {}", totalCount);
         return totalCount;
@@ -679,8 +785,9 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
 
+            WebSocketPrincipal principal = WebSocketPrincipal.of(session);
             String busNumber = (String) boardingData.get("busNumber");
-            String userId = (String) boardingData.get("userId");
+            String userId = principal != null ? principal.userId() : (String) boardingData.get("userId");
             String actionStr = (String) boardingData.get("action");
             String organizationId = (String) data.get("organizationId");
 
@@ -1008,64 +1115,68 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
     }
 
     /**
-     * 비활성 세션들 정리 (10분 이상 비활성)
+     * 비활성 세션 정리 (10분 이상 비활성) - 타이밍 휠에서 만료 시각이 도래한 세션만 확인
+     * (이 노드의 세션만 다루므로 노드마다 실행)
      */
-    private void cleanupInactiveSessions() {
-        Instant threshold = Instant.now().minusSeconds(600); // 10분 임계값
-        log.info("🧹 [승객WebSocket] 비활성 세션 정리 시작: 임계값 = {}", threshold);
-
-        int removedCount = 0;
-
-        for (Map.Entry<String, Instant> entry : lastActivityMap.entrySet()) {
-            String sessionId = entry.getKey();
-            Instant lastActivity = entry.getValue();
-
-            if (lastActivity.isBefore(threshold)) {
-                log.info("🗑️ [승객WebSocket] 비활성 세션 발견: 세션 ID = {}, 마지막 활동 = {}",
-                        sessionId, lastActivity);
-
-                // 세션 정리
-                String organizationId = sessionToOrgMap.remove(sessionId);
-                String userId = sessionToUserMap.remove(sessionId);
-
-                if (organizationId != null) {
-                    Set<WebSocketSession> sessions = organizationSessions.get(organizationId);
-                    if (sessions != null) {
-                        sessions.removeIf(session -> session.getId().equals(sessionId));
-                        if (sessions.isEmpty()) {
-                            organizationSessions.remove(organizationId);
-                            log.info("🗑️ [승객WebSocket] 조직 세션 맵 제거: 조직 ID = {}", organizationId);
-                        }
-                    }
-                }
+    @Scheduled(fixedDelay = SESSION_EXPIRY_TICK_MS)
+    public void scheduleInactiveSessionCleanup() {
+        clusterJobScheduler.runLocal("passenger-inactive-session-cleanup", this::cleanupInactiveSessions);
+    }
 
-                removedCount++;
-                log.info("🧹 [승객WebSocket] 세션 정리 완료: 세션 ID = {}, 조직 ID = {}, 사용자 ID = {}",
-                        sessionId, organizationId, userId);
-            }
+    private void cleanupInactiveSessions() {
+        List<SessionRegistry.Entry> expired = sessionRegistry.expire(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
         }
 
-        // 정리된 세션들을 lastActivityMap에서도 제거
-        lastActivityMap.entrySet().removeIf(entry -> entry.getValue().isBefore(threshold));
+        for (SessionRegistry.Entry entry : expired) {
+            log.info("🗑️ [승객WebSocket] 비활성 세션 만료: 세션 ID = {}, 조직 ID = {}, 사용자 ID = {}, 마지막 활동 = {}",
+                    entry.id(), entry.organizationId(), entry.userId(), Instant.ofEpochMilli(entry.lastActivity()));
 
-        if (removedCount > 0) {
-            log.info("✅ [승객WebSocket] 비활성 세션 정리 완료: {}개 세션 제거", removedCount);
-        } else {
-            log.debug("📊 [승객WebSocket] 정리할 비활성 세션 없음");
+            // 연결 종료와 같은 정리 후 세션을 닫음 (이후 afterConnectionClosed 는 IP 연결 수만 감소)
+            releasePassenger(entry);
+            try {
+                if (entry.isOpen()) {
+                    entry.session().close(CloseStatus.SESSION_NOT_RELIABLE);
+                }
+            } catch (Exception e) {
+                log.error("❌ [승객WebSocket] 비활성 세션 종료 실패: 세션 ID = {}, 오류 = {}", entry.id(), e.getMessage());
+            }
         }
+
+        log.info("✅ [승객WebSocket] 비활성 세션 정리 완료: {}개 세션 제거", expired.size());
     }
 
     /**
      * 문제 있는 세션을 정리 대상으로 표시
+     * - 위치 보고 주기의 SEND_FAILURE_GRACE_REPORTS 배 동안 메시지가 없으면 만료 (그 사이 메시지가 오면 유지)
+     * - 일시적인 전송 실패 한 번으로 탑승 중인 승객이 강제 하차되지 않도록 보고 주기보다 길게 기다림
      */
     private void markSessionForCleanup(WebSocketSession session) {
         String sessionId = session.getId();
-        log.info("🏷️ [승객WebSocket] 세션을 정리 대상으로 표시: 세션 ID = {}", sessionId);
+        SessionRegistry.Entry entry = sessionRegistry.get(sessionId);
+        if (entry == null) {
+            return;
+        }
+        long graceMs = Math.min(IDLE_TIMEOUT_MS, SEND_FAILURE_GRACE_REPORTS * reportIntervalMs(entry));
+        log.info("🏷️ [승객WebSocket] 세션을 정리 대상으로 표시: 세션 ID = {}, 유예 = {}ms", sessionId, graceMs);
 
-        // 즉시 정리하지 않고 다음 정리 주기에서 처리되도록 활동 시간을 오래 전으로 설정
-        lastActivityMap.put(sessionId, Instant.now().minusSeconds(700));
+        sessionRegistry.expireAfter(sessionId, graceMs);
+    }
 
-        log.debug("⏰ [승객WebSocket] 세션 활동 시간을 과거로 설정: 세션 ID = {}", sessionId);
+    /**
+     * 세션에 마지막으로 전달한 위치 보고 주기 (등급이 아직 없으면 가장 긴 주기)
+     */
+    private long reportIntervalMs(SessionRegistry.Entry entry) {
+        PassengerLocationPolicy.Tier tier = entry.locationTier();
+        if (tier != null) {
+            return locationPolicy.intervalMs(tier);
+        }
+        long longest = 0;
+        for (PassengerLocationPolicy.Tier candidate : PassengerLocationPolicy.Tier.values()) {
+            longest = Math.max(longest, locationPolicy.intervalMs(candidate));
+        }
+        return longest;
     }
 
     /**
@@ -1077,39 +1188,21 @@ public class BusPassengerWebSocketHandler extends TextWebSocketHandler {
 
         // 모든 세션 정리
         int totalSessions = 0;
-        for (Set<WebSocketSession> sessions : organizationSessions.values()) {
-            totalSessions += sessions.size();
-            sessions.forEach(session -> {
-                try {
-                    if (session.isOpen()) {
-                        session.close(CloseStatus.GOING_AWAY);
-                        log.debug("🔌 [승객WebSocket] 세션 종료: 세션 ID = {}", session.getId());
-                    }
-                } catch (Exception e) {
-                    log.error("❌ [승객WebSocket] 세션 종료 중 오류: 세션 ID = {}, 오류 = {}",
-                            session.getId(), e.getMessage());
+        for (SessionRegistry.Entry entry : sessionRegistry.all()) {
+            totalSessions++;
+            try {
+                if (entry.isOpen()) {
+                    entry.session().close(CloseStatus.GOING_AWAY);
+                    log.debug("🔌 [승객WebSocket] 세션 종료: 세션 ID = {}", entry.id());
                 }
-            });
+            } catch (Exception e) {
+                log.error("❌ [승객WebSocket] 세션 종료 중 오류: 세션 ID = {}, 오류 = {}",
+                        entry.id(), e.getMessage());
+            }
         }
 
         log.info("🧹 [승객WebSocket] 총 {}개 세션 종료 완료", totalSessions);
 
-        // 스케줄러 종료
-        log.info("⏹️ [승객WebSocket] 스케줄러 종료 시작");
-        cleanupScheduler.shutdown();
-        try {
-            if (!cleanupScheduler.awaitTermination(10, TimeUnit.SECONDS)) {
-                log.warn("⚠️ [승객WebSocket] 스케줄러 정상 종료 실패 - 강제 종료");
-                cleanupScheduler.shutdownNow();
-            } else {
-                log.info("✅ [승객WebSocket] 스케줄러 정상 종료 완료");
-            }
-        } catch (InterruptedException e) {
-            log.warn("⚠️ [승객WebSocket] 스케줄러 종료 중 인터럽트 발생 - 강제 종료");
-            cleanupScheduler.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-
         log.info("✅ [승객WebSocket] BusPassengerWebSocketHandler 종료 완료");
     }
 }
\ No newline at end of file
@@ -1,14 +1,27 @@
 package capston2024.bustracker.handler;
 
+import capston2024.bustracker.config.dto.BusRealTimeStatusDTO;
+import capston2024.bustracker.service.BusPositionExtrapolator;
 import capston2024.bustracker.service.BusService;
+import capston2024.bustracker.service.cluster.ClusterEvent;
+import capston2024.bustracker.service.cluster.ClusterEventBus;
+import capston2024.bustracker.service.cluster.ClusterEventType;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * 버스 상태 업데이트 이벤트를 처리하여 승객들에게 실시간으로 전송하는 리스너
+ * - 애플리케이션 이벤트는 클러스터 이벤트 버스로 발행
+ * - 클러스터 이벤트 버스에서 수신한 이벤트는 이 노드에 연결된 승객에게만 전송
+ * - 수신한 버스 상태로 이 노드에서 위치를 외삽하고, 외삽한 위치도 이 노드의 승객에게만 전송
+ * - 정류장 도착/탑승·하차 이벤트는 승객에게 브로드캐스트하지 않고, 해당 버스 기사가 연결된 노드만 기사에게 전송
  */
 @Component
 @RequiredArgsConstructor
@@ -16,6 +29,14 @@ import org.springframework.stereotype.Component;
 public class BusStatusEventListener {
 
     private final BusPassengerWebSocketHandler busPassengerWebSocketHandler;
+    private final BusDriverWebSocketHandler busDriverWebSocketHandler;
+    private final ClusterEventBus clusterEventBus;
+    private final BusPositionExtrapolator busPositionExtrapolator;
+
+    @PostConstruct
+    public void subscribe() {
+        clusterEventBus.subscribe(this::handleClusterEvent);
+    }
 
     /**
      * 버스 상태 업데이트 이벤트 처리
@@ -26,24 +47,98 @@ public class BusStatusEventListener {
     @EventListener
     @Async  // 비동기 처리로 성능 향상
     public void handleBusStatusUpdate(BusService.BusStatusUpdateEvent event) {
+        log.debug("버스 상태 업데이트 이벤트 수신: 조직={}, 버스={}",
+                event.organizationId(), event.busStatus().getBusNumber());
+        clusterEventBus.publish(ClusterEventType.BUS_STATUS, event.organizationId(), event.busStatus());
+    }
+
+    /**
+     * 이 노드에서 외삽한 버스 위치를 이 노드의 승객에게 전송 (클러스터 버스로 발행하지 않음)
+     */
+    @EventListener
+    public void handleExtrapolatedBusStatus(BusPositionExtrapolator.ExtrapolatedBusStatusEvent event) {
         try {
-            log.debug("버스 상태 업데이트 이벤트 수신: 조직={}, 버스={}",
-                    event.organizationId(), event.busStatus().getBusNumber());
+            busPassengerWebSocketHandler.broadcastBusStatus(event.organizationId(), event.busStatus());
+        } catch (Exception e) {
+            log.error("외삽 위치 전송 중 오류 발생: 조직={}, 버스={}, 오류={}",
+                    event.organizationId(), event.busStatus().getBusNumber(), e.getMessage(), e);
+        }
+    }
 
-            // 해당 조직의 모든 승객에게 브로드캐스트
-            busPassengerWebSocketHandler.broadcastBusStatus(
-                    event.organizationId(),
-                    event.busStatus()
-            );
+    /**
+     * 정류장 도착 이벤트 처리
+     */
+    @EventListener
+    @Async
+    public void handleStationArrival(BusService.StationArrivalEvent event) {
+        clusterEventBus.publish(ClusterEventType.STATION_ARRIVAL, event.organizationId(), event.eventData());
+    }
 
-            log.debug("버스 상태 업데이트 브로드캐스트 완료: 버스={}",
-                    event.busStatus().getBusNumber());
+    /**
+     * 탑승/하차 이벤트 처리
+     * - 사용자 ID 는 노드 간 메시지에 싣지 않음 (미션 진행은 요청을 처리한 노드의 MissionProgressEvaluator 가 처리)
+     */
+    @EventListener
+    @Async
+    public void handleBoarding(BusService.BusBoardingEvent event) {
+        Map<String, Object> payload = new HashMap<>(event.eventData());
+        payload.remove("userId");
+        clusterEventBus.publish(ClusterEventType.BOARDING, event.organizationId(), payload);
+    }
+
+    /**
+     * 클러스터 이벤트를 이 노드의 세션에 전송
+     * - 브로드캐스트 이벤트는 이 노드의 승객 세션에, 정류장 도착/탑승·하차는 이 노드에 연결된 해당 버스 기사에게만
+     */
+    private void handleClusterEvent(ClusterEvent event) {
+        if (event.type() == ClusterEventType.STATION_ARRIVAL || event.type() == ClusterEventType.BOARDING) {
+            relayToLocalDriver(event);
+            return;
+        }
+        if (!event.type().isBroadcast()) {
+            return;
+        }
+        try {
+            if (event.type() == ClusterEventType.BUS_STATUS) {
+                BusRealTimeStatusDTO busStatus = (BusRealTimeStatusDTO) event.payload();
+                busPositionExtrapolator.track(busStatus);
+                busPassengerWebSocketHandler.broadcastBusStatus(event.organizationId(), busStatus);
+            } else {
+                busPassengerWebSocketHandler.broadcastToOrganization(
+                        event.organizationId(),
+                        event.type().getMessageType(),
+                        event.payload()
+                );
+            }
 
+            log.debug("클러스터 이벤트 브로드캐스트 완료: 타입={}, 조직={}, 발행 노드={}",
+                    event.type(), event.organizationId(), event.originNodeId());
+
+        } catch (Exception e) {
+            log.error("클러스터 이벤트 처리 중 오류 발생: 타입={}, 조직={}, 오류={}",
+                    event.type(), event.organizationId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 정류장 도착/탑승·하차 알림을 이 노드에 연결된 해당 버스 기사에게만 전송
+     */
+    private void relayToLocalDriver(ClusterEvent event) {
+        try {
+            Map<?, ?> payload = (Map<?, ?>) event.payload();
+            String busNumber = (String) payload.get("busNumber");
+            if (busNumber == null) {
+                return;
+            }
+            String type = event.type() == ClusterEventType.STATION_ARRIVAL ? "station_arrival" : "boarding_update";
+            busDriverWebSocketHandler.sendMessageToLocalBusDriver(busNumber, Map.of(
+                    "type", type,
+                    "data", payload,
+                    "timestamp", System.currentTimeMillis()
+            ));
         } catch (Exception e) {
-            log.error("버스 상태 업데이트 이벤트 처리 중 오류 발생: 조직={}, 버스={}, 오류={}",
-                    event.organizationId(),
-                    event.busStatus().getBusNumber(),
-                    e.getMessage(), e);
+            log.error("클러스터 이벤트 기사 전달 중 오류 발생: 타입={}, 조직={}, 오류={}",
+                    event.type(), event.organizationId(), e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -29,9 +29,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String accessToken = resolveToken(request);
 
-        // accessToken 검증
-        if (tokenProvider.validateToken(accessToken)) {
-            setAuthentication(accessToken);
+        // accessToken 검증 (검증과 Authentication 생성을 한 번에, 검증된 토큰은 캐시에서 바로 반환)
+        Authentication authentication = tokenProvider.authenticate(accessToken);
+        if (authentication != null) {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         } else {
             // 만료되었을 경우 accessToken 재발급
             String reissueAccessToken = tokenProvider.reissueAccessToken(accessToken);
@@ -1,5 +1,6 @@
 package capston2024.bustracker.handler;
 
+import capston2024.bustracker.config.RealtimeMetrics;
 import capston2024.bustracker.domain.User;
 import capston2024.bustracker.domain.auth.TokenInfo;
 import capston2024.bustracker.exception.TokenException;
@@ -33,23 +34,32 @@ public class JwtTokenProvider {
     public static final long REFRESH_TOKEN_EXPIRE_TIME = 1000 * 60 * 60 * 24 * 90L; // 90일
     public static final long REFRESH_TOKEN_ROTATION_TIME = 1000 * 60 * 60 * 24 * 7L; // 7일
 
-    public JwtTokenProvider(@Value("${JWT_SECRET}") String key, TokenService tokenService, UserService userService, UserRepository userRepository) {
+    public JwtTokenProvider(@Value("${JWT_SECRET}") String key, TokenService tokenService, UserService userService, UserRepository userRepository,
+                            RealtimeMetrics realtimeMetrics,
+                            @Value("${JWT_CACHE_MAX_ENTRIES:50000}") int cacheMaxEntries) {
         this.key = key;
         this.tokenService = tokenService;
         this.userRepository = userRepository;
+        this.verifiedTokens = new VerifiedTokenCache(cacheMaxEntries);
+        realtimeMetrics.gauge("bustracker.auth.token.cache.size", "서명 검증 결과를 캐시 중인 액세스 토큰 수",
+                verifiedTokens, VerifiedTokenCache::size);
     }
 
     private final String key;
     private SecretKey secretKey;
+    // 불변 객체라 스레드 간 공유 가능 (요청마다 parserBuilder 를 만들지 않음)
+    private JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokens;
     // 모바일 앱을 위한 토큰 만료 시간 조정
     private static final String KEY_ROLE = "role";
     private final TokenService tokenService;
     private final UserRepository userRepository;
 
     @PostConstruct
-    private void setSecretKey() {
+    void setSecretKey() {
         byte[] keyBytes = Decoders.BASE64.decode(key);
         secretKey = Keys.hmacShaKeyFor(keyBytes);
+        jwtParser = Jwts.parserBuilder().setSigningKey(secretKey).build();
     }
 
     public String generateAccessToken(Authentication authentication) {
@@ -115,8 +125,44 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * 액세스 토큰 검증 + Authentication 생성을 한 번의 파싱으로 처리
+     * - 이미 검증한 토큰이면 서명 검증/파싱 없이 캐시된 Authentication 반환
+     * - 예외는 validateToken 과 동일 (만료: ExpiredJwtException, 위조/형식 오류: TokenException)
+     *
+     * @return 토큰이 비어 있으면 null
+     */
+    public Authentication authenticate(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Authentication cached = verifiedTokens.get(token, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            throw new ExpiredJwtException(e.getHeader(), e.getClaims(), "토큰이 만료되었습니다.");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new TokenException(INVALID_TOKEN);
+        }
+
+        Authentication authentication = toAuthentication(claims);
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(token, authentication, claims.getExpiration().getTime(), now);
+        }
+        return authentication;
+    }
+
     public Authentication getAuthentication(String token) {
-        Claims claims = parseClaims(token);
+        return toAuthentication(parseClaims(token));
+    }
+
+    private Authentication toAuthentication(Claims claims) {
         Collection<? extends GrantedAuthority> authorities = getAuthorities(claims);
 
         Map<String, Object> attributes = new HashMap<>(claims);
@@ -147,8 +193,8 @@ public class JwtTokenProvider {
             TokenInfo tokenInfo = tokenService.findByAccessToken(accessToken);
             if (tokenInfo != null && validateToken(tokenInfo.getRefreshToken())) {
                 String reissueAccessToken = generateAccessToken(getAuthentication(tokenInfo.getRefreshToken()));
-                tokenService.updateAccessToken(tokenInfo.getUsername(), reissueAccessToken);
-                return reissueAccessToken;
+                // 같은 토큰으로 동시에 재발급하면 먼저 저장된 토큰으로 수렴
+                return tokenService.rotateAccessToken(tokenInfo.getUsername(), accessToken, reissueAccessToken);
             }
         }
         return null;
@@ -160,7 +206,7 @@ public class JwtTokenProvider {
         }
 
         try {
-            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
             return true;
         } catch (ExpiredJwtException e) {
             // 토큰 만료 예외를 던져서 클라이언트에게 알림
@@ -172,7 +218,7 @@ public class JwtTokenProvider {
 
     private Claims parseClaims(String token) {
         try {
-            return Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         } catch (JwtException e) {
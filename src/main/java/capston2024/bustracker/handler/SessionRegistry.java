@@ -0,0 +1,313 @@
+package capston2024.bustracker.handler;
+
+import capston2024.bustracker.service.PassengerLocationPolicy;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * WebSocket 세션 레지스트리 (세션당 레코드 하나)
+ * - 세션 ID -> Entry 에 조직/사용자/버스/마지막 활동 시각을 함께 보관
+ * - 보조 인덱스: 버스 번호, 사용자 ID, 조직 ID
+ * - 유휴 만료는 SessionTimingWheel 로 처리 (활동 기록은 시각만 갱신, 만료 확인은 도래한 칸의 세션만 확인)
+ *
+ * 동시성
+ * - 한 세션의 인덱스 변경(바인딩/제거)은 Entry 잠금 안에서 처리하고, 제거된 Entry 는 다시 인덱스에 넣지 않음
+ *   (연결 종료와 늦게 도착한 메시지가 겹쳐도 인덱스에 닫힌 세션이 남지 않음)
+ * - 버스/사용자 인덱스는 remove(key, entry) 로 자기 자신일 때만 지움 (같은 버스/사용자의 새 세션 매핑을 지우지 않음)
+ * - 조직 인덱스는 compute 로만 추가/제거 (빈 집합 제거와 추가가 겹쳐도 세션이 빠지지 않음)
+ * - 제거(연결 종료)와 만료는 sessions 에서 먼저 빼낸 쪽만 Entry 를 받으므로 정리 작업은 한 번만 실행됨
+ */
+final class SessionRegistry {
+
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Entry> sessionsByBus = new ConcurrentHashMap<>();
+    private final Map<String, Entry> sessionsByUser = new ConcurrentHashMap<>();
+    private final Map<String, Set<Entry>> sessionsByOrganization = new ConcurrentHashMap<>();
+    private final long idleTimeoutMs;
+    private final SessionTimingWheel timingWheel;
+
+    /**
+     * @param idleTimeoutMs 마지막 활동 후 이 시간이 지나면 만료
+     * @param tickMs        타이밍 휠 한 칸의 길이 (만료 시각의 오차 범위)
+     */
+    SessionRegistry(long idleTimeoutMs, long tickMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.timingWheel = new SessionTimingWheel(idleTimeoutMs, tickMs);
+    }
+
+    /**
+     * 세션 등록 (이미 등록된 세션이면 기존 Entry)
+     */
+    Entry register(WebSocketSession session) {
+        return sessions.computeIfAbsent(session.getId(), id -> {
+            Entry entry = new Entry(session, System.currentTimeMillis());
+            timingWheel.schedule(entry);
+            return entry;
+        });
+    }
+
+    Entry get(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * 활동 기록 - 시각만 갱신 (휠에서의 위치는 해당 칸이 도래했을 때 다시 계산)
+     */
+    Entry touch(String sessionId) {
+        Entry entry = sessions.get(sessionId);
+        if (entry != null) {
+            entry.lastActivity = System.currentTimeMillis();
+        }
+        return entry;
+    }
+
+    /**
+     * 세션의 조직 지정 (바뀌면 이전 조직 인덱스에서 제거)
+     */
+    void bindOrganization(Entry entry, String organizationId) {
+        synchronized (entry) {
+            if (organizationId == null || entry.removed || organizationId.equals(entry.organizationId)) {
+                return;
+            }
+            if (entry.organizationId != null) {
+                unlinkOrganization(entry.organizationId, entry);
+            }
+            entry.organizationId = organizationId;
+            sessionsByOrganization.compute(organizationId, (key, entries) -> {
+                Set<Entry> linked = entries != null ? entries : ConcurrentHashMap.newKeySet();
+                linked.add(entry);
+                return linked;
+            });
+        }
+    }
+
+    /**
+     * 세션의 사용자 지정
+     *
+     * @return 같은 사용자로 등록되어 있던 이전 세션 (없으면 null) - 이전 세션은 replaced 로 표시
+     */
+    Entry bindUser(Entry entry, String userId) {
+        synchronized (entry) {
+            if (userId == null || entry.removed || userId.equals(entry.userId)) {
+                return null;
+            }
+            if (entry.userId != null) {
+                sessionsByUser.remove(entry.userId, entry);
+            }
+            entry.userId = userId;
+            return displace(sessionsByUser.put(userId, entry), entry);
+        }
+    }
+
+    /**
+     * 세션의 버스 지정
+     *
+     * @return 같은 버스로 등록되어 있던 이전 세션 (없으면 null) - 이전 세션은 replaced 로 표시
+     */
+    Entry bindBus(Entry entry, String busNumber) {
+        synchronized (entry) {
+            if (busNumber == null || entry.removed || busNumber.equals(entry.busNumber)) {
+                return null;
+            }
+            if (entry.busNumber != null) {
+                sessionsByBus.remove(entry.busNumber, entry);
+            }
+            entry.busNumber = busNumber;
+            return displace(sessionsByBus.put(busNumber, entry), entry);
+        }
+    }
+
+    Entry findByUser(String userId) {
+        return userId != null ? sessionsByUser.get(userId) : null;
+    }
+
+    Entry findByBus(String busNumber) {
+        return busNumber != null ? sessionsByBus.get(busNumber) : null;
+    }
+
+    /**
+     * 조직에 등록된 세션 (약한 일관성 뷰 - 순회 중 추가/제거되어도 예외 없음)
+     */
+    Collection<Entry> sessionsOf(String organizationId) {
+        Set<Entry> entries = organizationId != null ? sessionsByOrganization.get(organizationId) : null;
+        return entries != null ? Collections.unmodifiableSet(entries) : Set.of();
+    }
+
+    int countByOrganization(String organizationId) {
+        Set<Entry> entries = sessionsByOrganization.get(organizationId);
+        return entries != null ? entries.size() : 0;
+    }
+
+    Set<String> busNumbers() {
+        return new HashSet<>(sessionsByBus.keySet());
+    }
+
+    int busCount() {
+        return sessionsByBus.size();
+    }
+
+    Collection<Entry> all() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 연결 종료 시 제거
+     *
+     * @return 제거한 Entry (이미 제거/만료되었으면 null)
+     */
+    Entry remove(String sessionId) {
+        Entry entry = sessions.remove(sessionId);
+        if (entry != null) {
+            unlink(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * graceMs 동안 활동이 없으면 만료되도록 표시 (그 사이 활동이 있으면 평소처럼 유휴 시간 기준으로 연장)
+     * 이미 더 일찍 만료될 세션이면 그대로 둠
+     */
+    void expireAfter(String sessionId, long graceMs) {
+        Entry entry = sessions.get(sessionId);
+        if (entry != null) {
+            long deadline = System.currentTimeMillis() + graceMs;
+            entry.lastActivity = Math.min(entry.lastActivity, deadline - idleTimeoutMs);
+            timingWheel.schedule(entry);
+        }
+    }
+
+    /**
+     * 유휴 시간이 지난 세션을 레지스트리에서 제거하고 반환 (정리 작업은 호출자가 처리)
+     */
+    List<Entry> expire(long now) {
+        List<Entry> expired = timingWheel.advance(now);
+        expired.removeIf(entry -> !sessions.remove(entry.id, entry));
+        expired.forEach(this::unlink);
+        return expired;
+    }
+
+    private void unlink(Entry entry) {
+        synchronized (entry) {
+            entry.removed = true;
+            if (entry.busNumber != null) {
+                sessionsByBus.remove(entry.busNumber, entry);
+            }
+            if (entry.userId != null) {
+                sessionsByUser.remove(entry.userId, entry);
+            }
+            if (entry.organizationId != null) {
+                unlinkOrganization(entry.organizationId, entry);
+            }
+        }
+    }
+
+    private void unlinkOrganization(String organizationId, Entry entry) {
+        sessionsByOrganization.computeIfPresent(organizationId, (key, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    private static Entry displace(Entry previous, Entry current) {
+        if (previous == null || previous == current) {
+            return null;
+        }
+        previous.replaced = true;
+        return previous;
+    }
+
+    /**
+     * 세션 레코드 - 인덱스 필드는 레지스트리에서만 변경
+     */
+    static final class Entry {
+
+        private final String id;
+        private final WebSocketSession session;
+        private final long connectedAt;
+        private volatile long lastActivity;
+        private volatile String organizationId;
+        private volatile String userId;
+        private volatile String busNumber;
+        private volatile boolean replaced;
+        private boolean removed;        // Entry 잠금 안에서만 접근
+
+        // 세션에 마지막으로 전달한 위치 보고 등급 (승객 세션)
+        private final AtomicReference<PassengerLocationPolicy.Tier> locationTier = new AtomicReference<>();
+
+        long wheelTick = -1;            // 휠에서 마지막으로 배치한 칸 (SessionTimingWheel 잠금 안에서만 접근)
+
+        private Entry(WebSocketSession session, long now) {
+            this.id = session.getId();
+            this.session = session;
+            this.connectedAt = now;
+            this.lastActivity = now;
+        }
+
+        String id() {
+            return id;
+        }
+
+        WebSocketSession session() {
+            return session;
+        }
+
+        long connectedAt() {
+            return connectedAt;
+        }
+
+        long lastActivity() {
+            return lastActivity;
+        }
+
+        String organizationId() {
+            return organizationId;
+        }
+
+        String userId() {
+            return userId;
+        }
+
+        String busNumber() {
+            return busNumber;
+        }
+
+        /**
+         * 같은 사용자/버스의 새 세션이 등록되어 인덱스에서 밀려났는지
+         */
+        boolean isReplaced() {
+            return replaced;
+        }
+
+        boolean isOpen() {
+            return session.isOpen();
+        }
+
+        /**
+         * 마지막으로 기록한 위치 보고 등급 (아직 없으면 null)
+         */
+        PassengerLocationPolicy.Tier locationTier() {
+            return locationTier.get();
+        }
+
+        /**
+         * 위치 보고 등급 기록
+         *
+         * @return 이전에 기록한 등급
+         */
+        PassengerLocationPolicy.Tier exchangeLocationTier(PassengerLocationPolicy.Tier tier) {
+            return locationTier.getAndSet(tier);
+        }
+    }
+}
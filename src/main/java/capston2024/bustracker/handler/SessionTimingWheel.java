@@ -0,0 +1,99 @@
+package capston2024.bustracker.handler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 세션 유휴 만료용 해시 타이밍 휠
+ * - 칸 수는 유휴 시간을 덮는 2의 거듭제곱 (tick 단위), 세션은 만료 예정 tick 의 칸에 배치
+ * - 활동 기록은 Entry.lastActivity 만 갱신하고 휠은 건드리지 않음 - 칸이 도래했을 때 아직 만료 전이면
+ *   새 만료 예정 칸으로 옮김 (세션당 유휴 시간 동안 O(1) 회 확인)
+ * - 휠은 advance 를 실행하는 스레드만 변경, 다른 스레드의 등록은 incoming 큐로 넘겨받음
+ * - 같은 세션이 여러 칸에 걸려 있으면 마지막으로 배치한 칸(Entry.wheelTick)만 유효
+ */
+final class SessionTimingWheel {
+
+    private final long idleTimeoutMs;
+    private final long tickMs;
+    private final int mask;
+    private final ArrayDeque<Slot>[] wheel;
+    private final Queue<SessionRegistry.Entry> incoming = new ConcurrentLinkedQueue<>();
+
+    // 마지막으로 확인을 마친 tick (-1: 아직 한 번도 확인하지 않음)
+    private long processedTick = -1;
+
+    @SuppressWarnings("unchecked")
+    SessionTimingWheel(long idleTimeoutMs, long tickMs) {
+        if (idleTimeoutMs <= 0 || tickMs <= 0) {
+            throw new IllegalArgumentException("유휴 시간과 tick 길이는 0보다 커야 합니다.");
+        }
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.tickMs = tickMs;
+        long ticks = Math.max(2, (idleTimeoutMs + tickMs - 1) / tickMs);
+        int slots = Integer.highestOneBit((int) Math.min(ticks, 1 << 16) - 1) << 1;
+        this.mask = slots - 1;
+        this.wheel = new ArrayDeque[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * 세션 배치 요청 (다음 advance 때 반영)
+     */
+    void schedule(SessionRegistry.Entry entry) {
+        incoming.add(entry);
+    }
+
+    /**
+     * now 까지 도래한 칸을 확인하고 유휴 시간이 지난 세션 반환
+     * 호출 간격이 휠 한 바퀴보다 길면 모든 칸을 한 번씩만 확인 (지난 tick 의 세션도 함께 처리됨)
+     */
+    synchronized List<SessionRegistry.Entry> advance(long now) {
+        long nowTick = now / tickMs;
+        if (processedTick < 0) {
+            processedTick = nowTick - 1;
+        }
+
+        SessionRegistry.Entry scheduled;
+        while ((scheduled = incoming.poll()) != null) {
+            place(scheduled, processedTick + 1);
+        }
+
+        List<SessionRegistry.Entry> expired = new ArrayList<>();
+        long fromTick = Math.max(processedTick + 1, nowTick - mask);
+        for (long tick = fromTick; tick <= nowTick; tick++) {
+            ArrayDeque<Slot> slot = wheel[(int) (tick & mask)];
+            int pending = slot.size();
+            for (int i = 0; i < pending; i++) {
+                Slot candidate = slot.poll();
+                SessionRegistry.Entry entry = candidate.entry();
+                if (entry.wheelTick != candidate.tick()) {
+                    continue; // 다른 칸으로 다시 배치된 세션
+                }
+                if (candidate.tick() > tick) {
+                    slot.add(candidate); // 다음 바퀴에 도래
+                } else if (entry.lastActivity() + idleTimeoutMs <= now) {
+                    entry.wheelTick = -1;
+                    expired.add(entry);
+                } else {
+                    place(entry, tick + 1);
+                }
+            }
+        }
+        processedTick = Math.max(processedTick, nowTick);
+        return expired;
+    }
+
+    private void place(SessionRegistry.Entry entry, long minTick) {
+        long tick = Math.max((entry.lastActivity() + idleTimeoutMs) / tickMs, minTick);
+        entry.wheelTick = tick;
+        wheel[(int) (tick & mask)].add(new Slot(entry, tick));
+    }
+
+    private record Slot(SessionRegistry.Entry entry, long tick) {
+    }
+}
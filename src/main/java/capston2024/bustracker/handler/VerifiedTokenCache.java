@@ -0,0 +1,92 @@
+package capston2024.bustracker.handler;
+
+import org.springframework.security.core.Authentication;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서명 검증을 마친 액세스 토큰 -> Authentication 캐시
+ * - 키는 토큰 원문이 아닌 SHA-256 다이제스트 (메모리에 토큰 원문을 남기지 않음)
+ * - 항목은 토큰의 exp 까지만 유효, 조회 시 만료된 항목은 제거
+ * - 최대 항목 수를 넘으면 만료 항목을 먼저 지우고, 그래도 가득 차 있으면 임의의 10%를 제거
+ *
+ * Authentication 은 토큰 클레임만으로 만들어지므로 같은 토큰이면 요청 간에 공유해도 결과가 같음
+ */
+final class VerifiedTokenCache {
+
+    private static final double OVERFLOW_EVICTION_RATIO = 0.1;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxEntries 최대 항목 수 (0 이하면 캐시하지 않음)
+     */
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 검증된 토큰의 Authentication (없거나 만료되었으면 null)
+     */
+    Authentication get(String token, long now) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.authentication;
+    }
+
+    void put(String token, Authentication authentication, long expiresAt, long now) {
+        if (maxEntries <= 0 || expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(digest(token), new Entry(authentication, expiresAt));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int excess = entries.size() - (int) (maxEntries * (1 - OVERFLOW_EVICTION_RATIO));
+        Iterator<ByteBuffer> keys = entries.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private record Entry(Authentication authentication, long expiresAt) {
+    }
+}
@@ -15,5 +15,7 @@ public interface PassengerTripEventRepository extends MongoRepository<PassengerT
 
     List<PassengerTripEvent> findByTimestampBetween(long startTimestamp, long endTimestamp);
 
+    List<PassengerTripEvent> findByOrganizationIdAndTimestampGreaterThanOrderByTimestampAsc(String organizationId, long timestamp);
+
     long countByOrganizationId(String organizationId);
 }
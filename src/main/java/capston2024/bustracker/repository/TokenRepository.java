@@ -6,6 +6,5 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.Optional;
 
 public interface TokenRepository extends MongoRepository<TokenInfo, String> {
-    Optional<TokenInfo> findByAccessToken(String accessToken);
     Optional<TokenInfo> findByUsername(String username);
 }
@@ -1,8 +1,13 @@
 package capston2024.bustracker.service;
 
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -13,72 +18,183 @@ import java.security.spec.RSAPublicKeySpec;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 
 /**
  * Apple 공개 키를 가져오고 캐싱하는 서비스
  * Apple의 JWK(JSON Web Key) 엔드포인트에서 공개 키를 가져와서
  * Identity Token의 서명을 검증하는데 사용
+ *
+ * - 키 목록은 만료 전에 백그라운드에서 미리 갱신 (로그인 요청은 Apple 엔드포인트를 기다리지 않음)
+ * - 갱신 시 새 키 맵을 만든 뒤 한 번에 교체 (갱신 중에도 기존 키로 조회 가능)
+ * - 모르는 kid 가 오면 키를 다시 가져오되, 동시에 여러 요청이 와도 가져오기는 한 번만 수행
+ * - 다시 가져와도 없는 kid 는 잠시 실패로 기억해 같은 kid 로 Apple 을 반복 호출하지 않음
+ * - 갱신에 실패하면 기존 키를 계속 사용
+ * - 가져오기 사이 간격은 마지막 시도(실패 포함) 기준, 연속으로 실패하면 간격을 두 배씩 늘림 (Apple 장애 중 반복 호출 방지)
  */
 @Service
 @Slf4j
 public class ApplePublicKeyService {
 
-    private static final String APPLE_PUBLIC_KEYS_URL = "https://appleid.apple.com/auth/keys";
-
-    // 공개 키 캐시 (kid -> PublicKey)
-    private final Map<String, PublicKey> publicKeyCache = new ConcurrentHashMap<>();
-
-    // 마지막 키 갱신 시간
-    private long lastRefreshTime = 0;
-
-    // 캐시 유효 시간 (1시간)
+    // 캐시 유효 시간 (1시간) - 이 시간이 지나기 전에 백그라운드 갱신
     private static final long CACHE_DURATION_MS = 60 * 60 * 1000;
+    private static final long REFRESH_AHEAD_MS = 10 * 60 * 1000;
+    // 모르는 kid 로 다시 가져오기 사이 최소 간격 (연속 실패 시 두 배씩 늘림)
+    private static final long MIN_REFETCH_INTERVAL_MS = 10_000;
+    private static final long MAX_REFETCH_INTERVAL_MS = 5 * 60 * 1000;
+    // 없는 kid 실패 기억 시간
+    private static final long NEGATIVE_CACHE_MS = 60_000;
+    private static final int NEGATIVE_CACHE_MAX_ENTRIES = 1_000;
+    private static final int HTTP_TIMEOUT_MS = 5_000;
 
+    private final String keysUrl;
+    private final ClusterJobScheduler clusterJobScheduler;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    // 현재 시각 (테스트에서 시간 경과를 흉내낼 때 교체)
+    private final LongSupplier clock;
+
+    // 현재 키 목록 (교체만 하고 수정하지 않음)
+    private volatile KeySet keySet = KeySet.EMPTY;
+    // 진행 중인 가져오기 (동시 요청은 이 결과를 함께 기다림)
+    private final AtomicReference<CompletableFuture<KeySet>> inFlight = new AtomicReference<>();
+    // 마지막 가져오기 시도 (성공/실패)
+    private volatile FetchAttempt lastAttempt = FetchAttempt.NONE;
+    // 없는 kid -> 다시 시도할 수 있는 시각
+    private final Map<String, Long> unknownKids = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ApplePublicKeyService(@Value("${APPLE_PUBLIC_KEYS_URL:https://appleid.apple.com/auth/keys}") String keysUrl,
+                                 ClusterJobScheduler clusterJobScheduler) {
+        this(keysUrl, clusterJobScheduler, System::currentTimeMillis);
+    }
 
-    public ApplePublicKeyService() {
-        this.restTemplate = new RestTemplate();
+    ApplePublicKeyService(String keysUrl, ClusterJobScheduler clusterJobScheduler, LongSupplier clock) {
+        this.keysUrl = keysUrl;
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.clock = clock;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(HTTP_TIMEOUT_MS);
+        requestFactory.setReadTimeout(HTTP_TIMEOUT_MS);
+        this.restTemplate = new RestTemplate(requestFactory);
         this.objectMapper = new ObjectMapper();
     }
 
     /**
      * kid(Key ID)에 해당하는 Apple 공개 키 가져오기
-     * 캐시에 없거나 만료된 경우 Apple 서버에서 최신 키 가져옴
+     * 캐시에 없으면 Apple 서버에서 최신 키 가져옴 (동시 요청은 한 번의 가져오기를 공유)
      *
      * @param kid JWT 헤더의 kid (Key ID)
      * @return RSA Public Key
      * @throws Exception 공개 키를 가져올 수 없는 경우
      */
     public PublicKey getPublicKey(String kid) throws Exception {
-        // 캐시 확인
-        if (isCacheValid() && publicKeyCache.containsKey(kid)) {
+        PublicKey publicKey = keySet.keys().get(kid);
+        if (publicKey != null) {
             log.debug("캐시에서 공개 키 조회 - kid: {}", kid);
-            return publicKeyCache.get(kid);
+            return publicKey;
         }
 
-        // 캐시가 없거나 만료된 경우 새로 가져오기
-        log.info("Apple 공개 키 새로 가져오기 - kid: {}", kid);
-        refreshPublicKeys();
+        long now = clock.getAsLong();
+        Long retryAt = unknownKids.get(kid);
+        if (retryAt != null && retryAt > now) {
+            throw new Exception("해당 kid에 대한 공개 키를 찾을 수 없습니다: " + kid);
+        }
+
+        // 키가 교체되었을 수 있으므로 다시 가져오기 (방금 시도했으면 생략)
+        KeySet current = keySet;
+        if (lastAttempt.allowsRetry(now)) {
+            log.info("Apple 공개 키 새로 가져오기 - kid: {}", kid);
+            current = fetchSingleFlight(true);
+        }
 
-        PublicKey publicKey = publicKeyCache.get(kid);
+        publicKey = current.keys().get(kid);
+        if (publicKey == null && lastAttempt.failures() > 0) {
+            // Apple 장애 중에는 kid 가 없다고 기억하지 않음 (복구 후 바로 찾을 수 있도록)
+            throw new Exception("Apple 공개 키를 가져올 수 없어 잠시 후 다시 시도합니다 - kid: " + kid);
+        }
         if (publicKey == null) {
+            if (unknownKids.size() >= NEGATIVE_CACHE_MAX_ENTRIES) {
+                unknownKids.clear();
+            }
+            unknownKids.put(kid, now + NEGATIVE_CACHE_MS);
             throw new Exception("해당 kid에 대한 공개 키를 찾을 수 없습니다: " + kid);
         }
-
         return publicKey;
     }
 
+    @Scheduled(fixedDelay = 60000)
+    public void scheduleRefresh() {
+        clusterJobScheduler.runLocal("apple-public-key-refresh", this::refreshIfStale);
+    }
+
+    /**
+     * 만료 REFRESH_AHEAD_MS 전부터 백그라운드 갱신 (실패 시 기존 키 유지, 다음 주기에 재시도)
+     */
+    void refreshIfStale() {
+        if (clock.getAsLong() - keySet.fetchedAt() >= CACHE_DURATION_MS - REFRESH_AHEAD_MS) {
+            refresh();
+        }
+    }
+
+    void refresh() {
+        try {
+            fetchSingleFlight(false);
+        } catch (Exception e) {
+            log.warn("Apple 공개 키 백그라운드 갱신 실패 - 기존 키 {}개 유지: {}", keySet.keys().size(), e.getMessage());
+        }
+    }
+
+    /**
+     * @param reuseRecent 마지막 시도 후 다시 가져오기 간격이 지나지 않았으면 다시 가져오지 않음
+     */
+    private KeySet fetchSingleFlight(boolean reuseRecent) throws Exception {
+        CompletableFuture<KeySet> flight = new CompletableFuture<>();
+        CompletableFuture<KeySet> existing = inFlight.compareAndExchange(null, flight);
+        if (existing != null) {
+            try {
+                return existing.get(HTTP_TIMEOUT_MS * 2L, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        try {
+            // 기다리는 사이 다른 요청이 방금 시도했으면 그 결과 사용
+            KeySet latest = keySet;
+            if (reuseRecent && !lastAttempt.allowsRetry(clock.getAsLong())) {
+                flight.complete(latest);
+                return latest;
+            }
+            KeySet fetched = fetchPublicKeys();
+            keySet = fetched;
+            lastAttempt = new FetchAttempt(fetched.fetchedAt(), 0);
+            unknownKids.clear();
+            flight.complete(fetched);
+            return fetched;
+        } catch (Exception e) {
+            lastAttempt = new FetchAttempt(clock.getAsLong(), lastAttempt.failures() + 1);
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
     /**
-     * Apple 서버에서 공개 키 목록을 가져와서 캐시 갱신
+     * Apple 서버에서 공개 키 목록을 가져와 새 키 맵 생성
      */
-    private synchronized void refreshPublicKeys() throws Exception {
+    private KeySet fetchPublicKeys() throws Exception {
         try {
-            log.info("Apple 공개 키 엔드포인트 호출: {}", APPLE_PUBLIC_KEYS_URL);
+            log.info("Apple 공개 키 엔드포인트 호출: {}", keysUrl);
 
             // Apple JWK 엔드포인트 호출
-            String response = restTemplate.getForObject(APPLE_PUBLIC_KEYS_URL, String.class);
+            String response = restTemplate.getForObject(keysUrl, String.class);
             JsonNode rootNode = objectMapper.readTree(response);
             JsonNode keysNode = rootNode.get("keys");
 
@@ -86,30 +202,30 @@ public class ApplePublicKeyService {
                 throw new Exception("Apple 공개 키 응답 형식이 올바르지 않습니다");
             }
 
-            // 기존 캐시 초기화
-            publicKeyCache.clear();
-
-            // 각 키를 파싱하여 캐시에 저장
+            // 각 키를 파싱하여 새 맵에 저장
+            Map<String, PublicKey> keys = new HashMap<>();
             for (JsonNode keyNode : keysNode) {
                 String kid = keyNode.get("kid").asText();
                 String kty = keyNode.get("kty").asText(); // "RSA"
-                String alg = keyNode.get("alg").asText(); // "RS256"
-                String use = keyNode.get("use").asText(); // "sig"
+                String alg = keyNode.path("alg").asText(); // "RS256"
+                String use = keyNode.path("use").asText("sig"); // "sig"
                 String n = keyNode.get("n").asText();     // modulus
                 String e = keyNode.get("e").asText();     // exponent
 
                 if ("RSA".equals(kty) && "sig".equals(use)) {
-                    PublicKey publicKey = createPublicKey(n, e);
-                    publicKeyCache.put(kid, publicKey);
-                    log.info("공개 키 캐시 추가 - kid: {}, alg: {}", kid, alg);
+                    keys.put(kid, createPublicKey(n, e));
+                    log.debug("공개 키 추가 - kid: {}, alg: {}", kid, alg);
                 }
             }
+            if (keys.isEmpty()) {
+                throw new Exception("Apple 공개 키 응답에 서명용 RSA 키가 없습니다");
+            }
 
-            lastRefreshTime = System.currentTimeMillis();
-            log.info("Apple 공개 키 캐시 갱신 완료 - 총 {}개", publicKeyCache.size());
+            log.info("Apple 공개 키 캐시 갱신 완료 - 총 {}개", keys.size());
+            return new KeySet(Map.copyOf(keys), clock.getAsLong());
 
         } catch (Exception e) {
-            log.error("Apple 공개 키 가져오기 실패", e);
+            log.error("Apple 공개 키 가져오기 실패: {}", e.getMessage());
             throw new Exception("Apple 공개 키를 가져올 수 없습니다: " + e.getMessage(), e);
         }
     }
@@ -133,19 +249,28 @@ public class ApplePublicKeyService {
     }
 
     /**
-     * 캐시가 유효한지 확인 (1시간 이내)
+     * 캐시 강제 초기화 (테스트 또는 관리 용도)
      */
-    private boolean isCacheValid() {
-        return !publicKeyCache.isEmpty()
-            && (System.currentTimeMillis() - lastRefreshTime) < CACHE_DURATION_MS;
+    public void clearCache() {
+        log.info("Apple 공개 키 캐시 초기화");
+        keySet = KeySet.EMPTY;
+        lastAttempt = FetchAttempt.NONE;
+        unknownKids.clear();
+    }
+
+    private record KeySet(Map<String, PublicKey> keys, long fetchedAt) {
+        static final KeySet EMPTY = new KeySet(Map.of(), 0);
     }
 
     /**
-     * 캐시 강제 초기화 (테스트 또는 관리 용도)
+     * @param failures 연속 실패 횟수 (성공하면 0)
      */
-    public void clearCache() {
-        log.info("Apple 공개 키 캐시 초기화");
-        publicKeyCache.clear();
-        lastRefreshTime = 0;
+    private record FetchAttempt(long attemptedAt, int failures) {
+        static final FetchAttempt NONE = new FetchAttempt(0, 0);
+
+        boolean allowsRetry(long now) {
+            long interval = MIN_REFETCH_INTERVAL_MS << Math.min(failures, 5);
+            return now - attemptedAt >= Math.min(interval, MAX_REFETCH_INTERVAL_MS);
+        }
     }
 }
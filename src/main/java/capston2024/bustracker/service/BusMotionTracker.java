@@ -0,0 +1,262 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.config.dto.BusRealTimeLocationDTO;
+import capston2024.bustracker.domain.utils.GeoUtils;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 버스별 등속 운동 모델 (칼만 필터)
+ * - 기사 앱 위치가 들어올 때마다 위치/속도 추정값을 갱신 → 평활화된 위치, 속도, 진행 방향 제공
+ * - 첫 위치를 기준점으로 한 평면 좌표(m)에서 동/북 두 축을 각각 [위치, 속도] 2차원 필터로 처리
+ * - 버스마다 상태 객체 1개를 재사용하므로 위치 처리 경로에서 추가 할당 없음
+ *
+ * 조직 소유 노드에서만 갱신되므로, 추정값도 소유 노드(탑승 감지를 수행하는 노드)에서만 유효
+ */
+@Component
+@Slf4j
+public class BusMotionTracker {
+
+    private static final double METERS_PER_DEGREE = 111_320;
+    // 이보다 오래 끊겼거나 혁신값(잔차)이 크면 모델을 새로 시작
+    private static final long RESET_GAP_MS = 60_000;
+    private static final double RESET_RESIDUAL_METERS = 1_000;
+    // 이보다 오래 갱신되지 않은 버스는 제거
+    private static final long STALE_MS = 10 * 60_000;
+    // 외삽 최대 시간 (이후에는 마지막 추정 위치에 정지)
+    private static final long MAX_EXTRAPOLATION_MS = 30_000;
+
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final double measurementVariance;
+    private final double accelerationNoise;
+
+    private final Map<String, Motion> motions = new ConcurrentHashMap<>();
+
+    public BusMotionTracker(ClusterJobScheduler clusterJobScheduler,
+                            RealtimeMetrics realtimeMetrics,
+                            @Value("${BUS_MOTION_GPS_NOISE_METERS:8}") double gpsNoiseMeters,
+                            @Value("${BUS_MOTION_ACCELERATION_NOISE:0.5}") double accelerationNoise) {
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.measurementVariance = gpsNoiseMeters * gpsNoiseMeters;
+        this.accelerationNoise = accelerationNoise;
+        realtimeMetrics.gauge("bustracker.bus.motion.tracked", "운동 모델을 유지 중인 버스 수", motions, Map::size);
+    }
+
+    /**
+     * 기사 앱 위치 1건 반영 (늦게 도착한 이전 시각 위치는 무시)
+     */
+    public void update(BusRealTimeLocationDTO location) {
+        if (location.getLatitude() == 0.0 && location.getLongitude() == 0.0) {
+            return;
+        }
+        Motion motion = motions.computeIfAbsent(location.getBusNumber(), busNumber -> new Motion());
+        synchronized (motion) {
+            motion.update(location.getLatitude(), location.getLongitude(), location.getTimestamp(),
+                    System.currentTimeMillis(), measurementVariance, accelerationNoise);
+        }
+    }
+
+    public void remove(String busNumber) {
+        motions.remove(busNumber);
+    }
+
+    /**
+     * 추정 속도 (m/s, 모델이 없으면 0)
+     */
+    public double speedMps(String busNumber) {
+        Motion motion = motions.get(busNumber);
+        if (motion == null) {
+            return 0.0;
+        }
+        synchronized (motion) {
+            return motion.initialized ? Math.hypot(motion.eastVelocity, motion.northVelocity) : 0.0;
+        }
+    }
+
+    /**
+     * 추정 진행 방향 (북쪽 기준 시계 방향 도, 모델이 없거나 정지 중이면 NaN)
+     */
+    public double headingDegrees(String busNumber) {
+        Motion motion = motions.get(busNumber);
+        if (motion == null) {
+            return Double.NaN;
+        }
+        synchronized (motion) {
+            return motion.initialized ? headingOf(motion.eastVelocity, motion.northVelocity) : Double.NaN;
+        }
+    }
+
+    /**
+     * 모델이 이 위치 시각까지 반영했으면 평활화된 위치, 아니면 null (조회와 비교를 한 번에 처리)
+     */
+    public GeoJsonPoint smoothedPoint(String busNumber, long fixTime) {
+        Motion motion = motions.get(busNumber);
+        if (motion == null) {
+            return null;
+        }
+        synchronized (motion) {
+            if (!motion.initialized || motion.timestamp != fixTime) {
+                return null;
+            }
+            return new GeoJsonPoint(motion.longitudeAfter(0), motion.latitudeAfter(0));
+        }
+    }
+
+    /**
+     * 서버 시각 serverMillis 로 외삽한 버스 위치까지의 거리 (m, 모델이 없으면 NaN)
+     * - 경과 시간은 서버가 마지막 위치를 받은 시각 기준 (기사 앱/승객 앱 시계와 무관)
+     */
+    public double distanceAt(String busNumber, long serverMillis, double latitude, double longitude) {
+        Motion motion = motions.get(busNumber);
+        if (motion == null) {
+            return Double.NaN;
+        }
+        synchronized (motion) {
+            if (!motion.initialized) {
+                return Double.NaN;
+            }
+            double dt = extrapolationSeconds(serverMillis - motion.receivedAt);
+            return GeoUtils.haversineMeters(latitude, longitude, motion.latitudeAfter(dt), motion.longitudeAfter(dt));
+        }
+    }
+
+    private static double extrapolationSeconds(long elapsedMs) {
+        return Math.max(0, Math.min(elapsedMs, MAX_EXTRAPOLATION_MS)) / 1000.0;
+    }
+
+    static double headingOf(double east, double north) {
+        if (east == 0 && north == 0) {
+            return Double.NaN;
+        }
+        double degrees = Math.toDegrees(Math.atan2(east, north));
+        return degrees < 0 ? degrees + 360 : degrees;
+    }
+
+    @Scheduled(fixedRate = 60000, initialDelay = 60000)
+    public void scheduleStaleEviction() {
+        clusterJobScheduler.runLocal("bus-motion-eviction", this::evictStale);
+    }
+
+    private void evictStale() {
+        long threshold = System.currentTimeMillis() - STALE_MS;
+        motions.values().removeIf(motion -> {
+            synchronized (motion) {
+                return motion.receivedAt < threshold;
+            }
+        });
+    }
+
+    /**
+     * 버스 1대의 필터 상태 (동/북 축별 [위치, 속도]와 2x2 공분산)
+     */
+    private static final class Motion {
+        boolean initialized;
+        long timestamp;
+        long receivedAt;
+        double referenceLatitude;
+        double referenceLongitude;
+        double metersPerDegreeLongitude;
+
+        double east;
+        double eastVelocity;
+        double eastP00;
+        double eastP01;
+        double eastP11;
+
+        double north;
+        double northVelocity;
+        double northP00;
+        double northP01;
+        double northP11;
+
+        double latitudeAfter(double dt) {
+            return referenceLatitude + (north + northVelocity * dt) / METERS_PER_DEGREE;
+        }
+
+        double longitudeAfter(double dt) {
+            return referenceLongitude + (east + eastVelocity * dt) / metersPerDegreeLongitude;
+        }
+
+        void update(double latitude, double longitude, long fixTime, long now, double r, double q) {
+            if (initialized && fixTime <= timestamp) {
+                return;
+            }
+            receivedAt = now;
+            if (!initialized || fixTime - timestamp > RESET_GAP_MS) {
+                reset(latitude, longitude, fixTime, r);
+                return;
+            }
+            double measuredEast = (longitude - referenceLongitude) * metersPerDegreeLongitude;
+            double measuredNorth = (latitude - referenceLatitude) * METERS_PER_DEGREE;
+            double dt = (fixTime - timestamp) / 1000.0;
+
+            // 예측 단계 (등속 가정, 가속도를 백색 잡음으로 취급)
+            double dt2 = dt * dt;
+            double q00 = q * dt2 * dt / 3;
+            double q01 = q * dt2 / 2;
+            double q11 = q * dt;
+
+            east += eastVelocity * dt;
+            eastP00 += dt * (2 * eastP01 + dt * eastP11) + q00;
+            eastP01 += dt * eastP11 + q01;
+            eastP11 += q11;
+
+            north += northVelocity * dt;
+            northP00 += dt * (2 * northP01 + dt * northP11) + q00;
+            northP01 += dt * northP11 + q01;
+            northP11 += q11;
+
+            double eastResidual = measuredEast - east;
+            double northResidual = measuredNorth - north;
+            if (Math.hypot(eastResidual, northResidual) > RESET_RESIDUAL_METERS) {
+                reset(latitude, longitude, fixTime, r);
+                return;
+            }
+
+            // 보정 단계
+            double eastS = eastP00 + r;
+            double eastK0 = eastP00 / eastS;
+            double eastK1 = eastP01 / eastS;
+            east += eastK0 * eastResidual;
+            eastVelocity += eastK1 * eastResidual;
+            eastP11 -= eastK1 * eastP01;
+            eastP00 *= 1 - eastK0;
+            eastP01 *= 1 - eastK0;
+
+            double northS = northP00 + r;
+            double northK0 = northP00 / northS;
+            double northK1 = northP01 / northS;
+            north += northK0 * northResidual;
+            northVelocity += northK1 * northResidual;
+            northP11 -= northK1 * northP01;
+            northP00 *= 1 - northK0;
+            northP01 *= 1 - northK0;
+
+            timestamp = fixTime;
+        }
+
+        private void reset(double latitude, double longitude, long fixTime, double r) {
+            initialized = true;
+            timestamp = fixTime;
+            referenceLatitude = latitude;
+            referenceLongitude = longitude;
+            metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+            east = 0;
+            north = 0;
+            eastVelocity = 0;
+            northVelocity = 0;
+            // 첫 위치는 GPS 오차만큼, 속도는 모르는 상태(시내버스 최고 속도 수준)로 시작
+            eastP00 = northP00 = r;
+            eastP01 = northP01 = 0;
+            eastP11 = northP11 = 20 * 20;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.dto.BusRealTimeStatusDTO;
+import capston2024.bustracker.domain.Route;
+import capston2024.bustracker.domain.Station;
+import capston2024.bustracker.repository.RouteRepository;
+import capston2024.bustracker.repository.StationRepository;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 기사 앱 위치 사이의 버스 위치 외삽
+ * - 마지막 실제 상태(위치, 소유 노드 운동 모델의 속도/진행 방향)로 노선 경로(정류장 순서대로 이은 선) 위를 따라
+ *   이동시킨 위치를 BUS_EXTRAPOLATION_INTERVAL_MS 마다 이 노드의 승객에게 busUpdate(extrapolated=true)로 전송
+ * - 기사 앱이 위치 전송 주기를 늘려도 승객 지도에서는 버스가 끊기지 않고 움직임
+ * - 노선 경로를 모르거나 버스가 경로에서 멀리 벗어나 있으면 직선으로 외삽
+ *
+ * 모든 노드가 클러스터 버스로 받은 실제 상태를 각자 외삽해 자기 세션에만 전송 (외삽 위치는 클러스터 버스로 발행하지 않음)
+ * 정차 중이거나 마지막 위치가 오래된 버스는 외삽하지 않음 (실제 위치가 들어오면 원래대로 전송)
+ * 경과 시간은 이 노드가 실제 상태를 받은 시각 기준 (기사 앱 시계가 어긋나도 외삽 거리가 틀어지지 않음)
+ */
+@Component
+@Slf4j
+public class BusPositionExtrapolator {
+
+    private static final double METERS_PER_DEGREE = 111_320;
+    // 마지막 위치 이후 이 시간까지만 외삽
+    private static final long MAX_EXTRAPOLATION_MS = 20_000;
+    // 이보다 느리면 정차 중으로 보고 외삽하지 않음
+    private static final double MIN_SPEED_MPS = 1.0;
+    // 경로에서 이보다 멀면 경로를 따르지 않음
+    private static final double MAX_ROUTE_OFFSET_METERS = 150;
+    private static final long ROUTE_CACHE_TTL_MS = 10 * 60_000;
+    // 이 시간 동안 실제 상태를 받지 못한 버스는 추적 중단
+    private static final long TRACKING_TIMEOUT_MS = 10 * 60_000;
+
+    private final RouteRepository routeRepository;
+    private final StationRepository stationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final boolean enabled;
+
+    // 버스 번호 -> 마지막으로 받은 실제 상태
+    private final Map<String, Tracked> trackedBuses = new ConcurrentHashMap<>();
+    // 노선 ID -> 경로 (정류장이 2개 미만이면 empty)
+    private final Map<String, CachedRoute> routes = new ConcurrentHashMap<>();
+    // 외삽 작업은 runLocal 로 한 번에 하나만 실행되므로 버퍼 재사용
+    private final double[] latLon = new double[2];
+    private final double[] offset = new double[1];
+
+    public BusPositionExtrapolator(RouteRepository routeRepository,
+                                   StationRepository stationRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   ClusterJobScheduler clusterJobScheduler,
+                                   @Value("${BUS_EXTRAPOLATION_ENABLED:true}") boolean enabled) {
+        this.routeRepository = routeRepository;
+        this.stationRepository = stationRepository;
+        this.eventPublisher = eventPublisher;
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 클러스터 버스로 실제 상태를 받을 때마다 외삽 기준 갱신 (모든 노드)
+     */
+    public void track(BusRealTimeStatusDTO status) {
+        if (!enabled || status.isExtrapolated()) {
+            return;
+        }
+        if (!status.isOperate() || status.getRouteId() == null) {
+            trackedBuses.remove(status.getBusNumber());
+            return;
+        }
+        trackedBuses.put(status.getBusNumber(), new Tracked(status, System.currentTimeMillis()));
+    }
+
+    @Scheduled(fixedRateString = "${BUS_EXTRAPOLATION_INTERVAL_MS:1000}")
+    public void scheduleExtrapolation() {
+        if (enabled && !trackedBuses.isEmpty()) {
+            clusterJobScheduler.runLocal("bus-extrapolation", this::publishExtrapolatedPositions);
+        }
+    }
+
+    /**
+     * 외삽한 상태를 이 노드 안에서만 발행 (BusStatusEventListener 가 이 노드의 승객 세션에 전송)
+     */
+    void publishExtrapolatedPositions() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Tracked> entry : trackedBuses.entrySet()) {
+            Tracked tracked = entry.getValue();
+            BusRealTimeStatusDTO status = tracked.status();
+
+            long elapsedMs = Math.max(0, now - tracked.receivedAt());
+            if (elapsedMs > MAX_EXTRAPOLATION_MS) {
+                if (elapsedMs > TRACKING_TIMEOUT_MS) {
+                    trackedBuses.remove(entry.getKey(), tracked);
+                }
+                continue;
+            }
+            if (status.getSpeedMps() < MIN_SPEED_MPS || status.getHeadingDegrees() == null) {
+                continue;
+            }
+            extrapolate(status, elapsedMs, latLon);
+
+            BusRealTimeStatusDTO extrapolated = copyOf(status);
+            extrapolated.setLatitude(latLon[0]);
+            extrapolated.setLongitude(latLon[1]);
+            extrapolated.setExtrapolated(true);
+            eventPublisher.publishEvent(new ExtrapolatedBusStatusEvent(status.getOrganizationId(), extrapolated));
+        }
+    }
+
+    /**
+     * 마지막 위치 이후 elapsedMs 가 지난 버스 위치를 [위도, 경도]로 기록
+     */
+    private void extrapolate(BusRealTimeStatusDTO status, long elapsedMs, double[] latLon) {
+        double heading = status.getHeadingDegrees();
+        double moved = status.getSpeedMps() * elapsedMs / 1000.0;
+        RoutePolyline polyline = polyline(status.getRouteId());
+        if (polyline != null) {
+            double along = polyline.project(status.getLatitude(), status.getLongitude(), offset);
+            double bearing = polyline.bearingAt(along);
+            if (offset[0] <= MAX_ROUTE_OFFSET_METERS && !Double.isNaN(bearing)) {
+                // 진행 방향이 경로 방향과 반대면 정류장 역순으로 이동
+                double difference = Math.abs(heading - bearing) % 360;
+                int direction = Math.min(difference, 360 - difference) <= 90 ? 1 : -1;
+                polyline.pointAt(Math.max(0, Math.min(polyline.length(), along + direction * moved)), latLon);
+                return;
+            }
+        }
+        double radians = Math.toRadians(heading);
+        latLon[0] = status.getLatitude() + moved * Math.cos(radians) / METERS_PER_DEGREE;
+        latLon[1] = status.getLongitude() + moved * Math.sin(radians)
+                / (METERS_PER_DEGREE * Math.cos(Math.toRadians(status.getLatitude())));
+    }
+
+    private RoutePolyline polyline(String routeId) {
+        long now = System.currentTimeMillis();
+        CachedRoute cached = routes.get(routeId);
+        if (cached == null || now - cached.loadedAt() > ROUTE_CACHE_TTL_MS) {
+            cached = new CachedRoute(loadPolyline(routeId), now);
+            routes.put(routeId, cached);
+        }
+        return cached.polyline().orElse(null);
+    }
+
+    private Optional<RoutePolyline> loadPolyline(String routeId) {
+        try {
+            Route route = routeRepository.findById(routeId).orElse(null);
+            if (route == null || route.getStations() == null || route.getStations().size() < 2) {
+                return Optional.empty();
+            }
+            List<Route.RouteStation> ordered = route.getStations().stream()
+                    .sorted(Comparator.comparingInt(Route.RouteStation::getSequence))
+                    .toList();
+            Map<String, Station> stations = stationRepository.findAllByIdIn(ordered.stream()
+                            .map(routeStation -> routeStation.getStationId().getId().toString())
+                            .toList()).stream()
+                    .collect(Collectors.toMap(Station::getId, Function.identity(), (a, b) -> a));
+
+            List<double[]> points = new ArrayList<>();
+            for (Route.RouteStation routeStation : ordered) {
+                Station station = stations.get(routeStation.getStationId().getId().toString());
+                if (station != null && station.getLocation() != null) {
+                    points.add(new double[]{station.getLocation().getY(), station.getLocation().getX()});
+                }
+            }
+            return points.size() < 2 ? Optional.empty() : Optional.of(new RoutePolyline(points));
+        } catch (Exception e) {
+            log.warn("⚠️ [위치외삽] 노선 경로 조회 실패 - 노선: {}, 오류: {}", routeId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static BusRealTimeStatusDTO copyOf(BusRealTimeStatusDTO status) {
+        return new BusRealTimeStatusDTO(status.getBusId(), status.getBusNumber(), status.getBusRealNumber(),
+                status.getRouteName(), status.getOrganizationId(), status.getLatitude(), status.getLongitude(),
+                status.getTotalSeats(), status.getOccupiedSeats(), status.getAvailableSeats(),
+                status.getCurrentStationName(), status.getLastUpdateTime(), status.getCurrentStationIndex(),
+                status.getTotalStations(), status.isOperate(), status.isExtrapolated(), status.getRouteId(),
+                status.getSpeedMps(), status.getHeadingDegrees());
+    }
+
+    /**
+     * 외삽한 버스 상태 (이 노드 안에서만 전달)
+     */
+    public record ExtrapolatedBusStatusEvent(String organizationId, BusRealTimeStatusDTO busStatus) {
+    }
+
+    private record Tracked(BusRealTimeStatusDTO status, long receivedAt) {
+    }
+
+    private record CachedRoute(Optional<RoutePolyline> polyline, long loadedAt) {
+    }
+}
@@ -1,18 +1,26 @@
 package capston2024.bustracker.service;
 
+import capston2024.bustracker.config.RealtimeLogSampler;
+import capston2024.bustracker.config.RealtimeMetrics;
 import capston2024.bustracker.config.dto.*;
 import capston2024.bustracker.domain.Bus;
 import capston2024.bustracker.domain.Route;
 import capston2024.bustracker.domain.Station;
 import capston2024.bustracker.domain.utils.BusNumberGenerator;
+import capston2024.bustracker.domain.utils.GeoUtils;
 import capston2024.bustracker.exception.BusinessException;
 import capston2024.bustracker.exception.ResourceNotFoundException;
 import capston2024.bustracker.handler.BusDriverWebSocketHandler;
 import capston2024.bustracker.repository.BusRepository;
 import capston2024.bustracker.repository.RouteRepository;
 import capston2024.bustracker.repository.StationRepository;
+import capston2024.bustracker.service.cluster.ClusterEventBus;
+import capston2024.bustracker.service.cluster.ClusterEventType;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.OrganizationOwnership;
 import com.mongodb.DBRef;
 import jakarta.activation.DataHandler;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,11 +53,38 @@ public class BusService {
     private final BusNumberGenerator busNumberGenerator;
     private final ApplicationEventPublisher eventPublisher;
     private final KakaoApiService kakaoApiService;
-
-    // 버스 위치 업데이트 큐
+    private final RealtimeMetrics realtimeMetrics;
+    private final RealtimeLogSampler logSampler;
+    private final ClusterEventBus clusterEventBus;
+    private final OrganizationOwnership organizationOwnership;
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final BusMotionTracker busMotionTracker;
+
+    // 버스 위치 업데이트 큐 (이 노드가 소유한 조직의 버스만 보관)
     private final Map<String, BusRealTimeLocationDTO> pendingLocationUpdates = new ConcurrentHashMap<>();
     private ApplicationContext applicationContext;
 
+    @PostConstruct
+    void registerMetrics() {
+        realtimeMetrics.gauge("bustracker.location.pending", "DB 반영 대기 중인 버스 위치 업데이트 수",
+                pendingLocationUpdates, Map::size);
+    }
+
+    /**
+     * 다른 노드에서 전달된 기사 위치 중 이 노드가 소유한 조직의 것만 큐에 반영
+     */
+    @PostConstruct
+    void subscribeClusterEvents() {
+        clusterEventBus.subscribe(event -> {
+            if (event.type() == ClusterEventType.DRIVER_LOCATION
+                    && organizationOwnership.isOwner(event.organizationId())) {
+                BusRealTimeLocationDTO locationUpdate = (BusRealTimeLocationDTO) event.payload();
+                busMotionTracker.update(locationUpdate);
+                pendingLocationUpdates.put(locationUpdate.getBusNumber(), locationUpdate);
+            }
+        });
+    }
+
     /**
      * 버스 상태 업데이트 이벤트
      */
@@ -357,7 +392,14 @@ public class BusService {
         log.debug("버스 위치 업데이트 요청: {}, 좌표: ({}, {})",
                 locationUpdate.getBusNumber(), locationUpdate.getLatitude(), locationUpdate.getLongitude());
 
-        // 업데이트 큐에 추가
+        // 다른 노드가 소유한 조직이면 소유 노드로 전달
+        if (!organizationOwnership.isOwner(locationUpdate.getOrganizationId())) {
+            clusterEventBus.publish(ClusterEventType.DRIVER_LOCATION, locationUpdate.getOrganizationId(), locationUpdate);
+            return;
+        }
+
+        // 운동 모델 갱신 후 업데이트 큐에 추가
+        busMotionTracker.update(locationUpdate);
         pendingLocationUpdates.put(locationUpdate.getBusNumber(), locationUpdate);
     }
 
@@ -367,6 +409,15 @@ public class BusService {
      */
     @Transactional
     public boolean processBusBoarding(BusBoardingDTO boardingDTO) {
+        long startNanos = System.nanoTime();
+        try {
+            return doProcessBusBoarding(boardingDTO);
+        } finally {
+            realtimeMetrics.recordSince(realtimeMetrics.getBoardingTimer(), startNanos);
+        }
+    }
+
+    private boolean doProcessBusBoarding(BusBoardingDTO boardingDTO) {
         log.info("🎫 ============= 승객 탑승/하차 처리 시작 =============");
         log.info("🎫 버스: {}, 사용자: {}, 액션: {}, 조직: {}",
                 boardingDTO.getBusNumber(), boardingDTO.getUserId(),
@@ -748,6 +799,11 @@ public class BusService {
         statusDTO.setCurrentStationIndex(bus.getPrevStationIdx());
         statusDTO.setTotalStations(totalStations);
         statusDTO.setOperate(bus.isOperate()); // 새 필드
+        statusDTO.setRouteId(bus.getRouteId() != null ? bus.getRouteId().getId().toString() : null);
+        // 운동 모델은 소유 노드에만 있으므로, 다른 노드가 외삽할 수 있도록 속도/진행 방향을 함께 전달
+        double heading = busMotionTracker.headingDegrees(bus.getBusNumber());
+        statusDTO.setSpeedMps(busMotionTracker.speedMps(bus.getBusNumber()));
+        statusDTO.setHeadingDegrees(Double.isNaN(heading) ? null : heading);
 
         return statusDTO;
     }
@@ -798,9 +854,16 @@ public class BusService {
 
     /**
      * 정기적으로 버스 위치 업데이트 적용 (3초마다로 변경)
-     * WebSocket으로 받은 위치 정보를 DB에 반영하는 핵심 메서드
+     * 조직 소유권으로 이미 노드별로 분할되어 있으므로 노드마다 실행
      */
     @Scheduled(fixedRate = 3000) // 10초에서 3초로 단축
+    public void scheduleLocationFlush() {
+        clusterJobScheduler.runLocal("location-flush", this::flushLocationUpdates);
+    }
+
+    /**
+     * WebSocket으로 받은 위치 정보를 DB에 반영하는 핵심 메서드
+     */
     public void flushLocationUpdates() {
         List<BusRealTimeLocationDTO> updates;
 
@@ -814,20 +877,31 @@ public class BusService {
             pendingLocationUpdates.clear();
         }
 
-        log.info("🔄 [BusService] 위치 업데이트 처리 시작 - {} 건", updates.size());
+        log.debug("🔄 [BusService] 위치 업데이트 처리 시작 - {} 건", updates.size());
 
         int successCount = 0;
         int failCount = 0;
         int skipCount = 0;
         long startTime = System.currentTimeMillis();
+        long flushStartNanos = System.nanoTime();
 
         // 2. 각 버스의 위치 업데이트 처리
         for (BusRealTimeLocationDTO update : updates) {
+            long busStartNanos = System.nanoTime();
+            logSampler.beginKey(update.getBusNumber());
             try {
+                // 큐에 들어간 뒤 소유권이 다른 노드로 넘어간 조직은 새 소유 노드로 전달
+                if (!organizationOwnership.isOwner(update.getOrganizationId())) {
+                    clusterEventBus.publish(ClusterEventType.DRIVER_LOCATION, update.getOrganizationId(), update);
+                    skipCount++;
+                    continue;
+                }
+
                 // 위치 유효성 검증
                 if (update.getLatitude() == 0.0 && update.getLongitude() == 0.0) {
-                    log.warn("🚫 [BusService] (0, 0) 위치 업데이트 건너뛰기: 버스 번호 = {}",
+                    log.debug("🚫 [BusService] (0, 0) 위치 업데이트 건너뛰기: 버스 번호 = {}",
                             update.getBusNumber());
+                    realtimeMetrics.recordDropped("flush", "zero_location");
                     skipCount++;
                     continue;
                 }
@@ -835,8 +909,9 @@ public class BusService {
                 // GPS 좌표 범위 검증
                 if (update.getLatitude() < -90 || update.getLatitude() > 90 ||
                         update.getLongitude() < -180 || update.getLongitude() > 180) {
-                    log.warn("🚫 [BusService] 잘못된 GPS 좌표 건너뛰기: 버스 = {}, 위치 = ({}, {})",
+                    log.debug("🚫 [BusService] 잘못된 GPS 좌표 건너뛰기: 버스 = {}, 위치 = ({}, {})",
                             update.getBusNumber(), update.getLatitude(), update.getLongitude());
+                    realtimeMetrics.recordDropped("flush", "invalid_location");
                     skipCount++;
                     continue;
                 }
@@ -850,6 +925,7 @@ public class BusService {
                 if (existingBus == null) {
                     log.warn("🚌 [BusService] 버스를 찾을 수 없음: {}, 조직: {}",
                             update.getBusNumber(), update.getOrganizationId());
+                    realtimeMetrics.recordDropped("flush", "unknown_bus");
                     failCount++;
                     continue;
                 }
@@ -858,6 +934,7 @@ public class BusService {
                 if (!existingBus.isOperate()) {
                     log.debug("🛑 [BusService] 운행 중지된 버스 위치 업데이트 건너뛰기: {}",
                             update.getBusNumber());
+                    realtimeMetrics.recordDropped("flush", "not_operating");
                     skipCount++;
                     continue;
                 }
@@ -873,10 +950,10 @@ public class BusService {
                 }
 
                 // 위치 및 좌석 정보 업데이트
-                GeoJsonPoint newLocation = new GeoJsonPoint(update.getLongitude(), update.getLatitude());
+                GeoJsonPoint newLocation = smoothedLocation(update);
                 Instant timestamp = Instant.ofEpochMilli(update.getTimestamp());
 
-                log.info("🚌 [BusService] 버스 {} 위치 업데이트 시작 - 위치: ({}, {}), 승객: {}명",
+                log.debug("🚌 [BusService] 버스 {} 위치 업데이트 시작 - 위치: ({}, {}), 승객: {}명",
                         update.getBusNumber(), update.getLatitude(), update.getLongitude(),
                         update.getOccupiedSeats());
 
@@ -898,7 +975,7 @@ public class BusService {
                             .set("lastStationTime", timestamp)
                             .set("prevStationIdx", nearestStation.getSequence());
 
-                    log.info("🚏 [BusService] 버스 {} 정류장 업데이트: 시퀀스={}, 정류장ID={}",
+                    log.debug("🚏 [BusService] 버스 {} 정류장 업데이트: 시퀀스={}, 정류장ID={}",
                             update.getBusNumber(), nearestStation.getSequence(),
                             nearestStation.getStationId().getId());
                 }
@@ -907,7 +984,7 @@ public class BusService {
                 mongoOperations.updateFirst(query, mongoUpdate, Bus.class);
                 successCount++;
 
-                log.info("✅ [BusService] 버스 {} 업데이트 완료 - 새 위치: Point [x={}, y={}], 승객: {}명",
+                log.debug("✅ [BusService] 버스 {} 업데이트 완료 - 새 위치: Point [x={}, y={}], 승객: {}명",
                         update.getBusNumber(), newLocation.getX(), newLocation.getY(),
                         update.getOccupiedSeats());
 
@@ -926,12 +1003,18 @@ public class BusService {
             } catch (Exception e) {
                 log.error("❌ [BusService] 버스 {} 위치 업데이트 중 오류 발생",
                         update.getBusNumber(), e);
+                realtimeMetrics.recordDropped("flush", "error");
                 failCount++;
+            } finally {
+                realtimeMetrics.recordSince(realtimeMetrics.getBusUpdateTimer(), busStartNanos);
+                logSampler.endMessage();
             }
         }
 
+        realtimeMetrics.recordSince(realtimeMetrics.getFlushTimer(), flushStartNanos);
         long elapsedTime = System.currentTimeMillis() - startTime;
 
+        // 틱마다 집계 한 줄만 INFO (버스별 상세는 DEBUG 또는 추적 대상만)
         log.info("✅ [BusService] 위치 업데이트 처리 완료 - 성공: {} 건, 실패: {} 건, 건너뛴: {} 건, 소요 시간: {} ms",
                 successCount, failCount, skipCount, elapsedTime);
 
@@ -1063,6 +1146,14 @@ public class BusService {
         );
     }
 
+    /**
+     * 운동 모델이 이 위치까지 반영했으면 평활화된 위치 사용 (GPS 튐으로 정류장이 잘못 바뀌는 것 방지)
+     */
+    private GeoJsonPoint smoothedLocation(BusRealTimeLocationDTO update) {
+        GeoJsonPoint smoothed = busMotionTracker.smoothedPoint(update.getBusNumber(), update.getTimestamp());
+        return smoothed != null ? smoothed : new GeoJsonPoint(update.getLongitude(), update.getLatitude());
+    }
+
     /**
      * 버스 비활성 상태 업데이트 및 모든 승객 강제 하차
      */
@@ -1070,24 +1161,11 @@ public class BusService {
         try {
             log.info("🔴 [버스비활성] 버스 비활성 상태로 업데이트 시작 - 버스: {}, 조직: {}", busNumber, organizationId);
 
-            // 버스의 모든 승객 강제 하차 처리
-            if (organizationId != null) {
-                try {
-                    PassengerLocationService passengerLocationService =
-                            applicationContext.getBean(PassengerLocationService.class);
+            busMotionTracker.remove(busNumber);
 
-                    int alightedCount = passengerLocationService.forceAlightAllPassengersOnBus(busNumber, organizationId);
-
-                    if (alightedCount > 0) {
-                        log.warn("🚨 [버스비활성] 버스 운영 종료로 {}명 강제 하차 처리 완료 - 버스: {}",
-                                alightedCount, busNumber);
-                    } else {
-                        log.info("ℹ️ [버스비활성] 하차 처리할 승객 없음 - 버스: {}", busNumber);
-                    }
-                } catch (Exception e) {
-                    log.error("❌ [버스비활성] 승객 강제 하차 처리 중 오류 발생 - 버스: {}, 오류: {}",
-                            busNumber, e.getMessage(), e);
-                }
+            // 버스의 모든 승객 강제 하차 처리 (승객 상태를 가진 소유 노드에서 처리)
+            if (organizationId != null) {
+                clusterEventBus.publish(ClusterEventType.BUS_STOPPED, organizationId, Map.of("busNumber", busNumber));
             }
 
             // 향후 확장: DB에서 버스 상태를 'INACTIVE'로 업데이트
@@ -1129,26 +1207,6 @@ public class BusService {
      * 두 위치 사이의 거리 계산 (Haversine 공식)
      */
     public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6371000; // 지구의 반지름 (미터)
-
-        // 위도, 경도를 라디안으로 변환
-        double lat1Rad = Math.toRadians(lat1);
-        double lon1Rad = Math.toRadians(lon1);
-        double lat2Rad = Math.toRadians(lat2);
-        double lon2Rad = Math.toRadians(lon2);
-
-        // 위도, 경도 차이
-        double dLat = lat2Rad - lat1Rad;
-        double dLon = lon2Rad - lon1Rad;
-
-        // Haversine 공식
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(lat1Rad) * Math.cos(lat2Rad) *
-                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
-
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-        // 최종 거리 (미터 단위)
-        return R * c;
+        return GeoUtils.haversineMeters(lat1, lon1, lat2, lon2);
     }
 }
\ No newline at end of file
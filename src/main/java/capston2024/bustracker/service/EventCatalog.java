@@ -0,0 +1,150 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.domain.Event;
+import capston2024.bustracker.domain.EventMission;
+import capston2024.bustracker.domain.EventReward;
+import capston2024.bustracker.repository.EventMissionRepository;
+import capston2024.bustracker.repository.EventRepository;
+import capston2024.bustracker.repository.EventRewardRepository;
+import capston2024.bustracker.service.cluster.ClusterEvent;
+import capston2024.bustracker.service.cluster.ClusterEventBus;
+import capston2024.bustracker.service.cluster.ClusterEventType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 이벤트 카탈로그 캐시 (조직별 진행 중 이벤트, 이벤트별 미션/상품)
+ * - 이벤트 화면을 열 때마다 Mongo 를 조회하지 않도록 노드 로컬에 보관
+ * - EventAdminController 에서 변경하면 invalidate → EVENT_CATALOG_CHANGED 로 모든 노드 캐시 비움
+ * - 상품은 뽑기마다 남은 수량이 바뀌므로 짧은 TTL(EVENT_REWARD_CACHE_TTL_MS) 적용
+ */
+@Component
+@Slf4j
+public class EventCatalog {
+
+    private final EventRepository eventRepository;
+    private final EventMissionRepository eventMissionRepository;
+    private final EventRewardRepository eventRewardRepository;
+    private final ClusterEventBus clusterEventBus;
+    private final long catalogTtlMs;
+    private final long rewardTtlMs;
+
+    private final Map<String, Cached<Optional<Event>>> currentEventByOrganization = new ConcurrentHashMap<>();
+    private final Map<String, Cached<Optional<Event>>> eventsById = new ConcurrentHashMap<>();
+    private final Map<String, Cached<List<EventMission>>> missionsByEvent = new ConcurrentHashMap<>();
+    private final Map<String, Cached<List<EventReward>>> rewardsByEvent = new ConcurrentHashMap<>();
+
+    // 무효화할 때마다 증가 - 무효화 전에 시작한 조회 결과는 캐시에 넣지 않음
+    private final AtomicLong generation = new AtomicLong();
+
+    public EventCatalog(EventRepository eventRepository,
+                        EventMissionRepository eventMissionRepository,
+                        EventRewardRepository eventRewardRepository,
+                        ClusterEventBus clusterEventBus,
+                        @Value("${EVENT_CATALOG_TTL_MS:300000}") long catalogTtlMs,
+                        @Value("${EVENT_REWARD_CACHE_TTL_MS:5000}") long rewardTtlMs) {
+        this.eventRepository = eventRepository;
+        this.eventMissionRepository = eventMissionRepository;
+        this.eventRewardRepository = eventRewardRepository;
+        this.clusterEventBus = clusterEventBus;
+        this.catalogTtlMs = catalogTtlMs;
+        this.rewardTtlMs = rewardTtlMs;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        clusterEventBus.subscribe(this::handleClusterEvent);
+    }
+
+    /**
+     * 조직의 현재 진행 중 이벤트 (가장 최근 생성된 활성 이벤트)
+     */
+    public Optional<Event> findCurrentEvent(String organizationId) {
+        return cached(currentEventByOrganization, organizationId, catalogTtlMs,
+                () -> eventRepository.findFirstByOrganizationIdAndIsActiveTrueOrderByCreatedAtDesc(organizationId));
+    }
+
+    public Optional<Event> findEvent(String eventId) {
+        return cached(eventsById, eventId, catalogTtlMs, () -> eventRepository.findById(eventId));
+    }
+
+    /**
+     * 이벤트 미션 목록 (순서대로)
+     */
+    public List<EventMission> getMissions(String eventId) {
+        return cached(missionsByEvent, eventId, catalogTtlMs,
+                () -> List.copyOf(eventMissionRepository.findByEventIdOrderByOrder(eventId)));
+    }
+
+    public List<EventMission> getRequiredMissions(String eventId) {
+        return getMissions(eventId).stream()
+                .filter(EventMission::isRequired)
+                .toList();
+    }
+
+    /**
+     * 이벤트 상품 목록 (등급순, 남은 수량은 최대 EVENT_REWARD_CACHE_TTL_MS 만큼 늦게 반영)
+     */
+    public List<EventReward> getRewards(String eventId) {
+        return cached(rewardsByEvent, eventId, rewardTtlMs,
+                () -> List.copyOf(eventRewardRepository.findByEventIdOrderByRewardGrade(eventId)));
+    }
+
+    /**
+     * 이벤트/미션/상품 변경 후 호출 - 이 노드는 바로, 다른 노드는 클러스터 이벤트로 캐시 비움
+     */
+    public void invalidate(String organizationId) {
+        clear();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("organizationId", organizationId);
+        clusterEventBus.publish(ClusterEventType.EVENT_CATALOG_CHANGED, organizationId, payload);
+    }
+
+    private void handleClusterEvent(ClusterEvent event) {
+        if (event.type() == ClusterEventType.EVENT_CATALOG_CHANGED) {
+            clear();
+            log.debug("이벤트 카탈로그 캐시 무효화: 조직={}", event.organizationId());
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        currentEventByOrganization.clear();
+        eventsById.clear();
+        missionsByEvent.clear();
+        rewardsByEvent.clear();
+    }
+
+    private <T> T cached(Map<String, Cached<T>> cache, String key, long ttlMs, Supplier<T> loader) {
+        long now = System.currentTimeMillis();
+        Cached<T> entry = cache.get(key);
+        if (entry != null && now - entry.loadedAt() < ttlMs) {
+            return entry.value();
+        }
+
+        long loadGeneration = generation.get();
+        T value = loader.get();
+        if (generation.get() == loadGeneration) {
+            Cached<T> loaded = new Cached<>(value, now);
+            cache.put(key, loaded);
+            // 넣는 사이에 무효화되었으면 되돌림
+            if (generation.get() != loadGeneration) {
+                cache.remove(key, loaded);
+            }
+        }
+        return value;
+    }
+
+    private record Cached<T>(T value, long loadedAt) {
+    }
+}
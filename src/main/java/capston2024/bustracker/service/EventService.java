@@ -5,11 +5,22 @@ import capston2024.bustracker.domain.*;
 import capston2024.bustracker.exception.BusinessException;
 import capston2024.bustracker.exception.ResourceNotFoundException;
 import capston2024.bustracker.repository.*;
+import capston2024.bustracker.service.reward.RewardDrawEngine;
 import com.mongodb.DBRef;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -24,17 +35,43 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EventService {
 
-    private final EventRepository eventRepository;
-    private final EventMissionRepository eventMissionRepository;
+    private static final String PARTICIPATION_COLLECTION = "event_participations";
+
     private final EventRewardRepository eventRewardRepository;
     private final EventParticipationRepository eventParticipationRepository;
     private final UserRepository userRepository;
+    private final RewardDrawEngine rewardDrawEngine;
+    private final EventCatalog eventCatalog;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * 미션 완료 upsert 가 사용자당 참여 기록 1개만 만들도록 (이벤트, 사용자) 유니크 인덱스 생성
+     */
+    @PostConstruct
+    void initialize() {
+        try {
+            mongoTemplate.indexOps(PARTICIPATION_COLLECTION).ensureIndex(new Index()
+                    .on("eventId", Sort.Direction.ASC)
+                    .on("userId", Sort.Direction.ASC)
+                    .unique());
+        } catch (Exception e) {
+            // 기존 데이터에 중복 참여 기록이 있으면 유니크 인덱스를 만들 수 없음
+            log.warn("⚠️ [이벤트] 참여 기록 유니크 인덱스 생성 실패, 일반 인덱스 사용: {}", e.getMessage());
+            try {
+                mongoTemplate.indexOps(PARTICIPATION_COLLECTION).ensureIndex(new Index()
+                        .on("eventId", Sort.Direction.ASC)
+                        .on("userId", Sort.Direction.ASC));
+            } catch (Exception ex) {
+                log.error("❌ [이벤트] 참여 기록 인덱스 생성 실패: {}", ex.getMessage());
+            }
+        }
+    }
 
     /**
      * 현재 활성화된 이벤트 조회
      */
     public EventDTO getCurrentEvent(String organizationId) {
-        Event event = eventRepository.findFirstByOrganizationIdAndIsActiveTrueOrderByCreatedAtDesc(organizationId)
+        Event event = eventCatalog.findCurrentEvent(organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("현재 진행 중인 이벤트가 없습니다."));
 
         return convertToDTO(event);
@@ -45,11 +82,11 @@ public class EventService {
      */
     public List<EventMissionDTO> getEventMissions(String eventId, String userId) {
         // 이벤트 존재 확인
-        Event event = eventRepository.findById(eventId)
+        eventCatalog.findEvent(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("이벤트를 찾을 수 없습니다."));
 
         // 미션 목록 조회
-        List<EventMission> missions = eventMissionRepository.findByEventIdOrderByOrder(eventId);
+        List<EventMission> missions = eventCatalog.getMissions(eventId);
 
         // 사용자 참여 기록 조회
         Optional<EventParticipation> participationOpt =
@@ -74,7 +111,7 @@ public class EventService {
      * 이벤트 상품 목록 조회
      */
     public List<EventRewardDTO> getEventRewards(String eventId) {
-        List<EventReward> rewards = eventRewardRepository.findByEventIdOrderByRewardGrade(eventId);
+        List<EventReward> rewards = eventCatalog.getRewards(eventId);
         return rewards.stream()
                 .map(this::convertRewardToDTO)
                 .collect(Collectors.toList());
@@ -82,49 +119,47 @@ public class EventService {
 
     /**
      * 미션 완료 처리
+     * 참여 기록 생성과 미션 추가를 $addToSet upsert 한 번으로 처리 (조회 후 저장 사이 경합 없음)
+     * 필수 미션을 모두 완료한 경우에만 뽑기 자격을 조건부로 갱신
+     *
+     * @param userId 컨트롤러가 인증 정보로 조회한 사용자의 ID - 그 조회에서 사용자 존재가 확인되므로 다시 조회하지 않음
+     *               (사용자가 없으면 null)
      */
-    @Transactional
     public EventParticipationDTO completeMission(String userId, MissionCompleteRequestDTO request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다."));
-
-        Event event = eventRepository.findById(request.getEventId())
+        if (userId == null) {
+            throw new ResourceNotFoundException("사용자를 찾을 수 없습니다.");
+        }
+        String eventId = request.getEventId();
+        eventCatalog.findEvent(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("이벤트를 찾을 수 없습니다."));
 
-        EventMission mission = eventMissionRepository.findById(request.getMissionId())
+        EventMission mission = eventCatalog.getMissions(eventId).stream()
+                .filter(m -> m.getId().equals(request.getMissionId()))
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("미션을 찾을 수 없습니다."));
 
         // 미션 검증
         validateMission(mission, request.getTargetValue());
 
-        // 참여 기록 조회 또는 생성
-        EventParticipation participation = eventParticipationRepository
-                .findByEventIdAndUserId(request.getEventId(), userId)
-                .orElseGet(() -> {
-                    EventParticipation newParticipation = EventParticipation.builder()
-                            .eventId(new DBRef("events", event.getId()))
-                            .userId(new DBRef("Auth", user.getId()))
-                            .completedMissions(new ArrayList<>())
-                            .isEligibleForDraw(false)
-                            .hasDrawn(false)
-                            .createdAt(LocalDateTime.now())
-                            .build();
-                    return eventParticipationRepository.save(newParticipation);
-                });
-
-        // 미션 완료 추가
-        participation.addCompletedMission(mission.getId());
-        participation.setUpdatedAt(LocalDateTime.now());
+        // 참여 기록 생성 또는 미션 완료 추가
+        EventParticipation participation = upsertCompletedMission(eventId, userId, mission.getId());
 
         // 모든 필수 미션 완료 여부 확인
-        List<EventMission> requiredMissions = eventMissionRepository.findRequiredMissionsByEventId(event.getId());
-        EventParticipation finalParticipation = participation;
-        boolean allRequiredCompleted = requiredMissions.stream()
-                .allMatch(m -> finalParticipation.getCompletedMissions().contains(m.getId()));
-
-        participation.setEligibleForDraw(allRequiredCompleted);
-
-        participation = eventParticipationRepository.save(participation);
+        List<String> requiredMissionIds = eventCatalog.getRequiredMissions(eventId).stream()
+                .map(EventMission::getId)
+                .toList();
+        boolean allRequiredCompleted = participation.getCompletedMissions().containsAll(requiredMissionIds);
+
+        if (allRequiredCompleted && !participation.isEligibleForDraw()) {
+            // 완료 목록에 필수 미션이 모두 있는 경우에만 변경 (완료 목록은 늘어나기만 하므로 되돌려지지 않음)
+            Criteria criteria = Criteria.where("_id").is(participation.getId());
+            if (!requiredMissionIds.isEmpty()) {
+                criteria = criteria.and("completedMissions").all(requiredMissionIds);
+            }
+            mongoTemplate.updateFirst(Query.query(criteria),
+                    new Update().set("isEligibleForDraw", true), EventParticipation.class);
+            participation.setEligibleForDraw(true);
+        }
 
         log.info("미션 완료: userId={}, missionId={}, eligibleForDraw={}",
                 userId, mission.getId(), participation.isEligibleForDraw());
@@ -132,15 +167,83 @@ public class EventService {
         return convertParticipationToDTO(participation);
     }
 
+    /**
+     * (이벤트, 사용자) 참여 기록에 완료 미션 추가 - 없으면 생성
+     * 처음 참여하는 요청이 동시에 들어와 유니크 인덱스 충돌이 나면 이미 생긴 문서에 다시 추가
+     */
+    private EventParticipation upsertCompletedMission(String eventId, String userId, String missionId) {
+        Query query = Query.query(participationCriteria(eventId, userId));
+        Update update = completedMissionsUpdate(List.of(missionId), LocalDateTime.now());
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+
+        try {
+            return mongoTemplate.findAndModify(query, update, options, EventParticipation.class);
+        } catch (DuplicateKeyException e) {
+            return mongoTemplate.findAndModify(query, update, options, EventParticipation.class);
+        }
+    }
+
+    /**
+     * 자동으로 감지한 미션 완료를 bulk write 한 번으로 반영 (MissionProgressEvaluator 에서 호출)
+     * 참여 기록별로 $addToSet upsert 후, 필수 미션을 모두 완료했으면 뽑기 자격 부여
+     */
+    public void completeMissions(List<MissionProgress> progresses) {
+        if (progresses.isEmpty()) {
+            return;
+        }
+        try {
+            writeMissionProgress(progresses);
+        } catch (BulkOperationException | DuplicateKeyException e) {
+            // 처음 참여하는 문서를 다른 요청이 동시에 만든 경우 - 모든 업데이트가 멱등이므로 다시 실행
+            log.warn("⚠️ [이벤트] 미션 진행 일괄 반영 중 충돌, 재시도: {}", e.getMessage());
+            writeMissionProgress(progresses);
+        }
+    }
+
+    private void writeMissionProgress(List<MissionProgress> progresses) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, EventParticipation.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (MissionProgress progress : progresses) {
+            bulk.upsert(Query.query(participationCriteria(progress.eventId(), progress.userId())),
+                    completedMissionsUpdate(progress.missionIds(), now));
+
+            List<String> requiredMissionIds = eventCatalog.getRequiredMissions(progress.eventId()).stream()
+                    .map(EventMission::getId)
+                    .toList();
+            Criteria eligible = participationCriteria(progress.eventId(), progress.userId())
+                    .and("isEligibleForDraw").ne(true);
+            if (!requiredMissionIds.isEmpty()) {
+                eligible = eligible.and("completedMissions").all(requiredMissionIds);
+            }
+            bulk.updateOne(Query.query(eligible), new Update().set("isEligibleForDraw", true));
+        }
+        bulk.execute();
+    }
+
+    private static Criteria participationCriteria(String eventId, String userId) {
+        return Criteria.where("eventId").is(new DBRef("events", eventId))
+                .and("userId").is(new DBRef("Auth", userId));
+    }
+
+    private static Update completedMissionsUpdate(Collection<String> missionIds, LocalDateTime now) {
+        Update update = new Update()
+                .set("updatedAt", now)
+                .setOnInsert("isEligibleForDraw", false)
+                .setOnInsert("hasDrawn", false)
+                .setOnInsert("createdAt", now);
+        update.addToSet("completedMissions").each(missionIds.toArray());
+        return update;
+    }
+
     /**
      * 랜덤 뽑기 실행
+     * 재고 차감과 참여 기록 완료는 RewardDrawEngine 의 조건부 업데이트로 처리 (동시 뽑기에도 초과 지급 없음)
      */
-    @Transactional
     public RewardDrawResponseDTO drawReward(String userId, String eventId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다."));
 
-        Event event = eventRepository.findById(eventId)
+        Event event = eventCatalog.findEvent(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("이벤트를 찾을 수 없습니다."));
 
         // 참여 기록 확인
@@ -158,25 +261,8 @@ public class EventService {
             throw new BusinessException("이미 뽑기를 완료하였습니다.");
         }
 
-        // 재고가 있는 상품 목록 조회
-        List<EventReward> availableRewards = eventRewardRepository.findAvailableRewardsByEventId(eventId);
-
-        if (availableRewards.isEmpty()) {
-            throw new BusinessException("남은 상품이 없습니다.");
-        }
-
-        // 확률 기반 랜덤 추첨
-        EventReward drawnReward = performRandomDraw(availableRewards);
-
-        // 재고 감소
-        drawnReward.setRemainingQuantity(drawnReward.getRemainingQuantity() - 1);
-        drawnReward.setUpdatedAt(LocalDateTime.now());
-        eventRewardRepository.save(drawnReward);
-
-        // 참여 기록 업데이트
-        participation.markAsDrawn(new DBRef("event_rewards", drawnReward.getId()));
-        participation.setUpdatedAt(LocalDateTime.now());
-        eventParticipationRepository.save(participation);
+        // 확률 기반 추첨 + 재고 차감 + 참여 기록 완료
+        EventReward drawnReward = rewardDrawEngine.draw(event.getId(), participation.getId());
 
         log.info("뽑기 완료: userId={}, reward={} ({}등)",
                 userId, drawnReward.getRewardName(), drawnReward.getRewardGrade());
@@ -221,44 +307,18 @@ public class EventService {
         // 추가 검증 로직은 미션 타입에 따라 확장 가능
     }
 
-    /**
-     * 확률 기반 랜덤 추첨
-     * 1등 5%, 2등 10%, 3등 15%, 4등 20%, 5등 50%
-     */
-    private EventReward performRandomDraw(List<EventReward> rewards) {
-        // 확률 누적 합계 계산
-        double totalProbability = rewards.stream()
-                .mapToDouble(EventReward::getProbability)
-                .sum();
-
-        // 랜덤 값 생성 (0.0 ~ totalProbability)
-        double randomValue = Math.random() * totalProbability;
-
-        // 누적 확률로 상품 선택
-        double cumulativeProbability = 0.0;
-        for (EventReward reward : rewards) {
-            cumulativeProbability += reward.getProbability();
-            if (randomValue <= cumulativeProbability) {
-                return reward;
-            }
-        }
-
-        // 만약 여기까지 오면 마지막 상품 반환 (fallback)
-        return rewards.get(rewards.size() - 1);
-    }
-
     /**
      * Entity -> DTO 변환
      */
     private EventDTO convertToDTO(Event event) {
-        List<EventMissionDTO> missions = eventMissionRepository
-                .findByEventIdOrderByOrder(event.getId())
+        List<EventMissionDTO> missions = eventCatalog
+                .getMissions(event.getId())
                 .stream()
                 .map(this::convertMissionToDTO)
                 .collect(Collectors.toList());
 
-        List<EventRewardDTO> rewards = eventRewardRepository
-                .findByEventIdOrderByRewardGrade(event.getId())
+        List<EventRewardDTO> rewards = eventCatalog
+                .getRewards(event.getId())
                 .stream()
                 .map(this::convertRewardToDTO)
                 .collect(Collectors.toList());
@@ -308,8 +368,15 @@ public class EventService {
     private EventParticipationDTO convertParticipationToDTO(EventParticipation participation) {
         EventRewardDTO rewardDTO = null;
         if (participation.getDrawnRewardId() != null) {
-            EventReward reward = eventRewardRepository.findById((String) participation.getDrawnRewardId().getId())
-                    .orElse(null);
+            String rewardId = (String) participation.getDrawnRewardId().getId();
+            EventReward reward = participation.getEventId() == null ? null
+                    : eventCatalog.getRewards((String) participation.getEventId().getId()).stream()
+                            .filter(r -> r.getId().equals(rewardId))
+                            .findFirst()
+                            .orElse(null);
+            if (reward == null) {
+                reward = eventRewardRepository.findById(rewardId).orElse(null);
+            }
             if (reward != null) {
                 rewardDTO = convertRewardToDTO(reward);
             }
@@ -326,4 +393,10 @@ public class EventService {
                 .drawTimestamp(participation.getDrawTimestamp())
                 .build();
     }
+
+    /**
+     * 참여 기록 하나에 반영할 완료 미션
+     */
+    public record MissionProgress(String eventId, String userId, Set<String> missionIds) {
+    }
 }
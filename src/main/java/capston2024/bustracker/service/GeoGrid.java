@@ -0,0 +1,57 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.domain.utils.GeoUtils;
+
+import java.util.function.LongConsumer;
+
+/**
+ * 위경도를 일정 크기(미터) 격자 칸으로 나누는 계산
+ * - 칸 키는 (위도 행, 경도 열)을 long 하나로 합친 값
+ * - 경도 방향 칸 크기는 행 중심 위도의 cos 값으로 보정 (도시 규모에서는 오차 무시 가능)
+ *
+ * 반경 r 이하 영역을 찾을 때 칸 크기를 r 이상으로 두고, 대상이 속한 칸과 주변 8칸에 등록하면
+ * 조회 지점이 속한 칸 하나만 확인하면 됨
+ */
+final class GeoGrid {
+
+    // 거리 비교(GeoUtils.haversineMeters)와 같은 지구 반지름 - 다르면 칸이 반경보다 작아져 경계의 지점을 놓침
+    private static final double METERS_PER_DEGREE = GeoUtils.EARTH_RADIUS_METERS * Math.PI / 180;
+
+    private final double cellMeters;
+
+    GeoGrid(double cellMeters) {
+        this.cellMeters = cellMeters;
+    }
+
+    long cellOf(double latitude, double longitude) {
+        long row = row(latitude);
+        return key(row, column(row, longitude));
+    }
+
+    /**
+     * 지점이 속한 칸과 주변 8칸
+     */
+    void forEachNeighbor(double latitude, double longitude, LongConsumer action) {
+        long row = row(latitude);
+        for (long r = row - 1; r <= row + 1; r++) {
+            long column = column(r, longitude);
+            for (long c = column - 1; c <= column + 1; c++) {
+                action.accept(key(r, c));
+            }
+        }
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude * METERS_PER_DEGREE / cellMeters);
+    }
+
+    private long column(long row, double longitude) {
+        double rowLatitude = (row + 0.5) * cellMeters / METERS_PER_DEGREE;
+        double metersPerDegree = METERS_PER_DEGREE * Math.cos(Math.toRadians(rowLatitude));
+        return (long) Math.floor(longitude * metersPerDegree / cellMeters);
+    }
+
+    private static long key(long row, long column) {
+        return (row << 32) ^ (column & 0xffffffffL);
+    }
+}
@@ -0,0 +1,319 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.config.dto.InsightJobResponseDTO;
+import capston2024.bustracker.config.dto.InsightQuestionRequestDTO;
+import capston2024.bustracker.config.dto.InsightQuestionResponseDTO;
+import capston2024.bustracker.exception.BusinessException;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import io.micrometer.core.instrument.Counter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * AI 질의응답(/api/insight/ask) 캐시와 비동기 작업 관리
+ * - 같은 질문(정규화한 질문, 정류장, 조회 기간, 외부 요인, 데이터 버전)은 캐시된 답변 재사용
+ * - 같은 질문이 동시에 들어오면 분석/AI 호출은 한 번만 수행하고 결과를 공유
+ * - 비동기 작업(submit → 조회/SSE)으로 느린 AI 호출 동안 요청 스레드를 붙잡지 않음
+ *
+ * 데이터 버전은 캐시 유효 시간 단위의 분석 시각 구간 (최근 N일 통계는 몇 분 사이에 거의 변하지 않음)
+ * AI 호출이 실패해 기본 답변을 만든 경우는 짧게만 캐시해 AI 가 복구되면 바로 다시 시도
+ * 분석이 answerTimeoutMs 안에 끝나지 않으면 실패로 완료하고 작업 스레드를 중단
+ * (멈춘 분석이 진행 중 목록/작업 수 한도를 계속 차지하지 않음)
+ */
+@Service
+@Slf4j
+public class InsightQuestionService {
+
+    private static final int DEFAULT_LOOKBACK_DAYS = 7;
+    // 기본 답변(AI 실패) 캐시 시간
+    private static final long FALLBACK_TTL_MS = 30_000;
+    // 완료된 작업 결과 보관 시간
+    private static final long JOB_RETENTION_MS = 10 * 60 * 1000;
+
+    private final StationInsightService stationInsightService;
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final long cacheTtlMs;
+    private final int cacheMaxEntries;
+    private final int maxPendingJobs;
+    private final long answerTimeoutMs;
+    // 현재 시각 (테스트에서 시간 경과를 흉내낼 때 교체)
+    private final LongSupplier clock;
+
+    // AI 호출은 대부분 네트워크 대기이므로 작업당 가상 스레드 사용
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("insight-", 0).factory());
+
+    private final Map<InsightCacheKey, CachedAnswer> cache = new ConcurrentHashMap<>();
+    // 진행 중인 분석 (같은 키의 동시 요청은 이 결과를 함께 기다림)
+    private final Map<InsightCacheKey, CompletableFuture<InsightQuestionResponseDTO>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, InsightJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingJobs = new AtomicInteger();
+
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+    private final Counter coalescedCounter;
+
+    /**
+     * @param answerTimeoutMs 분석 최대 대기 시간 (AI 읽기 타임아웃 120초보다 길고 SSE 구독 유지 시간 150초보다 짧게)
+     */
+    @Autowired
+    public InsightQuestionService(StationInsightService stationInsightService,
+                                  ClusterJobScheduler clusterJobScheduler,
+                                  RealtimeMetrics realtimeMetrics,
+                                  @Value("${INSIGHT_CACHE_TTL_MS:300000}") long cacheTtlMs,
+                                  @Value("${INSIGHT_CACHE_MAX_ENTRIES:1000}") int cacheMaxEntries,
+                                  @Value("${INSIGHT_MAX_PENDING_JOBS:100}") int maxPendingJobs,
+                                  @Value("${INSIGHT_ANSWER_TIMEOUT_MS:140000}") long answerTimeoutMs) {
+        this(stationInsightService, clusterJobScheduler, realtimeMetrics, cacheTtlMs, cacheMaxEntries, maxPendingJobs,
+                answerTimeoutMs, System::currentTimeMillis);
+    }
+
+    InsightQuestionService(StationInsightService stationInsightService, ClusterJobScheduler clusterJobScheduler,
+                           RealtimeMetrics realtimeMetrics, long cacheTtlMs, int cacheMaxEntries, int maxPendingJobs,
+                           long answerTimeoutMs, LongSupplier clock) {
+        this.stationInsightService = stationInsightService;
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.cacheTtlMs = Math.max(1, cacheTtlMs);
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.maxPendingJobs = maxPendingJobs;
+        this.answerTimeoutMs = Math.max(1, answerTimeoutMs);
+        this.clock = clock;
+        this.cacheHitCounter = cacheCounter(realtimeMetrics, "hit");
+        this.cacheMissCounter = cacheCounter(realtimeMetrics, "miss");
+        this.coalescedCounter = cacheCounter(realtimeMetrics, "coalesced");
+        realtimeMetrics.gauge("bustracker.insight.cache.size", "캐시된 AI 질의응답 수",
+                cache, Map::size);
+        realtimeMetrics.gauge("bustracker.insight.jobs.pending", "진행 중인 AI 질의응답 비동기 작업 수",
+                pendingJobs, AtomicInteger::get);
+    }
+
+    private static Counter cacheCounter(RealtimeMetrics realtimeMetrics, String result) {
+        return Counter.builder("bustracker.insight.cache")
+                .description("AI 질의응답 캐시 조회 결과")
+                .tag("result", result)
+                .register(realtimeMetrics.getRegistry());
+    }
+
+    /**
+     * 질문에 대한 답변 (캐시 → 진행 중인 동일 질문 → 새 분석 순)
+     */
+    public InsightQuestionResponseDTO ask(InsightQuestionRequestDTO request) {
+        try {
+            return askAsync(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<InsightQuestionResponseDTO> askAsync(InsightQuestionRequestDTO request) {
+        long now = clock.getAsLong();
+        InsightCacheKey key = InsightCacheKey.of(request, now / cacheTtlMs);
+
+        CachedAnswer cached = cache.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            cacheHitCounter.increment();
+            return CompletableFuture.completedFuture(cached.response());
+        }
+
+        CompletableFuture<InsightQuestionResponseDTO> created = new CompletableFuture<>();
+        CompletableFuture<InsightQuestionResponseDTO> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+        cacheMissCounter.increment();
+        Future<?> task = executor.submit(() -> compute(key, request, created));
+        // 시간 초과 시 진행 중 목록에서 먼저 뺀 뒤 실패로 완료 (이후 같은 질문은 새로 분석)
+        CompletableFuture.delayedExecutor(answerTimeoutMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (created.isDone()) {
+                return;
+            }
+            inFlight.remove(key, created);
+            if (created.completeExceptionally(new TimeoutException("인사이트 분석 시간 초과"))) {
+                log.warn("인사이트 질의 시간 초과 - 질문: {}, 제한: {}ms", request.getQuestion(), answerTimeoutMs);
+                task.cancel(true);
+            }
+        });
+        return created;
+    }
+
+    private void compute(InsightCacheKey key, InsightQuestionRequestDTO request,
+                         CompletableFuture<InsightQuestionResponseDTO> result) {
+        try {
+            InsightQuestionResponseDTO response = stationInsightService.answerQuestion(request);
+            long now = clock.getAsLong();
+            long bucketEnd = (key.dataVersion() + 1) * cacheTtlMs;
+            long expiresAt = response.isAiGenerated() ? bucketEnd : Math.min(bucketEnd, now + FALLBACK_TTL_MS);
+            putCache(key, new CachedAnswer(response, expiresAt), now);
+            result.complete(response);
+        } catch (Exception e) {
+            log.warn("인사이트 질의 처리 실패 - 질문: {}, 오류: {}", request.getQuestion(), e.getMessage());
+            result.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, result);
+        }
+    }
+
+    private void putCache(InsightCacheKey key, CachedAnswer answer, long now) {
+        if (cacheMaxEntries <= 0) {
+            return;
+        }
+        if (cache.size() >= cacheMaxEntries) {
+            evictExpired(now);
+            if (cache.size() >= cacheMaxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(key, answer);
+    }
+
+    private void evictExpired(long now) {
+        cache.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= now);
+    }
+
+    /**
+     * 비동기 작업 등록 - 결과는 getJob 으로 조회하거나 SSE 로 받음
+     *
+     * @throws BusinessException 진행 중인 작업 수가 한도를 넘은 경우
+     */
+    public InsightJob submit(InsightQuestionRequestDTO request) {
+        if (pendingJobs.incrementAndGet() > maxPendingJobs) {
+            pendingJobs.decrementAndGet();
+            throw new BusinessException("진행 중인 인사이트 작업이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        // 작업 수 반납 후 작업 완료 (완료를 본 구독자는 바로 다음 작업을 등록할 수 있음)
+        CompletableFuture<InsightQuestionResponseDTO> answer = askAsync(request)
+                .whenComplete((response, error) -> pendingJobs.decrementAndGet());
+        InsightJob job = new InsightJob(UUID.randomUUID().toString(), clock.getAsLong(), answer, clock);
+        jobs.put(job.getId(), job);
+        log.info("인사이트 비동기 작업 등록 - jobId: {}, 질문: {}", job.getId(), request.getQuestion());
+        return job;
+    }
+
+    public Optional<InsightJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void scheduleCleanup() {
+        clusterJobScheduler.runLocal("insight-cache-cleanup", this::cleanup);
+    }
+
+    void cleanup() {
+        long now = clock.getAsLong();
+        evictExpired(now);
+        jobs.values().removeIf(job -> job.completedAt != null && now - job.completedAt > JOB_RETENTION_MS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 캐시 키 - 질문은 대소문자/공백/끝 문장부호를 정규화하고 외부 요인은 키 순서로 정렬
+     */
+    record InsightCacheKey(String question, String stationId, int lookbackDays,
+                           Map<String, String> externalFactors, long dataVersion) {
+
+        static InsightCacheKey of(InsightQuestionRequestDTO request, long dataVersion) {
+            String stationId = request.getStationId() != null && !request.getStationId().isBlank()
+                    ? request.getStationId().strip() : null;
+            int lookbackDays = request.getLookbackDays() != null ? request.getLookbackDays() : DEFAULT_LOOKBACK_DAYS;
+            return new InsightCacheKey(normalizeQuestion(request.getQuestion()), stationId, lookbackDays,
+                    normalizeFactors(request.getExternalFactors()), dataVersion);
+        }
+
+        static String normalizeQuestion(String question) {
+            if (question == null) {
+                return "";
+            }
+            return question.strip()
+                    .toLowerCase(Locale.ROOT)
+                    .replaceAll("\\s+", " ")
+                    .replaceAll("[\\s?!.？！。]+$", "");
+        }
+
+        private static Map<String, String> normalizeFactors(Map<String, String> externalFactors) {
+            if (externalFactors == null || externalFactors.isEmpty()) {
+                return Map.of();
+            }
+            TreeMap<String, String> sorted = new TreeMap<>();
+            externalFactors.forEach((factor, value) -> {
+                if (factor != null && value != null) {
+                    sorted.put(factor.strip(), value.strip());
+                }
+            });
+            return Collections.unmodifiableMap(sorted);
+        }
+    }
+
+    private record CachedAnswer(InsightQuestionResponseDTO response, long expiresAt) {
+    }
+
+    /**
+     * 비동기 질의 작업
+     */
+    public static final class InsightJob {
+
+        private final String id;
+        private final long submittedAt;
+        private final CompletableFuture<InsightQuestionResponseDTO> future;
+        private volatile Long completedAt;
+
+        private InsightJob(String id, long submittedAt, CompletableFuture<InsightQuestionResponseDTO> source,
+                           LongSupplier clock) {
+            this.id = id;
+            this.submittedAt = submittedAt;
+            // 완료 시각을 기록한 뒤 완료되는 future (구독자는 항상 completedAt 이 채워진 상태를 봄)
+            this.future = source.whenComplete((response, error) -> completedAt = clock.getAsLong());
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public CompletableFuture<InsightQuestionResponseDTO> future() {
+            return future;
+        }
+
+        public InsightJobResponseDTO toDTO() {
+            InsightJobResponseDTO.InsightJobResponseDTOBuilder builder = InsightJobResponseDTO.builder()
+                    .jobId(id)
+                    .submittedAt(submittedAt)
+                    .completedAt(completedAt);
+            if (!future.isDone()) {
+                return builder.status("PENDING").build();
+            }
+            if (future.isCompletedExceptionally()) {
+                return builder.status("FAILED").error("인사이트 생성에 실패했습니다.").build();
+            }
+            return builder.status("COMPLETED").result(future.join()).build();
+        }
+    }
+}
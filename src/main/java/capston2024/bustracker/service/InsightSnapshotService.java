@@ -0,0 +1,339 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.config.dto.NetworkAnalysisRequestDTO;
+import capston2024.bustracker.config.dto.NetworkInsightResponseDTO;
+import capston2024.bustracker.config.dto.StationStatsResponseDTO;
+import capston2024.bustracker.domain.Organization;
+import capston2024.bustracker.domain.PassengerTripEvent;
+import capston2024.bustracker.repository.OrganizationRepository;
+import capston2024.bustracker.repository.PassengerTripEventRepository;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 대시보드 기본 인사이트 스냅샷
+ * - 조직별(및 전체) 네트워크 분석과 정류장별 분석을 1/7/30일 기간으로 미리 계산해 두고 그대로 응답
+ * - 조직마다 최근 30일 탑승/하차 이벤트를 메모리에 유지하고, 갱신 때는 마지막 이벤트 이후 새 이벤트만 조회
+ * - 새 이벤트가 없고 날짜가 바뀌지 않았으면 다시 계산하지 않음 (ETag 유지 → 대시보드는 304)
+ * - 정류장 분석은 현재 시각 기준 기간이므로 새 이벤트가 없어도 maxAge 마다 다시 계산
+ *
+ * 스냅샷은 노드마다 계산 (runLocal) - ETag 는 내용 해시라 같은 데이터면 노드가 달라도 같은 값
+ * 기본 조회 조건(기간 외 필터 없음)만 스냅샷으로 응답하고, 그 외 조건은 기존처럼 바로 계산
+ */
+@Service
+@Slf4j
+public class InsightSnapshotService {
+
+    public static final List<Integer> LOOKBACK_WINDOWS = List.of(1, 7, 30);
+    private static final int DEFAULT_LOOKBACK_DAYS = 7;
+    private static final int MAX_WINDOW_DAYS = 30;
+    // 저장 시각이 조회 시각보다 약간 늦게 보이는 이벤트를 놓치지 않도록 겹쳐서 조회하는 구간
+    private static final long OVERLAP_MS = 5_000;
+    // 조직 ID 없이 조회하는 전체 네트워크 스냅샷 키
+    private static final String ALL_ORGANIZATIONS = "";
+    private static final String COLLECTION = "PassengerTripEvent";
+
+    private final StationInsightService stationInsightService;
+    private final PassengerTripEventRepository passengerTripEventRepository;
+    private final OrganizationRepository organizationRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final boolean enabled;
+    private final long maxAgeMs;
+    private final ZoneId zoneId = ZoneId.systemDefault();
+
+    // 조직 ID -> 최근 30일 이벤트 (갱신 작업에서만 수정)
+    private final Map<String, OrganizationEvents> eventsByOrganization = new ConcurrentHashMap<>();
+    // 조직 ID -> 스냅샷 (조직 단위로 통째로 교체)
+    private final Map<String, OrganizationSnapshot> snapshotsByOrganization = new ConcurrentHashMap<>();
+    // 정류장 ID -> 조직 ID
+    private final Map<String, String> stationOrganizations = new ConcurrentHashMap<>();
+
+    public InsightSnapshotService(StationInsightService stationInsightService,
+                                  PassengerTripEventRepository passengerTripEventRepository,
+                                  OrganizationRepository organizationRepository,
+                                  MongoTemplate mongoTemplate,
+                                  ObjectMapper objectMapper,
+                                  ClusterJobScheduler clusterJobScheduler,
+                                  RealtimeMetrics realtimeMetrics,
+                                  @Value("${INSIGHT_SNAPSHOT_ENABLED:true}") boolean enabled,
+                                  @Value("${INSIGHT_SNAPSHOT_MAX_AGE_MS:600000}") long maxAgeMs) {
+        this.stationInsightService = stationInsightService;
+        this.passengerTripEventRepository = passengerTripEventRepository;
+        this.organizationRepository = organizationRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.enabled = enabled;
+        this.maxAgeMs = maxAgeMs;
+        realtimeMetrics.gauge("bustracker.insight.snapshot.events", "스냅샷 계산용으로 메모리에 유지 중인 승객 이벤트 수",
+                eventsByOrganization, map -> map.values().stream().mapToInt(OrganizationEvents::size).sum());
+    }
+
+    /**
+     * 조직별 새 이벤트 조회용 인덱스
+     */
+    @PostConstruct
+    void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index()
+                    .on("organizationId", Sort.Direction.ASC)
+                    .on("timestamp", Sort.Direction.ASC));
+        } catch (Exception e) {
+            log.error("❌ [인사이트] 승객 이벤트 인덱스 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${INSIGHT_SNAPSHOT_INTERVAL_MS:60000}")
+    public void scheduleRefresh() {
+        if (enabled) {
+            clusterJobScheduler.runLocal("insight-snapshot-refresh", this::refresh);
+        }
+    }
+
+    void refresh() {
+        long now = System.currentTimeMillis();
+        LocalDate today = LocalDate.now(zoneId);
+        long windowStart = today.minusDays(MAX_WINDOW_DAYS).atStartOfDay(zoneId).toInstant().toEpochMilli();
+
+        Set<String> organizationIds = organizationRepository.findAll().stream()
+                .map(Organization::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        eventsByOrganization.keySet().retainAll(organizationIds);
+        snapshotsByOrganization.keySet()
+                .removeIf(id -> !ALL_ORGANIZATIONS.equals(id) && !organizationIds.contains(id));
+
+        int rebuilt = 0;
+        for (String organizationId : organizationIds) {
+            OrganizationEvents events = eventsByOrganization.computeIfAbsent(organizationId, id -> new OrganizationEvents());
+            boolean changed = events.pull(organizationId, windowStart);
+            OrganizationSnapshot current = snapshotsByOrganization.get(organizationId);
+            if (!changed && current != null && !isExpired(current, today, now)) {
+                continue;
+            }
+            OrganizationSnapshot snapshot = build(organizationId, events.list(), today, now, true);
+            snapshot.stations().keySet().forEach(stationId -> stationOrganizations.put(stationId, organizationId));
+            snapshotsByOrganization.put(organizationId, snapshot);
+            rebuilt++;
+        }
+
+        OrganizationSnapshot all = snapshotsByOrganization.get(ALL_ORGANIZATIONS);
+        if (rebuilt > 0 || all == null || isExpired(all, today, now)) {
+            List<PassengerTripEvent> allEvents = new ArrayList<>();
+            eventsByOrganization.values().forEach(events -> allEvents.addAll(events.list()));
+            snapshotsByOrganization.put(ALL_ORGANIZATIONS, build(ALL_ORGANIZATIONS, allEvents, today, now, false));
+        }
+        stationOrganizations.values().retainAll(organizationIds);
+
+        if (rebuilt > 0) {
+            log.info("📊 [인사이트] 스냅샷 갱신 - 조직 {}/{}개 재계산, {}ms",
+                    rebuilt, organizationIds.size(), System.currentTimeMillis() - now);
+        }
+    }
+
+    private OrganizationSnapshot build(String organizationId, List<PassengerTripEvent> events, LocalDate today,
+                                       long now, boolean includeStations) {
+        Map<Integer, Snapshot<NetworkInsightResponseDTO>> network = new HashMap<>();
+        for (int days : LOOKBACK_WINDOWS) {
+            NetworkAnalysisRequestDTO request = NetworkAnalysisRequestDTO.builder()
+                    .lookbackDays(days)
+                    .organizationId(ALL_ORGANIZATIONS.equals(organizationId) ? null : organizationId)
+                    .includeRouteStats(true)
+                    .includeTimeStats(true)
+                    .build();
+            network.put(days, snapshot(stationInsightService.analyzeNetworkWithEvents(request, events), now));
+        }
+
+        Map<String, Map<Integer, Snapshot<StationStatsResponseDTO>>> stations = new HashMap<>();
+        if (includeStations) {
+            Map<String, List<PassengerTripEvent>> eventsByStation = events.stream()
+                    .filter(event -> event.getStationId() != null)
+                    .collect(Collectors.groupingBy(PassengerTripEvent::getStationId));
+            eventsByStation.forEach((stationId, stationEvents) -> {
+                Map<Integer, Snapshot<StationStatsResponseDTO>> windows = new HashMap<>();
+                for (int days : LOOKBACK_WINDOWS) {
+                    windows.put(days, snapshot(
+                            stationInsightService.analyzeStationWithEvents(stationId, days, now, stationEvents), now));
+                }
+                stations.put(stationId, Map.copyOf(windows));
+            });
+        }
+        return new OrganizationSnapshot(Map.copyOf(network), Map.copyOf(stations), today, now);
+    }
+
+    private boolean isExpired(OrganizationSnapshot snapshot, LocalDate today, long now) {
+        return !today.equals(snapshot.date()) || now - snapshot.computedAt() >= maxAgeMs;
+    }
+
+    /**
+     * 갱신이 멈춘 노드가 오래된 스냅샷을 응답하지 않도록 확인
+     */
+    private boolean isServable(OrganizationSnapshot snapshot) {
+        return LocalDate.now(zoneId).equals(snapshot.date())
+                && System.currentTimeMillis() - snapshot.computedAt() <= maxAgeMs * 2;
+    }
+
+    /**
+     * 기본 네트워크 분석 조회 (조직/기간 외 조건이 있거나 스냅샷이 없으면 empty)
+     */
+    public Optional<Snapshot<NetworkInsightResponseDTO>> findNetwork(NetworkAnalysisRequestDTO request) {
+        if (!enabled || !isDefaultQuery(request)) {
+            return Optional.empty();
+        }
+        int days = request.getLookbackDays() != null ? request.getLookbackDays() : DEFAULT_LOOKBACK_DAYS;
+        String organizationId = StringUtils.hasText(request.getOrganizationId())
+                ? request.getOrganizationId() : ALL_ORGANIZATIONS;
+        OrganizationSnapshot snapshot = snapshotsByOrganization.get(organizationId);
+        if (snapshot == null || !isServable(snapshot)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot.network().get(days));
+    }
+
+    /**
+     * 정류장 분석 조회 (기간 동안 이벤트가 없던 정류장은 스냅샷이 없으므로 empty)
+     */
+    public Optional<Snapshot<StationStatsResponseDTO>> findStation(String stationId, int lookbackDays) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String organizationId = stationOrganizations.get(stationId);
+        OrganizationSnapshot snapshot = organizationId != null ? snapshotsByOrganization.get(organizationId) : null;
+        if (snapshot == null || !isServable(snapshot)) {
+            return Optional.empty();
+        }
+        Map<Integer, Snapshot<StationStatsResponseDTO>> windows = snapshot.stations().get(stationId);
+        return windows != null ? Optional.ofNullable(windows.get(lookbackDays)) : Optional.empty();
+    }
+
+    private static boolean isDefaultQuery(NetworkAnalysisRequestDTO request) {
+        return !StringUtils.hasText(request.getStartDate())
+                && !StringUtils.hasText(request.getEndDate())
+                && (request.getRouteIds() == null || request.getRouteIds().isEmpty())
+                && (request.getStationIds() == null || request.getStationIds().isEmpty())
+                && request.getAggregationType() == null
+                && Boolean.TRUE.equals(request.getIncludeRouteStats())
+                && Boolean.TRUE.equals(request.getIncludeTimeStats());
+    }
+
+    private <T> Snapshot<T> snapshot(T value, long computedAt) {
+        return new Snapshot<>(value, etag(value, computedAt), computedAt);
+    }
+
+    private String etag(Object value, long computedAt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(value));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (Exception e) {
+            return "\"" + Long.toHexString(computedAt) + "\"";
+        }
+    }
+
+    /**
+     * 미리 계산한 응답
+     *
+     * @param etag       응답 내용 해시 (따옴표 포함)
+     * @param computedAt 계산 시각 (Last-Modified)
+     */
+    public record Snapshot<T>(T value, String etag, long computedAt) {
+    }
+
+    private record OrganizationSnapshot(Map<Integer, Snapshot<NetworkInsightResponseDTO>> network,
+                                        Map<String, Map<Integer, Snapshot<StationStatsResponseDTO>>> stations,
+                                        LocalDate date,
+                                        long computedAt) {
+    }
+
+    /**
+     * 조직의 최근 이벤트 (시간순) - 새 이벤트만 조회해 뒤에 붙이고 기간이 지난 이벤트는 앞에서 제거
+     */
+    private final class OrganizationEvents {
+
+        private final List<PassengerTripEvent> events = new ArrayList<>();
+        // 겹쳐 조회하는 구간의 이벤트 ID (중복 추가 방지)
+        private Set<String> recentIds = Set.of();
+        private long lastTimestamp = -1;
+
+        /**
+         * @return 이벤트가 추가되거나 제거되었는지 여부
+         */
+        boolean pull(String organizationId, long windowStart) {
+            long since = lastTimestamp < 0 ? windowStart - 1 : Math.max(windowStart - 1, lastTimestamp - OVERLAP_MS);
+            List<PassengerTripEvent> fetched = passengerTripEventRepository
+                    .findByOrganizationIdAndTimestampGreaterThanOrderByTimestampAsc(organizationId, since);
+
+            int added = 0;
+            for (PassengerTripEvent event : fetched) {
+                if (event.getId() != null && recentIds.contains(event.getId())) {
+                    continue;
+                }
+                events.add(event);
+                lastTimestamp = Math.max(lastTimestamp, event.getTimestamp());
+                added++;
+            }
+            if (lastTimestamp < 0) {
+                lastTimestamp = windowStart;
+            }
+            if (added > 0) {
+                // 겹친 구간에서 온 이벤트가 앞 이벤트보다 이를 수 있음 (대부분 정렬된 상태라 비용 작음)
+                events.sort(Comparator.comparingLong(PassengerTripEvent::getTimestamp));
+            }
+
+            int expired = 0;
+            while (expired < events.size() && events.get(expired).getTimestamp() < windowStart) {
+                expired++;
+            }
+            events.subList(0, expired).clear();
+
+            long overlapStart = lastTimestamp - OVERLAP_MS;
+            Set<String> ids = new HashSet<>();
+            for (int i = events.size() - 1; i >= 0 && events.get(i).getTimestamp() >= overlapStart; i--) {
+                if (events.get(i).getId() != null) {
+                    ids.add(events.get(i).getId());
+                }
+            }
+            recentIds = ids;
+            return added > 0 || expired > 0;
+        }
+
+        List<PassengerTripEvent> list() {
+            return events;
+        }
+
+        int size() {
+            return events.size();
+        }
+    }
+}
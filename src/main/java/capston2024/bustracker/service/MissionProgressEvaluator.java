@@ -0,0 +1,198 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.config.dto.BusBoardingDTO;
+import capston2024.bustracker.domain.Event;
+import capston2024.bustracker.domain.EventMission;
+import capston2024.bustracker.domain.PassengerTripEvent;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * 탑승/하차 이벤트로 이벤트 미션 자동 완료
+ * - BusBoardingEvent(탑승 요청 처리), PassengerTripEvent(자동 승하차 감지 기록)를 같은 노드에서 바로 받아
+ *   조직의 진행 중 이벤트 미션(EventCatalog)과 비교
+ * - 완료한 미션은 (이벤트, 사용자)별로 모아 두었다가 MISSION_PROGRESS_FLUSH_MS 마다 bulk write 로 반영
+ *   (클라이언트가 complete-mission 을 따로 호출하지 않아도 진행 상황이 갱신됨)
+ *
+ * 미션 매칭
+ * - BOARDING: 탑승한 버스 번호(또는 실제 차량 번호)가 targetValue 와 일치
+ * - VISIT_STATION: 탑승/하차한 정류장 ID 가 targetValue 와 일치
+ * - AUTO_DETECT_BOARDING: 자동 감지로 탑승
+ * targetValue 가 없으면 해당 종류의 어떤 이벤트든 완료 (complete-mission 의 검증과 동일)
+ */
+@Component
+@Slf4j
+public class MissionProgressEvaluator {
+
+    private static final String AUTO_DETECTION_SOURCE = "AUTO_DETECTION";
+
+    private final EventCatalog eventCatalog;
+    private final EventService eventService;
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final boolean enabled;
+    private final int batchSize;
+
+    // (이벤트 ID, 사용자 ID) -> 아직 반영하지 않은 완료 미션 ID (compute/remove 로만 변경)
+    private final Map<ParticipationKey, Set<String>> pending = new ConcurrentHashMap<>();
+
+    public MissionProgressEvaluator(EventCatalog eventCatalog,
+                                    EventService eventService,
+                                    ClusterJobScheduler clusterJobScheduler,
+                                    RealtimeMetrics realtimeMetrics,
+                                    @Value("${MISSION_AUTO_COMPLETE_ENABLED:true}") boolean enabled,
+                                    @Value("${MISSION_PROGRESS_BATCH_SIZE:500}") int batchSize) {
+        this.eventCatalog = eventCatalog;
+        this.eventService = eventService;
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        realtimeMetrics.gauge("bustracker.event.mission_progress.pending", "반영 대기 중인 미션 자동 완료 참여 기록 수",
+                pending, Map::size);
+    }
+
+    /**
+     * 탑승 요청 처리 결과 (수동 탑승 포함)
+     */
+    @EventListener
+    @Async
+    public void handleBoarding(BusService.BusBoardingEvent event) {
+        if (!enabled || event.action() != BusBoardingDTO.BoardingAction.BOARD) {
+            return;
+        }
+        Object busRealNumber = event.eventData() != null ? event.eventData().get("busRealNumber") : null;
+        evaluate(event.organizationId(), event.userId(), mission ->
+                mission.getMissionType() == EventMission.MissionType.BOARDING
+                        && (matches(mission, event.busNumber())
+                        || (busRealNumber instanceof String realNumber && matches(mission, realNumber))));
+    }
+
+    /**
+     * 자동 승하차 감지 기록
+     */
+    @EventListener
+    @Async
+    public void handleTripEvent(PassengerTripEvent event) {
+        if (!enabled || event.getEventType() == PassengerTripEvent.EventType.LOCATION) {
+            return;
+        }
+        boolean boarded = event.getEventType() == PassengerTripEvent.EventType.BOARD;
+        boolean autoDetected = event.getMetadata() != null
+                && AUTO_DETECTION_SOURCE.equals(event.getMetadata().get("source"));
+        evaluate(event.getOrganizationId(), event.getUserId(), mission -> switch (mission.getMissionType()) {
+            case BOARDING -> boarded && matches(mission, event.getBusNumber());
+            case VISIT_STATION -> event.getStationId() != null && matches(mission, event.getStationId());
+            case AUTO_DETECT_BOARDING -> boarded && autoDetected;
+        });
+    }
+
+    private void evaluate(String organizationId, String userId, Predicate<EventMission> completes) {
+        if (organizationId == null || userId == null) {
+            return;
+        }
+        try {
+            Event event = eventCatalog.findCurrentEvent(organizationId)
+                    .filter(MissionProgressEvaluator::isInProgress)
+                    .orElse(null);
+            if (event == null) {
+                return;
+            }
+            List<String> completed = eventCatalog.getMissions(event.getId()).stream()
+                    .filter(mission -> mission.getMissionType() != null)
+                    .filter(completes)
+                    .map(EventMission::getId)
+                    .toList();
+            if (completed.isEmpty()) {
+                return;
+            }
+            enqueue(new ParticipationKey(event.getId(), userId), completed);
+            log.debug("미션 자동 완료 대기: 조직={}, 사용자={}, 미션={}", organizationId, userId, completed);
+        } catch (Exception e) {
+            log.error("❌ [이벤트] 미션 자동 완료 판정 실패: 조직={}, 사용자={}, 오류={}",
+                    organizationId, userId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${MISSION_PROGRESS_FLUSH_MS:1000}")
+    public void scheduleFlush() {
+        if (enabled && !pending.isEmpty()) {
+            clusterJobScheduler.runLocal("mission-progress-flush", this::flush);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 모아 둔 완료 미션을 batchSize 단위 bulk write 로 반영 (실패한 묶음은 다음 주기에 다시 시도)
+     */
+    void flush() {
+        List<EventService.MissionProgress> batch = new ArrayList<>();
+        for (ParticipationKey key : pending.keySet()) {
+            Set<String> missionIds = pending.remove(key);
+            if (missionIds == null) {
+                continue;
+            }
+            batch.add(new EventService.MissionProgress(key.eventId(), key.userId(), missionIds));
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        write(batch);
+    }
+
+    private void write(List<EventService.MissionProgress> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            eventService.completeMissions(batch);
+            log.debug("미션 자동 완료 반영: {}건", batch.size());
+        } catch (Exception e) {
+            log.error("❌ [이벤트] 미션 자동 완료 반영 실패 ({}건), 다음 주기에 재시도: {}", batch.size(), e.getMessage());
+            for (EventService.MissionProgress progress : batch) {
+                enqueue(new ParticipationKey(progress.eventId(), progress.userId()), progress.missionIds());
+            }
+        }
+    }
+
+    private void enqueue(ParticipationKey participationKey, Collection<String> completedMissionIds) {
+        pending.compute(participationKey, (key, missionIds) -> {
+            Set<String> merged = missionIds != null ? missionIds : new HashSet<>();
+            merged.addAll(completedMissionIds);
+            return merged;
+        });
+    }
+
+    private static boolean matches(EventMission mission, String value) {
+        return mission.getTargetValue() == null || mission.getTargetValue().equals(value);
+    }
+
+    private static boolean isInProgress(Event event) {
+        LocalDateTime now = LocalDateTime.now();
+        return (event.getStartDate() == null || !now.isBefore(event.getStartDate()))
+                && (event.getEndDate() == null || !now.isAfter(event.getEndDate()));
+    }
+
+    private record ParticipationKey(String eventId, String userId) {
+    }
+}
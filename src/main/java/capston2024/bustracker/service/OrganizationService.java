@@ -5,6 +5,7 @@ import capston2024.bustracker.exception.BusinessException;
 import capston2024.bustracker.exception.DuplicateResourceException;
 import capston2024.bustracker.exception.ErrorCode;
 import capston2024.bustracker.repository.OrganizationRepository;
+import capston2024.bustracker.service.topology.TopologyVersions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -15,9 +16,11 @@ import java.util.List;
 public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
+    private final TopologyVersions topologyVersions;
 
-    public OrganizationService(OrganizationRepository organizationRepository) {
+    public OrganizationService(OrganizationRepository organizationRepository, TopologyVersions topologyVersions) {
         this.organizationRepository = organizationRepository;
+        this.topologyVersions = topologyVersions;
     }
 
     /**
@@ -106,6 +109,8 @@ public class OrganizationService {
                 .build();
 
         // 생성된 조직 저장 후 반환
-        return organizationRepository.save(newOrganization);
+        Organization savedOrganization = organizationRepository.save(newOrganization);
+        topologyVersions.bump(TopologyVersions.ORGANIZATIONS_SCOPE, savedOrganization.getId());
+        return savedOrganization;
     }
 }
\ No newline at end of file
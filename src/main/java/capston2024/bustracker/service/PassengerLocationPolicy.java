@@ -0,0 +1,100 @@
+package capston2024.bustracker.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 승객 앱 위치 보고 주기/정확도 권장값
+ * - FAR: 주변에 버스가 없음 → 드물게, 저정확도 (배터리/서버 부하 절약)
+ * - NEAR: 버스 또는 정류장 근처 → 자주, 고정확도 (탑승 감지 정확도 우선)
+ * - ON_BOARD: 탑승 중 → 중간 주기 (하차 감지용)
+ *
+ * 등급이 바뀔 때만 세션에 location_policy 제어 메시지로 전달
+ */
+@Component
+@Slf4j
+public class PassengerLocationPolicy {
+
+    public static final String MESSAGE_TYPE = "location_policy";
+
+    public enum Tier {
+        FAR("low"),
+        NEAR("high"),
+        ON_BOARD("balanced");
+
+        private final String accuracy;
+
+        Tier(String accuracy) {
+            this.accuracy = accuracy;
+        }
+
+        public String getAccuracy() {
+            return accuracy;
+        }
+    }
+
+    private final long farIntervalMs;
+    private final long nearIntervalMs;
+    private final long onBoardIntervalMs;
+    private final double nearDistanceMeters;
+
+    public PassengerLocationPolicy(@Value("${LOCATION_POLICY_FAR_INTERVAL_MS:30000}") long farIntervalMs,
+                                   @Value("${LOCATION_POLICY_NEAR_INTERVAL_MS:2000}") long nearIntervalMs,
+                                   @Value("${LOCATION_POLICY_ON_BOARD_INTERVAL_MS:10000}") long onBoardIntervalMs,
+                                   @Value("${LOCATION_POLICY_NEAR_DISTANCE_METERS:500}") double nearDistanceMeters) {
+        this.farIntervalMs = farIntervalMs;
+        this.nearIntervalMs = nearIntervalMs;
+        this.onBoardIntervalMs = onBoardIntervalMs;
+        this.nearDistanceMeters = nearDistanceMeters;
+        log.info("📡 승객 위치 보고 정책 - 원거리: {}ms, 근접({}m 이내): {}ms, 탑승 중: {}ms",
+                farIntervalMs, nearDistanceMeters, nearIntervalMs, onBoardIntervalMs);
+    }
+
+    /**
+     * 승객 상태로 보고 등급 결정
+     *
+     * @param nearestBusDistance 가장 가까운 운행 버스까지 거리(m), 모르면 Double.MAX_VALUE
+     * @param atStation          정류장 지오펜스 안에 있는지 여부
+     */
+    public Tier classify(boolean onBus, double nearestBusDistance, boolean atStation) {
+        if (onBus) {
+            return Tier.ON_BOARD;
+        }
+        return atStation || nearestBusDistance <= nearDistanceMeters ? Tier.NEAR : Tier.FAR;
+    }
+
+    /**
+     * 이 거리보다 먼 버스는 보고 등급에 영향을 주지 않음
+     */
+    public double getNearDistanceMeters() {
+        return nearDistanceMeters;
+    }
+
+    public long intervalMs(Tier tier) {
+        return switch (tier) {
+            case FAR -> farIntervalMs;
+            case NEAR -> nearIntervalMs;
+            case ON_BOARD -> onBoardIntervalMs;
+        };
+    }
+
+    /**
+     * 세션에 보낼 제어 메시지
+     */
+    public Map<String, Object> toMessage(Tier tier) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("tier", tier.name());
+        data.put("intervalMs", intervalMs(tier));
+        data.put("accuracy", tier.getAccuracy());
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", MESSAGE_TYPE);
+        message.put("data", data);
+        message.put("timestamp", System.currentTimeMillis());
+        return message;
+    }
+}
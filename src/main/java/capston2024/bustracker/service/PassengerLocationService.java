@@ -1,22 +1,33 @@
 package capston2024.bustracker.service;
 
+import capston2024.bustracker.config.RealtimeMetrics;
 import capston2024.bustracker.config.dto.BusBoardingDTO;
 import capston2024.bustracker.config.dto.BusRealTimeLocationDTO;
 import capston2024.bustracker.config.dto.PassengerLocationDTO;
 import capston2024.bustracker.domain.Bus;
 import capston2024.bustracker.domain.PassengerTripEvent;
+import capston2024.bustracker.domain.Station;
+import capston2024.bustracker.domain.utils.GeoUtils;
 import capston2024.bustracker.repository.BusRepository;
 import capston2024.bustracker.repository.PassengerTripEventRepository;
-import lombok.Getter;
+import capston2024.bustracker.service.cluster.ClusterEvent;
+import capston2024.bustracker.service.cluster.ClusterEventBus;
+import capston2024.bustracker.service.cluster.ClusterEventType;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.OrganizationOwnership;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -28,9 +39,20 @@ public class PassengerLocationService {
     private final BusRepository busRepository;
     private final BusService busService;
     private final PassengerTripEventRepository passengerTripEventRepository;
+    private final RealtimeMetrics realtimeMetrics;
+    private final ClusterEventBus clusterEventBus;
+    private final OrganizationOwnership organizationOwnership;
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final PassengerLocationPolicy locationPolicy;
+    private final StationGeofenceIndex stationGeofenceIndex;
+    private final BusMotionTracker busMotionTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // 승객별 상태 관리 (userId -> 상태 맵)
-    private final Map<String, PassengerState> passengerStates = new ConcurrentHashMap<>();
+    // 승객별 상태 관리 (유휴 제거, 용량 제한, 스냅샷/복원 포함 - 이 노드가 소유한 조직의 승객만 보관)
+    private final PassengerStateStore passengerStates;
+
+    // 조직별 버스 근접 격자 (버스 위치 조회 결과로 주기적으로 다시 만듦)
+    private final Map<String, BusProximityCells> busProximity = new ConcurrentHashMap<>();
 
     // --- 추가: 탐지 결과를 명확히 하기 위한 Enum ---
     public enum DetectionResult {
@@ -48,8 +70,99 @@ public class PassengerLocationService {
     private static final long MIN_UPDATE_INTERVAL_MS = 1000;               // 1초로 증가
     private static final double GPS_JUMP_THRESHOLD = 500.0;                // 500m로 축소
     private static final double BUS_SPEED_THRESHOLD_KMH = 10.0;            // 시속 10km 이하일 때 탑승 가능
+    private static final double MOVING_WITH_BUS_SPEED_TOLERANCE_KMH = 8.0;  // 승객과 버스 속도 차이 허용 범위
+    private static final double MOVING_WITH_BUS_HEADING_TOLERANCE = 45.0;   // 승객과 버스 진행 방향 차이 허용 범위(도)
+    private static final long BUS_PROXIMITY_REFRESH_MS = 3000;             // 버스 근접 격자 갱신 주기 (위치 flush 주기와 동일)
+    private static final long LAST_STATION_VALID_MS = 120_000;             // 마지막 정류장 지오펜스를 이벤트에 사용할 유효 시간
     // ===================================================================
 
+    /**
+     * 다른 노드에서 전달된 승객 메시지 중 이 노드가 소유한 조직의 것만 처리
+     */
+    @PostConstruct
+    void subscribeClusterEvents() {
+        clusterEventBus.subscribe(this::handleClusterEvent);
+    }
+
+    private void handleClusterEvent(ClusterEvent event) {
+        ClusterEventType type = event.type();
+        if (type != ClusterEventType.PASSENGER_LOCATION
+                && type != ClusterEventType.PASSENGER_DISCONNECTED
+                && type != ClusterEventType.BUS_STOPPED) {
+            return;
+        }
+        if (!organizationOwnership.isOwner(event.organizationId())) {
+            return;
+        }
+
+        try {
+            switch (type) {
+                case PASSENGER_LOCATION -> {
+                    PassengerLocationDTO locationDTO = (PassengerLocationDTO) event.payload();
+                    PassengerLocationPolicy.Tier previousTier = getLocationTier(locationDTO.getUserId());
+                    DetectionResult result = processPassengerLocation(locationDTO);
+                    publishDetectionResult(locationDTO.getUserId(), locationDTO.getOrganizationId(), result);
+                    publishLocationTier(locationDTO.getUserId(), locationDTO.getOrganizationId(), previousTier);
+                }
+                case PASSENGER_DISCONNECTED -> forceAlightPassenger(
+                        (String) ((Map<?, ?>) event.payload()).get("userId"));
+                case BUS_STOPPED -> {
+                    String busNumber = (String) ((Map<?, ?>) event.payload()).get("busNumber");
+                    int alightedCount = forceAlightAllPassengersOnBus(busNumber, event.organizationId());
+                    if (alightedCount > 0) {
+                        log.warn("🚨 [버스비활성] 버스 운영 종료로 {}명 강제 하차 처리 완료 - 버스: {}",
+                                alightedCount, busNumber);
+                    } else {
+                        log.info("ℹ️ [버스비활성] 하차 처리할 승객 없음 - 버스: {}", busNumber);
+                    }
+                }
+                default -> {
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ 클러스터 승객 메시지 처리 중 오류: 타입={}, 조직={}, 오류={}",
+                    event.type(), event.organizationId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 다른 노드에서 전달된 위치의 감지 결과를 승객이 연결된 노드로 전달
+     */
+    private void publishDetectionResult(String userId, String organizationId, DetectionResult result) {
+        if (result == DetectionResult.NO_CHANGE) {
+            return;
+        }
+        PassengerState state = passengerStates.get(userId);
+        String busNumber = state != null && state.getCurrentBusNumber() != null ? state.getCurrentBusNumber() : "정보 없음";
+        clusterEventBus.publish(ClusterEventType.PASSENGER_DETECTION, organizationId, Map.of(
+                "userId", userId,
+                "result", result.name(),
+                "busNumber", busNumber
+        ));
+    }
+
+    /**
+     * 다른 노드에서 전달된 위치로 위치 보고 등급이 바뀌었으면 승객이 연결된 노드로 전달
+     */
+    private void publishLocationTier(String userId, String organizationId, PassengerLocationPolicy.Tier previousTier) {
+        PassengerLocationPolicy.Tier tier = getLocationTier(userId);
+        if (tier == null || tier == previousTier) {
+            return;
+        }
+        clusterEventBus.publish(ClusterEventType.PASSENGER_LOCATION_POLICY, organizationId, Map.of(
+                "userId", userId,
+                "tier", tier.name()
+        ));
+    }
+
+    /**
+     * 승객의 현재 위치 보고 등급 (위치를 한 번도 처리하지 않았으면 null)
+     */
+    public PassengerLocationPolicy.Tier getLocationTier(String userId) {
+        PassengerState state = passengerStates.get(userId);
+        return state != null ? state.getLocationTier() : null;
+    }
+
     // --- 추가: 핸들러에서 승객 상태를 가져가기 위한 public 메서드 ---
     public PassengerState getPassengerState(String userId) {
         return passengerStates.get(userId);
@@ -102,10 +215,15 @@ public class PassengerLocationService {
      * @param userId 승객 ID
      */
     public void removePassengerState(String userId) {
-        PassengerState removed = passengerStates.remove(userId);
-        if (removed != null) {
+        PassengerState state = passengerStates.get(userId);
+        if (state == null) {
+            return;
+        }
+        boolean onBus = state.isOnBus();
+        String busNumber = state.getCurrentBusNumber();
+        if (passengerStates.remove(userId)) {
             log.info("🧹 [상태제거] 승객 상태 제거 완료 - 사용자: {}, 탑승상태: {}, 버스: {}",
-                    userId, removed.isOnBus(), removed.getCurrentBusNumber());
+                    userId, onBus, busNumber);
         }
     }
 
@@ -119,21 +237,14 @@ public class PassengerLocationService {
         log.info("🚨 [버스하차] 버스 운영 종료 - 모든 승객 강제 하차 시작 - 버스: {}", busNumber);
 
         int count = 0;
-        for (Map.Entry<String, PassengerState> entry : passengerStates.entrySet()) {
-            PassengerState state = entry.getValue();
-
-            if (state.isOnBus() &&
-                busNumber.equals(state.getCurrentBusNumber()) &&
-                organizationId.equals(state.getOrganizationId())) {
-
-                String userId = entry.getKey();
-                log.warn("⚠️ [버스하차] 승객 강제 하차 - 사용자: {}, 버스: {}", userId, busNumber);
+        for (PassengerState state : passengerStates.findOnBus(organizationId, busNumber)) {
+            String userId = state.getUserId();
+            log.warn("⚠️ [버스하차] 승객 강제 하차 - 사용자: {}, 버스: {}", userId, busNumber);
 
-                boolean success = processAlighting(state, busNumber, organizationId);
-                if (success) {
-                    count++;
-                    passengerStates.remove(userId);
-                }
+            boolean success = processAlighting(state, busNumber, organizationId);
+            if (success) {
+                count++;
+                passengerStates.remove(userId);
             }
         }
 
@@ -141,58 +252,145 @@ public class PassengerLocationService {
         return count;
     }
 
+    /**
+     * 오랫동안 위치가 오지 않은 승객 상태 정리 - 탑승 중이던 승객은 하차 처리하여 좌석 수 보정
+     */
+    @Scheduled(fixedRate = 60000)
+    public void scheduleIdlePassengerEviction() {
+        clusterJobScheduler.runLocal("passenger-state-eviction", this::evictIdlePassengers);
+    }
+
+    private void evictIdlePassengers() {
+        passengerStates.evictIdle(System.currentTimeMillis(), state -> {
+            String busNumber = state.getCurrentBusNumber();
+            String organizationId = state.getOrganizationId();
+            if (busNumber == null || organizationId == null) {
+                return;     // 그 사이 하차했거나 상태가 제거됨
+            }
+            log.warn("⚠️ [상태정리] 장시간 위치 미수신 탑승 승객 하차 처리 - 사용자: {}, 버스: {}",
+                    state.getUserId(), busNumber);
+            processAlighting(state, busNumber, organizationId);
+        });
+    }
+
     /**
      * 승객 위치 정보 처리 - 배터리 최적화 및 정확도 개선
      * @param locationDTO 승객 위치 정보
      * @return 자동 탑승/하차 감지 여부
      */
     public DetectionResult processPassengerLocation(PassengerLocationDTO locationDTO) {
+        long startNanos = System.nanoTime();
+        try {
+            return detectPassengerTransition(locationDTO);
+        } finally {
+            realtimeMetrics.recordSince(realtimeMetrics.getDetectionTimer(), startNanos);
+        }
+    }
+
+    private DetectionResult detectPassengerTransition(PassengerLocationDTO locationDTO) {
         String userId = locationDTO.getUserId();
         String organizationId = locationDTO.getOrganizationId();
 
-        log.info("🎯 [위치처리] 승객 위치 처리 시작 - 사용자: {}, 조직: {}, 위치: ({}, {})",
+        log.debug("🎯 [위치처리] 승객 위치 처리 시작 - 사용자: {}, 조직: {}, 위치: ({}, {})",
                 userId, organizationId, locationDTO.getLatitude(), locationDTO.getLongitude());
 
         log.debug("📊 [위치처리] 현재 설정값 - 탑승거리: {}m, 하차거리: {}m, 감지횟수: {}회, 대기시간: {}초",
                 AUTO_BOARDING_DISTANCE_THRESHOLD, AUTO_ALIGHTING_DISTANCE_THRESHOLD,
                 CONSECUTIVE_DETECTION_THRESHOLD, MIN_DWELL_TIME_SECONDS);
 
-        PassengerState state = passengerStates.computeIfAbsent(userId,
-                k -> {
-                    log.info("👤 [위치처리] 새 승객 상태 생성 - 사용자: {}, 조직: {}", k, organizationId);
-                    return new PassengerState(k, organizationId);
-                });
+        PassengerState state = passengerStates.getOrCreate(userId, organizationId);
 
-        log.info("🚌 [위치처리] 승객 현재 상태 - 버스탑승: {}, 탑승버스: {}, 감지횟수(탑승/하차): {}/{}",
+        log.debug("🚌 [위치처리] 승객 현재 상태 - 버스탑승: {}, 탑승버스: {}, 감지횟수(탑승/하차): {}/{}",
                 state.isOnBus(), state.getCurrentBusNumber(),
                 state.getBoardingDetectionCount(), state.getAlightingDetectionCount());
 
         if (!isValidLocationUpdate(state, locationDTO)) {
-            log.warn("❌ [위치처리] 유효하지 않은 위치 업데이트 무시 - 사용자: {}", userId);
+            log.debug("❌ [위치처리] 유효하지 않은 위치 업데이트 무시 - 사용자: {}", userId);
+            realtimeMetrics.recordDropped("passenger", "invalid_location");
             return DetectionResult.NO_CHANGE;
         }
 
-        log.info("✅ [위치처리] 위치 업데이트 유효성 검증 통과 - 사용자: {}", userId);
+        log.debug("✅ [위치처리] 위치 업데이트 유효성 검증 통과 - 사용자: {}", userId);
 
         state.updateLocation(locationDTO.getLatitude(), locationDTO.getLongitude(), locationDTO.getTimestamp());
 
+        // 정류장 지오펜스 안이면 승객과 정류장 연결 (탑승/하차 이벤트의 정류장)
+        Station station = stationGeofenceIndex.stationAt(organizationId,
+                locationDTO.getLatitude(), locationDTO.getLongitude());
+        boolean atStation = station != null;
+        if (atStation) {
+            state.enterStation(station.getId(), locationDTO.getTimestamp());
+        }
+
+        // 정류장 지오펜스와 모든 버스 근접 칸 밖의 미탑승 승객 - 버스 위치 조회/거리 비교 없이 종료
+        if (!state.isOnBus() && !atStation && state.getBoardingDetectionCount() == 0
+                && isOutsideBusProximity(organizationId, locationDTO.getLatitude(), locationDTO.getLongitude())) {
+            log.debug("⏭️ [위치처리] 정류장/버스 근처가 아님 - 감지 생략, 사용자: {}", userId);
+            realtimeMetrics.getDetectionShortCircuitCounter().increment();
+            updateLocationTier(state, null, false);
+            return DetectionResult.NO_CHANGE;
+        }
+
         // 실시간 버스 위치 정보 조회
-        log.info("🔍 [위치처리] 실시간 버스 위치 조회 시작 - 조직: {}", organizationId);
+        log.debug("🔍 [위치처리] 실시간 버스 위치 조회 시작 - 조직: {}", organizationId);
         Map<String, BusRealTimeLocationDTO> busLocations = busService.getCurrentBusLocations(organizationId);
+        refreshBusProximity(organizationId, busLocations);
 
-        log.info("🚌 [위치처리] 실시간 버스 위치 조회 결과 - 총 {}대", busLocations.size());
+        log.debug("🚌 [위치처리] 실시간 버스 위치 조회 결과 - 총 {}대", busLocations.size());
 
         if (busLocations.isEmpty()) {
-            log.warn("❌ [위치처리] 조직 {}에 활성화된 버스가 없음", organizationId);
+            log.debug("❌ [위치처리] 조직 {}에 활성화된 버스가 없음", organizationId);
+            updateLocationTier(state, null, atStation);
             return DetectionResult.NO_CHANGE;
         }
 
         if (state.isOnBus()) {
-            log.info("🚌 [위치처리] 승객이 버스에 탑승 중 - 하차 감지 처리 시작");
-            return detectAlighting(state, busLocations);
+            log.debug("🚌 [위치처리] 승객이 버스에 탑승 중 - 하차 감지 처리 시작");
+            DetectionResult result = detectAlighting(state, busLocations);
+            updateLocationTier(state, result == DetectionResult.ALIGHTED ? findClosestBus(state, busLocations) : null,
+                    atStation);
+            return result;
         } else {
-            log.info("🚶 [위치처리] 승객이 버스에 미탑승 - 탑승 감지 처리 시작");
-            return detectBoarding(state, busLocations);
+            log.debug("🚶 [위치처리] 승객이 버스에 미탑승 - 탑승 감지 처리 시작");
+            BusLocationDistance closestBus = findClosestBus(state, busLocations);
+            DetectionResult result = detectBoarding(state, closestBus);
+            updateLocationTier(state, closestBus, atStation);
+            return result;
+        }
+    }
+
+    /**
+     * 최근 버스 근접 격자 기준으로 모든 버스에서 충분히 먼지 여부
+     * 격자가 없거나 오래됐으면 false (버스 위치를 조회하는 일반 경로에서 다시 만듦)
+     */
+    private boolean isOutsideBusProximity(String organizationId, double latitude, double longitude) {
+        BusProximityCells cells = busProximity.get(organizationId);
+        if (cells == null || System.currentTimeMillis() - cells.builtAt() >= BUS_PROXIMITY_REFRESH_MS) {
+            return false;
+        }
+        return !cells.contains(latitude, longitude);
+    }
+
+    private void refreshBusProximity(String organizationId, Map<String, BusRealTimeLocationDTO> busLocations) {
+        long now = System.currentTimeMillis();
+        BusProximityCells cells = busProximity.get(organizationId);
+        if (cells == null || now - cells.builtAt() >= BUS_PROXIMITY_REFRESH_MS) {
+            // 보고 등급(NEAR) 판단 거리와 탑승 감지 거리 중 큰 값 - 칸 밖이면 두 판단 모두 영향 없음
+            double radius = Math.max(locationPolicy.getNearDistanceMeters(), AUTO_BOARDING_DISTANCE_THRESHOLD);
+            busProximity.put(organizationId, BusProximityCells.of(busLocations.values(), radius, now));
+        }
+    }
+
+    /**
+     * 감지 후 승객 상태로 위치 보고 등급 갱신 (탑승 중이면 거리와 무관하게 ON_BOARD)
+     */
+    private void updateLocationTier(PassengerState state, BusLocationDistance closestBus, boolean atStation) {
+        PassengerLocationPolicy.Tier tier = locationPolicy.classify(state.isOnBus(),
+                closestBus != null ? closestBus.distance : Double.MAX_VALUE, atStation);
+        if (tier != state.getLocationTier()) {
+            log.debug("📡 [위치정책] 위치 보고 등급 변경 - 사용자: {}, {} → {}",
+                    state.getUserId(), state.getLocationTier(), tier);
+            state.setLocationTier(tier);
         }
     }
 
@@ -206,7 +404,7 @@ public class PassengerLocationService {
             log.debug("⏰ [위치검증] 시간 간격 체크 - 간격: {}ms, 최소요구: {}ms", timeDiff, MIN_UPDATE_INTERVAL_MS);
 
             if (timeDiff < MIN_UPDATE_INTERVAL_MS) {
-                log.warn("❌ [위치검증] 업데이트 간격이 너무 짧음: {}ms < {}ms", timeDiff, MIN_UPDATE_INTERVAL_MS);
+                log.debug("❌ [위치검증] 업데이트 간격이 너무 짧음: {}ms < {}ms", timeDiff, MIN_UPDATE_INTERVAL_MS);
                 return false;
             }
         }
@@ -220,26 +418,25 @@ public class PassengerLocationService {
             log.debug("📏 [위치검증] 이동 거리 체크 - 거리: {}m", Math.round(distance));
 
             if (distance > GPS_JUMP_THRESHOLD && (newLocation.getTimestamp() - state.getLastUpdateTime()) < 60000) {
-                log.warn("❌ [위치검증] GPS 점프 감지로 위치 업데이트 무시: 사용자={}, 거리={}m, 시간간격={}ms",
+                log.debug("❌ [위치검증] GPS 점프 감지로 위치 업데이트 무시: 사용자={}, 거리={}m, 시간간격={}ms",
                         state.getUserId(), Math.round(distance),
                         (newLocation.getTimestamp() - state.getLastUpdateTime()));
                 return false;
             }
         }
 
-        log.info("✅ [위치검증] 위치 업데이트 유효성 검증 통과");
+        log.debug("✅ [위치검증] 위치 업데이트 유효성 검증 통과");
         return true;
     }
 
     /**
      * 탑승 감지 처리 - 운행 중 탑승 가능
      */
-    private DetectionResult detectBoarding(PassengerState state, Map<String, BusRealTimeLocationDTO> busLocations) {
-        log.info("🎫 [탑승감지] 탑승 감지 처리 시작 - 사용자: {}", state.getUserId());
-        BusLocationDistance closestBus = findClosestBus(state, busLocations);
+    private DetectionResult detectBoarding(PassengerState state, BusLocationDistance closestBus) {
+        log.debug("🎫 [탑승감지] 탑승 감지 처리 시작 - 사용자: {}", state.getUserId());
 
         if (closestBus != null) {
-            log.info("🎯 [탑승감지] 가장 가까운 버스 발견 - 버스: {}, 거리: {}m, 속도: {}km/h",
+            log.debug("🎯 [탑승감지] 가장 가까운 버스 발견 - 버스: {}, 거리: {}m, 속도: {}km/h",
                     closestBus.busNumber, Math.round(closestBus.distance), closestBus.estimatedSpeed);
         } else {
             log.debug("❌ [탑승감지] 가까운 버스 없음");
@@ -247,26 +444,34 @@ public class PassengerLocationService {
         }
 
         if (closestBus != null && closestBus.distance <= AUTO_BOARDING_DISTANCE_THRESHOLD) {
-            log.info("📍 [탑승감지] 탑승 거리 임계값 내 진입 - 버스: {}, 거리: {}m (임계값: {}m)",
+            log.debug("📍 [탑승감지] 탑승 거리 임계값 내 진입 - 버스: {}, 거리: {}m (임계값: {}m)",
                     closestBus.busNumber, Math.round(closestBus.distance), AUTO_BOARDING_DISTANCE_THRESHOLD);
 
             // 버스 속도 체크 (운행 중에도 느리게 움직이면 탑승 가능)
+            // 빠르게 이동 중이어도 승객이 같은 속도/방향으로 함께 움직이면 이미 버스 안에 있는 것으로 봄
+            boolean movingWithBus = false;
             if (closestBus.estimatedSpeed > BUS_SPEED_THRESHOLD_KMH) {
-                log.debug("🚌 [탑승감지] 버스가 빠르게 이동 중 ({}km/h > {}km/h) - 대기",
-                        closestBus.estimatedSpeed, BUS_SPEED_THRESHOLD_KMH);
-                state.resetBoardingDetectionCount();
-                return DetectionResult.NO_CHANGE;
+                movingWithBus = isMovingWithBus(state, closestBus);
+                if (!movingWithBus) {
+                    log.debug("🚌 [탑승감지] 버스가 빠르게 이동 중 ({}km/h > {}km/h) - 대기",
+                            closestBus.estimatedSpeed, BUS_SPEED_THRESHOLD_KMH);
+                    state.resetBoardingDetectionCount();
+                    return DetectionResult.NO_CHANGE;
+                }
+                log.debug("🚌 [탑승감지] 승객이 버스와 함께 이동 중 - 버스: {}, 버스 {}km/h, 승객 {}km/h",
+                        closestBus.busNumber, Math.round(closestBus.estimatedSpeed),
+                        Math.round(state.getSpeedMps() * 3.6));
             }
 
-            if (!hasMinimumDwellTime(state, MIN_DWELL_TIME_SECONDS)) {
+            if (!movingWithBus && !hasMinimumDwellTime(state, MIN_DWELL_TIME_SECONDS)) {
                 log.debug("⏰ [탑승감지] 최소 대기 시간 미충족: {}초 필요", MIN_DWELL_TIME_SECONDS);
                 return DetectionResult.NO_CHANGE;
             }
 
-            log.info("✅ [탑승감지] 대기 시간 조건 충족 - 최소: {}초", MIN_DWELL_TIME_SECONDS);
+            log.debug("✅ [탑승감지] 대기 시간 조건 충족 - 최소: {}초", MIN_DWELL_TIME_SECONDS);
             state.incrementBoardingDetectionCount(closestBus.busNumber);
 
-            log.info("🔢 [탑승감지] 탑승 감지 카운트 증가 - 사용자: {}, 버스: {}, 거리: {}m, 감지횟수: {}/{}",
+            log.debug("🔢 [탑승감지] 탑승 감지 카운트 증가 - 사용자: {}, 버스: {}, 거리: {}m, 감지횟수: {}/{}",
                     state.getUserId(), closestBus.busNumber,
                     Math.round(closestBus.distance), state.getBoardingDetectionCount(),
                     CONSECUTIVE_DETECTION_THRESHOLD);
@@ -278,12 +483,12 @@ public class PassengerLocationService {
                 boolean success = processBoarding(state, closestBus.busNumber, closestBus.organizationId);
                 return success ? DetectionResult.BOARDED : DetectionResult.NO_CHANGE;
             } else {
-                log.info("⏳ [탑승감지] 감지 횟수 부족 - 계속 감지 중: {}/{}",
+                log.debug("⏳ [탑승감지] 감지 횟수 부족 - 계속 감지 중: {}/{}",
                         state.getBoardingDetectionCount(), CONSECUTIVE_DETECTION_THRESHOLD);
             }
         } else {
             if (state.getBoardingDetectionCount() > 0) {
-                log.info("🔄 [탑승감지] 버스가 멀어져서 탑승 감지 카운트 리셋 - 사용자: {}", state.getUserId());
+                log.debug("🔄 [탑승감지] 버스가 멀어져서 탑승 감지 카운트 리셋 - 사용자: {}", state.getUserId());
                 state.resetBoardingDetectionCount();
             }
         }
@@ -294,7 +499,7 @@ public class PassengerLocationService {
      * 하차 감지 처리
      */
     private DetectionResult detectAlighting(PassengerState state, Map<String, BusRealTimeLocationDTO> busLocations) {
-        log.info("🚪 [하차감지] 하차 감지 처리 시작 - 사용자: {}, 탑승버스: {}",
+        log.debug("🚪 [하차감지] 하차 감지 처리 시작 - 사용자: {}, 탑승버스: {}",
                 state.getUserId(), state.getCurrentBusNumber());
 
         BusRealTimeLocationDTO onBusLocation = busLocations.get(state.getCurrentBusNumber());
@@ -306,7 +511,7 @@ public class PassengerLocationService {
             return DetectionResult.ALIGHTED;
         }
 
-        log.info("🚌 [하차감지] 탑승 중인 버스 확인됨 - 버스: {}, 위치: ({}, {})",
+        log.debug("🚌 [하차감지] 탑승 중인 버스 확인됨 - 버스: {}, 위치: ({}, {})",
                 onBusLocation.getBusNumber(),
                 onBusLocation.getLatitude(),
                 onBusLocation.getLongitude());
@@ -316,7 +521,7 @@ public class PassengerLocationService {
                 onBusLocation.getLatitude(), onBusLocation.getLongitude()
         );
 
-        log.info("📏 [하차감지] 버스와의 거리 계산 - 사용자: {}, 버스: {}, 거리: {}m (임계값: {}m)",
+        log.debug("📏 [하차감지] 버스와의 거리 계산 - 사용자: {}, 버스: {}, 거리: {}m (임계값: {}m)",
                 state.getUserId(), onBusLocation.getBusNumber(),
                 Math.round(distance), AUTO_ALIGHTING_DISTANCE_THRESHOLD);
 
@@ -325,12 +530,12 @@ public class PassengerLocationService {
             return DetectionResult.NO_CHANGE;
         }
 
-        log.info("✅ [하차감지] 최소 여행 시간 조건 충족 - 최소: {}초", MIN_TRIP_TIME_SECONDS);
+        log.debug("✅ [하차감지] 최소 여행 시간 조건 충족 - 최소: {}초", MIN_TRIP_TIME_SECONDS);
 
         if (distance > AUTO_ALIGHTING_DISTANCE_THRESHOLD) {
             state.incrementAlightingDetectionCount();
 
-            log.info("📍 [하차감지] 하차 거리 임계값 초과 - 사용자: {}, 버스: {}, 거리: {}m, 감지횟수: {}/{}",
+            log.debug("📍 [하차감지] 하차 거리 임계값 초과 - 사용자: {}, 버스: {}, 거리: {}m, 감지횟수: {}/{}",
                     state.getUserId(), onBusLocation.getBusNumber(),
                     Math.round(distance), state.getAlightingDetectionCount(),
                     CONSECUTIVE_DETECTION_THRESHOLD);
@@ -342,12 +547,12 @@ public class PassengerLocationService {
                 boolean success = processAlighting(state, onBusLocation.getBusNumber(), onBusLocation.getOrganizationId());
                 return success ? DetectionResult.ALIGHTED : DetectionResult.NO_CHANGE;
             } else {
-                log.info("⏳ [하차감지] 감지 횟수 부족 - 계속 감지 중: {}/{}",
+                log.debug("⏳ [하차감지] 감지 횟수 부족 - 계속 감지 중: {}/{}",
                         state.getAlightingDetectionCount(), CONSECUTIVE_DETECTION_THRESHOLD);
             }
         } else {
             if (state.getAlightingDetectionCount() > 0) {
-                log.info("🔄 [하차감지] 버스와 가까워져서 하차 감지 카운트 리셋 - 사용자: {}", state.getUserId());
+                log.debug("🔄 [하차감지] 버스와 가까워져서 하차 감지 카운트 리셋 - 사용자: {}", state.getUserId());
                 state.resetAlightingDetectionCount();
             }
         }
@@ -388,69 +593,80 @@ public class PassengerLocationService {
         log.debug("🔍 [가까운버스] 가장 가까운 버스 찾기 시작 - 사용자: {}, 버스 수: {}",
                 state.getUserId(), busLocations.size());
 
-        BusLocationDistance closest = null;
+        BusRealTimeLocationDTO closestLocation = null;
         double minDistance = Double.MAX_VALUE;
+        // 승객 위치를 받은 서버 시각 (승객 앱 시계는 기사 앱 시계와 비교하지 않음)
+        long now = System.currentTimeMillis();
 
         for (Map.Entry<String, BusRealTimeLocationDTO> entry : busLocations.entrySet()) {
             BusRealTimeLocationDTO busLocation = entry.getValue();
 
-            double distance = calculateDistance(
-                    state.getLatitude(), state.getLongitude(),
-                    busLocation.getLatitude(), busLocation.getLongitude()
-            );
-
-            // 버스 속도 추정 (이전 위치 정보가 있다면)
-            double estimatedSpeed = estimateBusSpeed(busLocation);
+            // 운동 모델이 있으면 지금 시각으로 외삽한 버스 위치와 비교 (이동 중인 버스의 위치 지연 보정)
+            double distance = busMotionTracker.distanceAt(busLocation.getBusNumber(), now,
+                    state.getLatitude(), state.getLongitude());
+            if (Double.isNaN(distance)) {
+                distance = calculateDistance(
+                        state.getLatitude(), state.getLongitude(),
+                        busLocation.getLatitude(), busLocation.getLongitude()
+                );
+            }
 
-            log.debug("📏 [가까운버스] 버스 {} 거리: {}m, 추정속도: {}km/h",
-                    busLocation.getBusNumber(), Math.round(distance), estimatedSpeed);
+            log.debug("📏 [가까운버스] 버스 {} 거리: {}m", busLocation.getBusNumber(), Math.round(distance));
 
             if (distance < minDistance) {
                 minDistance = distance;
-                closest = new BusLocationDistance(
-                        busLocation.getBusNumber(),
-                        busLocation.getOrganizationId(),
-                        distance,
-                        estimatedSpeed
-                );
+                closestLocation = busLocation;
                 log.debug("🎯 [가까운버스] 새로운 최단거리 버스 발견 - 버스: {}, 거리: {}m",
                         busLocation.getBusNumber(), Math.round(distance));
             }
         }
 
+        BusLocationDistance closest = null;
+        if (closestLocation != null) {
+            closest = new BusLocationDistance(
+                    closestLocation.getBusNumber(),
+                    closestLocation.getOrganizationId(),
+                    minDistance,
+                    estimateBusSpeed(closestLocation),
+                    busMotionTracker.headingDegrees(closestLocation.getBusNumber())
+            );
+        }
+
         if (closest != null) {
-            log.info("✅ [가까운버스] 가장 가까운 버스 확정 - 버스: {}, 거리: {}m, 속도: {}km/h",
+            log.debug("✅ [가까운버스] 가장 가까운 버스 확정 - 버스: {}, 거리: {}m, 속도: {}km/h",
                     closest.busNumber, Math.round(closest.distance), closest.estimatedSpeed);
         } else {
-            log.warn("❌ [가까운버스] 위치 정보가 있는 버스가 없음");
+            log.debug("❌ [가까운버스] 위치 정보가 있는 버스가 없음");
         }
 
         return closest;
     }
 
     /**
-     * 버스 속도 추정 - 간단한 구현
+     * 버스 속도 추정 (km/h) - 기사 앱 위치로 갱신되는 운동 모델 기준, 모델이 없으면 정차 중으로 간주
      */
     private double estimateBusSpeed(BusRealTimeLocationDTO busLocation) {
-        // TODO: 이전 위치 정보를 저장하여 실제 속도 계산
-        // 현재는 모든 버스가 정차 중이라고 가정
-        return 0.0;
+        return busMotionTracker.speedMps(busLocation.getBusNumber()) * 3.6;
+    }
+
+    /**
+     * 승객이 버스와 비슷한 속도/방향으로 이동 중인지 여부
+     */
+    private boolean isMovingWithBus(PassengerState state, BusLocationDistance bus) {
+        double passengerSpeedKmh = state.getSpeedMps() * 3.6;
+        if (Math.abs(passengerSpeedKmh - bus.estimatedSpeed) > MOVING_WITH_BUS_SPEED_TOLERANCE_KMH) {
+            return false;
+        }
+        double passengerHeading = state.getHeading();
+        if (Double.isNaN(passengerHeading) || Double.isNaN(bus.heading)) {
+            return false;
+        }
+        double headingDifference = Math.abs(passengerHeading - bus.heading) % 360;
+        return Math.min(headingDifference, 360 - headingDifference) <= MOVING_WITH_BUS_HEADING_TOLERANCE;
     }
-          
+
     private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        if (lat1 == lat2 && lon1 == lon2) return 0;
-        final double R = 6371000;
-        double lat1Rad = Math.toRadians(lat1);
-        double lon1Rad = Math.toRadians(lon1);
-        double lat2Rad = Math.toRadians(lat2);
-        double lon2Rad = Math.toRadians(lon2);
-        double dLat = lat2Rad - lat1Rad;
-        double dLon = lon2Rad - lon1Rad;
-        double a = Math.sin(dLat/2) * Math.sin(dLat/2) +
-                Math.cos(lat1Rad) * Math.cos(lat2Rad) *
-                        Math.sin(dLon/2) * Math.sin(dLon/2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1-a));
-        return R * c;
+        return GeoUtils.haversineMeters(lat1, lon1, lat2, lon2);
     }
 
     /**
@@ -515,7 +731,7 @@ public class PassengerLocationService {
             boolean success = busService.processBusBoarding(boardingDTO);
 
             log.info("🎯 [하차처리] BusService.processBusBoarding 호출 결과: {}", success);
-          
+
             if (success) {
                 state.setOnBus(false);
                 state.setCurrentBusNumber(null);
@@ -539,6 +755,25 @@ public class PassengerLocationService {
         }
     }
 
+    /**
+     * 버스 위치 주변 칸 집합 - 버스마다 속한 칸과 주변 8칸을 등록 (칸 크기 = 근접 반경)
+     */
+    private record BusProximityCells(GeoGrid grid, Set<Long> cells, long builtAt) {
+
+        static BusProximityCells of(Iterable<BusRealTimeLocationDTO> busLocations, double radiusMeters, long now) {
+            GeoGrid grid = new GeoGrid(radiusMeters);
+            Set<Long> cells = new HashSet<>();
+            for (BusRealTimeLocationDTO busLocation : busLocations) {
+                grid.forEachNeighbor(busLocation.getLatitude(), busLocation.getLongitude(), cells::add);
+            }
+            return new BusProximityCells(grid, cells, now);
+        }
+
+        boolean contains(double latitude, double longitude) {
+            return cells.contains(grid.cellOf(latitude, longitude));
+        }
+    }
+
     /**
      * 버스 위치 정보와 거리를 담는 내부 클래스
      */
@@ -547,103 +782,360 @@ public class PassengerLocationService {
         final String organizationId;
         final double distance;
         final double estimatedSpeed;
+        final double heading;
 
-        BusLocationDistance(String busNumber, String organizationId, double distance, double estimatedSpeed) {
+        BusLocationDistance(String busNumber, String organizationId, double distance, double estimatedSpeed,
+                            double heading) {
             this.busNumber = busNumber;
             this.organizationId = organizationId;
             this.distance = distance;
             this.estimatedSpeed = estimatedSpeed;
+            this.heading = heading;
         }
     }
 
-    @Getter @Setter
-    public static class PassengerState {
+    /**
+     * 승객 감지 상태 뷰 - 실제 값은 {@link PassengerStateSlab} 의 필드별 배열에 저장
+     * 뷰 객체는 가볍고 짧게 쓰이며, 모든 읽기/쓰기는 슬롯 잠금 안에서 슬롯이 아직 이 사용자의 것인지 확인한 뒤 처리
+     * (슬롯이 반납/재할당된 뒤에는 쓰기가 무시되고 읽기는 빈 값을 반환)
+     */
+    public static final class PassengerState {
+        private static final double METERS_PER_DEGREE = 111_320;
+        // 이보다 오래된 직전 위치로는 속도를 계산하지 않음
+        private static final long VELOCITY_WINDOW_MS = 30_000;
+
+        private final PassengerStateSlab slab;
+        private final PassengerStateSlab.Page page;
+        private final Object guard;
+        private final int slot;
+        private final int offset;
+        private final int generation;
         private final String userId;
-        private final String organizationId;
-        private double latitude;
-        private double longitude;
-        private long lastUpdateTime;
-        private long locationSetTime;
-        private boolean onBus;
-        private String currentBusNumber;
-        private Long boardingTime;
-        private int boardingDetectionCount;
-        private String pendingBusNumber;
-        private int alightingDetectionCount;
-
-        PassengerState(String userId, String organizationId) {
-            this.userId = userId;
-            this.organizationId = organizationId;
-            this.onBus = false;
-            this.currentBusNumber = null;
-            this.boardingDetectionCount = 0;
-            this.pendingBusNumber = null;
-            this.alightingDetectionCount = 0;
-            this.boardingTime = null;
-            log.info("👤 [승객상태] 새 승객 상태 객체 생성 - 사용자: {}, 조직: {}", userId, organizationId);
+
+        PassengerState(PassengerStateSlab slab, PassengerStateSlab.Page page, int slot) {
+            this.slab = slab;
+            this.page = page;
+            this.guard = slab.guard(slot);
+            this.slot = slot;
+            this.offset = PassengerStateSlab.offset(slot);
+            synchronized (guard) {
+                this.generation = page.generation[offset];
+                this.userId = page.userIds[offset];
+            }
+        }
+
+        int getSlot() {
+            return slot;
+        }
+
+        /**
+         * 뷰가 가리키는 슬롯이 아직 이 사용자의 것인지 여부
+         */
+        boolean isLive() {
+            synchronized (guard) {
+                return live();
+            }
+        }
+
+        // guard 잠금 안에서만 호출
+        private boolean live() {
+            return page.generation[offset] == generation;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getOrganizationId() {
+            return slab.organization(read(page.organization, PassengerStateSlab.NONE));
+        }
+
+        public double getLatitude() {
+            return read(page.latitude, 0);
+        }
+
+        public void setLatitude(double latitude) {
+            write(page.latitude, latitude);
+        }
+
+        public double getLongitude() {
+            return read(page.longitude, 0);
+        }
+
+        public void setLongitude(double longitude) {
+            write(page.longitude, longitude);
+        }
+
+        public long getLastUpdateTime() {
+            return read(page.lastUpdateTime, 0);
+        }
+
+        public void setLastUpdateTime(long lastUpdateTime) {
+            write(page.lastUpdateTime, lastUpdateTime);
+        }
+
+        public long getLocationSetTime() {
+            return read(page.locationSetTime, 0);
+        }
+
+        public void setLocationSetTime(long locationSetTime) {
+            write(page.locationSetTime, locationSetTime);
+        }
+
+        public long getLastAccessTime() {
+            return read(page.lastAccessTime, 0);
+        }
+
+        public void setLastAccessTime(long lastAccessTime) {
+            write(page.lastAccessTime, lastAccessTime);
+        }
+
+        public boolean isOnBus() {
+            synchronized (guard) {
+                return live() && page.onBus[offset];
+            }
+        }
+
+        public void setOnBus(boolean onBus) {
+            synchronized (guard) {
+                if (live()) page.onBus[offset] = onBus;
+            }
+        }
+
+        public String getCurrentBusNumber() {
+            return slab.busNumber(read(page.currentBus, PassengerStateSlab.NONE));
+        }
+
+        public void setCurrentBusNumber(String currentBusNumber) {
+            write(page.currentBus, slab.internBusNumber(currentBusNumber));
+        }
+
+        public Long getBoardingTime() {
+            long boardingTime = read(page.boardingTime, PassengerStateSlab.NONE);
+            return boardingTime == PassengerStateSlab.NONE ? null : boardingTime;
+        }
+
+        public void setBoardingTime(Long boardingTime) {
+            write(page.boardingTime, boardingTime != null ? boardingTime : PassengerStateSlab.NONE);
+        }
+
+        public int getBoardingDetectionCount() {
+            return read(page.boardingDetectionCount, 0);
+        }
+
+        public void setBoardingDetectionCount(int boardingDetectionCount) {
+            write(page.boardingDetectionCount, boardingDetectionCount);
+        }
+
+        public String getPendingBusNumber() {
+            return slab.busNumber(read(page.pendingBus, PassengerStateSlab.NONE));
+        }
+
+        public void setPendingBusNumber(String pendingBusNumber) {
+            write(page.pendingBus, slab.internBusNumber(pendingBusNumber));
+        }
+
+        public int getAlightingDetectionCount() {
+            return read(page.alightingDetectionCount, 0);
+        }
+
+        public void setAlightingDetectionCount(int alightingDetectionCount) {
+            write(page.alightingDetectionCount, alightingDetectionCount);
+        }
+
+        /**
+         * 마지막으로 결정된 위치 보고 등급 (아직 없으면 null)
+         */
+        public PassengerLocationPolicy.Tier getLocationTier() {
+            byte tier;
+            synchronized (guard) {
+                tier = live() ? page.locationTier[offset] : PassengerStateSlab.NONE;
+            }
+            return tier == PassengerStateSlab.NONE ? null : PassengerLocationPolicy.Tier.values()[tier];
+        }
+
+        public void setLocationTier(PassengerLocationPolicy.Tier locationTier) {
+            synchronized (guard) {
+                if (live()) page.locationTier[offset] = (byte) locationTier.ordinal();
+            }
+        }
+
+        /**
+         * 마지막으로 들어간 정류장 지오펜스 (없으면 null)
+         */
+        public String getLastStationId() {
+            return slab.stationId(read(page.lastStation, PassengerStateSlab.NONE));
+        }
+
+        public long getLastStationTime() {
+            return read(page.lastStationTime, 0);
+        }
+
+        void enterStation(String stationId, long timestamp) {
+            int stationIndex = slab.internStationId(stationId);
+            synchronized (guard) {
+                if (!live()) {
+                    return;
+                }
+                page.lastStation[offset] = stationIndex;
+                page.lastStationTime[offset] = timestamp;
+            }
+        }
+
+        /**
+         * 직전 위치 기준 이동 속도 (m/s)
+         */
+        public double getSpeedMps() {
+            return read(page.speed, 0);
+        }
+
+        /**
+         * 직전 위치 기준 진행 방향 (북쪽 기준 시계 방향 도, 모르면 NaN)
+         */
+        public double getHeading() {
+            return read(page.heading, Double.NaN);
         }
 
         void updateLocation(double latitude, double longitude, long timestamp) {
-            log.debug("📍 [승객상태] 위치 업데이트 - 사용자: {}, 위치: ({}, {})",
-                    userId, latitude, longitude);
-            if (this.latitude == 0 && this.longitude == 0) {
-                this.locationSetTime = timestamp;
-                log.info("📍 [승객상태] 첫 번째 위치 설정 - 사용자: {}, 시간: {}",
-                        userId, new java.util.Date(timestamp));
-            } else {
-                double distance = calculateDistanceSimple(this.latitude, this.longitude, latitude, longitude);
-                log.debug("📏 [승객상태] 이전 위치와의 거리: {}m", Math.round(distance));
-                if (distance > 20) {
-                    this.locationSetTime = timestamp;
-                    log.info("📍 [승객상태] 위치 변경 감지 ({}m 이동) - 위치 설정 시간 갱신", Math.round(distance));
+            synchronized (guard) {
+                if (!live()) {
+                    return;
                 }
+                log.debug("📍 [승객상태] 위치 업데이트 - 사용자: {}, 위치: ({}, {})",
+                        userId, latitude, longitude);
+                double previousLatitude = page.latitude[offset];
+                double previousLongitude = page.longitude[offset];
+                updateVelocity(previousLatitude, previousLongitude, latitude, longitude,
+                        timestamp - page.lastUpdateTime[offset]);
+                if (previousLatitude == 0 && previousLongitude == 0) {
+                    page.locationSetTime[offset] = timestamp;
+                    log.debug("📍 [승객상태] 첫 번째 위치 설정 - 사용자: {}, 시간: {}", userId, timestamp);
+                } else {
+                    double distance = calculateDistanceSimple(previousLatitude, previousLongitude, latitude, longitude);
+                    if (distance > 20) {
+                        page.locationSetTime[offset] = timestamp;
+                        log.debug("📍 [승객상태] 위치 변경 감지 ({}m 이동) - 위치 설정 시간 갱신", Math.round(distance));
+                    }
+                }
+                page.latitude[offset] = latitude;
+                page.longitude[offset] = longitude;
+                page.lastUpdateTime[offset] = timestamp;
+            }
+        }
+
+        // guard 잠금 안에서만 호출
+        private void updateVelocity(double previousLatitude, double previousLongitude,
+                                    double latitude, double longitude, long elapsedMs) {
+            if ((previousLatitude == 0 && previousLongitude == 0) || elapsedMs <= 0 || elapsedMs > VELOCITY_WINDOW_MS) {
+                page.speed[offset] = 0;
+                page.heading[offset] = Double.NaN;
+                return;
             }
-            this.latitude = latitude;
-            this.longitude = longitude;
-            this.lastUpdateTime = timestamp;
-            log.debug("✅ [승객상태] 위치 업데이트 완료 - 사용자: {}", userId);
+            double north = (latitude - previousLatitude) * METERS_PER_DEGREE;
+            double east = (longitude - previousLongitude) * METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+            page.speed[offset] = Math.hypot(east, north) / (elapsedMs / 1000.0);
+            page.heading[offset] = BusMotionTracker.headingOf(east, north);
         }
 
-        private double calculateDistanceSimple(double lat1, double lon1, double lat2, double lon2) {
+        private static double calculateDistanceSimple(double lat1, double lon1, double lat2, double lon2) {
             double deltaLat = lat1 - lat2;
             double deltaLon = lon1 - lon2;
             return Math.sqrt(deltaLat * deltaLat + deltaLon * deltaLon) * 111000;
         }
 
         void incrementBoardingDetectionCount(String busNumber) {
-            if (pendingBusNumber == null || !pendingBusNumber.equals(busNumber)) {
-                log.info("🔢 [승객상태] 새 버스로 탑승 감지 시작 - 사용자: {}, 버스: {} (이전: {})",
-                        userId, busNumber, pendingBusNumber);
-                pendingBusNumber = busNumber;
-                boardingDetectionCount = 1;
-            } else {
-                boardingDetectionCount++;
-                log.info("🔢 [승객상태] 탑승 감지 카운트 증가 - 사용자: {}, 버스: {}, 횟수: {}",
-                        userId, busNumber, boardingDetectionCount);
+            int busIndex = slab.internBusNumber(busNumber);
+            synchronized (guard) {
+                if (!live()) {
+                    return;
+                }
+                if (page.pendingBus[offset] != busIndex) {
+                    log.debug("🔢 [승객상태] 새 버스로 탑승 감지 시작 - 사용자: {}, 버스: {} (이전: {})",
+                            userId, busNumber, slab.busNumber(page.pendingBus[offset]));
+                    page.pendingBus[offset] = busIndex;
+                    page.boardingDetectionCount[offset] = 1;
+                } else {
+                    page.boardingDetectionCount[offset]++;
+                    log.debug("🔢 [승객상태] 탑승 감지 카운트 증가 - 사용자: {}, 버스: {}, 횟수: {}",
+                            userId, busNumber, page.boardingDetectionCount[offset]);
+                }
             }
         }
 
         void resetBoardingDetectionCount() {
-            if (boardingDetectionCount > 0) {
-                log.info("🔄 [승객상태] 탑승 감지 카운트 리셋 - 사용자: {}, 이전 카운트: {}",
-                        userId, boardingDetectionCount);
+            synchronized (guard) {
+                if (!live()) {
+                    return;
+                }
+                if (page.boardingDetectionCount[offset] > 0) {
+                    log.debug("🔄 [승객상태] 탑승 감지 카운트 리셋 - 사용자: {}, 이전 카운트: {}",
+                            userId, page.boardingDetectionCount[offset]);
+                }
+                page.boardingDetectionCount[offset] = 0;
+                page.pendingBus[offset] = PassengerStateSlab.NONE;
             }
-            boardingDetectionCount = 0;
-            pendingBusNumber = null;
         }
 
         void incrementAlightingDetectionCount() {
-            alightingDetectionCount++;
-            log.info("🔢 [승객상태] 하차 감지 카운트 증가 - 사용자: {}, 횟수: {}",
-                    userId, alightingDetectionCount);
+            synchronized (guard) {
+                if (!live()) {
+                    return;
+                }
+                page.alightingDetectionCount[offset]++;
+                log.debug("🔢 [승객상태] 하차 감지 카운트 증가 - 사용자: {}, 횟수: {}",
+                        userId, page.alightingDetectionCount[offset]);
+            }
         }
 
         void resetAlightingDetectionCount() {
-            if (alightingDetectionCount > 0) {
-                log.info("🔄 [승객상태] 하차 감지 카운트 리셋 - 사용자: {}, 이전 카운트: {}",
-                        userId, alightingDetectionCount);
+            synchronized (guard) {
+                if (!live()) {
+                    return;
+                }
+                if (page.alightingDetectionCount[offset] > 0) {
+                    log.debug("🔄 [승객상태] 하차 감지 카운트 리셋 - 사용자: {}, 이전 카운트: {}",
+                            userId, page.alightingDetectionCount[offset]);
+                }
+                page.alightingDetectionCount[offset] = 0;
+            }
+        }
+
+        // 필드 읽기/쓰기 - 슬롯이 다른 사용자에게 넘어갔으면 읽기는 fallback, 쓰기는 무시
+
+        private double read(double[] field, double fallback) {
+            synchronized (guard) {
+                return live() ? field[offset] : fallback;
+            }
+        }
+
+        private long read(long[] field, long fallback) {
+            synchronized (guard) {
+                return live() ? field[offset] : fallback;
+            }
+        }
+
+        private int read(int[] field, int fallback) {
+            synchronized (guard) {
+                return live() ? field[offset] : fallback;
+            }
+        }
+
+        private void write(double[] field, double value) {
+            synchronized (guard) {
+                if (live()) field[offset] = value;
+            }
+        }
+
+        private void write(long[] field, long value) {
+            synchronized (guard) {
+                if (live()) field[offset] = value;
+            }
+        }
+
+        private void write(int[] field, int value) {
+            synchronized (guard) {
+                if (live()) field[offset] = value;
             }
-            alightingDetectionCount = 0;
         }
     }
 
@@ -656,7 +1148,7 @@ public class PassengerLocationService {
             return;
         }
         try {
-            String stationId = resolveRecentStationId(busNumber, state.getOrganizationId());
+            String stationId = resolveStationId(state, busNumber);
             PassengerTripEvent event = PassengerTripEvent.builder()
                     .userId(state.getUserId())
                     .organizationId(state.getOrganizationId())
@@ -673,6 +1165,8 @@ public class PassengerLocationService {
                     ))
                     .build();
             passengerTripEventRepository.save(event);
+            // 미션 자동 완료 등 같은 노드의 구독자에게 전달
+            eventPublisher.publishEvent(event);
             log.debug("📝 [이벤트기록] 승객 이벤트 저장 완료 - userId={}, type={}, station={}",
                     state.getUserId(), eventType, stationId);
         } catch (Exception e) {
@@ -681,6 +1175,22 @@ public class PassengerLocationService {
         }
     }
 
+    /**
+     * 이벤트 정류장 - 현재 위치의 지오펜스, 최근 들어간 지오펜스 순으로 찾고 없을 때만 버스의 직전 정류장 조회
+     */
+    private String resolveStationId(PassengerState state, String busNumber) {
+        Station station = stationGeofenceIndex.stationAt(state.getOrganizationId(),
+                state.getLatitude(), state.getLongitude());
+        if (station != null) {
+            return station.getId();
+        }
+        if (state.getLastStationId() != null
+                && System.currentTimeMillis() - state.getLastStationTime() <= LAST_STATION_VALID_MS) {
+            return state.getLastStationId();
+        }
+        return resolveRecentStationId(busNumber, state.getOrganizationId());
+    }
+
     private String resolveRecentStationId(String busNumber, String organizationId) {
         if (busNumber == null || organizationId == null) {
             return null;
@@ -0,0 +1,262 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.service.PassengerLocationService.PassengerState;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 승객 감지 상태의 struct-of-arrays 저장소
+ * - 사용자마다 슬롯 번호를 부여하고, 필드별 기본형 배열(위도/경도/시각/감지 카운터)에 값을 저장
+ * - 조직 ID, 버스 번호, 정류장 ID는 문자열 테이블에 한 번만 저장하고 int 인덱스로 참조
+ * - 배열은 4096 슬롯 단위 페이지로 나누어, 용량이 늘어나도 기존 페이지를 복사하지 않음
+ *   (다른 스레드가 쓰는 중인 배열이 교체되어 값이 유실되는 일이 없음)
+ * - 객체({@link PassengerState})는 감지 로직이 필요할 때만 만드는 얇은 뷰
+ *
+ * 제거된 슬롯은 재사용되며, 세대(generation) 값으로 이전 사용자의 뷰가 새 사용자의 값을 덮어쓰지 않게 함
+ * - 슬롯 값의 읽기/쓰기, 반납(세대 증가), 할당(초기화)은 모두 같은 슬롯 잠금 안에서 처리
+ *   (뷰의 세대 확인과 읽기/쓰기 사이에 슬롯이 재할당되지 않음)
+ */
+final class PassengerStateSlab {
+
+    static final int NONE = -1;
+
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    // 슬롯 잠금 수 (슬롯 번호 하위 비트로 나눠 씀 - 슬롯마다 객체를 두지 않음)
+    private static final int GUARD_STRIPES = 1024;
+
+    /**
+     * 4096 슬롯 분량의 필드 배열
+     */
+    static final class Page {
+        final String[] userIds = new String[PAGE_SIZE];
+        final int[] generation = new int[PAGE_SIZE];
+        final int[] organization = new int[PAGE_SIZE];
+        final double[] latitude = new double[PAGE_SIZE];
+        final double[] longitude = new double[PAGE_SIZE];
+        final long[] lastUpdateTime = new long[PAGE_SIZE];
+        final long[] locationSetTime = new long[PAGE_SIZE];
+        final long[] boardingTime = new long[PAGE_SIZE];       // NONE 이면 미탑승
+        final long[] lastAccessTime = new long[PAGE_SIZE];
+        final boolean[] onBus = new boolean[PAGE_SIZE];
+        final int[] currentBus = new int[PAGE_SIZE];           // busNumbers 인덱스
+        final int[] pendingBus = new int[PAGE_SIZE];           // busNumbers 인덱스
+        final int[] boardingDetectionCount = new int[PAGE_SIZE];
+        final int[] alightingDetectionCount = new int[PAGE_SIZE];
+        final byte[] locationTier = new byte[PAGE_SIZE];       // PassengerLocationPolicy.Tier 순번, NONE 이면 미정
+        final int[] lastStation = new int[PAGE_SIZE];          // stationIds 인덱스 (마지막으로 들어간 정류장 지오펜스)
+        final long[] lastStationTime = new long[PAGE_SIZE];
+        final double[] speed = new double[PAGE_SIZE];          // 직전 위치 기준 이동 속도 (m/s)
+        final double[] heading = new double[PAGE_SIZE];        // 직전 위치 기준 진행 방향 (도, 모르면 NaN)
+    }
+
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private final StringTable organizations = new StringTable();
+    private final StringTable busNumbers = new StringTable();
+    private final StringTable stationIds = new StringTable();
+
+    private final Object[] guards = new Object[GUARD_STRIPES];
+    private final Object allocationLock = new Object();
+    private volatile Page[] pages = new Page[0];
+    private int nextSlot;                       // allocationLock 보호
+    private int[] freeSlots = new int[64];      // allocationLock 보호
+    private int freeCount;                      // allocationLock 보호
+
+    PassengerStateSlab() {
+        for (int i = 0; i < GUARD_STRIPES; i++) {
+            guards[i] = new Object();
+        }
+    }
+
+    /**
+     * 사용자 상태 뷰 (없으면 null)
+     */
+    PassengerState get(String userId) {
+        Integer slot = slots.get(userId);
+        return slot != null ? view(slot) : null;
+    }
+
+    boolean contains(String userId) {
+        return slots.containsKey(userId);
+    }
+
+    /**
+     * 사용자 슬롯 조회 또는 새 슬롯 할당
+     */
+    PassengerState getOrAllocate(String userId, String organizationId) {
+        Integer slot = slots.get(userId);
+        if (slot != null) {
+            return view(slot);
+        }
+        synchronized (allocationLock) {
+            slot = slots.get(userId);
+            if (slot != null) {
+                return view(slot);
+            }
+            int newSlot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot++;
+            Page page = pageForAllocation(newSlot);
+            int offset = newSlot & PAGE_MASK;
+            int organization = organizations.intern(organizationId);
+            synchronized (guard(newSlot)) {
+                page.organization[offset] = organization;
+                page.latitude[offset] = 0;
+                page.longitude[offset] = 0;
+                page.lastUpdateTime[offset] = 0;
+                page.locationSetTime[offset] = 0;
+                page.boardingTime[offset] = NONE;
+                page.lastAccessTime[offset] = 0;
+                page.onBus[offset] = false;
+                page.currentBus[offset] = NONE;
+                page.pendingBus[offset] = NONE;
+                page.boardingDetectionCount[offset] = 0;
+                page.alightingDetectionCount[offset] = 0;
+                page.locationTier[offset] = NONE;
+                page.lastStation[offset] = NONE;
+                page.lastStationTime[offset] = 0;
+                page.speed[offset] = 0;
+                page.heading[offset] = Double.NaN;
+                page.userIds[offset] = userId;
+            }
+            slots.put(userId, newSlot);
+            return view(newSlot);
+        }
+    }
+
+    /**
+     * 슬롯 반납 - 뷰가 가리키는 슬롯이 아직 그 사용자의 것일 때만
+     *
+     * @return 반납 여부
+     */
+    boolean release(PassengerState state) {
+        synchronized (allocationLock) {
+            if (!state.isLive() || !slots.remove(state.getUserId(), state.getSlot())) {
+                return false;
+            }
+            Page page = pages[state.getSlot() >>> PAGE_BITS];
+            int offset = state.getSlot() & PAGE_MASK;
+            synchronized (guard(state.getSlot())) {
+                page.generation[offset]++;
+                page.userIds[offset] = null;
+            }
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = state.getSlot();
+            return true;
+        }
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * 사용 중인 모든 슬롯의 뷰 순회 (정리/스냅샷 등 주기 작업용)
+     */
+    void forEach(Consumer<PassengerState> action) {
+        Page[] current = pages;
+        for (int pageIndex = 0; pageIndex < current.length; pageIndex++) {
+            Page page = current[pageIndex];
+            for (int offset = 0; offset < PAGE_SIZE; offset++) {
+                if (page.userIds[offset] == null) {
+                    continue;
+                }
+                PassengerState state = new PassengerState(this, page, (pageIndex << PAGE_BITS) | offset);
+                if (state.getUserId() != null) {    // 순회 중 반납된 슬롯 제외
+                    action.accept(state);
+                }
+            }
+        }
+    }
+
+    private PassengerState view(int slot) {
+        return new PassengerState(this, pages[slot >>> PAGE_BITS], slot);
+    }
+
+    private Page pageForAllocation(int slot) {
+        int pageIndex = slot >>> PAGE_BITS;
+        Page[] current = pages;
+        if (pageIndex >= current.length) {
+            Page[] grown = Arrays.copyOf(current, pageIndex + 1);
+            for (int i = current.length; i < grown.length; i++) {
+                grown[i] = new Page();
+            }
+            pages = grown;
+            current = grown;
+        }
+        return current[pageIndex];
+    }
+
+    /**
+     * 슬롯 잠금 - 뷰의 읽기/쓰기와 슬롯 반납/할당이 같은 잠금을 사용
+     */
+    Object guard(int slot) {
+        return guards[slot & (GUARD_STRIPES - 1)];
+    }
+
+    static int offset(int slot) {
+        return slot & PAGE_MASK;
+    }
+
+    String organization(int index) {
+        return organizations.get(index);
+    }
+
+    String busNumber(int index) {
+        return busNumbers.get(index);
+    }
+
+    int internBusNumber(String busNumber) {
+        return busNumbers.intern(busNumber);
+    }
+
+    String stationId(int index) {
+        return stationIds.get(index);
+    }
+
+    int internStationId(String stationId) {
+        return stationIds.intern(stationId);
+    }
+
+    /**
+     * 추가만 가능한 문자열 ↔ 인덱스 테이블 (조직 ID, 버스 번호, 정류장 ID처럼 종류가 적은 값용)
+     */
+    private static final class StringTable {
+
+        private final Map<String, Integer> index = new ConcurrentHashMap<>();
+        private volatile String[] values = new String[16];
+        private int size;   // this 로 보호
+
+        int intern(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer existing = index.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            synchronized (this) {
+                existing = index.get(value);
+                if (existing != null) {
+                    return existing;
+                }
+                String[] current = values;
+                if (size == current.length) {
+                    current = Arrays.copyOf(current, size * 2);
+                }
+                current[size] = value;
+                values = current;
+                index.put(value, size);
+                return size++;
+            }
+        }
+
+        String get(int i) {
+            return i == NONE ? null : values[i];
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.service.PassengerLocationService.PassengerState;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.OrganizationOwnership;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 승객 탑승 감지 상태 저장소
+ * - 일정 시간(PASSENGER_STATE_IDLE_TTL_MS) 위치가 오지 않은 승객은 제거 (탑승 중이면 호출자가 하차 처리)
+ * - 최대 항목 수(PASSENGER_STATE_MAX_ENTRIES)를 넘으면 가장 오래 조용한 미탑승 승객부터 제거
+ * - 조직별 상태를 주기적으로 압축 바이너리 스냅샷으로 MongoDB 에 저장하고, 기동/소유권 획득 시 복원
+ *   → 배포 중 재시작해도 "탑승 중" 승객과 좌석 수가 어긋나지 않음
+ *
+ * 다중 노드에서는 소유한 조직의 상태만 보관/저장하고, 소유권을 잃은 조직의 상태는 버림
+ */
+@Component
+@Slf4j
+public class PassengerStateStore {
+
+    static final String SNAPSHOT_COLLECTION = "passenger_state_snapshots";
+    private static final int SNAPSHOT_VERSION = 1;
+    // 용량 초과 시 한 번에 비울 비율
+    private static final double CAPACITY_EVICTION_RATIO = 0.1;
+    // 스냅샷 조회 실패 후 같은 조직을 다시 조회하기까지의 간격
+    private static final long RESTORE_RETRY_INTERVAL_MS = 5_000;
+
+    private final MongoOperations mongoOperations;
+    private final OrganizationOwnership organizationOwnership;
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final RealtimeMetrics realtimeMetrics;
+    private final long idleTtlMs;
+    private final int maxEntries;
+
+    // 감지 상태 본체 (필드별 기본형 배열)
+    private final PassengerStateSlab states = new PassengerStateSlab();
+    // 스냅샷 복원을 마친 조직 (이후 스냅샷 저장 대상)
+    private final Set<String> restoredOrganizations = ConcurrentHashMap.newKeySet();
+    // 스냅샷 조회에 실패한 조직 -> 다시 조회할 수 있는 시각
+    private final Map<String, Long> restoreRetryAt = new ConcurrentHashMap<>();
+    private final ReentrantLock capacityLock = new ReentrantLock();
+
+    public PassengerStateStore(MongoOperations mongoOperations,
+                               OrganizationOwnership organizationOwnership,
+                               ClusterJobScheduler clusterJobScheduler,
+                               RealtimeMetrics realtimeMetrics,
+                               @Value("${PASSENGER_STATE_IDLE_TTL_MS:1800000}") long idleTtlMs,
+                               @Value("${PASSENGER_STATE_MAX_ENTRIES:100000}") int maxEntries) {
+        this.mongoOperations = mongoOperations;
+        this.organizationOwnership = organizationOwnership;
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.realtimeMetrics = realtimeMetrics;
+        this.idleTtlMs = idleTtlMs;
+        this.maxEntries = maxEntries;
+        realtimeMetrics.gauge("bustracker.passenger.states", "메모리에 보관 중인 승객 감지 상태 수",
+                states, PassengerStateSlab::size);
+    }
+
+    public PassengerState get(String userId) {
+        return states.get(userId);
+    }
+
+    /**
+     * 승객 상태 조회 또는 생성 - 조직 스냅샷이 아직 복원되지 않았으면 먼저 복원
+     */
+    public PassengerState getOrCreate(String userId, String organizationId) {
+        PassengerState state = states.get(userId);
+        if (state == null) {
+            ensureRestored(organizationId);
+            if (states.size() >= maxEntries) {
+                evictForCapacity();
+            }
+            state = states.getOrAllocate(userId, organizationId);
+            log.debug("👤 [위치처리] 새 승객 상태 생성 - 사용자: {}, 조직: {}", userId, organizationId);
+        }
+        state.setLastAccessTime(System.currentTimeMillis());
+        return state;
+    }
+
+    /**
+     * 승객 상태 제거 - 제거 후 기존 뷰의 읽기는 빈 값을 반환하므로 필요한 값은 제거 전에 읽어야 함
+     *
+     * @return 제거 여부
+     */
+    public boolean remove(String userId) {
+        PassengerState state = states.get(userId);
+        return state != null && states.release(state);
+    }
+
+    /**
+     * 특정 버스에 탑승 중인 승객 목록
+     */
+    public List<PassengerState> findOnBus(String organizationId, String busNumber) {
+        ensureRestored(organizationId);
+        List<PassengerState> onBus = new ArrayList<>();
+        states.forEach(state -> {
+            if (state.isOnBus()
+                    && busNumber.equals(state.getCurrentBusNumber())
+                    && organizationId.equals(state.getOrganizationId())) {
+                onBus.add(state);
+            }
+        });
+        return onBus;
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * 유휴 TTL 이 지난 승객 제거 - 탑승 중이던 승객은 슬롯을 반납하기 전에 하차 처리
+     * (반납한 슬롯은 곧바로 다른 승객에게 재할당될 수 있으므로 반납 후의 뷰로 하차를 기록하지 않음)
+     *
+     * @param alightOnBus 탑승 중인 유휴 승객의 하차 처리
+     * @return 제거된 승객 수
+     */
+    public int evictIdle(long now, Consumer<PassengerState> alightOnBus) {
+        long threshold = now - idleTtlMs;
+        List<PassengerState> idle = new ArrayList<>();
+        states.forEach(state -> {
+            if (lastSeen(state) < threshold) {
+                idle.add(state);
+            }
+        });
+        int evicted = 0;
+        for (PassengerState state : idle) {
+            if (state.isLive() && lastSeen(state) >= threshold) {
+                continue;   // 확인하는 사이 위치가 들어온 승객
+            }
+            if (state.isOnBus()) {
+                alightOnBus.accept(state);
+            }
+            if (states.release(state)) {
+                evicted++;
+                realtimeMetrics.recordDropped("passenger_state", "idle");
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 최대 항목 수 초과 - 가장 오래 조용한 미탑승 승객부터 제거 (탑승 중 승객은 좌석 수 보존을 위해 유지)
+     */
+    private void evictForCapacity() {
+        if (!capacityLock.tryLock()) {
+            return;
+        }
+        try {
+            int target = (int) (maxEntries * (1 - CAPACITY_EVICTION_RATIO));
+            int toRemove = states.size() - target;
+            if (toRemove <= 0) {
+                return;
+            }
+            List<PassengerState> notOnBus = new ArrayList<>();
+            states.forEach(state -> {
+                if (!state.isOnBus()) {
+                    notOnBus.add(state);
+                }
+            });
+            List<PassengerState> candidates = notOnBus.stream()
+                    .sorted(Comparator.comparingLong(PassengerStateStore::lastSeen))
+                    .limit(toRemove)
+                    .toList();
+            for (PassengerState state : candidates) {
+                if (states.release(state)) {
+                    realtimeMetrics.recordDropped("passenger_state", "capacity");
+                }
+            }
+            log.warn("⚠️ [승객상태] 최대 항목 수({}) 초과 - 미탑승 승객 {}명 제거", maxEntries, candidates.size());
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+
+    private static long lastSeen(PassengerState state) {
+        return Math.max(state.getLastUpdateTime(), state.getLastAccessTime());
+    }
+
+    // ========================= 스냅샷 =========================
+
+    @Scheduled(fixedRateString = "${PASSENGER_STATE_SNAPSHOT_INTERVAL_MS:30000}",
+            initialDelayString = "${PASSENGER_STATE_SNAPSHOT_INTERVAL_MS:30000}")
+    public void scheduleSnapshot() {
+        clusterJobScheduler.runLocal("passenger-state-snapshot", this::snapshot);
+    }
+
+    /**
+     * 소유 조직별 스냅샷 저장, 소유권을 잃은 조직의 상태는 제거
+     */
+    public void snapshot() {
+        Map<String, List<PassengerState>> byOrganization = new HashMap<>();
+        states.forEach(state ->
+                byOrganization.computeIfAbsent(state.getOrganizationId(), k -> new ArrayList<>()).add(state));
+        Set<String> organizations = new HashSet<>(byOrganization.keySet());
+        organizations.addAll(restoredOrganizations);
+
+        int saved = 0;
+        for (String organizationId : organizations) {
+            if (organizationId == null) {
+                continue;
+            }
+            List<PassengerState> organizationStates = byOrganization.getOrDefault(organizationId, List.of());
+            if (!organizationOwnership.isOwner(organizationId)) {
+                // 다른 노드가 소유한 조직 - 그 노드가 최신 스냅샷에서 복원하므로 여기서는 버림
+                organizationStates.forEach(states::release);
+                restoredOrganizations.remove(organizationId);
+                continue;
+            }
+            if (!restoredOrganizations.contains(organizationId)) {
+                // 이전 스냅샷을 아직 읽지 못한 조직 - 일부 승객만으로 덮어쓰지 않고 복원부터 다시 시도
+                ensureRestored(organizationId);
+                continue;
+            }
+            try {
+                Document document = new Document("_id", organizationId)
+                        .append("savedAt", new Date())
+                        .append("count", organizationStates.size())
+                        .append("data", new Binary(encode(organizationStates)));
+                mongoOperations.save(document, SNAPSHOT_COLLECTION);
+                saved += organizationStates.size();
+            } catch (Exception e) {
+                log.error("❌ [승객상태] 스냅샷 저장 실패 - 조직: {}, 오류: {}", organizationId, e.getMessage());
+            }
+        }
+        log.debug("💾 [승객상태] 스냅샷 저장 완료 - 조직 {}개, 승객 {}명", organizations.size(), saved);
+    }
+
+    /**
+     * 기동 시 최근 스냅샷 복원 (유휴 TTL 보다 오래된 스냅샷은 무시)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOnStartup() {
+        try {
+            List<Document> snapshots = mongoOperations.find(
+                    Query.query(Criteria.where("savedAt").gt(new Date(System.currentTimeMillis() - idleTtlMs))),
+                    Document.class, SNAPSHOT_COLLECTION);
+            for (Document snapshot : snapshots) {
+                String organizationId = snapshot.getString("_id");
+                if (organizationOwnership.isOwner(organizationId)) {
+                    restore(organizationId, snapshot);
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ [승객상태] 기동 시 스냅샷 복원 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 조직 스냅샷 복원 확인 - 스냅샷을 읽었거나 없음을 확인한 경우에만 복원 완료로 표시
+     * 조회에 실패하면 RESTORE_RETRY_INTERVAL_MS 뒤 다음 요청에서 다시 조회
+     */
+    private void ensureRestored(String organizationId) {
+        if (organizationId == null || restoredOrganizations.contains(organizationId)) {
+            return;
+        }
+        Long retryAt = restoreRetryAt.get(organizationId);
+        if (retryAt != null && System.currentTimeMillis() < retryAt) {
+            return;
+        }
+        Document snapshot;
+        try {
+            snapshot = mongoOperations.findById(organizationId, Document.class, SNAPSHOT_COLLECTION);
+        } catch (Exception e) {
+            restoreRetryAt.put(organizationId, System.currentTimeMillis() + RESTORE_RETRY_INTERVAL_MS);
+            log.error("❌ [승객상태] 스냅샷 조회 실패 - 조직: {}, {}ms 후 재시도, 오류: {}",
+                    organizationId, RESTORE_RETRY_INTERVAL_MS, e.getMessage());
+            return;
+        }
+        restoreRetryAt.remove(organizationId);
+        Date savedAt = snapshot != null ? snapshot.getDate("savedAt") : null;
+        if (savedAt != null && savedAt.getTime() > System.currentTimeMillis() - idleTtlMs) {
+            restore(organizationId, snapshot);
+        } else {
+            restoredOrganizations.add(organizationId);
+        }
+    }
+
+    private synchronized void restore(String organizationId, Document snapshot) {
+        if (!restoredOrganizations.add(organizationId)) {
+            return;
+        }
+        try {
+            int[] counts = decodeInto(snapshot.get("data", Binary.class).getData(), organizationId, states);
+            log.info("♻️ [승객상태] 스냅샷 복원 - 조직: {}, 승객: {}명 (탑승 중 {}명), 저장 시각: {}",
+                    organizationId, counts[0], counts[1], snapshot.getDate("savedAt"));
+        } catch (Exception e) {
+            log.error("❌ [승객상태] 스냅샷 복원 실패 - 조직: {}, 오류: {}", organizationId, e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 직전 마지막 스냅샷 (롤링 배포 시 다음 인스턴스가 이어받음)
+     */
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        try {
+            snapshot();
+            log.info("💾 [승객상태] 종료 전 스냅샷 저장 - 승객 {}명", states.size());
+        } catch (Exception e) {
+            log.error("❌ [승객상태] 종료 전 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    static byte[] encode(List<PassengerState> organizationStates) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(organizationStates.size());
+            for (PassengerState state : organizationStates) {
+                out.writeUTF(state.getUserId());
+                out.writeDouble(state.getLatitude());
+                out.writeDouble(state.getLongitude());
+                out.writeLong(state.getLastUpdateTime());
+                out.writeLong(state.getLocationSetTime());
+                out.writeBoolean(state.isOnBus());
+                writeNullableString(out, state.getCurrentBusNumber());
+                out.writeLong(state.getBoardingTime() != null ? state.getBoardingTime() : -1L);
+                out.writeInt(state.getBoardingDetectionCount());
+                writeNullableString(out, state.getPendingBusNumber());
+                out.writeInt(state.getAlightingDetectionCount());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 스냅샷을 저장소에 복원 - 재시작 후 이미 새 위치가 들어온 승객은 최신 상태 유지
+     *
+     * @return [복원된 승객 수, 그중 탑승 중인 승객 수]
+     */
+    static int[] decodeInto(byte[] data, String organizationId, PassengerStateSlab target) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("지원하지 않는 스냅샷 버전: " + version);
+            }
+            int count = in.readInt();
+            int restored = 0;
+            int onBus = 0;
+            for (int i = 0; i < count; i++) {
+                String userId = in.readUTF();
+                double latitude = in.readDouble();
+                double longitude = in.readDouble();
+                long lastUpdateTime = in.readLong();
+                long locationSetTime = in.readLong();
+                boolean isOnBus = in.readBoolean();
+                String currentBusNumber = readNullableString(in);
+                long boardingTime = in.readLong();
+                int boardingDetectionCount = in.readInt();
+                String pendingBusNumber = readNullableString(in);
+                int alightingDetectionCount = in.readInt();
+
+                if (target.contains(userId)) {
+                    continue;
+                }
+                PassengerState state = target.getOrAllocate(userId, organizationId);
+                state.setLatitude(latitude);
+                state.setLongitude(longitude);
+                state.setLastUpdateTime(lastUpdateTime);
+                state.setLocationSetTime(locationSetTime);
+                state.setOnBus(isOnBus);
+                state.setCurrentBusNumber(currentBusNumber);
+                state.setBoardingTime(boardingTime >= 0 ? boardingTime : null);
+                state.setBoardingDetectionCount(boardingDetectionCount);
+                state.setPendingBusNumber(pendingBusNumber);
+                state.setAlightingDetectionCount(alightingDetectionCount);
+                state.setLastAccessTime(System.currentTimeMillis());
+                restored++;
+                if (isOnBus) {
+                    onBus++;
+                }
+            }
+            return new int[]{restored, onBus};
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
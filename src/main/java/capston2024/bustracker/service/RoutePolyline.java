@@ -0,0 +1,126 @@
+package capston2024.bustracker.service;
+
+import java.util.List;
+
+/**
+ * 정류장 순서대로 이은 노선 경로 (정류장 사이는 직선으로 근사)
+ * - 기준점을 중심으로 한 평면 좌표(m)와 시작점부터의 누적 거리를 미리 계산
+ * - 위치를 경로에 투영해 누적 거리를 구하고, 누적 거리로 경로 위 위치를 구함
+ */
+final class RoutePolyline {
+
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    private final double referenceLatitude;
+    private final double referenceLongitude;
+    private final double metersPerDegreeLongitude;
+    private final double[] east;
+    private final double[] north;
+    private final double[] cumulative;
+
+    /**
+     * @param points 정류장 순서대로의 [위도, 경도] 목록 (2개 이상)
+     */
+    RoutePolyline(List<double[]> points) {
+        int size = points.size();
+        this.referenceLatitude = points.get(0)[0];
+        this.referenceLongitude = points.get(0)[1];
+        this.metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(referenceLatitude));
+        this.east = new double[size];
+        this.north = new double[size];
+        this.cumulative = new double[size];
+        for (int i = 0; i < size; i++) {
+            east[i] = (points.get(i)[1] - referenceLongitude) * metersPerDegreeLongitude;
+            north[i] = (points.get(i)[0] - referenceLatitude) * METERS_PER_DEGREE;
+            if (i > 0) {
+                cumulative[i] = cumulative[i - 1] + Math.hypot(east[i] - east[i - 1], north[i] - north[i - 1]);
+            }
+        }
+    }
+
+    double length() {
+        return cumulative[cumulative.length - 1];
+    }
+
+    /**
+     * 위치를 가장 가까운 구간에 투영한 누적 거리
+     *
+     * @param distance [0] 에 경로까지의 거리(m)를 기록 (null 이면 생략)
+     */
+    double project(double latitude, double longitude, double[] distance) {
+        double x = (longitude - referenceLongitude) * metersPerDegreeLongitude;
+        double y = (latitude - referenceLatitude) * METERS_PER_DEGREE;
+        double bestAlong = 0;
+        double bestDistanceSquared = Double.MAX_VALUE;
+        for (int i = 1; i < east.length; i++) {
+            double dx = east[i] - east[i - 1];
+            double dy = north[i] - north[i - 1];
+            double lengthSquared = dx * dx + dy * dy;
+            double t = lengthSquared == 0 ? 0
+                    : Math.max(0, Math.min(1, ((x - east[i - 1]) * dx + (y - north[i - 1]) * dy) / lengthSquared));
+            double px = east[i - 1] + t * dx - x;
+            double py = north[i - 1] + t * dy - y;
+            double distanceSquared = px * px + py * py;
+            if (distanceSquared < bestDistanceSquared) {
+                bestDistanceSquared = distanceSquared;
+                bestAlong = cumulative[i - 1] + t * (cumulative[i] - cumulative[i - 1]);
+            }
+        }
+        if (distance != null) {
+            distance[0] = Math.sqrt(bestDistanceSquared);
+        }
+        return bestAlong;
+    }
+
+    /**
+     * 누적 거리 위치의 [위도, 경도]
+     */
+    void pointAt(double along, double[] latLon) {
+        int segment = segmentAt(along);
+        double segmentLength = cumulative[segment] - cumulative[segment - 1];
+        double t = segmentLength == 0 ? 0 : (along - cumulative[segment - 1]) / segmentLength;
+        double x = east[segment - 1] + t * (east[segment] - east[segment - 1]);
+        double y = north[segment - 1] + t * (north[segment] - north[segment - 1]);
+        latLon[0] = referenceLatitude + y / METERS_PER_DEGREE;
+        latLon[1] = referenceLongitude + x / metersPerDegreeLongitude;
+    }
+
+    /**
+     * 누적 거리 위치에서 정류장 순서 방향의 진행 방향 (북쪽 기준 시계 방향 도)
+     * 길이 0 구간(같은 위치에 이어진 정류장)은 방향이 없으므로 다음, 없으면 이전의 가장 가까운 구간 방향 사용
+     *
+     * @return 모든 구간의 길이가 0 이면 NaN
+     */
+    double bearingAt(double along) {
+        int segment = segmentAt(along);
+        for (int i = segment; i < east.length; i++) {
+            if (cumulative[i] > cumulative[i - 1]) {
+                return bearingOf(i);
+            }
+        }
+        for (int i = segment - 1; i >= 1; i--) {
+            if (cumulative[i] > cumulative[i - 1]) {
+                return bearingOf(i);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private double bearingOf(int segment) {
+        return BusMotionTracker.headingOf(east[segment] - east[segment - 1], north[segment] - north[segment - 1]);
+    }
+
+    private int segmentAt(double along) {
+        int low = 1;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < along) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -9,6 +9,7 @@ import capston2024.bustracker.exception.ErrorCode;
 import capston2024.bustracker.exception.ResourceNotFoundException;
 import capston2024.bustracker.repository.RouteRepository;
 import capston2024.bustracker.repository.StationRepository;
+import capston2024.bustracker.service.topology.TopologyVersions;
 import com.mongodb.DBRef;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +30,7 @@ public class RouteService {
     private final RouteRepository routeRepository;
     private final StationRepository stationRepository;
     private final AuthService authService;
+    private final TopologyVersions topologyVersions;
 
     /**
      * 조직별 모든 라우트 조회
@@ -120,6 +122,7 @@ public class RouteService {
                 .build();
 
         Route savedRoute = routeRepository.save(route);
+        topologyVersions.bump(TopologyVersions.organizationScope(organizationId), organizationId);
         log.info("라우트 생성 완료: ID {}", savedRoute.getId());
 
         return convertToDTO(savedRoute);
@@ -217,6 +220,7 @@ public class RouteService {
         }
 
         Route updatedRoute = routeRepository.save(route);
+        topologyVersions.bump(TopologyVersions.organizationScope(organizationId), organizationId);
         log.info("라우트 수정 완료: 이름 {}", updatedRoute.getRouteName());
 
         return convertToDTO(updatedRoute);
@@ -243,6 +247,7 @@ public class RouteService {
         }
 
         routeRepository.delete(route);
+        topologyVersions.bump(TopologyVersions.organizationScope(organizationId), organizationId);
         log.info("라우트 삭제 완료: ID {}", id);
     }
 
@@ -0,0 +1,128 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.domain.Station;
+import capston2024.bustracker.domain.utils.GeoUtils;
+import capston2024.bustracker.repository.StationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조직별 정류장 지오펜스 격자 인덱스
+ * - Station.location 을 중심으로 반경 STATION_GEOFENCE_RADIUS_METERS 원을 지오펜스로 사용
+ * - 정류장을 격자 칸(칸 크기 = 반경)과 주변 8칸에 미리 등록해, 조회는 칸 1개의 후보만 비교
+ * - 조직의 첫 조회 시 정류장을 한 번 읽어 만들고, STATION_GEOFENCE_REFRESH_MS 가 지나면 다시 만듦
+ *   (이 노드에서 정류장을 추가/수정/삭제하면 즉시 무효화)
+ * - 정류장 조회는 맵 잠금(compute) 밖에서 하고 putIfAbsent/replace 로 교체
+ *   (느린 조회가 같은 해시 칸의 다른 조직 조회/무효화를 막지 않음)
+ */
+@Component
+@Slf4j
+public class StationGeofenceIndex {
+
+    private final StationRepository stationRepository;
+    private final double radiusMeters;
+    private final long refreshMs;
+    private final GeoGrid grid;
+
+    private final Map<String, Geofences> organizations = new ConcurrentHashMap<>();
+    // 무효화 횟수 - 조회 중 무효화가 있었으면 조회 결과를 남기지 않음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public StationGeofenceIndex(StationRepository stationRepository,
+                                @Value("${STATION_GEOFENCE_RADIUS_METERS:80}") double radiusMeters,
+                                @Value("${STATION_GEOFENCE_REFRESH_MS:300000}") long refreshMs) {
+        this.stationRepository = stationRepository;
+        this.radiusMeters = radiusMeters;
+        this.refreshMs = refreshMs;
+        this.grid = new GeoGrid(radiusMeters);
+    }
+
+    /**
+     * 지점이 들어 있는 가장 가까운 정류장 지오펜스 (없으면 null)
+     */
+    public Station stationAt(String organizationId, double latitude, double longitude) {
+        if (organizationId == null) {
+            return null;
+        }
+        List<Station> candidates = geofences(organizationId).cells.get(grid.cellOf(latitude, longitude));
+        if (candidates == null) {
+            return null;
+        }
+        Station nearest = null;
+        double nearestDistance = radiusMeters;
+        for (Station station : candidates) {
+            double distance = GeoUtils.haversineMeters(latitude, longitude,
+                    station.getLocation().getY(), station.getLocation().getX());
+            if (distance <= nearestDistance) {
+                nearest = station;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * 정류장 변경 시 조직 지오펜스 무효화 (다음 조회 때 다시 만듦)
+     */
+    public void invalidate(String organizationId) {
+        if (organizationId == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        if (organizations.remove(organizationId) != null) {
+            log.debug("📍 [지오펜스] 정류장 변경으로 지오펜스 무효화 - 조직: {}", organizationId);
+        }
+    }
+
+    private Geofences geofences(String organizationId) {
+        long now = System.currentTimeMillis();
+        Geofences current = organizations.get(organizationId);
+        if (current != null && now - current.builtAt < refreshMs) {
+            return current;
+        }
+
+        long version = invalidations.get();
+        Geofences built = build(organizationId, now, current);
+        // 그 사이 다른 요청이 먼저 교체했으면 그대로 둠
+        boolean stored = current == null
+                ? organizations.putIfAbsent(organizationId, built) == null
+                : organizations.replace(organizationId, current, built);
+        // 조회 중 무효화되었으면 이번 결과는 남기지 않음 (다음 조회 때 다시 만듦)
+        if (stored && invalidations.get() != version) {
+            organizations.remove(organizationId, built);
+        }
+        return built;
+    }
+
+    private Geofences build(String organizationId, long now, Geofences previous) {
+        try {
+            Map<Long, List<Station>> cells = new HashMap<>();
+            List<Station> stations = stationRepository.findAllByOrganizationId(organizationId);
+            for (Station station : stations) {
+                if (station.getLocation() == null) {
+                    continue;
+                }
+                grid.forEachNeighbor(station.getLocation().getY(), station.getLocation().getX(),
+                        cell -> cells.computeIfAbsent(cell, k -> new ArrayList<>(1)).add(station));
+            }
+            log.debug("📍 [지오펜스] 정류장 지오펜스 생성 - 조직: {}, 정류장: {}개, 칸: {}개",
+                    organizationId, stations.size(), cells.size());
+            return new Geofences(Map.copyOf(cells), now);
+        } catch (Exception e) {
+            // 조회 실패 시 이전 지오펜스를 잠시 더 사용 (없으면 빈 지오펜스)
+            log.error("❌ [지오펜스] 정류장 조회 실패 - 조직: {}, 오류: {}", organizationId, e.getMessage());
+            return new Geofences(previous != null ? previous.cells : Map.of(), now);
+        }
+    }
+
+    private record Geofences(Map<Long, List<Station>> cells, long builtAt) {
+    }
+}
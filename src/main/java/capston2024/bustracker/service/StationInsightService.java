@@ -39,6 +39,21 @@ public class StationInsightService {
         return buildStationStats(stationId, lookbackDays, analysisStart, analysisEnd, events);
     }
 
+    /**
+     * 이미 조회한 정류장 이벤트로 정류장 분석 (스냅샷 갱신용)
+     *
+     * @param stationEvents 해당 정류장의 이벤트 (분석 기간 밖 이벤트는 제외하고 집계)
+     */
+    public StationStatsResponseDTO analyzeStationWithEvents(String stationId, int lookbackDays, long analysisEnd,
+                                                            List<PassengerTripEvent> stationEvents) {
+        long analysisStart = analysisEnd - Duration.ofDays(lookbackDays).toMillis();
+        List<PassengerTripEvent> events = stationEvents.stream()
+                .filter(event -> event.getTimestamp() >= analysisStart && event.getTimestamp() <= analysisEnd)
+                .collect(Collectors.toList());
+
+        return buildStationStats(stationId, lookbackDays, analysisStart, analysisEnd, events);
+    }
+
     public NetworkInsightResponseDTO analyzeNetwork(int lookbackDays) {
         long analysisEnd = System.currentTimeMillis();
         long analysisStart = analysisEnd - Duration.ofDays(lookbackDays).toMillis();
@@ -98,16 +113,18 @@ public class StationInsightService {
         }
 
         StationStatsResponseDTO finalStationStats = stationStats;
-        String answer = aiInsightService.generateInsightAnswer(
-                        request.getQuestion(),
-                        stationStats,
-                        networkStats,
-                        request.getExternalFactors())
+        Optional<String> aiAnswer = aiInsightService.generateInsightAnswer(
+                request.getQuestion(),
+                stationStats,
+                networkStats,
+                request.getExternalFactors());
+        String answer = aiAnswer
                 .orElseGet(() -> buildInsightAnswer(request.getQuestion(), finalStationStats, networkStats));
 
         return InsightQuestionResponseDTO.builder()
                 .question(request.getQuestion())
                 .answer(answer)
+                .aiGenerated(aiAnswer.isPresent())
                 .externalFactors(request.getExternalFactors())
                 .stationStats(stationStats)
                 .networkStats(networkStats)
@@ -482,6 +499,30 @@ public class StationInsightService {
         List<PassengerTripEvent> allEvents = passengerTripEventRepository
                 .findByTimestampBetween(analysisStart, analysisEnd);
 
+        return buildNetworkInsight(request, dateRange, allEvents);
+    }
+
+    /**
+     * 이미 조회한 이벤트로 필터 적용 네트워크 분석 (스냅샷 갱신용)
+     *
+     * @param events 분석 기간을 포함하는 이벤트 목록 (기간 밖 이벤트는 제외하고 집계)
+     */
+    public NetworkInsightResponseDTO analyzeNetworkWithEvents(NetworkAnalysisRequestDTO request,
+                                                              List<PassengerTripEvent> events) {
+        DateRange dateRange = calculateDateRange(request);
+        List<PassengerTripEvent> eventsInRange = events.stream()
+                .filter(event -> event.getTimestamp() >= dateRange.startTimestamp
+                        && event.getTimestamp() <= dateRange.endTimestamp)
+                .collect(Collectors.toList());
+        return buildNetworkInsight(request, dateRange, eventsInRange);
+    }
+
+    private NetworkInsightResponseDTO buildNetworkInsight(NetworkAnalysisRequestDTO request,
+                                                          DateRange dateRange,
+                                                          List<PassengerTripEvent> allEvents) {
+        long analysisStart = dateRange.startTimestamp;
+        long analysisEnd = dateRange.endTimestamp;
+
         // 3. 필터 적용
         List<PassengerTripEvent> filteredEvents = applyFilters(allEvents, request);
 
@@ -11,6 +11,7 @@ import capston2024.bustracker.exception.ResourceNotFoundException;
 import capston2024.bustracker.repository.BusRepository;
 import capston2024.bustracker.repository.RouteRepository;
 import capston2024.bustracker.repository.StationRepository;
+import capston2024.bustracker.service.topology.TopologyVersions;
 import com.mongodb.DBRef;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +32,8 @@ public class StationService {
 
     private final StationRepository stationRepository;
     private final RouteRepository routeRepository;
+    private final StationGeofenceIndex stationGeofenceIndex;
+    private final TopologyVersions topologyVersions;
 
 
     // 정류장 이름으로 검색
@@ -72,7 +75,10 @@ public class StationService {
                 .organizationId(organizationId) // 사용자 소속 정보 추가
                 .build();
 
-        return stationRepository.save(newStation);
+        Station savedStation = stationRepository.save(newStation);
+        stationGeofenceIndex.invalidate(organizationId);
+        topologyVersions.bump(TopologyVersions.organizationScope(organizationId), organizationId);
+        return savedStation;
     }
 
     // 정류장 업데이트 - 유효성 검사 포함
@@ -91,6 +97,8 @@ public class StationService {
 
             // 변경된 정보를 데이터베이스에 저장
             Station savedStation = stationRepository.save(existingStation);
+            stationGeofenceIndex.invalidate(organizationId);
+            topologyVersions.bump(TopologyVersions.organizationScope(organizationId), organizationId);
 
             // 저장 결과 확인
             if (savedStation != null && savedStation.getId() != null) {
@@ -136,6 +144,9 @@ public class StationService {
 
         // 정류장 삭제
         stationRepository.delete(station);
+        stationGeofenceIndex.invalidate(station.getOrganizationId());
+        topologyVersions.bump(TopologyVersions.organizationScope(station.getOrganizationId()),
+                station.getOrganizationId());
         log.info("정류장 {}가 삭제되었습니다.", id);
     }
 }
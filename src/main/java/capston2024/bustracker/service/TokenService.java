@@ -2,49 +2,43 @@ package capston2024.bustracker.service;
 
 import capston2024.bustracker.domain.auth.TokenInfo;
 import capston2024.bustracker.handler.JwtTokenProvider;
-import capston2024.bustracker.repository.TokenRepository;
+import capston2024.bustracker.service.token.TokenStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TokenService {
-    private final TokenRepository tokenRepository;
+    private final TokenStore tokenStore;
 
     public void saveToken(String username, String refreshToken, String accessToken, Date expiration) {
-        tokenRepository.findByUsername(username).ifPresent(tokenRepository::delete);
-        TokenInfo tokenInfo = TokenInfo.builder()
-                .username(username)
-                .refreshToken(refreshToken)
-                .accessToken(accessToken)
-                .expirationDate(expiration)
-                .build();
-        tokenRepository.save(tokenInfo);
+        tokenStore.upsert(username, refreshToken, accessToken, expiration);
     }
 
     public TokenInfo findByAccessToken(String accessToken) {
-        return tokenRepository.findByAccessToken(accessToken).orElse(null);
+        return tokenStore.findByAccessToken(accessToken);
     }
 
     public TokenInfo findByUserName(String username){
-        Optional<TokenInfo> token = tokenRepository.findByUsername(username);
-        return token.orElse(null);
+        return tokenStore.findByUsername(username);
     }
 
-    public void updateAccessToken(String username, String newAccessToken) {
-        tokenRepository.findByUsername(username).ifPresent(tokenInfo -> {
-            tokenInfo.setAccessToken(newAccessToken);
-            // 액세스 토큰 만료 시간 업데이트
-            Date newExpiration = new Date(System.currentTimeMillis() +
-                    JwtTokenProvider.ACCESS_TOKEN_EXPIRE_TIME);
-            tokenInfo.setExpirationDate(newExpiration);
-            tokenRepository.save(tokenInfo);
-        });
+    /**
+     * 재발급한 액세스 토큰으로 교체
+     * 같은 액세스 토큰으로 동시에 재발급한 경우 먼저 저장된 토큰을 반환
+     *
+     * @return 저장된 액세스 토큰 (사용자 토큰 정보가 없으면 null)
+     */
+    public String rotateAccessToken(String username, String previousAccessToken, String newAccessToken) {
+        // 액세스 토큰 만료 시간 업데이트
+        Date newExpiration = new Date(System.currentTimeMillis() +
+                JwtTokenProvider.ACCESS_TOKEN_EXPIRE_TIME);
+        TokenInfo tokenInfo = tokenStore.rotateAccessToken(username, previousAccessToken, newAccessToken, newExpiration);
+        return tokenInfo != null ? tokenInfo.getAccessToken() : null;
     }
 
     /**
@@ -54,9 +48,7 @@ public class TokenService {
      */
     public boolean deleteByUsername(String username) {
         try {
-            Optional<TokenInfo> tokenInfo = tokenRepository.findByUsername(username);
-            if (tokenInfo.isPresent()) {
-                tokenRepository.delete(tokenInfo.get());
+            if (tokenStore.deleteByUsername(username)) {
                 log.info("사용자 토큰 삭제 완료: {}", username);
                 return true;
             } else {
@@ -68,4 +60,4 @@ public class TokenService {
             return false;
         }
     }
-}
\ No newline at end of file
+}
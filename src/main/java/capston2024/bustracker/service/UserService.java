@@ -7,6 +7,7 @@ import capston2024.bustracker.exception.BusinessException;
 import capston2024.bustracker.exception.ErrorCode;
 import capston2024.bustracker.repository.StationRepository;
 import capston2024.bustracker.repository.UserRepository;
+import capston2024.bustracker.service.topology.TopologyVersions;
 import com.mongodb.DBRef;
 import com.mongodb.client.result.UpdateResult;
 import lombok.AllArgsConstructor;
@@ -33,6 +34,7 @@ public class UserService {
     private final StationRepository stationRepository;
     private final MongoTemplate mongoTemplate;
     private final MongoOperations mongoOperations;
+    private final TopologyVersions topologyVersions;
 
     /**
      * organizationId의 모든 이용자 조회
@@ -118,6 +120,7 @@ public class UserService {
             throw new BusinessException(ErrorCode.DUPLICATE_ENTITY);
         }
 
+        topologyVersions.bump(TopologyVersions.userScope(email), null);
         log.info("사용자의 내 정류장 목록에 {}를 성공적으로 추가했습니다.", stationId);
         return true;
     }
@@ -137,6 +140,7 @@ public class UserService {
             throw new BusinessException(ErrorCode.ENTITY_NOT_FOUND);
         }
 
+        topologyVersions.bump(TopologyVersions.userScope(email), null);
         log.info("사용자 {}의 내 정류장 {} 삭제가 완료되었습니다.", email, stationId);
         return true;
     }
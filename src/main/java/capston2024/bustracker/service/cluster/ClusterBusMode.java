@@ -0,0 +1,21 @@
+package capston2024.bustracker.service.cluster;
+
+/**
+ * 클러스터 이벤트 버스 구현 방식
+ * - IN_PROCESS: 단일 노드 (기본값, 테스트용)
+ * - MONGO: MongoDB Change Stream 기반 다중 노드 (레플리카 셋 필요)
+ */
+public enum ClusterBusMode {
+    IN_PROCESS,
+    MONGO;
+
+    /**
+     * 설정 문자열을 버스 모드로 변환 (알 수 없는 값은 IN_PROCESS)
+     */
+    public static ClusterBusMode from(String value) {
+        if (value == null) {
+            return IN_PROCESS;
+        }
+        return "mongo".equalsIgnoreCase(value.trim()) ? MONGO : IN_PROCESS;
+    }
+}
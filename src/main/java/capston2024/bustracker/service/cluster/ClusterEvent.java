@@ -0,0 +1,15 @@
+package capston2024.bustracker.service.cluster;
+
+/**
+ * 클러스터 버스로 전달되는 이벤트
+ * - 같은 노드 안에서는 payload 객체를 그대로 전달하고, 다른 노드로는 직렬화하여 전달
+ *
+ * @param originNodeId 이벤트를 발행한 노드 ID (자기 자신이 발행한 이벤트를 중복 수신하지 않기 위해 사용)
+ */
+public record ClusterEvent(
+        ClusterEventType type,
+        String organizationId,
+        String originNodeId,
+        Object payload
+) {
+}
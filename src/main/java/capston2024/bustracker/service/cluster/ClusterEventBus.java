@@ -0,0 +1,24 @@
+package capston2024.bustracker.service.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 실시간 이벤트 전달 버스
+ * - 각 노드는 자신에게 연결된 WebSocket 세션에만 팬아웃하고,
+ *   다른 노드의 세션에는 이 버스를 통해 이벤트를 전달
+ * - 발행한 노드의 구독자에게도 반드시 전달되어야 함 (단일 노드 동작과 동일)
+ */
+public interface ClusterEventBus {
+
+    /**
+     * 이벤트 발행 - 이 노드를 포함한 모든 노드의 구독자에게 전달
+     */
+    void publish(ClusterEventType type, String organizationId, Object payload);
+
+    /**
+     * 이 노드에서 수신할 이벤트 구독
+     */
+    void subscribe(Consumer<ClusterEvent> subscriber);
+
+    String getNodeId();
+}
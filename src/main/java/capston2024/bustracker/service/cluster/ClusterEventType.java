@@ -0,0 +1,56 @@
+package capston2024.bustracker.service.cluster;
+
+import capston2024.bustracker.config.dto.BusRealTimeLocationDTO;
+import capston2024.bustracker.config.dto.BusRealTimeStatusDTO;
+import capston2024.bustracker.config.dto.PassengerLocationDTO;
+
+import java.util.Map;
+
+/**
+ * 노드 간에 전달되는 실시간 이벤트 종류
+ * - payloadType: 다른 노드에서 수신한 payload 를 역직렬화할 타입
+ * - messageType: 승객 WebSocket 으로 전송할 메시지의 type 값 (null 이면 승객에게 브로드캐스트하지 않는 노드 간 내부 메시지)
+ */
+public enum ClusterEventType {
+    BUS_STATUS(BusRealTimeStatusDTO.class, "busUpdate"),
+
+    // 정류장 도착/탑승·하차 알림을 해당 버스 기사가 연결된 노드로 전달 (승객에게는 브로드캐스트하지 않음)
+    STATION_ARRIVAL(Map.class, null),
+    BOARDING(Map.class, null),
+
+    // 조직 소유 노드로 전달되는 메시지
+    DRIVER_LOCATION(BusRealTimeLocationDTO.class, null),
+    PASSENGER_LOCATION(PassengerLocationDTO.class, null),
+    PASSENGER_DISCONNECTED(Map.class, null),
+    BUS_STOPPED(Map.class, null),
+
+    // 소유 노드의 감지 결과/위치 보고 정책을 승객이 연결된 노드로 전달
+    PASSENGER_DETECTION(Map.class, null),
+    PASSENGER_LOCATION_POLICY(Map.class, null),
+
+    // 관리자가 이벤트/미션/상품을 변경하면 모든 노드의 이벤트 카탈로그 캐시 무효화
+    EVENT_CATALOG_CHANGED(Map.class, null),
+
+    // 정류장/노선/내 정류장/조직 변경 시 토폴로지 버전 전파 (응답 ETag 갱신)
+    TOPOLOGY_CHANGED(Map.class, null);
+
+    private final Class<?> payloadType;
+    private final String messageType;
+
+    ClusterEventType(Class<?> payloadType, String messageType) {
+        this.payloadType = payloadType;
+        this.messageType = messageType;
+    }
+
+    public Class<?> getPayloadType() {
+        return payloadType;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public boolean isBroadcast() {
+        return messageType != null;
+    }
+}
@@ -0,0 +1,76 @@
+package capston2024.bustracker.service.cluster;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스케줄 작업 실행 래퍼
+ * - runOnLeader: 클러스터 전체에서 한 노드(리더)만 실행 (시드 데이터, 전역 집계 등)
+ * - runLocal: 노드마다 실행 (자기 노드의 WebSocket 세션 정리, 소유 조직 flush 등)
+ * - 이전 실행이 끝나지 않았으면 겹쳐 실행하지 않고 건너뜀
+ * - 실행 시간과 건너뛴 횟수를 bustracker.job.* 메트릭으로 노출
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterJobScheduler {
+
+    private final LeaderElection leaderElection;
+    private final RealtimeMetrics realtimeMetrics;
+
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 리더 노드에서만 실행
+     *
+     * @return 이 노드에서 실행되었는지 여부
+     */
+    public boolean runOnLeader(String jobName, Runnable job) {
+        if (!leaderElection.isLeader(jobName)) {
+            realtimeMetrics.recordJobSkipped(jobName, "not_leader");
+            log.debug("작업 건너뜀 (리더 아님): {}", jobName);
+            return false;
+        }
+        return run(jobName, "leader", job);
+    }
+
+    /**
+     * 모든 노드에서 실행 (노드 로컬 상태만 다루는 작업)
+     */
+    public boolean runLocal(String jobName, Runnable job) {
+        return run(jobName, "local", job);
+    }
+
+    private boolean run(String jobName, String scope, Runnable job) {
+        if (!runningJobs.add(jobName)) {
+            realtimeMetrics.recordJobSkipped(jobName, "overlap");
+            log.warn("작업 건너뜀 (이전 실행 진행 중): {}", jobName);
+            return false;
+        }
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            job.run();
+            success = true;
+            return true;
+        } catch (Exception e) {
+            log.error("작업 실행 중 오류: {}, 오류={}", jobName, e.getMessage(), e);
+            return false;
+        } finally {
+            realtimeMetrics.recordJob(jobName, scope, success, startNanos);
+            runningJobs.remove(jobName);
+        }
+    }
+
+    /**
+     * 현재 실행 중인 작업 목록
+     */
+    public Set<String> getRunningJobs() {
+        return Set.copyOf(runningJobs);
+    }
+}
@@ -0,0 +1,50 @@
+package capston2024.bustracker.service.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 단일 노드용 이벤트 버스 - 발행 스레드에서 구독자를 바로 호출
+ */
+@Slf4j
+public class InProcessClusterEventBus implements ClusterEventBus {
+
+    private final String nodeId;
+    private final List<Consumer<ClusterEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InProcessClusterEventBus(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void publish(ClusterEventType type, String organizationId, Object payload) {
+        deliver(new ClusterEvent(type, organizationId, nodeId, payload));
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 구독자 하나의 오류가 다른 구독자 전달을 막지 않도록 개별 처리
+     */
+    protected void deliver(ClusterEvent event) {
+        for (Consumer<ClusterEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (Exception e) {
+                log.error("클러스터 이벤트 처리 중 오류: 타입={}, 조직={}, 오류={}",
+                        event.type(), event.organizationId(), e.getMessage(), e);
+            }
+        }
+    }
+}
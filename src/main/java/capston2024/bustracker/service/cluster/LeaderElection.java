@@ -0,0 +1,12 @@
+package capston2024.bustracker.service.cluster;
+
+/**
+ * 클러스터 전체에서 한 번만 실행되어야 하는 작업의 리더 선출
+ */
+public interface LeaderElection {
+
+    /**
+     * 이 노드가 해당 작업의 리더인지 여부 (필요하면 리더십 획득/갱신 시도)
+     */
+    boolean isLeader(String jobName);
+}
@@ -0,0 +1,12 @@
+package capston2024.bustracker.service.cluster;
+
+/**
+ * 단일 노드용 - 항상 리더
+ */
+public class LocalLeaderElection implements LeaderElection {
+
+    @Override
+    public boolean isLeader(String jobName) {
+        return true;
+    }
+}
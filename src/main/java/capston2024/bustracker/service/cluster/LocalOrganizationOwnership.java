@@ -0,0 +1,19 @@
+package capston2024.bustracker.service.cluster;
+
+import java.util.Set;
+
+/**
+ * 단일 노드용 - 모든 조직을 이 노드가 소유
+ */
+public class LocalOrganizationOwnership implements OrganizationOwnership {
+
+    @Override
+    public boolean isOwner(String organizationId) {
+        return true;
+    }
+
+    @Override
+    public Set<String> getOwnedOrganizations() {
+        return Set.of();
+    }
+}
@@ -0,0 +1,167 @@
+package capston2024.bustracker.service.cluster;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB Change Stream 기반 다중 노드 이벤트 버스
+ * - 발행: 이 노드의 구독자에게 바로 전달한 뒤 cluster_events 컬렉션에 insert
+ * - 수신: 전용 스레드가 Change Stream 을 구독하여 다른 노드가 발행한 insert 만 전달
+ * - 이벤트 문서는 TTL 인덱스로 자동 삭제되므로 컬렉션이 계속 커지지 않음
+ *
+ * Change Stream 은 레플리카 셋(또는 Atlas) 에서만 동작함
+ */
+@Slf4j
+public class MongoChangeStreamClusterEventBus extends InProcessClusterEventBus implements AutoCloseable {
+
+    static final String COLLECTION = "cluster_events";
+    private static final long RETRY_BACKOFF_MS = 1000;
+    private static final long MAX_RETRY_BACKOFF_MS = 30000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final RealtimeMetrics realtimeMetrics;
+    private final long eventTtlSeconds;
+
+    private volatile boolean running;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    // 재연결 시 놓친 이벤트 없이 이어서 수신하기 위한 마지막 resume token
+    private BsonDocument resumeToken;
+    private Thread watcher;
+
+    public MongoChangeStreamClusterEventBus(String nodeId, MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                                            RealtimeMetrics realtimeMetrics, long eventTtlSeconds) {
+        super(nodeId);
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.realtimeMetrics = realtimeMetrics;
+        this.eventTtlSeconds = eventTtlSeconds;
+    }
+
+    public void start() {
+        collection().createIndex(Indexes.ascending("createdAt"),
+                new IndexOptions().expireAfter(eventTtlSeconds, TimeUnit.SECONDS).name("createdAt_ttl"));
+
+        running = true;
+        watcher = Thread.ofPlatform().daemon().name("cluster-bus-watch").start(this::watchLoop);
+        log.info("🌐 클러스터 이벤트 버스 시작: MONGO (노드 {}, 이벤트 TTL {}초)", getNodeId(), eventTtlSeconds);
+    }
+
+    @Override
+    public void publish(ClusterEventType type, String organizationId, Object payload) {
+        // 이 노드의 세션은 Change Stream 왕복 없이 바로 전달
+        super.publish(type, organizationId, payload);
+
+        try {
+            Map<String, Object> serialized = objectMapper.convertValue(payload, new TypeReference<>() {});
+            Document document = new Document("type", type.name())
+                    .append("organizationId", organizationId)
+                    .append("originNodeId", getNodeId())
+                    .append("payload", new Document(serialized))
+                    .append("createdAt", new Date());
+            collection().insertOne(document);
+        } catch (Exception e) {
+            realtimeMetrics.recordDropped("cluster", "publish_failed");
+            log.error("클러스터 이벤트 발행 실패: 타입={}, 조직={}, 오류={}", type, organizationId, e.getMessage());
+        }
+    }
+
+    private void watchLoop() {
+        long backoff = RETRY_BACKOFF_MS;
+        while (running) {
+            try {
+                var stream = collection()
+                        .watch(List.of(Aggregates.match(Filters.and(
+                                Filters.eq("operationType", "insert"),
+                                Filters.ne("fullDocument.originNodeId", getNodeId())))));
+                if (resumeToken != null) {
+                    stream = stream.resumeAfter(resumeToken);
+                }
+                cursor = stream.cursor();
+                log.info("클러스터 Change Stream 구독 시작 (resume={})", resumeToken != null);
+                backoff = RETRY_BACKOFF_MS;
+
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.next();
+                    resumeToken = change.getResumeToken();
+                    if (change.getFullDocument() != null) {
+                        receive(change.getFullDocument());
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                realtimeMetrics.recordDropped("cluster", "stream_error");
+                log.warn("클러스터 Change Stream 오류 - {}ms 후 재연결: {}", backoff, e.getMessage());
+                sleepQuietly(backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            } finally {
+                closeCursor();
+            }
+        }
+    }
+
+    private void receive(Document document) {
+        try {
+            ClusterEventType type = ClusterEventType.valueOf(document.getString("type"));
+            Object payload = objectMapper.convertValue(document.get("payload", Document.class), type.getPayloadType());
+            deliver(new ClusterEvent(type, document.getString("organizationId"),
+                    document.getString("originNodeId"), payload));
+        } catch (Exception e) {
+            realtimeMetrics.recordDropped("cluster", "decode_failed");
+            log.warn("클러스터 이벤트 해석 실패: {}", e.getMessage());
+        }
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+
+    private void closeCursor() {
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+        cursor = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (Exception ignored) {
+                // 종료 중 발생하는 오류는 무시
+            }
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        closeCursor();
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+        log.info("클러스터 이벤트 버스 종료: 노드 {}", getNodeId());
+    }
+}
@@ -0,0 +1,69 @@
+package capston2024.bustracker.service.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MongoDB 리스 기반 작업별 리더 선출
+ * - 작업마다 cluster_leases 의 job:{작업명} 리스를 먼저 획득한 노드가 리더
+ * - 리더는 남은 기간이 절반 이하가 되면 갱신하고, 리더가 죽으면 리스 만료 후 다른 노드가 이어받음
+ */
+@Slf4j
+public class MongoLeaseLeaderElection implements LeaderElection, AutoCloseable {
+
+    private static final String LEASE_PREFIX = "job:";
+
+    private final String nodeId;
+    private final MongoLeaseStore leaseStore;
+    private final long leaseTtlMs;
+
+    // 리더인 작업: 작업명 -> 로컬 기준 만료 시각
+    private final Map<String, Long> leaderUntil = new ConcurrentHashMap<>();
+
+    public MongoLeaseLeaderElection(String nodeId, MongoTemplate mongoTemplate, long leaseTtlMs) {
+        this.nodeId = nodeId;
+        this.leaseStore = new MongoLeaseStore(mongoTemplate);
+        this.leaseTtlMs = leaseTtlMs;
+    }
+
+    @Override
+    public boolean isLeader(String jobName) {
+        long now = System.currentTimeMillis();
+        Long until = leaderUntil.get(jobName);
+        if (until != null && until - now > leaseTtlMs / 2) {
+            return true;
+        }
+
+        try {
+            if (leaseStore.tryAcquire(LEASE_PREFIX + jobName, nodeId, leaseTtlMs)) {
+                if (leaderUntil.put(jobName, now + leaseTtlMs) == null) {
+                    log.info("👑 작업 리더 획득: 작업 {}, 노드 {}", jobName, nodeId);
+                }
+                return true;
+            }
+            if (leaderUntil.remove(jobName) != null) {
+                log.warn("작업 리더 상실: 작업 {}, 노드 {}", jobName, nodeId);
+            }
+            return false;
+        } catch (Exception e) {
+            // 갱신 실패 시 기존 리스가 아직 유효하면 리더 유지
+            log.warn("작업 리더 리스 갱신 실패: 작업 {}, 오류 {}", jobName, e.getMessage());
+            return until != null && until > now;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (String jobName : Map.copyOf(leaderUntil).keySet()) {
+            try {
+                leaseStore.release(LEASE_PREFIX + jobName, nodeId);
+            } catch (Exception e) {
+                log.warn("작업 리더 리스 반납 실패: 작업 {}, 오류 {}", jobName, e.getMessage());
+            }
+        }
+        leaderUntil.clear();
+    }
+}
@@ -0,0 +1,186 @@
+package capston2024.bustracker.service.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 일관성 해시 + MongoDB 리스 기반 조직 소유권
+ * - 각 노드는 cluster_nodes 에 하트비트를 남기고, 살아있는 노드로 해시 링을 구성
+ * - 링에서 조직을 담당하는 노드만 cluster_leases 의 리스(org:{조직 ID})를 획득/갱신
+ * - 링이 바뀌어 담당이 아니게 된 조직의 리스는 즉시 반납하여 새 담당 노드가 이어받음
+ * - 리스가 만료되기 전에는 다른 노드가 획득할 수 없으므로 한 조직을 두 노드가 동시에 flush 하지 않음
+ *
+ * 리스 만료 판단은 각 노드의 시계를 사용하므로 노드 간 시계 차이는 리스 TTL 보다 충분히 작아야 함
+ */
+@Slf4j
+public class MongoLeaseOrganizationOwnership implements OrganizationOwnership, AutoCloseable {
+
+    static final String NODES_COLLECTION = "cluster_nodes";
+    private static final String LEASE_PREFIX = "org:";
+    // 담당 노드가 아직 리스를 얻지 못한 조직에 대한 재시도 최소 간격
+    private static final long ACQUIRE_RETRY_INTERVAL_MS = 1000;
+
+    private final String nodeId;
+    private final MongoTemplate mongoTemplate;
+    private final MongoLeaseStore leaseStore;
+    private final long leaseTtlMs;
+    private final LongSupplier clock;
+
+    // 보유 중인 리스: 조직 ID -> 로컬 기준 만료 시각
+    private final Map<String, Long> ownedUntil = new ConcurrentHashMap<>();
+    // 이 노드가 한 번이라도 메시지를 받은 조직 (담당 조직 리스 획득 대상)
+    private final Set<String> knownOrganizations = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastAcquireAttempt = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("cluster-lease").factory());
+
+    private volatile ConsistentHashRing ring;
+
+    public MongoLeaseOrganizationOwnership(String nodeId, MongoTemplate mongoTemplate, long leaseTtlMs) {
+        this(nodeId, mongoTemplate, leaseTtlMs, System::currentTimeMillis);
+    }
+
+    MongoLeaseOrganizationOwnership(String nodeId, MongoTemplate mongoTemplate, long leaseTtlMs, LongSupplier clock) {
+        this.nodeId = nodeId;
+        this.mongoTemplate = mongoTemplate;
+        this.leaseStore = new MongoLeaseStore(mongoTemplate, clock);
+        this.leaseTtlMs = leaseTtlMs;
+        this.clock = clock;
+        this.ring = new ConsistentHashRing(List.of(nodeId));
+    }
+
+    public void start() {
+        mongoTemplate.indexOps(NODES_COLLECTION).ensureIndex(
+                new Index().on("heartbeatAt", Sort.Direction.ASC)
+                        .expire(Duration.ofMillis(leaseTtlMs * 3)));
+
+        refresh();
+        long interval = Math.max(1000, leaseTtlMs / 3);
+        scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("🌐 조직 소유권 관리 시작: 노드 {}, 리스 TTL {}ms, 갱신 간격 {}ms", nodeId, leaseTtlMs, interval);
+    }
+
+    @Override
+    public boolean isOwner(String organizationId) {
+        if (organizationId == null) {
+            return true;
+        }
+        Long until = ownedUntil.get(organizationId);
+        if (until != null && until > clock.getAsLong()) {
+            return true;
+        }
+
+        // 처음 보는 조직이거나 리스를 잃은 조직 - 담당 노드라면 획득 시도 (조직별 재시도 간격 제한)
+        knownOrganizations.add(organizationId);
+        if (!nodeId.equals(ring.nodeFor(organizationId))) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        Long lastAttempt = lastAcquireAttempt.get(organizationId);
+        if (lastAttempt != null && now - lastAttempt < ACQUIRE_RETRY_INTERVAL_MS) {
+            return false;
+        }
+        lastAcquireAttempt.put(organizationId, now);
+        return acquire(organizationId);
+    }
+
+    @Override
+    public Set<String> getOwnedOrganizations() {
+        long now = clock.getAsLong();
+        Set<String> owned = new TreeSet<>();
+        ownedUntil.forEach((organizationId, until) -> {
+            if (until > now) {
+                owned.add(organizationId);
+            }
+        });
+        return owned;
+    }
+
+    /**
+     * 하트비트 기록 → 해시 링 재구성 → 리스 갱신/반납/획득
+     */
+    void refresh() {
+        try {
+            Date now = new Date(clock.getAsLong());
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(nodeId)),
+                    new Update().set("heartbeatAt", now), NODES_COLLECTION);
+
+            List<String> liveNodes = mongoTemplate.find(
+                            Query.query(Criteria.where("heartbeatAt").gt(new Date(now.getTime() - leaseTtlMs))),
+                            Document.class, NODES_COLLECTION)
+                    .stream()
+                    .map(document -> document.getString("_id"))
+                    .toList();
+            ring = new ConsistentHashRing(liveNodes.isEmpty() ? List.of(nodeId) : liveNodes);
+
+            for (String organizationId : knownOrganizations) {
+                if (nodeId.equals(ring.nodeFor(organizationId))) {
+                    acquire(organizationId);
+                } else if (ownedUntil.containsKey(organizationId)) {
+                    release(organizationId);
+                }
+            }
+        } catch (Exception e) {
+            // 갱신에 실패해도 보유 리스는 로컬 만료 시각이 지나면 자동으로 소유 해제됨
+            log.warn("조직 소유권 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    private boolean acquire(String organizationId) {
+        long now = clock.getAsLong();
+        try {
+            if (leaseStore.tryAcquire(LEASE_PREFIX + organizationId, nodeId, leaseTtlMs)) {
+                boolean newlyOwned = ownedUntil.put(organizationId, now + leaseTtlMs) == null;
+                if (newlyOwned) {
+                    log.info("🔑 조직 리스 획득: 조직 {}, 노드 {}", organizationId, nodeId);
+                }
+                return true;
+            }
+            // 다른 노드가 아직 유효한 리스를 보유 중
+            if (ownedUntil.remove(organizationId) != null) {
+                log.warn("조직 리스 상실: 조직 {}, 노드 {}", organizationId, nodeId);
+            }
+            return false;
+        } catch (Exception e) {
+            log.warn("조직 리스 획득 실패: 조직 {}, 오류 {}", organizationId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(String organizationId) {
+        ownedUntil.remove(organizationId);
+        leaseStore.release(LEASE_PREFIX + organizationId, nodeId);
+        log.info("🔓 조직 리스 반납 (담당 노드 변경): 조직 {}, 노드 {}", organizationId, nodeId);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            for (String organizationId : Set.copyOf(ownedUntil.keySet())) {
+                release(organizationId);
+            }
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(nodeId)), NODES_COLLECTION);
+        } catch (Exception e) {
+            log.warn("조직 소유권 정리 실패: {}", e.getMessage());
+        }
+    }
+}
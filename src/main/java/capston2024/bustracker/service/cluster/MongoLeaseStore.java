@@ -0,0 +1,60 @@
+package capston2024.bustracker.service.cluster;
+
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+import java.util.function.LongSupplier;
+
+/**
+ * cluster_leases 컬렉션 기반 리스 (키 하나당 소유자 하나)
+ * - 만료되었거나 이미 자신이 보유한 리스만 획득/갱신 가능
+ * - 다른 소유자가 유효한 리스를 보유 중이면 upsert 가 _id 중복으로 실패하여 false
+ */
+final class MongoLeaseStore {
+
+    static final String COLLECTION = "cluster_leases";
+
+    private final MongoTemplate mongoTemplate;
+    private final LongSupplier clock;
+
+    MongoLeaseStore(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, System::currentTimeMillis);
+    }
+
+    MongoLeaseStore(MongoTemplate mongoTemplate, LongSupplier clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * 리스 획득 또는 갱신
+     *
+     * @return 획득 성공 여부 (Mongo 오류는 예외로 전달)
+     */
+    boolean tryAcquire(String key, String ownerId, long ttlMs) {
+        long now = clock.getAsLong();
+        Query query = Query.query(Criteria.where("_id").is(key)
+                .orOperator(Criteria.where("expiresAt").lt(new Date(now)),
+                        Criteria.where("ownerNodeId").is(ownerId)));
+        Update update = new Update()
+                .set("ownerNodeId", ownerId)
+                .set("expiresAt", new Date(now + ttlMs));
+        try {
+            mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    void release(String key, String ownerId) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(key).and("ownerNodeId").is(ownerId)), COLLECTION);
+    }
+}
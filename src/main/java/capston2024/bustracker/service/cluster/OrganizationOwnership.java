@@ -0,0 +1,21 @@
+package capston2024.bustracker.service.cluster;
+
+import java.util.Set;
+
+/**
+ * 조직별 실시간 상태(위치 반영 대기열, 승객 감지 상태)의 소유 노드 판단
+ * - 한 조직은 한 시점에 최대 한 노드만 소유하며, 소유 노드만 flush/감지를 수행
+ * - 소유하지 않은 노드는 메시지를 클러스터 이벤트 버스로 소유 노드에 전달
+ */
+public interface OrganizationOwnership {
+
+    /**
+     * 이 노드가 해당 조직을 소유하는지 여부 (조직 ID 가 없으면 항상 true)
+     */
+    boolean isOwner(String organizationId);
+
+    /**
+     * 이 노드가 현재 소유한 조직 목록
+     */
+    Set<String> getOwnedOrganizations();
+}
@@ -0,0 +1,89 @@
+package capston2024.bustracker.service.reward;
+
+import capston2024.bustracker.domain.EventParticipation;
+import capston2024.bustracker.domain.EventReward;
+import capston2024.bustracker.repository.EventRewardRepository;
+import com.mongodb.DBRef;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * event_rewards / event_participations 컬렉션 기반 저장소
+ * - 재고 차감: remainingQuantity > 0 조건의 findAndModify($inc -1) → 동시에 뽑아도 초과 지급 없음
+ * - 참여 기록: drawClaim 토큰 조건부 업데이트로 선점/완료/해제
+ */
+@Component
+@RequiredArgsConstructor
+public class MongoRewardStore implements RewardStore {
+
+    private static final String REWARD_COLLECTION = "event_rewards";
+
+    private final MongoTemplate mongoTemplate;
+    private final EventRewardRepository eventRewardRepository;
+
+    @Override
+    public List<EventReward> findAvailableRewards(String eventId) {
+        return eventRewardRepository.findAvailableRewardsByEventId(eventId);
+    }
+
+    @Override
+    public EventReward reserve(String rewardId) {
+        Query query = Query.query(Criteria.where("_id").is(rewardId).and("remainingQuantity").gt(0));
+        Update update = new Update()
+                .inc("remainingQuantity", -1)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                EventReward.class);
+    }
+
+    @Override
+    public void restock(String rewardId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(rewardId)),
+                new Update().inc("remainingQuantity", 1).set("updatedAt", LocalDateTime.now()),
+                EventReward.class);
+    }
+
+    @Override
+    public boolean claimParticipation(String participationId, String claimToken, LocalDateTime staleBefore) {
+        Query query = Query.query(Criteria.where("_id").is(participationId)
+                .and("isEligibleForDraw").is(true)
+                .and("hasDrawn").is(false)
+                .orOperator(Criteria.where("drawClaim").is(null), Criteria.where("drawClaimedAt").lt(staleBefore)));
+        Update update = new Update()
+                .set("drawClaim", claimToken)
+                .set("drawClaimedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(query, update, EventParticipation.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean completeParticipation(String participationId, String claimToken, String rewardId) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("hasDrawn", true)
+                .set("drawnRewardId", new DBRef(REWARD_COLLECTION, rewardId))
+                .set("drawTimestamp", now)
+                .set("updatedAt", now)
+                .unset("drawClaim")
+                .unset("drawClaimedAt");
+        return mongoTemplate.updateFirst(claimedBy(participationId, claimToken), update, EventParticipation.class)
+                .getModifiedCount() > 0;
+    }
+
+    @Override
+    public void releaseParticipation(String participationId, String claimToken) {
+        mongoTemplate.updateFirst(claimedBy(participationId, claimToken),
+                new Update().unset("drawClaim").unset("drawClaimedAt"), EventParticipation.class);
+    }
+
+    private static Query claimedBy(String participationId, String claimToken) {
+        return Query.query(Criteria.where("_id").is(participationId).and("drawClaim").is(claimToken));
+    }
+}
@@ -0,0 +1,70 @@
+package capston2024.bustracker.service.reward;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 가중치 기반 O(1) 추첨용 별칭 테이블 (Vose alias method)
+ * 만들 때 O(n), 추첨할 때 난수 2개로 O(1)
+ * 가중치 합이 0 이하이면 모두 같은 확률
+ */
+final class RewardAliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    RewardAliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("가중치가 비어 있습니다.");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            total += Math.max(0, weight);
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = total > 0 ? Math.max(0, weights[i]) * n / total : 1.0;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // 부동소수점 오차로 남은 항목은 확률 1
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    int size() {
+        return probability.length;
+    }
+}
@@ -0,0 +1,152 @@
+package capston2024.bustracker.service.reward;
+
+import capston2024.bustracker.domain.EventReward;
+import capston2024.bustracker.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 이벤트 상품 뽑기 엔진
+ * 1. 참여 기록 선점 (같은 사용자의 동시 뽑기는 하나만 진행)
+ * 2. 재고가 남은 상품 중 확률(probability) 가중치로 별칭 테이블 추첨 → 조건부 재고 차감
+ *    (다른 요청이 마지막 재고를 가져갔으면 그 상품을 후보에서 빼고 다시 추첨)
+ * 3. 당첨 상품과 함께 참여 기록 완료
+ * 중간에 실패하면 차감한 재고를 되돌리고 선점을 해제 - 서버가 중단되어도 재고는 덜 나갈 뿐 초과 지급되지 않음
+ *
+ * 추첨 후보(재고가 남은 상품 + 별칭 테이블)는 이벤트별로 REWARD_CANDIDATE_CACHE_TTL_MS 동안 재사용해
+ * 뽑기마다 상품 목록을 조회하지 않음 (품절 상품은 차감 실패 시 바로 제외)
+ */
+@Component
+@Slf4j
+public class RewardDrawEngine {
+
+    // 이 시간보다 오래된 선점은 중단된 요청으로 보고 다시 선점 가능
+    private static final long CLAIM_TIMEOUT_SECONDS = 30;
+
+    private final RewardStore rewardStore;
+    private final long candidateCacheTtlMs;
+
+    // 이벤트 ID -> 추첨 후보
+    private final Map<String, Candidates> candidatesByEvent = new ConcurrentHashMap<>();
+
+    public RewardDrawEngine(RewardStore rewardStore,
+                            @Value("${REWARD_CANDIDATE_CACHE_TTL_MS:2000}") long candidateCacheTtlMs) {
+        this.rewardStore = rewardStore;
+        this.candidateCacheTtlMs = candidateCacheTtlMs;
+    }
+
+    /**
+     * 참여 기록으로 상품 1개 뽑기
+     *
+     * @return 당첨 상품 (재고 차감 후)
+     * @throws BusinessException 이미 뽑았거나 뽑는 중, 또는 남은 상품이 없는 경우
+     */
+    public EventReward draw(String eventId, String participationId) {
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(CLAIM_TIMEOUT_SECONDS);
+        if (!rewardStore.claimParticipation(participationId, claimToken, staleBefore)) {
+            throw new BusinessException("이미 뽑기를 완료하였거나 뽑기가 진행 중입니다.");
+        }
+
+        EventReward reward = null;
+        boolean completed = false;
+        try {
+            reward = reserve(eventId);
+            if (reward == null) {
+                throw new BusinessException("남은 상품이 없습니다.");
+            }
+            if (!rewardStore.completeParticipation(participationId, claimToken, reward.getId())) {
+                throw new BusinessException("뽑기 처리 중 참여 기록이 변경되었습니다. 다시 시도해주세요.");
+            }
+            completed = true;
+            return reward;
+        } finally {
+            if (!completed) {
+                if (reward != null) {
+                    rewardStore.restock(reward.getId());
+                }
+                rewardStore.releaseParticipation(participationId, claimToken);
+            }
+        }
+    }
+
+    /**
+     * 재고가 남은 상품을 추첨해 1개 차감 (모두 품절이면 null)
+     * 실패할 때마다 후보가 줄어들므로 최대 (상품 수 x 2)번 시도
+     */
+    private EventReward reserve(String eventId) {
+        Candidates candidates = cachedCandidates(eventId);
+        boolean reloaded = false;
+        while (true) {
+            if (candidates.isEmpty()) {
+                // 캐시가 오래되었을 수 있으므로 한 번은 다시 조회
+                if (reloaded) {
+                    return null;
+                }
+                candidates = loadCandidates(eventId);
+                reloaded = true;
+                continue;
+            }
+
+            EventReward picked = candidates.sample();
+            EventReward reserved = rewardStore.reserve(picked.getId());
+            if (reserved != null) {
+                return reserved;
+            }
+            log.debug("상품 품절로 후보에서 제외: eventId={}, rewardId={}", eventId, picked.getId());
+            candidates = candidates.without(picked.getId());
+            candidatesByEvent.computeIfPresent(eventId, (id, current) -> current.without(picked.getId()));
+        }
+    }
+
+    private Candidates cachedCandidates(String eventId) {
+        Candidates cached = candidatesByEvent.get(eventId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < candidateCacheTtlMs) {
+            return cached;
+        }
+        return loadCandidates(eventId);
+    }
+
+    private Candidates loadCandidates(String eventId) {
+        Candidates loaded = Candidates.of(rewardStore.findAvailableRewards(eventId), System.currentTimeMillis());
+        candidatesByEvent.put(eventId, loaded);
+        return loaded;
+    }
+
+    /**
+     * 재고가 남은 상품과 별칭 테이블 (변경 없이 교체만 함)
+     */
+    private record Candidates(List<EventReward> rewards, RewardAliasTable table, long loadedAt) {
+
+        static Candidates of(List<EventReward> rewards, long loadedAt) {
+            List<EventReward> available = rewards.stream()
+                    .filter(reward -> reward.getRemainingQuantity() > 0)
+                    .toList();
+            if (available.isEmpty()) {
+                return new Candidates(available, null, loadedAt);
+            }
+            double[] weights = available.stream().mapToDouble(EventReward::getProbability).toArray();
+            return new Candidates(available, new RewardAliasTable(weights), loadedAt);
+        }
+
+        boolean isEmpty() {
+            return rewards.isEmpty();
+        }
+
+        EventReward sample() {
+            return rewards.get(table.sample(ThreadLocalRandom.current()));
+        }
+
+        Candidates without(String rewardId) {
+            return of(rewards.stream().filter(reward -> !reward.getId().equals(rewardId)).toList(), loadedAt);
+        }
+    }
+}
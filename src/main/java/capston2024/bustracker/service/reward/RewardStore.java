@@ -0,0 +1,50 @@
+package capston2024.bustracker.service.reward;
+
+import capston2024.bustracker.domain.EventReward;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 이벤트 상품 재고와 뽑기 참여 기록 저장소
+ * 모든 변경은 조건부 단일 문서 업데이트 (조회 후 저장 사이 경합 없음)
+ */
+public interface RewardStore {
+
+    /**
+     * 재고가 남은 이벤트 상품 목록
+     */
+    List<EventReward> findAvailableRewards(String eventId);
+
+    /**
+     * 재고가 남아 있을 때만 1개 차감
+     *
+     * @return 차감 후 상품 (재고가 없으면 null)
+     */
+    EventReward reserve(String rewardId);
+
+    /**
+     * reserve 로 차감한 재고 1개 되돌리기
+     */
+    void restock(String rewardId);
+
+    /**
+     * 뽑기 자격이 있고 아직 뽑지 않은 참여 기록을 claimToken 으로 선점
+     * 다른 요청이 선점 중이면 실패 (staleBefore 이전에 선점된 것은 중단된 요청으로 보고 다시 선점 가능)
+     *
+     * @return 선점 성공 여부
+     */
+    boolean claimParticipation(String participationId, String claimToken, LocalDateTime staleBefore);
+
+    /**
+     * 선점한 참여 기록을 당첨 상품과 함께 뽑기 완료로 변경
+     *
+     * @return 아직 claimToken 으로 선점 중이어서 완료했는지 여부
+     */
+    boolean completeParticipation(String participationId, String claimToken, String rewardId);
+
+    /**
+     * 뽑기에 실패한 경우 선점 해제
+     */
+    void releaseParticipation(String participationId, String claimToken);
+}
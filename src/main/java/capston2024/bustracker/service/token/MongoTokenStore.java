@@ -0,0 +1,220 @@
+package capston2024.bustracker.service.token;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.domain.auth.TokenInfo;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * tokens 컬렉션 기반 토큰 저장소
+ * - 액세스 토큰은 SHA-256 해시(accessTokenHash)의 유니크 인덱스로 조회 (토큰 원문 비교 스캔 없음)
+ * - 저장/액세스 토큰 교체는 findAndModify 한 번으로 처리 (조회 후 삭제/저장 사이 경합 없음)
+ * - 액세스 토큰 조회 결과를 노드 로컬 캐시에 TOKEN_NEAR_CACHE_TTL_MS 동안 보관
+ *   (토큰 만료 시각을 넘기지 않음, 이 노드의 쓰기는 즉시 반영, 다른 노드의 교체는 TTL 이후 반영)
+ * - 액세스 토큰이 없는(null) 문서는 accessTokenHash 필드를 두지 않음 (sparse 유니크 인덱스에서 null 끼리 충돌하지 않음)
+ */
+@Component
+@Slf4j
+public class MongoTokenStore implements TokenStore {
+
+    private static final String COLLECTION = "tokens";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    });
+
+    private final MongoTemplate mongoTemplate;
+    private final long nearCacheTtlMs;
+    private final int nearCacheMaxEntries;
+
+    // 액세스 토큰 해시 -> 토큰 정보
+    private final Map<String, Cached> nearCache = new ConcurrentHashMap<>();
+
+    public MongoTokenStore(MongoTemplate mongoTemplate,
+                           RealtimeMetrics realtimeMetrics,
+                           @Value("${TOKEN_NEAR_CACHE_TTL_MS:60000}") long nearCacheTtlMs,
+                           @Value("${TOKEN_NEAR_CACHE_MAX_ENTRIES:20000}") int nearCacheMaxEntries) {
+        this.mongoTemplate = mongoTemplate;
+        this.nearCacheTtlMs = nearCacheTtlMs;
+        this.nearCacheMaxEntries = nearCacheMaxEntries;
+        realtimeMetrics.gauge("bustracker.auth.token.near_cache.size", "노드 로컬에 캐시 중인 토큰 정보 수",
+                nearCache, Map::size);
+    }
+
+    /**
+     * 인덱스 생성 + 해시가 없는 기존 토큰 문서에 accessTokenHash 채우기
+     */
+    @PostConstruct
+    void initialize() {
+        try {
+            mongoTemplate.indexOps(COLLECTION).ensureIndex(
+                    new Index().on("accessTokenHash", Sort.Direction.ASC).unique().sparse());
+            try {
+                mongoTemplate.indexOps(COLLECTION).ensureIndex(
+                        new Index().on("username", Sort.Direction.ASC).unique());
+            } catch (Exception e) {
+                // 기존 데이터에 사용자 중복 문서가 있으면 유니크 인덱스를 만들 수 없음
+                log.warn("⚠️ [토큰] username 유니크 인덱스 생성 실패, 일반 인덱스 사용: {}", e.getMessage());
+                mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index().on("username", Sort.Direction.ASC));
+            }
+
+            Query legacy = Query.query(Criteria.where("accessTokenHash").exists(false)
+                    .and("accessToken").ne(null));
+            legacy.fields().include("accessToken");
+            int backfilled = 0;
+            for (TokenInfo tokenInfo : mongoTemplate.find(legacy, TokenInfo.class, COLLECTION)) {
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(tokenInfo.getId())),
+                        Update.update("accessTokenHash", hash(tokenInfo.getAccessToken())), COLLECTION);
+                backfilled++;
+            }
+            if (backfilled > 0) {
+                log.info("🔑 [토큰] 기존 토큰 {}건에 액세스 토큰 해시 추가", backfilled);
+            }
+        } catch (Exception e) {
+            log.error("❌ [토큰] 토큰 인덱스 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public TokenInfo findByAccessToken(String accessToken) {
+        if (accessToken == null) {
+            return null;
+        }
+        String accessTokenHash = hash(accessToken);
+        long now = System.currentTimeMillis();
+        Cached cached = nearCache.get(accessTokenHash);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.tokenInfo;
+            }
+            nearCache.remove(accessTokenHash, cached);
+        }
+
+        TokenInfo tokenInfo = mongoTemplate.findOne(
+                Query.query(Criteria.where("accessTokenHash").is(accessTokenHash)), TokenInfo.class, COLLECTION);
+        if (tokenInfo != null) {
+            cache(accessTokenHash, tokenInfo, now);
+        }
+        return tokenInfo;
+    }
+
+    @Override
+    public TokenInfo findByUsername(String username) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("username").is(username)), TokenInfo.class, COLLECTION);
+    }
+
+    @Override
+    public void upsert(String username, String refreshToken, String accessToken, Date expiration) {
+        Update update = accessTokenUpdate(accessToken, expiration)
+                .set("refreshToken", refreshToken);
+        TokenInfo previous;
+        try {
+            previous = upsert(username, update);
+        } catch (DuplicateKeyException e) {
+            // 같은 사용자의 최초 저장이 동시에 일어나면 한쪽 upsert 가 실패 → 이미 생긴 문서를 갱신
+            previous = upsert(username, update);
+        }
+        evictUser(username, previous);
+    }
+
+    private TokenInfo upsert(String username, Update update) {
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("username").is(username)), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(false), TokenInfo.class, COLLECTION);
+    }
+
+    @Override
+    public TokenInfo rotateAccessToken(String username, String previousAccessToken, String newAccessToken,
+                                       Date expiration) {
+        // 이전 액세스 토큰이 없으면 해시 필드가 없는(액세스 토큰이 저장되지 않은) 문서만 교체
+        String previousHash = previousAccessToken != null ? hash(previousAccessToken) : null;
+        TokenInfo rotated = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("username").is(username).and("accessTokenHash").is(previousHash)),
+                accessTokenUpdate(newAccessToken, expiration),
+                FindAndModifyOptions.options().returnNew(true), TokenInfo.class, COLLECTION);
+        if (previousHash != null) {
+            nearCache.remove(previousHash);
+        }
+        if (rotated != null) {
+            return rotated;
+        }
+        // 다른 요청이 먼저 교체함 → 그 결과를 그대로 사용
+        return findByUsername(username);
+    }
+
+    @Override
+    public boolean deleteByUsername(String username) {
+        TokenInfo removed = mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("username").is(username)), TokenInfo.class, COLLECTION);
+        evictUser(username, removed);
+        return removed != null;
+    }
+
+    private static Update accessTokenUpdate(String accessToken, Date expiration) {
+        Update update = new Update()
+                .set("accessToken", accessToken)
+                .set("expirationDate", expiration);
+        return accessToken != null
+                ? update.set("accessTokenHash", hash(accessToken))
+                : update.unset("accessTokenHash");
+    }
+
+    private void cache(String accessTokenHash, TokenInfo tokenInfo, long now) {
+        if (nearCacheMaxEntries <= 0) {
+            return;
+        }
+        long expiresAt = now + nearCacheTtlMs;
+        if (tokenInfo.getExpirationDate() != null) {
+            expiresAt = Math.min(expiresAt, tokenInfo.getExpirationDate().getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (nearCache.size() >= nearCacheMaxEntries) {
+            nearCache.values().removeIf(entry -> entry.expiresAt <= now);
+            if (nearCache.size() >= nearCacheMaxEntries) {
+                nearCache.clear();
+            }
+        }
+        nearCache.put(accessTokenHash, new Cached(tokenInfo, expiresAt));
+    }
+
+    private void evictUser(String username, TokenInfo previous) {
+        if (previous == null) {
+            return;
+        }
+        if (previous.getAccessTokenHash() != null) {
+            nearCache.remove(previous.getAccessTokenHash());
+        } else {
+            nearCache.values().removeIf(entry -> username.equals(entry.tokenInfo.getUsername()));
+        }
+    }
+
+    static String hash(String accessToken) {
+        return HexFormat.of().formatHex(SHA_256.get().digest(accessToken.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private record Cached(TokenInfo tokenInfo, long expiresAt) {
+    }
+}
@@ -0,0 +1,39 @@
+package capston2024.bustracker.service.token;
+
+import capston2024.bustracker.domain.auth.TokenInfo;
+
+import java.util.Date;
+
+/**
+ * 사용자별 리프레시/액세스 토큰 저장소 (사용자당 1건)
+ */
+public interface TokenStore {
+
+    /**
+     * 액세스 토큰으로 조회 (없으면 null)
+     */
+    TokenInfo findByAccessToken(String accessToken);
+
+    /**
+     * 사용자 이름으로 조회 (없으면 null)
+     */
+    TokenInfo findByUsername(String username);
+
+    /**
+     * 사용자 토큰을 통째로 교체 (없으면 생성)
+     */
+    void upsert(String username, String refreshToken, String accessToken, Date expiration);
+
+    /**
+     * 액세스 토큰 교체
+     * 저장된 액세스 토큰이 아직 previousAccessToken 일 때만 교체하므로, 같은 토큰으로 동시에 재발급해도 한 번만 반영됨
+     *
+     * @return 교체 후 저장된 토큰 정보 (다른 요청이 먼저 교체했으면 그 결과, 사용자 토큰이 없으면 null)
+     */
+    TokenInfo rotateAccessToken(String username, String previousAccessToken, String newAccessToken, Date expiration);
+
+    /**
+     * @return 삭제된 토큰이 있었는지 여부
+     */
+    boolean deleteByUsername(String username);
+}
@@ -0,0 +1,111 @@
+package capston2024.bustracker.service.topology;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 토폴로지 조회 응답 캐시 (직렬화된 JSON 바이트)
+ * - ETag = 리소스 키 + 관련 범위 버전의 해시 (strong) → 조회 전에 계산 가능
+ * - If-None-Match 가 일치하면 저장소를 조회하지 않고 304
+ * - 일치하지 않으면 같은 버전으로 만든 바이트를 재사용하고, 없을 때만 조회 후 직렬화
+ * - Cache-Control: private, no-cache (사용자/조직별 응답이므로 매번 재검증)
+ *
+ * 버전은 조회 전에 읽으므로 조회 도중 변경되어도 새 데이터가 이전 ETag 로 나갈 뿐 이전 데이터가 새 ETag 로 나가지 않음
+ */
+@Component
+@Slf4j
+public class TopologyResponseCache {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final TopologyVersions topologyVersions;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+
+    // 리소스 키 -> 마지막으로 만든 응답
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    public TopologyResponseCache(TopologyVersions topologyVersions,
+                                 ObjectMapper objectMapper,
+                                 @Value("${TOPOLOGY_RESPONSE_CACHE_MAX_ENTRIES:5000}") int maxEntries) {
+        this.topologyVersions = topologyVersions;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param resourceKey 응답을 구분하는 키 (조직/사용자/검색 조건 포함)
+     * @param scopes      응답 내용이 의존하는 토폴로지 범위
+     * @param body        캐시에 없을 때만 호출 (ApiResponse 등 응답 본문)
+     */
+    public ResponseEntity<byte[]> respond(WebRequest webRequest, String resourceKey, List<String> scopes,
+                                          Supplier<?> body) {
+        String etag = etag(resourceKey, scopes);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CACHE_CONTROL)
+                    .build();
+        }
+
+        CachedResponse cached = responses.get(resourceKey);
+        if (cached == null || !cached.etag().equals(etag)) {
+            cached = new CachedResponse(etag, serialize(body.get()));
+            store(resourceKey, cached);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cached.body());
+    }
+
+    private String etag(String resourceKey, List<String> scopes) {
+        StringBuilder source = new StringBuilder(resourceKey);
+        for (String scope : scopes) {
+            source.append('|').append(scope).append('@').append(topologyVersions.tag(scope));
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("응답 직렬화에 실패했습니다.", e);
+        }
+    }
+
+    private void store(String resourceKey, CachedResponse response) {
+        if (responses.size() >= maxEntries && !responses.containsKey(resourceKey)) {
+            log.debug("토폴로지 응답 캐시 최대 크기 도달, 초기화: {}개", responses.size());
+            responses.clear();
+        }
+        responses.put(resourceKey, response);
+    }
+
+    private record CachedResponse(String etag, byte[] body) {
+    }
+}
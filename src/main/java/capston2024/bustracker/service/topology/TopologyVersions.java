@@ -0,0 +1,191 @@
+package capston2024.bustracker.service.topology;
+
+import capston2024.bustracker.service.cluster.ClusterEvent;
+import capston2024.bustracker.service.cluster.ClusterEventBus;
+import capston2024.bustracker.service.cluster.ClusterEventType;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 토폴로지(정류장/노선, 내 정류장, 조직 목록) 변경 버전
+ * - 범위(scope)별 버전을 topology_versions 컬렉션에 보관하고, 변경할 때마다 $inc 로 올림
+ * - 노드는 읽은 버전을 로컬에 두고 TOPOLOGY_CHANGED 클러스터 이벤트로 바로 갱신
+ *   (이벤트를 놓쳐도 TOPOLOGY_VERSION_REFRESH_MS 가 지나면 다시 조회)
+ * 응답 ETag 는 이 버전으로 만들기 때문에 변경이 없으면 저장소를 조회하지 않고 304 응답 가능
+ *
+ * 버전을 올리지 못하면(저장소 장애) 한 번 더 시도하고, 그래도 실패하면 미반영 표시를 남겨 이 노드의 ETag 를 바꾸고
+ * 정리 작업에서 성공할 때까지 다시 올림 (성공하면 다른 노드에도 알림)
+ */
+@Component
+@Slf4j
+public class TopologyVersions {
+
+    private static final String COLLECTION = "topology_versions";
+
+    // 조직 목록 (조직 생성 시 변경)
+    public static final String ORGANIZATIONS_SCOPE = "organizations";
+
+    private static final int MAX_BUMP_ATTEMPTS = 2;
+
+    private final MongoTemplate mongoTemplate;
+    private final ClusterEventBus clusterEventBus;
+    private final ClusterJobScheduler clusterJobScheduler;
+    private final long refreshMs;
+
+    // 범위 -> 이 노드가 알고 있는 최신 버전
+    private final Map<String, KnownVersion> versions = new ConcurrentHashMap<>();
+    // 범위 -> 저장소에 올리지 못한 변경
+    private final Map<String, PendingBump> pendingBumps = new ConcurrentHashMap<>();
+
+    public TopologyVersions(MongoTemplate mongoTemplate,
+                            ClusterEventBus clusterEventBus,
+                            ClusterJobScheduler clusterJobScheduler,
+                            @Value("${TOPOLOGY_VERSION_REFRESH_MS:30000}") long refreshMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.clusterEventBus = clusterEventBus;
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.refreshMs = refreshMs;
+    }
+
+    /**
+     * 조직의 정류장/노선
+     */
+    public static String organizationScope(String organizationId) {
+        return "org:" + organizationId;
+    }
+
+    /**
+     * 사용자의 내 정류장 목록
+     */
+    public static String userScope(String email) {
+        return "user:" + email;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        clusterEventBus.subscribe(this::handleClusterEvent);
+    }
+
+    /**
+     * 범위의 현재 버전 (한 번도 변경되지 않았으면 0)
+     */
+    public long current(String scope) {
+        long now = System.currentTimeMillis();
+        KnownVersion known = versions.get(scope);
+        if (known != null && now - known.checkedAt() < refreshMs) {
+            return known.version();
+        }
+
+        Document document = mongoTemplate.findById(scope, Document.class, COLLECTION);
+        long stored = document != null && document.get("version") instanceof Number number ? number.longValue() : 0L;
+        return apply(scope, stored, now);
+    }
+
+    /**
+     * ETag 에 쓰는 범위 태그 - 현재 버전, 올리지 못한 변경이 있으면 그 표시까지 포함
+     */
+    public String tag(String scope) {
+        long version = current(scope);
+        PendingBump pending = pendingBumps.get(scope);
+        return pending == null ? Long.toString(version) : version + "~" + pending.failedAt();
+    }
+
+    /**
+     * 데이터를 변경한 뒤 호출 - 버전을 올리고 다른 노드에 알림
+     */
+    public void bump(String scope, String organizationId) {
+        for (int attempt = 1; attempt <= MAX_BUMP_ATTEMPTS; attempt++) {
+            if (tryBump(scope, organizationId)) {
+                pendingBumps.remove(scope);
+                return;
+            }
+        }
+        // 이전 표시와 다른 값이 되도록 기록 → 이 노드의 ETag 가 바뀌어 이전 응답에 304 를 보내지 않음
+        long now = System.currentTimeMillis();
+        pendingBumps.merge(scope, new PendingBump(organizationId, now),
+                (existing, incoming) -> new PendingBump(organizationId, Math.max(existing.failedAt() + 1, now)));
+        log.error("❌ [토폴로지] 버전 갱신 실패, 미반영으로 표시: 범위={}", scope);
+    }
+
+    private boolean tryBump(String scope, String organizationId) {
+        try {
+            Document updated = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(scope)),
+                    new Update().inc("version", 1),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class, COLLECTION);
+            long version = updated != null && updated.get("version") instanceof Number number
+                    ? number.longValue() : 0L;
+            apply(scope, version, System.currentTimeMillis());
+
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("scope", scope);
+            payload.put("version", version);
+            clusterEventBus.publish(ClusterEventType.TOPOLOGY_CHANGED, organizationId, payload);
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ [토폴로지] 버전 갱신 시도 실패: 범위={}, 오류={}", scope, e.getMessage());
+            return false;
+        }
+    }
+
+    private void handleClusterEvent(ClusterEvent event) {
+        if (event.type() != ClusterEventType.TOPOLOGY_CHANGED || !(event.payload() instanceof Map<?, ?> payload)) {
+            return;
+        }
+        if (payload.get("scope") instanceof String scope && payload.get("version") instanceof Number version) {
+            apply(scope, version.longValue(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 버전은 줄어들지 않음 (늦게 도착한 이벤트나 조회 결과로 되돌리지 않음)
+     */
+    private long apply(String scope, long version, long now) {
+        return versions.merge(scope, new KnownVersion(version, now),
+                (existing, incoming) -> incoming.version() >= existing.version()
+                        ? incoming
+                        : new KnownVersion(existing.version(), now)).version();
+    }
+
+    /**
+     * 오래된 항목 정리 (다음 조회 때 다시 읽으므로 남겨 둘 필요 없음) + 올리지 못한 변경 다시 반영
+     */
+    @Scheduled(fixedDelayString = "${TOPOLOGY_VERSION_REFRESH_MS:30000}")
+    public void scheduleCleanup() {
+        clusterJobScheduler.runLocal("topology-version-cleanup", () -> {
+            long now = System.currentTimeMillis();
+            versions.values().removeIf(known -> now - known.checkedAt() >= refreshMs);
+            retryPendingBumps();
+        });
+    }
+
+    private void retryPendingBumps() {
+        pendingBumps.forEach((scope, pending) -> {
+            if (tryBump(scope, pending.organizationId())) {
+                pendingBumps.remove(scope, pending);
+                log.info("✅ [토폴로지] 미반영 버전 갱신 완료: 범위={}", scope);
+            }
+        });
+    }
+
+    private record KnownVersion(long version, long checkedAt) {
+    }
+
+    private record PendingBump(String organizationId, long failedAt) {
+    }
+}
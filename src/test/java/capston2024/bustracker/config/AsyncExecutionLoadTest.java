@@ -0,0 +1,96 @@
+package capston2024.bustracker.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 비동기 이벤트 실행기 부하 테스트 (PLATFORM vs VIRTUAL)
+ * - 브로드캐스트 리스너처럼 I/O 대기가 있는 작업을 대량 제출하고 처리량과 p99 지연을 비교
+ * - ./gradlew loadTest 로 실행 (일반 test 태스크에서는 제외)
+ */
+@Tag("load")
+class AsyncExecutionLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncExecutionLoadTest.class);
+
+    private static final int TASK_COUNT = 400;          // 플랫폼 풀 큐(500) 안에 들어가는 작업 수
+    private static final long SIMULATED_IO_MS = 20;     // 세션 전송 등 I/O 대기 시간
+
+    @Test
+    void virtualThreadsImproveThroughputAndTailLatency() throws Exception {
+        ThreadPoolTaskExecutor platform = AsyncConfig.platformThreadExecutor(new ThreadPoolExecutor.AbortPolicy());
+        Result platformResult;
+        try {
+            platformResult = run(platform);
+        } finally {
+            platform.shutdown();
+        }
+
+        // 운영과 같은 동시 실행 제한 (Mongo 최대 커넥션 수 - 여유 커넥션)
+        int permits = AsyncConfig.virtualPermits();
+        Result virtualResult;
+        try (AsyncConfig.BoundedVirtualThreadExecutor virtual = AsyncConfig.virtualThreadExecutor(permits)) {
+            virtualResult = run(virtual);
+            assertEquals(permits, virtual.availablePermits());
+        }
+
+        log.info("비동기 실행기 부하 테스트 PLATFORM: 처리량={}/s, p99={}ms, 거절={}",
+                String.format("%.1f", platformResult.throughput), platformResult.p99Millis, platformResult.rejected);
+        log.info("비동기 실행기 부하 테스트 VIRTUAL: 처리량={}/s, p99={}ms, 거절={}",
+                String.format("%.1f", virtualResult.throughput), virtualResult.p99Millis, virtualResult.rejected);
+
+        assertEquals(0, virtualResult.rejected);
+        assertTrue(virtualResult.throughput > platformResult.throughput);
+        assertTrue(virtualResult.p99Millis < platformResult.p99Millis);
+    }
+
+    private Result run(Executor executor) throws InterruptedException {
+        long[] latencies = new long[TASK_COUNT];
+        CountDownLatch done = new CountDownLatch(TASK_COUNT);
+        AtomicInteger rejected = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            final int index = i;
+            final long submittedAt = System.nanoTime();
+            try {
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(SIMULATED_IO_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    latencies[index] = System.nanoTime() - submittedAt;
+                    done.countDown();
+                });
+            } catch (RuntimeException e) {
+                rejected.incrementAndGet();
+                latencies[index] = Long.MAX_VALUE;
+                done.countDown();
+            }
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        long elapsedNanos = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(TASK_COUNT * 0.99) - 1];
+        double throughput = (TASK_COUNT - rejected.get()) / (elapsedNanos / 1_000_000_000.0);
+        return new Result(throughput, TimeUnit.NANOSECONDS.toMillis(p99), rejected.get());
+    }
+
+    private record Result(double throughput, long p99Millis, int rejected) {
+    }
+}
@@ -0,0 +1,136 @@
+package capston2024.bustracker.controller;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.config.dto.InsightQuestionRequestDTO;
+import capston2024.bustracker.config.dto.InsightQuestionResponseDTO;
+import capston2024.bustracker.service.InsightQuestionService;
+import capston2024.bustracker.service.InsightSnapshotService;
+import capston2024.bustracker.service.StationInsightService;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.LocalLeaderElection;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * AI 질의응답 비동기 작업 API 테스트
+ * - 작업 등록(202/429) → 조회(PENDING → COMPLETED, 없는 작업 404)
+ * - SSE 구독 시 작업이 끝나면 result 이벤트 한 번 전송 후 종료 (이미 끝난 작업은 바로 전송)
+ */
+class InsightControllerTest {
+
+    private final StationInsightService stationInsightService = mock(StationInsightService.class);
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private InsightQuestionService insightQuestionService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(stationInsightService.answerQuestion(any())).thenAnswer(invocation -> {
+            gate.await();
+            return InsightQuestionResponseDTO.builder()
+                    .question(((InsightQuestionRequestDTO) invocation.getArgument(0)).getQuestion())
+                    .answer("증설 필요")
+                    .aiGenerated(true)
+                    .build();
+        });
+        RealtimeMetrics metrics = new RealtimeMetrics(new SimpleMeterRegistry());
+        insightQuestionService = new InsightQuestionService(stationInsightService,
+                new ClusterJobScheduler(new LocalLeaderElection(), metrics), metrics, 300_000, 1000, 1, 60_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new InsightController(stationInsightService,
+                insightQuestionService, mock(InsightSnapshotService.class))).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        insightQuestionService.shutdown();
+    }
+
+    @Test
+    void submittedJobIsPolledUntilCompleted() throws Exception {
+        String jobId = submit("노선 증설이 필요한가요?");
+
+        // 진행 중인 작업 수 한도(1)를 넘으면 거절
+        mockMvc.perform(post("/api/insight/ask/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"question\":\"다른 질문\"}"))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get("/api/insight/ask/jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("PENDING"));
+
+        gate.countDown();
+        insightQuestionService.getJob(jobId).orElseThrow().future().get(5, TimeUnit.SECONDS);
+
+        mockMvc.perform(get("/api/insight/ask/jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.result.answer").value("증설 필요"));
+        mockMvc.perform(get("/api/insight/ask/jobs/{jobId}", "unknown-job"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void eventStreamSendsResultWhenJobCompletes() throws Exception {
+        String jobId = submit("노선 증설이 필요한가요?");
+
+        MvcResult stream = mockMvc.perform(get("/api/insight/ask/jobs/{jobId}/events", jobId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        gate.countDown();
+        stream.getAsyncResult(5_000);
+
+        String body = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("event:result"), body);
+        assertTrue(body.contains("\"status\":\"COMPLETED\""), body);
+        assertTrue(body.contains("\"answer\":\"증설 필요\""), body);
+    }
+
+    @Test
+    void eventStreamForFinishedJobSendsResultImmediately() throws Exception {
+        gate.countDown();
+        String jobId = submit("노선 증설이 필요한가요?");
+        insightQuestionService.getJob(jobId).orElseThrow().future().get(5, TimeUnit.SECONDS);
+
+        MvcResult stream = mockMvc.perform(get("/api/insight/ask/jobs/{jobId}/events", jobId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        stream.getAsyncResult(5_000);
+
+        String body = stream.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"status\":\"COMPLETED\""), body);
+        mockMvc.perform(get("/api/insight/ask/jobs/{jobId}/events", "unknown-job"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String submit(String question) throws Exception {
+        MvcResult submitted = mockMvc.perform(post("/api/insight/ask/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"question\":\"" + question + "\"}"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        return JsonPath.read(submitted.getResponse().getContentAsString(StandardCharsets.UTF_8), "$.data.jobId");
+    }
+}
@@ -0,0 +1,115 @@
+package capston2024.bustracker.controller;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.domain.Organization;
+import capston2024.bustracker.service.OrganizationService;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.InProcessClusterEventBus;
+import capston2024.bustracker.service.cluster.LocalLeaderElection;
+import capston2024.bustracker.service.topology.TopologyResponseCache;
+import capston2024.bustracker.service.topology.TopologyVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 조직 정보 조회 ETag 테스트 (토폴로지 버전 저장소는 목)
+ * - 변경이 없으면 If-None-Match 일치 시 304 (조직을 다시 조회하지 않음)
+ * - 버전을 올리면 ETag 가 바뀌어 200, 버전을 올리지 못해도 미반영 표시로 ETag 가 바뀌고 다시 시도해 반영
+ */
+class OrganizationControllerTest {
+
+    private static final String ORGANIZATION_ID = "org-1";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final OrganizationService organizationService = mock(OrganizationService.class);
+    private TopologyVersions topologyVersions;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(organizationService.getOrganization(ORGANIZATION_ID))
+                .thenReturn(Organization.builder().id(ORGANIZATION_ID).name("한국대학교").build());
+        RealtimeMetrics metrics = new RealtimeMetrics(new SimpleMeterRegistry());
+        topologyVersions = new TopologyVersions(mongoTemplate, new InProcessClusterEventBus("node-1"),
+                new ClusterJobScheduler(new LocalLeaderElection(), metrics), 60_000);
+        topologyVersions.subscribe();
+        mockMvc = MockMvcBuilders.standaloneSetup(new OrganizationController(organizationService,
+                new TopologyResponseCache(topologyVersions, new ObjectMapper(), 100))).build();
+    }
+
+    @Test
+    void unchangedOrganizationIsNotModifiedUntilVersionIsBumped() throws Exception {
+        String etag = fetch(null);
+
+        mockMvc.perform(get("/api/organization/{organizationId}", ORGANIZATION_ID).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(organizationService, times(1)).getOrganization(ORGANIZATION_ID);
+
+        bumpReturning(1);
+        String bumped = fetch(etag);
+        assertNotEquals(etag, bumped);
+        mockMvc.perform(get("/api/organization/{organizationId}", ORGANIZATION_ID).header("If-None-Match", bumped))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void failedBumpStillChangesEtagAndIsRetried() throws Exception {
+        String etag = fetch(null);
+
+        when(mongoTemplate.findAndModify(any(), any(), any(), eq(Document.class), eq("topology_versions")))
+                .thenThrow(new DataAccessResourceFailureException("mongo down"));
+        topologyVersions.bump(TopologyVersions.ORGANIZATIONS_SCOPE, ORGANIZATION_ID);
+        String pending = fetch(etag);
+        assertNotEquals(etag, pending);
+
+        // 정리 작업에서 다시 올리면 저장소 버전 기준 ETag 로 바뀜 (예외를 던지는 스텁은 doReturn 으로 교체)
+        doReturn(new Document("version", 1L)).when(mongoTemplate)
+                .findAndModify(any(), any(), any(), eq(Document.class), eq("topology_versions"));
+        topologyVersions.scheduleCleanup();
+        String retried = fetch(pending);
+        assertNotEquals(pending, retried);
+        assertNotEquals(etag, retried);
+    }
+
+    private void bumpReturning(long version) {
+        when(mongoTemplate.findAndModify(any(), any(), any(), eq(Document.class), eq("topology_versions")))
+                .thenReturn(new Document("version", version));
+        topologyVersions.bump(TopologyVersions.ORGANIZATIONS_SCOPE, ORGANIZATION_ID);
+    }
+
+    /**
+     * 200 응답을 받고 새 ETag 반환 (previousEtag 가 있으면 If-None-Match 로 보냄)
+     */
+    private String fetch(String previousEtag) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/organization/{organizationId}", ORGANIZATION_ID);
+        if (previousEtag != null) {
+            request.header("If-None-Match", previousEtag);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("한국대학교"))
+                .andReturn().getResponse().getHeader("ETag");
+    }
+}
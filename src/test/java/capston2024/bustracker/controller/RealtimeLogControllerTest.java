@@ -0,0 +1,82 @@
+package capston2024.bustracker.controller;
+
+import capston2024.bustracker.config.RealtimeLogSampler;
+import capston2024.bustracker.config.status.Role;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 실시간 로그 추적 API 권한 테스트
+ * - @PreAuthorize 를 컨트롤러 프록시에 적용하고, 권한은 Role 키(ROLE_ 접두사 없음) 그대로 부여
+ * - 조직 관리자(STAFF)/관리자(ADMIN)는 200, 일반 사용자는 거부
+ */
+class RealtimeLogControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RealtimeLogController controller = new RealtimeLogController(new RealtimeLogSampler("sampled", 60_000));
+        ProxyFactory proxyFactory = new ProxyFactory(controller);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(AuthorizationManagerBeforeMethodInterceptor.preAuthorize());
+        mockMvc = MockMvcBuilders.standaloneSetup(proxyFactory.getProxy()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void staffCanTraceKeys() throws Exception {
+        authenticate(Role.STAFF);
+
+        mockMvc.perform(post("/api/admin/realtime-log/trace/{key}", "1001"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/admin/realtime-log/trace"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0]").value("1001"));
+    }
+
+    @Test
+    void adminCanListTracedKeys() throws Exception {
+        authenticate(Role.ADMIN);
+
+        mockMvc.perform(get("/api/admin/realtime-log/trace"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userIsDenied() {
+        authenticate(Role.USER);
+
+        ServletException denied = assertThrows(ServletException.class,
+                () -> mockMvc.perform(get("/api/admin/realtime-log/trace")));
+        assertInstanceOf(AccessDeniedException.class, denied.getCause());
+    }
+
+    private static void authenticate(Role role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user-1", null, List.of(new SimpleGrantedAuthority(role.getKey()))));
+    }
+}
@@ -0,0 +1,157 @@
+package capston2024.bustracker.handler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 세션 레지스트리 테스트
+ * - 타이밍 휠 유휴 만료 (활동 시 연장, 만료 확인이 오래 밀려도 한 번에 처리, 유예 만료)
+ * - 같은 사용자의 새 세션 등록 후 이전 세션이 닫혀도 새 매핑 유지
+ * - 연결/바인딩/종료가 동시에 일어나도 인덱스에 닫힌 세션이 남지 않음
+ */
+class SessionRegistryTest {
+
+    private static final long IDLE_TIMEOUT_MS = 120_000;
+    private static final long TICK_MS = 5_000;
+
+    @Test
+    void idleSessionsExpireAndActivityKeepsSessionAlive() {
+        SessionRegistry registry = new SessionRegistry(IDLE_TIMEOUT_MS, TICK_MS);
+        SessionRegistry.Entry idle = registry.register(session("idle"));
+        SessionRegistry.Entry active = registry.register(session("active"));
+        registry.bindOrganization(idle, "org-1");
+        registry.bindBus(idle, "1001");
+        registry.bindOrganization(active, "org-1");
+        long now = idle.connectedAt() + IDLE_TIMEOUT_MS / 2;
+
+        assertTrue(registry.expire(now).isEmpty());
+
+        // 두 세션 모두 다음 tick 에 만료되도록 표시한 뒤 한 세션만 활동
+        registry.expireAfter("idle", 0);
+        registry.expireAfter("active", 0);
+        registry.touch("active");
+
+        assertEquals(List.of(idle), registry.expire(now + TICK_MS));
+        assertNull(registry.get("idle"));
+        assertNull(registry.findByBus("1001"));
+        assertEquals(1, registry.countByOrganization("org-1"));
+        assertSame(active, registry.get("active"));
+
+        assertEquals(List.of(active), registry.expire(active.lastActivity() + IDLE_TIMEOUT_MS + TICK_MS));
+        assertEquals(0, registry.countByOrganization("org-1"));
+    }
+
+    @Test
+    void expirySurvivesLongGapsAndExpireAfter() {
+        SessionRegistry registry = new SessionRegistry(IDLE_TIMEOUT_MS, TICK_MS);
+        for (int i = 0; i < 1_000; i++) {
+            registry.register(session("session-" + i));
+        }
+        long now = registry.get("session-0").connectedAt();
+        assertTrue(registry.expire(now).isEmpty());
+
+        registry.expireAfter("session-0", 0);
+        assertEquals(1, registry.expire(now + TICK_MS).size());
+
+        // 휠 여러 바퀴만큼 확인이 밀려도 남은 세션을 모두 만료
+        assertEquals(999, registry.expire(now + IDLE_TIMEOUT_MS * 10).size());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void expireAfterWaitsForGraceAndActivityCancelsIt() {
+        SessionRegistry registry = new SessionRegistry(IDLE_TIMEOUT_MS, TICK_MS);
+        SessionRegistry.Entry quiet = registry.register(session("quiet"));
+        SessionRegistry.Entry reporting = registry.register(session("reporting"));
+        long now = quiet.connectedAt();
+        assertTrue(registry.expire(now).isEmpty());
+
+        registry.expireAfter("quiet", 30_000);
+        registry.expireAfter("reporting", 30_000);
+        assertTrue(registry.expire(now + TICK_MS).isEmpty());
+
+        // 유예 중 메시지가 온 세션은 유지
+        registry.touch("reporting");
+        assertEquals(List.of(quiet), registry.expire(now + 30_000 + 2 * TICK_MS));
+        assertSame(reporting, registry.get("reporting"));
+    }
+
+    @Test
+    void replacedSessionDoesNotRemoveNewerUserMapping() {
+        SessionRegistry registry = new SessionRegistry(IDLE_TIMEOUT_MS, TICK_MS);
+        SessionRegistry.Entry first = registry.register(session("first"));
+        SessionRegistry.Entry second = registry.register(session("second"));
+
+        assertNull(registry.bindUser(first, "user-1"));
+        assertSame(first, registry.bindUser(second, "user-1"));
+        assertTrue(first.isReplaced());
+
+        assertSame(first, registry.remove("first"));
+        assertSame(second, registry.findByUser("user-1"));
+        assertNull(registry.remove("first"));
+    }
+
+    @Test
+    void concurrentConnectBindAndDisconnectLeaveNoStaleIndexes() throws Exception {
+        SessionRegistry registry = new SessionRegistry(IDLE_TIMEOUT_MS, TICK_MS);
+        int sessions = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(sessions);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < sessions; i++) {
+                String sessionId = "session-" + i;
+                int index = i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        SessionRegistry.Entry entry = registry.register(session(sessionId));
+                        // 바인딩 도중 연결 종료가 겹치는 경우
+                        CompletableFuture<SessionRegistry.Entry> disconnect =
+                                CompletableFuture.supplyAsync(() -> registry.remove(sessionId));
+                        registry.bindOrganization(entry, "org-" + (index % 7));
+                        registry.bindUser(entry, "user-" + (index % 100));
+                        registry.bindBus(entry, "bus-" + (index % 50));
+                        disconnect.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+        }
+
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.busCount());
+        for (int i = 0; i < 7; i++) {
+            assertEquals(0, registry.countByOrganization("org-" + i));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertNull(registry.findByUser("user-" + i));
+        }
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
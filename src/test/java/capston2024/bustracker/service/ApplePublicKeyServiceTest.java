@@ -0,0 +1,202 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.LocalLeaderElection;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Apple 공개 키 캐시 테스트
+ * - 로컬 스텁 JWKS 서버(HttpServer)로 Apple 엔드포인트 대체, 요청 수로 캐시/단일 가져오기 확인
+ * - 시각은 테스트 시계로 주입 (다시 가져오기 최소 간격/실패 기억 시간 경과를 직접 조절)
+ */
+class ApplePublicKeyServiceTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    private volatile int status = 200;
+    private volatile long delayMs = 0;
+    private volatile String jwks;
+    private RSAPublicKey rsaKey;
+    private ApplePublicKeyService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        rsaKey = (RSAPublicKey) generator.generateKeyPair().getPublic();
+        jwks = jwks();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/auth/keys", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = jwks.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        ClusterJobScheduler scheduler = new ClusterJobScheduler(new LocalLeaderElection(),
+                new RealtimeMetrics(new SimpleMeterRegistry()));
+        service = new ApplePublicKeyService(
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/auth/keys", scheduler, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void backgroundRefreshServesLoginsWithoutFetching() throws Exception {
+        service.refreshIfStale();
+        assertEquals(1, requests.get());
+
+        for (int i = 0; i < 100; i++) {
+            PublicKey publicKey = service.getPublicKey("kid-1");
+            assertEquals(rsaKey.getModulus(), ((RSAPublicKey) publicKey).getModulus());
+        }
+        // 아직 만료 전이므로 백그라운드 갱신도 다시 가져오지 않음
+        service.refreshIfStale();
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void concurrentMissesShareOneFetch() throws Exception {
+        delayMs = 300;
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<PublicKey>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.getPublicKey("kid-1");
+                }));
+            }
+            start.countDown();
+
+            PublicKey first = results.get(0).get();
+            for (Future<PublicKey> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void unknownKidIsNegativelyCached() throws Exception {
+        service.refreshIfStale();
+        assertEquals(1, requests.get());
+
+        // 키 목록이 다시 가져오기 최소 간격(10초)보다 오래되면 모르는 kid 로 한 번 다시 가져옴
+        now.addAndGet(11_000);
+        assertThrows(Exception.class, () -> service.getPublicKey("unknown-kid"));
+        assertEquals(2, requests.get());
+
+        // 최소 간격이 지나도 실패 기억 시간(60초) 안에서는 같은 kid 로 다시 호출하지 않음
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(11_000);
+            assertThrows(Exception.class, () -> service.getPublicKey("unknown-kid"));
+        }
+        assertEquals(2, requests.get());
+
+        // 실패 기억 시간이 지나면 다시 한 번 가져옴
+        now.addAndGet(5_001);
+        assertThrows(Exception.class, () -> service.getPublicKey("unknown-kid"));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void failedFetchKeepsPreviousKeys() throws Exception {
+        service.refreshIfStale();
+        PublicKey before = service.getPublicKey("kid-1");
+
+        status = 500;
+        service.refresh();
+        assertEquals(2, requests.get());
+
+        assertSame(before, service.getPublicKey("kid-1"));
+    }
+
+    @Test
+    void failingEndpointIsRetriedWithBackoff() throws Exception {
+        status = 500;
+        assertThrows(Exception.class, () -> service.getPublicKey("kid-1"));
+        assertEquals(1, requests.get());
+
+        // 실패 직후에는 로그인마다 다시 호출하지 않고, 실패한 kid 도 없는 kid 로 기억하지 않음
+        for (int i = 0; i < 10; i++) {
+            assertThrows(Exception.class, () -> service.getPublicKey("kid-1"));
+        }
+        now.addAndGet(11_000);
+        assertThrows(Exception.class, () -> service.getPublicKey("kid-1"));
+        assertEquals(1, requests.get());
+
+        // 첫 실패 후 20초가 지나면 한 번 다시 호출, 또 실패하면 40초 기다림
+        now.addAndGet(9_000);
+        assertThrows(Exception.class, () -> service.getPublicKey("kid-1"));
+        assertEquals(2, requests.get());
+        now.addAndGet(30_000);
+        assertThrows(Exception.class, () -> service.getPublicKey("kid-1"));
+        assertEquals(2, requests.get());
+
+        // Apple 이 복구되면 다음 시도에서 바로 키를 찾음
+        status = 200;
+        now.addAndGet(10_000);
+        assertEquals(rsaKey.getModulus(), ((RSAPublicKey) service.getPublicKey("kid-1")).getModulus());
+        assertEquals(3, requests.get());
+    }
+
+    private String jwks() {
+        return "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"kid-1\",\"use\":\"sig\",\"alg\":\"RS256\","
+                + "\"n\":\"" + base64Url(rsaKey.getModulus()) + "\","
+                + "\"e\":\"" + base64Url(rsaKey.getPublicExponent()) + "\"}]}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,75 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.domain.Event;
+import capston2024.bustracker.repository.EventMissionRepository;
+import capston2024.bustracker.repository.EventRepository;
+import capston2024.bustracker.repository.EventRewardRepository;
+import capston2024.bustracker.service.cluster.ClusterEventType;
+import capston2024.bustracker.service.cluster.InProcessClusterEventBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 이벤트 카탈로그 캐시 테스트 (저장소는 목)
+ * - TTL 안에서는 다시 조회하지 않고, 이 노드의 invalidate / 다른 노드의 EVENT_CATALOG_CHANGED 로 캐시 비움
+ * - 조회 중에 무효화되면 그 조회 결과는 캐시에 넣지 않음 (다음 호출에서 다시 조회)
+ */
+class EventCatalogTest {
+
+    private static final String ORGANIZATION_ID = "org-1";
+    private static final String EVENT_ID = "event-1";
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private InProcessClusterEventBus clusterEventBus;
+    private EventCatalog eventCatalog;
+
+    @BeforeEach
+    void setUp() {
+        clusterEventBus = new InProcessClusterEventBus("node-1");
+        eventCatalog = new EventCatalog(eventRepository, mock(EventMissionRepository.class),
+                mock(EventRewardRepository.class), clusterEventBus, 300_000, 5_000);
+        eventCatalog.subscribe();
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(Event.builder().id(EVENT_ID).build()));
+    }
+
+    @Test
+    void eventIsCachedUntilInvalidated() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(EVENT_ID, eventCatalog.findEvent(EVENT_ID).orElseThrow().getId());
+        }
+        verify(eventRepository, times(1)).findById(EVENT_ID);
+
+        eventCatalog.invalidate(ORGANIZATION_ID);
+        eventCatalog.findEvent(EVENT_ID);
+        verify(eventRepository, times(2)).findById(EVENT_ID);
+
+        // 다른 노드에서 변경한 경우
+        clusterEventBus.publish(ClusterEventType.EVENT_CATALOG_CHANGED, ORGANIZATION_ID,
+                Map.of("organizationId", ORGANIZATION_ID));
+        eventCatalog.findEvent(EVENT_ID);
+        verify(eventRepository, times(3)).findById(EVENT_ID);
+    }
+
+    @Test
+    void loadInvalidatedMidwayIsNotCached() {
+        // 조회하는 사이에 관리자가 이벤트를 변경한 경우 - 변경 전 결과일 수 있으므로 보관하지 않음
+        when(eventRepository.findById(EVENT_ID)).thenAnswer(invocation -> {
+            eventCatalog.invalidate(ORGANIZATION_ID);
+            return Optional.of(Event.builder().id(EVENT_ID).name("변경 전").build());
+        }).thenReturn(Optional.of(Event.builder().id(EVENT_ID).name("변경 후").build()));
+
+        assertEquals("변경 전", eventCatalog.findEvent(EVENT_ID).orElseThrow().getName());
+        assertEquals("변경 후", eventCatalog.findEvent(EVENT_ID).orElseThrow().getName());
+        assertEquals("변경 후", eventCatalog.findEvent(EVENT_ID).orElseThrow().getName());
+        verify(eventRepository, times(2)).findById(EVENT_ID);
+    }
+}
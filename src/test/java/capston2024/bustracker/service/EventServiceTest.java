@@ -0,0 +1,170 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.dto.EventParticipationDTO;
+import capston2024.bustracker.config.dto.MissionCompleteRequestDTO;
+import capston2024.bustracker.domain.Event;
+import capston2024.bustracker.domain.EventMission;
+import capston2024.bustracker.domain.EventParticipation;
+import capston2024.bustracker.exception.ResourceNotFoundException;
+import capston2024.bustracker.repository.EventMissionRepository;
+import capston2024.bustracker.repository.EventParticipationRepository;
+import capston2024.bustracker.repository.EventRepository;
+import capston2024.bustracker.repository.EventRewardRepository;
+import capston2024.bustracker.repository.UserRepository;
+import capston2024.bustracker.service.cluster.InProcessClusterEventBus;
+import capston2024.bustracker.service.reward.RewardDrawEngine;
+import capston2024.bustracker.support.EmbeddedMongo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 미션 완료 테스트 (임베디드 Mongo)
+ * - 참여 기록은 $addToSet upsert 로 (이벤트, 사용자)당 1개, 같은 미션을 다시 완료해도 한 번만 기록
+ * - 필수 미션을 모두 완료해야 뽑기 자격 부여
+ * - 처음 참여하는 upsert 가 유니크 인덱스와 충돌하면 이미 생긴 문서에 다시 추가
+ * - ./gradlew integrationTest 로 실행 (일반 test 태스크에서는 제외)
+ */
+@Tag("integration")
+class EventServiceTest {
+
+    private static final String EVENT_ID = "event-1";
+    private static final String USER_ID = "user-1";
+
+    private static EmbeddedMongo mongo;
+    private static MongoTemplate template;
+    private MongoTemplate mongoTemplate;
+    private EventService eventService;
+
+    @BeforeAll
+    static void startMongo() {
+        mongo = EmbeddedMongo.start();
+        template = mongo.template("event-service-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongo != null) {
+            mongo.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        template.dropCollection(EventParticipation.class);
+        mongoTemplate = spy(template);
+
+        EventRepository eventRepository = mock(EventRepository.class);
+        EventMissionRepository eventMissionRepository = mock(EventMissionRepository.class);
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(Event.builder().id(EVENT_ID).build()));
+        when(eventMissionRepository.findByEventIdOrderByOrder(EVENT_ID)).thenReturn(List.of(
+                mission("mission-1", true), mission("mission-2", true), mission("mission-3", false)));
+        EventCatalog eventCatalog = new EventCatalog(eventRepository, eventMissionRepository,
+                mock(EventRewardRepository.class), new InProcessClusterEventBus("node-1"), 300_000, 5_000);
+
+        eventService = new EventService(mock(EventRewardRepository.class), mock(EventParticipationRepository.class),
+                mock(UserRepository.class), mock(RewardDrawEngine.class), eventCatalog, mongoTemplate);
+        eventService.initialize();
+    }
+
+    @Test
+    void completedMissionsAreAddedToOneParticipation() {
+        EventParticipationDTO first = eventService.completeMission(USER_ID, request("mission-1"));
+        assertEquals(List.of("mission-1"), first.getCompletedMissions());
+        assertFalse(first.isEligibleForDraw());
+
+        // 같은 미션을 다시 완료해도 한 번만 기록, 선택 미션만으로는 뽑기 자격 없음
+        eventService.completeMission(USER_ID, request("mission-1"));
+        EventParticipationDTO optional = eventService.completeMission(USER_ID, request("mission-3"));
+        assertEquals(List.of("mission-1", "mission-3"), optional.getCompletedMissions());
+        assertFalse(optional.isEligibleForDraw());
+
+        EventParticipationDTO completed = eventService.completeMission(USER_ID, request("mission-2"));
+        assertTrue(completed.isEligibleForDraw());
+        assertEquals(first.getId(), completed.getId());
+
+        List<EventParticipation> stored = template.findAll(EventParticipation.class);
+        assertEquals(1, stored.size());
+        assertTrue(stored.get(0).isEligibleForDraw());
+    }
+
+    @Test
+    void duplicateKeyOnFirstUpsertIsRetried() {
+        // 동시에 처음 참여한 다른 요청이 먼저 문서를 만든 경우
+        doThrow(new DuplicateKeyException("E11000 duplicate key error")).doCallRealMethod()
+                .when(mongoTemplate).findAndModify(any(Query.class), any(UpdateDefinition.class),
+                        any(FindAndModifyOptions.class), eq(EventParticipation.class));
+        EventParticipationDTO participation = eventService.completeMission(USER_ID, request("mission-1"));
+
+        assertEquals(List.of("mission-1"), participation.getCompletedMissions());
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(EventParticipation.class));
+    }
+
+    @Test
+    void concurrentFirstCompletionsShareOneParticipation() throws Exception {
+        List<String> missionIds = List.of("mission-1", "mission-2", "mission-3");
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EventParticipationDTO>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(missionIds.size())) {
+            for (String missionId : missionIds) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return eventService.completeMission(USER_ID, request(missionId));
+                }));
+            }
+            start.countDown();
+        }
+        for (Future<EventParticipationDTO> result : results) {
+            result.get();
+        }
+
+        List<EventParticipation> stored = template.findAll(EventParticipation.class);
+        assertEquals(1, stored.size());
+        assertEquals(Set.copyOf(missionIds), Set.copyOf(stored.get(0).getCompletedMissions()));
+        assertTrue(stored.get(0).isEligibleForDraw());
+    }
+
+    @Test
+    void missingUserIsRejected() {
+        assertThrows(ResourceNotFoundException.class, () -> eventService.completeMission(null, request("mission-1")));
+        assertTrue(template.findAll(EventParticipation.class).isEmpty());
+    }
+
+    private static EventMission mission(String id, boolean required) {
+        return EventMission.builder().id(id).title(id).isRequired(required).build();
+    }
+
+    private static MissionCompleteRequestDTO request(String missionId) {
+        return MissionCompleteRequestDTO.builder().eventId(EVENT_ID).missionId(missionId).build();
+    }
+}
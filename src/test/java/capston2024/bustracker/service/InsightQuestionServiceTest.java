@@ -0,0 +1,181 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.config.dto.InsightJobResponseDTO;
+import capston2024.bustracker.config.dto.InsightQuestionRequestDTO;
+import capston2024.bustracker.config.dto.InsightQuestionResponseDTO;
+import capston2024.bustracker.exception.BusinessException;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.LocalLeaderElection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AI 질의응답 캐시/동시 요청 병합/비동기 작업 테스트
+ * - 분석(StationInsightService)은 목으로 대체, 호출 수로 분석/AI 호출 횟수 확인
+ * - 분석 완료 시점은 gate 로, 캐시 만료는 테스트 시계로 직접 조절
+ */
+class InsightQuestionServiceTest {
+
+    private static final long CACHE_TTL_MS = 300_000;
+
+    private final StationInsightService stationInsightService = mock(StationInsightService.class);
+    // 데이터 버전 구간의 시작 시각에서 출발
+    private final AtomicLong now = new AtomicLong(CACHE_TTL_MS * 1_000);
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private volatile boolean aiGenerated = true;
+    private final List<InsightQuestionService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(stationInsightService.answerQuestion(any())).thenAnswer(invocation -> {
+            int count = calls.incrementAndGet();
+            gate.await();
+            InsightQuestionRequestDTO request = invocation.getArgument(0);
+            return InsightQuestionResponseDTO.builder()
+                    .question(request.getQuestion())
+                    .answer("답변 " + count)
+                    .aiGenerated(aiGenerated)
+                    .build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        services.forEach(InsightQuestionService::shutdown);
+    }
+
+    @Test
+    void repeatedQuestionIsServedFromCache() {
+        InsightQuestionService service = service(60_000, 100);
+        InsightQuestionResponseDTO first = service.ask(request("가장 혼잡한 정류장은?", Map.of("weather", "rain")));
+        InsightQuestionResponseDTO second = service.ask(request("  가장   혼잡한 정류장은 ", Map.of("weather", "rain")));
+
+        assertTrue(first.isAiGenerated());
+        assertEquals("답변 1", second.getAnswer());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void differentExternalFactorsAreSeparateEntries() {
+        InsightQuestionService service = service(60_000, 100);
+        service.ask(request("가장 혼잡한 정류장은?", Map.of("weather", "rain")));
+        service.ask(request("가장 혼잡한 정류장은?", Map.of("weather", "clear")));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void identicalAsksWhileAnalysisRunsShareOneCall() {
+        InsightQuestionService service = service(60_000, 100);
+        gate = new CountDownLatch(1);
+
+        // 첫 분석이 끝나기 전에 들어온 같은 질문은 모두 같은 결과를 기다림
+        CompletableFuture<InsightQuestionResponseDTO> first = service.askAsync(request("버스를 더 투입해야 하나요?", null));
+        for (int i = 0; i < 15; i++) {
+            assertSame(first, service.askAsync(request("버스를 더 투입해야 하나요", null)));
+        }
+        gate.countDown();
+
+        assertEquals("답변 1", first.join().getAnswer());
+        verify(stationInsightService, times(1)).answerQuestion(any());
+    }
+
+    @Test
+    void fallbackAnswerExpiresBeforeAiAnswer() {
+        InsightQuestionService service = service(60_000, 100);
+        service.ask(request("AI 답변 질문", null));
+        aiGenerated = false;
+        service.ask(request("기본 답변 질문", null));
+        assertEquals(2, calls.get());
+
+        // 기본 답변(AI 실패)만 30초 뒤 다시 분석, AI 답변은 데이터 버전 구간 끝까지 유지
+        now.addAndGet(31_000);
+        service.ask(request("AI 답변 질문", null));
+        service.ask(request("기본 답변 질문", null));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void submittedJobCanBePolledUntilCompleted() throws Exception {
+        InsightQuestionService service = service(60_000, 100);
+        gate = new CountDownLatch(1);
+        InsightQuestionService.InsightJob job = service.submit(request("노선 증설이 필요한가요?", null));
+        assertEquals("PENDING", service.getJob(job.getId()).orElseThrow().toDTO().getStatus());
+
+        now.addAndGet(1_500);
+        gate.countDown();
+        job.future().get(5, TimeUnit.SECONDS);
+
+        InsightJobResponseDTO polled = service.getJob(job.getId()).orElseThrow().toDTO();
+        assertEquals("COMPLETED", polled.getStatus());
+        assertEquals("답변 1", polled.getResult().getAnswer());
+        assertEquals(polled.getSubmittedAt() + 1_500, polled.getCompletedAt());
+    }
+
+    @Test
+    void stuckAnalysisTimesOutAndReleasesJobSlot() throws Exception {
+        InsightQuestionService service = service(200, 1);
+        gate = new CountDownLatch(1);   // 끝나지 않는 분석
+
+        InsightQuestionService.InsightJob stuck = service.submit(request("노선 증설이 필요한가요?", null));
+        assertThrows(BusinessException.class, () -> service.submit(request("다른 질문", null)));
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> stuck.future().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+        InsightJobResponseDTO polled = stuck.toDTO();
+        assertEquals("FAILED", polled.getStatus());
+        assertNotNull(polled.getCompletedAt());
+
+        // 시간 초과된 분석은 진행 중 목록과 작업 수 한도에서 빠지므로 같은 질문을 새로 분석
+        InsightQuestionService.InsightJob retried = service.submit(request("노선 증설이 필요한가요?", null));
+        verify(stationInsightService, timeout(5_000).times(2)).answerQuestion(any());
+        gate.countDown();
+        assertEquals("답변 2", retried.future().get(5, TimeUnit.SECONDS).getAnswer());
+    }
+
+    private InsightQuestionService service(long answerTimeoutMs, int maxPendingJobs) {
+        RealtimeMetrics metrics = new RealtimeMetrics(new SimpleMeterRegistry());
+        InsightQuestionService service = new InsightQuestionService(stationInsightService,
+                new ClusterJobScheduler(new LocalLeaderElection(), metrics), metrics,
+                CACHE_TTL_MS, 1000, maxPendingJobs, answerTimeoutMs, now::get);
+        services.add(service);
+        return service;
+    }
+
+    private static InsightQuestionRequestDTO request(String question, Map<String, String> externalFactors) {
+        InsightQuestionRequestDTO request = new InsightQuestionRequestDTO();
+        request.setQuestion(question);
+        request.setExternalFactors(externalFactors);
+        return request;
+    }
+}
@@ -0,0 +1,147 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.service.PassengerLocationService.PassengerState;
+import capston2024.bustracker.service.cluster.ClusterJobScheduler;
+import capston2024.bustracker.service.cluster.LocalLeaderElection;
+import capston2024.bustracker.service.cluster.LocalOrganizationOwnership;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 승객 감지 상태 저장소 테스트
+ * - 스냅샷 인코딩/디코딩 왕복 (이미 새 위치가 들어온 승객은 덮어쓰지 않음)
+ * - 유휴 제거 시 탑승 중 승객은 슬롯 반납 전에 하차 처리, 용량 초과 시 탑승 중 승객 유지
+ * - 스냅샷 조회 실패 시 복원 완료로 표시하지 않음
+ */
+class PassengerStateStoreTest {
+
+    private static final String ORGANIZATION_ID = "org-1";
+    private static final long IDLE_TTL_MS = 60_000;
+
+    private final MongoOperations mongoOperations = mock(MongoOperations.class);
+
+    @Test
+    void snapshotRoundTripRestoresEveryField() throws Exception {
+        PassengerStateSlab source = new PassengerStateSlab();
+        PassengerState onBus = source.getOrAllocate("rider-1", ORGANIZATION_ID);
+        onBus.setLatitude(37.5665);
+        onBus.setLongitude(126.9780);
+        onBus.setLastUpdateTime(1_000L);
+        onBus.setLocationSetTime(900L);
+        onBus.setOnBus(true);
+        onBus.setCurrentBusNumber("1001");
+        onBus.setBoardingTime(950L);
+        onBus.setAlightingDetectionCount(2);
+        PassengerState waiting = source.getOrAllocate("rider-2", ORGANIZATION_ID);
+        waiting.setBoardingDetectionCount(1);
+        waiting.setPendingBusNumber("1002");
+
+        PassengerStateSlab target = new PassengerStateSlab();
+        target.getOrAllocate("rider-2", ORGANIZATION_ID).setLatitude(1.0);   // 재시작 후 이미 위치가 들어온 승객
+        int[] counts = PassengerStateStore.decodeInto(
+                PassengerStateStore.encode(List.of(onBus, waiting)), ORGANIZATION_ID, target);
+
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[1]);
+        PassengerState restored = target.get("rider-1");
+        assertEquals(ORGANIZATION_ID, restored.getOrganizationId());
+        assertEquals(37.5665, restored.getLatitude());
+        assertEquals(126.9780, restored.getLongitude());
+        assertEquals(1_000L, restored.getLastUpdateTime());
+        assertEquals(900L, restored.getLocationSetTime());
+        assertTrue(restored.isOnBus());
+        assertEquals("1001", restored.getCurrentBusNumber());
+        assertEquals(950L, restored.getBoardingTime());
+        assertEquals(2, restored.getAlightingDetectionCount());
+        assertEquals(1.0, target.get("rider-2").getLatitude());
+        assertNull(target.get("rider-2").getPendingBusNumber());
+    }
+
+    @Test
+    void idleEvictionAlightsOnBusRidersBeforeReleasingSlots() {
+        PassengerStateStore store = store(100);
+        PassengerState onBus = store.getOrCreate("rider-1", ORGANIZATION_ID);
+        onBus.setOnBus(true);
+        onBus.setCurrentBusNumber("1001");
+        store.getOrCreate("rider-2", ORGANIZATION_ID);
+        long now = System.currentTimeMillis();
+
+        List<String> alighted = new ArrayList<>();
+        assertEquals(0, store.evictIdle(now, state -> alighted.add(state.getUserId())));
+
+        int evicted = store.evictIdle(now + IDLE_TTL_MS + 1, state -> {
+            // 반납 전이므로 아직 이 승객의 슬롯
+            assertTrue(state.isLive());
+            alighted.add(state.getUserId() + "@" + state.getCurrentBusNumber());
+        });
+
+        assertEquals(2, evicted);
+        assertEquals(List.of("rider-1@1001"), alighted);
+        assertEquals(0, store.size());
+
+        // 반납된 슬롯이 다른 승객에게 재할당되어도 이전 뷰로는 읽기/쓰기 불가
+        PassengerState reused = store.getOrCreate("rider-3", ORGANIZATION_ID);
+        onBus.setCurrentBusNumber("9999");
+        assertFalse(onBus.isOnBus());
+        assertNull(onBus.getCurrentBusNumber());
+        assertNull(reused.getCurrentBusNumber());
+    }
+
+    @Test
+    void capacityEvictionDropsQuietestRidersAndKeepsOnBusRiders() {
+        PassengerStateStore store = store(10);
+        for (int i = 0; i < 10; i++) {
+            PassengerState state = store.getOrCreate("rider-" + i, ORGANIZATION_ID);
+            state.setLastAccessTime(i + 1);
+            if (i < 2) {
+                state.setOnBus(true);
+                state.setCurrentBusNumber("1001");
+            }
+        }
+
+        store.getOrCreate("rider-new", ORGANIZATION_ID);
+
+        assertEquals(10, store.size());
+        assertNotNull(store.get("rider-0"));
+        assertNotNull(store.get("rider-1"));
+        assertNull(store.get("rider-2"));
+        assertNotNull(store.get("rider-new"));
+    }
+
+    @Test
+    void failedSnapshotReadDoesNotOverwriteStoredSnapshot() {
+        when(mongoOperations.findById(eq(ORGANIZATION_ID), eq(Document.class), anyString()))
+                .thenThrow(new IllegalStateException("mongo unavailable"));
+        PassengerStateStore store = store(100);
+        store.getOrCreate("rider-1", ORGANIZATION_ID);
+
+        store.snapshot();
+
+        verify(mongoOperations, never()).save(any(Document.class), anyString());
+    }
+
+    private PassengerStateStore store(int maxEntries) {
+        RealtimeMetrics metrics = new RealtimeMetrics(new SimpleMeterRegistry());
+        return new PassengerStateStore(mongoOperations, new LocalOrganizationOwnership(),
+                new ClusterJobScheduler(new LocalLeaderElection(), metrics), metrics, IDLE_TTL_MS, maxEntries);
+    }
+}
@@ -0,0 +1,130 @@
+package capston2024.bustracker.service;
+
+import capston2024.bustracker.domain.Station;
+import capston2024.bustracker.domain.utils.GeoUtils;
+import capston2024.bustracker.repository.StationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.List;
+import java.util.function.DoubleToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 정류장 지오펜스 인덱스 테스트 (정류장 저장소는 목)
+ * - 정류장을 격자 칸 안 여러 위치(칸 경계/모서리 근처 포함)에 두고, 모든 방향으로 반경 바로 안은 찾고 바로 밖은 찾지 않음
+ * - 칸 모서리에 놓인 정류장도 반경 바로 안의 지점은 주변 8칸 안에서 찾음 (칸 크기와 거리 계산의 지구 반지름이 같아야 함)
+ * - 지오펜스가 겹치면 가장 가까운 정류장
+ */
+class StationGeofenceIndexTest {
+
+    private static final double RADIUS_METERS = 80;
+    private static final double BASE_LATITUDE = 37.5665;
+    private static final double BASE_LONGITUDE = 126.9780;
+
+    private final StationRepository stationRepository = mock(StationRepository.class);
+    private final StationGeofenceIndex index = new StationGeofenceIndex(stationRepository, RADIUS_METERS, 300_000);
+
+    @Test
+    void radiusBoundaryIsFoundFromEveryDirection() {
+        // 반경의 1/8 간격으로 정류장을 옮겨 격자 칸 안의 위치(경계, 모서리 포함)를 모두 지나가게 함
+        int steps = 8;
+        for (int i = 0; i <= steps; i++) {
+            for (int j = 0; j <= steps; j++) {
+                String organizationId = "org-" + i + "-" + j;
+                double[] position = destination(destination(BASE_LATITUDE, BASE_LONGITUDE,
+                        RADIUS_METERS * i / steps, 0), RADIUS_METERS * j / steps, 90);
+                Station station = station(organizationId, position[0], position[1]);
+                when(stationRepository.findAllByOrganizationId(organizationId)).thenReturn(List.of(station));
+
+                for (int step = 0; step < 72; step++) {
+                    int bearing = step * 5;
+                    double[] inside = destination(position, RADIUS_METERS - 0.01, bearing);
+                    double[] outside = destination(position, RADIUS_METERS + 0.01, bearing);
+                    assertEquals(station, index.stationAt(organizationId, inside[0], inside[1]),
+                            () -> "반경 안 지점을 찾지 못함: " + organizationId + ", 방향 " + bearing);
+                    assertNull(index.stationAt(organizationId, outside[0], outside[1]),
+                            () -> "반경 밖 지점을 찾음: " + organizationId + ", 방향 " + bearing);
+                }
+            }
+        }
+    }
+
+    @Test
+    void stationOnCellCornerIsFoundAtRadius() {
+        // 격자 칸의 남서쪽 모서리를 이분 탐색으로 찾아 정류장을 둠 - 남쪽/서쪽으로 반경만큼 가면 칸 하나를 꽉 채워 넘어감
+        GeoGrid grid = new GeoGrid(RADIUS_METERS);
+        double latitude = edge(BASE_LATITUDE, BASE_LATITUDE + 0.002,
+                value -> grid.cellOf(value, BASE_LONGITUDE));
+        double longitude = edge(BASE_LONGITUDE, BASE_LONGITUDE + 0.002,
+                value -> grid.cellOf(latitude, value));
+        Station station = station("org-1", latitude, longitude);
+        when(stationRepository.findAllByOrganizationId("org-1")).thenReturn(List.of(station));
+
+        for (int bearing = 0; bearing < 360; bearing++) {
+            double[] inside = destination(latitude, longitude, RADIUS_METERS - 0.01, bearing);
+            assertEquals(station, index.stationAt("org-1", inside[0], inside[1]), "방향 " + bearing);
+        }
+    }
+
+    @Test
+    void nearestOverlappingGeofenceWins() {
+        double[] east = destination(BASE_LATITUDE, BASE_LONGITUDE, 100, 90);
+        Station west = station("org-1", BASE_LATITUDE, BASE_LONGITUDE);
+        Station eastStation = station("org-1", east[0], east[1]);
+        when(stationRepository.findAllByOrganizationId("org-1")).thenReturn(List.of(west, eastStation));
+
+        double[] nearWest = destination(BASE_LATITUDE, BASE_LONGITUDE, 40, 90);
+        double[] nearEast = destination(BASE_LATITUDE, BASE_LONGITUDE, 60, 90);
+        assertEquals(west, index.stationAt("org-1", nearWest[0], nearWest[1]));
+        assertEquals(eastStation, index.stationAt("org-1", nearEast[0], nearEast[1]));
+        assertNull(index.stationAt(null, BASE_LATITUDE, BASE_LONGITUDE));
+    }
+
+    /**
+     * from 과 다른 칸이 시작되는 첫 값 (to 는 from 과 다른 칸이어야 함)
+     */
+    private static double edge(double from, double to, DoubleToLongFunction cellOf) {
+        long fromCell = cellOf.applyAsLong(from);
+        for (int i = 0; i < 60; i++) {
+            double middle = (from + to) / 2;
+            if (cellOf.applyAsLong(middle) == fromCell) {
+                from = middle;
+            } else {
+                to = middle;
+            }
+        }
+        return to;
+    }
+
+    private static Station station(String organizationId, double latitude, double longitude) {
+        return Station.builder()
+                .id(organizationId + "@" + latitude + "," + longitude)
+                .organizationId(organizationId)
+                .location(new GeoJsonPoint(longitude, latitude))
+                .build();
+    }
+
+    private static double[] destination(double[] from, double meters, double bearingDegrees) {
+        return destination(from[0], from[1], meters, bearingDegrees);
+    }
+
+    /**
+     * 지점에서 방위각 방향으로 대원 거리만큼 이동한 위경도 (GeoUtils 와 같은 지구 반지름)
+     */
+    private static double[] destination(double latitude, double longitude, double meters, double bearingDegrees) {
+        double angular = meters / GeoUtils.EARTH_RADIUS_METERS;
+        double bearing = Math.toRadians(bearingDegrees);
+        double lat1 = Math.toRadians(latitude);
+        double lon1 = Math.toRadians(longitude);
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angular)
+                + Math.cos(lat1) * Math.sin(angular) * Math.cos(bearing));
+        double lon2 = lon1 + Math.atan2(Math.sin(bearing) * Math.sin(angular) * Math.cos(lat1),
+                Math.cos(angular) - Math.sin(lat1) * Math.sin(lat2));
+        return new double[]{Math.toDegrees(lat2), Math.toDegrees(lon2)};
+    }
+}
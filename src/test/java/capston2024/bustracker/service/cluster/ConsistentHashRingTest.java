@@ -0,0 +1,80 @@
+package capston2024.bustracker.service.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 일관성 해시 링 테스트
+ * - 같은 노드 목록이면 어느 노드에서 만들어도 같은 배치 (노드 순서 무관), 노드마다 고르게 분배
+ * - 노드가 추가되면 새 노드로 옮겨가는 조직만, 제거되면 제거된 노드의 조직만 담당 노드가 바뀜
+ */
+class ConsistentHashRingTest {
+
+    private static final int ORGANIZATIONS = 3000;
+
+    @Test
+    void placementIsDeterministicAndBalanced() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"));
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("node-3", "node-1", "node-2"));
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < ORGANIZATIONS; i++) {
+            String organizationId = "org-" + i;
+            String owner = ring.nodeFor(organizationId);
+            assertEquals(owner, reordered.nodeFor(organizationId));
+            counts.merge(owner, 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        // 가상 노드 64개 - 노드별 몫(1/3)에서 크게 벗어나지 않음
+        counts.values().forEach(count -> assertTrue(count > ORGANIZATIONS / 3 * 0.7 && count < ORGANIZATIONS / 3 * 1.3,
+                () -> "노드별 분배가 고르지 않음: " + counts));
+    }
+
+    @Test
+    void addingNodeMovesOrganizationsOnlyToNewNode() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"));
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-1", "node-2", "node-3", "node-4"));
+
+        int moved = 0;
+        for (int i = 0; i < ORGANIZATIONS; i++) {
+            String organizationId = "org-" + i;
+            String owner = after.nodeFor(organizationId);
+            if (!owner.equals(before.nodeFor(organizationId))) {
+                assertEquals("node-4", owner);
+                moved++;
+            }
+        }
+        // 약 1/4 만 이동
+        assertTrue(moved > ORGANIZATIONS / 4 * 0.7 && moved < ORGANIZATIONS / 4 * 1.3, "이동한 조직 수: " + moved);
+    }
+
+    @Test
+    void removingNodeMovesOnlyItsOrganizations() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-1", "node-2", "node-3"));
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-1", "node-3"));
+
+        for (int i = 0; i < ORGANIZATIONS; i++) {
+            String organizationId = "org-" + i;
+            String previous = before.nodeFor(organizationId);
+            String owner = after.nodeFor(organizationId);
+            if (previous.equals("node-2")) {
+                assertTrue(owner.equals("node-1") || owner.equals("node-3"));
+            } else {
+                assertEquals(previous, owner);
+            }
+        }
+    }
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertNull(new ConsistentHashRing(List.of()).nodeFor("org-1"));
+    }
+}
@@ -0,0 +1,119 @@
+package capston2024.bustracker.service.cluster;
+
+import capston2024.bustracker.support.EmbeddedMongo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 조직 소유권 테스트 (임베디드 Mongo, 두 노드를 같은 DB 에 연결, 시각은 테스트 시계로 주입)
+ * - 노드가 합류하면 링에서 새 노드로 옮겨간 조직은 이전 노드가 리스를 반납한 뒤에야 새 노드가 획득
+ * - 노드가 멈추면 하트비트와 리스가 만료된 뒤 남은 노드가 이어받고, 멈췄던 노드는 다시 소유하지 못함
+ * - 백그라운드 갱신은 시작하지 않고 refresh() 를 직접 호출
+ * - ./gradlew integrationTest 로 실행 (일반 test 태스크에서는 제외)
+ */
+@Tag("integration")
+class MongoLeaseOrganizationOwnershipTest {
+
+    private static final long TTL_MS = 10_000;
+
+    private static EmbeddedMongo mongo;
+    private static MongoTemplate mongoTemplate;
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    private MongoLeaseOrganizationOwnership nodeA;
+    private MongoLeaseOrganizationOwnership nodeB;
+
+    @BeforeAll
+    static void startMongo() {
+        mongo = EmbeddedMongo.start();
+        mongoTemplate = mongo.template("organization-ownership-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongo != null) {
+            mongo.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(MongoLeaseStore.COLLECTION);
+        mongoTemplate.dropCollection(MongoLeaseOrganizationOwnership.NODES_COLLECTION);
+        nodeA = new MongoLeaseOrganizationOwnership("node-a", mongoTemplate, TTL_MS, now::get);
+        nodeB = new MongoLeaseOrganizationOwnership("node-b", mongoTemplate, TTL_MS, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void joiningNodeTakesOverAfterPreviousOwnerReleases() {
+        String organizationId = organizationOwnedBy("node-b");
+        nodeA.refresh();
+        assertTrue(nodeA.isOwner(organizationId));
+
+        // 링에서는 node-b 담당이 되었지만 node-a 가 아직 리스를 보유 중
+        nodeB.refresh();
+        assertFalse(nodeB.isOwner(organizationId));
+        assertTrue(nodeA.isOwner(organizationId));
+
+        // node-a 가 갱신하면서 반납하면 node-b 의 다음 갱신에서 획득
+        nodeA.refresh();
+        assertFalse(nodeA.isOwner(organizationId));
+        nodeB.refresh();
+        assertTrue(nodeB.isOwner(organizationId));
+        assertEquals(Set.of(organizationId), nodeB.getOwnedOrganizations());
+        assertTrue(nodeA.getOwnedOrganizations().isEmpty());
+    }
+
+    @Test
+    void stoppedNodeIsTakenOverAfterLeaseExpires() {
+        String organizationId = organizationOwnedBy("node-a");
+        nodeA.refresh();
+        nodeB.refresh();
+        assertTrue(nodeA.isOwner(organizationId));
+        assertFalse(nodeB.isOwner(organizationId));
+
+        // node-a 가 멈춤 (하트비트/리스 갱신 없음) - 만료 전까지는 링에 남아 node-b 가 가져가지 않음
+        now.addAndGet(TTL_MS / 2);
+        nodeB.refresh();
+        assertFalse(nodeB.isOwner(organizationId));
+
+        now.addAndGet(TTL_MS / 2 + 1);
+        nodeB.refresh();
+        assertTrue(nodeB.isOwner(organizationId));
+
+        // 다시 깨어난 node-a 는 로컬 만료 시각이 지나 소유하지 않고, 리스도 다시 얻지 못함
+        assertFalse(nodeA.isOwner(organizationId));
+        assertTrue(nodeA.getOwnedOrganizations().isEmpty());
+    }
+
+    /**
+     * 두 노드 링에서 지정한 노드가 담당하는 조직 ID
+     */
+    private static String organizationOwnedBy(String nodeId) {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b"));
+        for (int i = 0; ; i++) {
+            String organizationId = "org-" + i;
+            if (nodeId.equals(ring.nodeFor(organizationId))) {
+                return organizationId;
+            }
+        }
+    }
+}
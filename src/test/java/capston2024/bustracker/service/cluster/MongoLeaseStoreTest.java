@@ -0,0 +1,79 @@
+package capston2024.bustracker.service.cluster;
+
+import capston2024.bustracker.support.EmbeddedMongo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MongoLeaseStore 테스트 (임베디드 Mongo, 시각은 테스트 시계로 주입)
+ * - 유효한 리스는 보유 노드만 갱신, 다른 노드는 만료된 뒤에만 이어받음
+ * - 반납은 보유 노드만 가능
+ * - ./gradlew integrationTest 로 실행 (일반 test 태스크에서는 제외)
+ */
+@Tag("integration")
+class MongoLeaseStoreTest {
+
+    private static final String KEY = "org:org-1";
+    private static final long TTL_MS = 10_000;
+
+    private static EmbeddedMongo mongo;
+    private static MongoTemplate mongoTemplate;
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    private MongoLeaseStore store;
+
+    @BeforeAll
+    static void startMongo() {
+        mongo = EmbeddedMongo.start();
+        mongoTemplate = mongo.template("lease-store-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongo != null) {
+            mongo.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(MongoLeaseStore.COLLECTION);
+        store = new MongoLeaseStore(mongoTemplate, now::get);
+    }
+
+    @Test
+    void leaseIsTakenOverOnlyAfterExpiry() {
+        assertTrue(store.tryAcquire(KEY, "node-a", TTL_MS));
+        assertFalse(store.tryAcquire(KEY, "node-b", TTL_MS));
+
+        // 보유 노드가 갱신하면 처음 만료 시각이 지나도 이어받을 수 없음
+        now.addAndGet(5_000);
+        assertTrue(store.tryAcquire(KEY, "node-a", TTL_MS));
+        now.addAndGet(6_000);
+        assertFalse(store.tryAcquire(KEY, "node-b", TTL_MS));
+
+        // 갱신이 멈추면 만료 직후 다른 노드가 이어받고, 이전 보유 노드는 다시 얻지 못함
+        now.addAndGet(4_001);
+        assertTrue(store.tryAcquire(KEY, "node-b", TTL_MS));
+        assertFalse(store.tryAcquire(KEY, "node-a", TTL_MS));
+    }
+
+    @Test
+    void onlyOwnerCanRelease() {
+        assertTrue(store.tryAcquire(KEY, "node-a", TTL_MS));
+
+        store.release(KEY, "node-b");
+        assertFalse(store.tryAcquire(KEY, "node-c", TTL_MS));
+
+        store.release(KEY, "node-a");
+        assertTrue(store.tryAcquire(KEY, "node-c", TTL_MS));
+    }
+}
@@ -0,0 +1,132 @@
+package capston2024.bustracker.service.reward;
+
+import capston2024.bustracker.domain.EventReward;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MongoRewardStore 와 같은 조건부 업데이트 의미의 메모리 저장소
+ */
+final class InMemoryRewardStore implements RewardStore {
+
+    final Map<String, Stock> stocks = new ConcurrentHashMap<>();
+    private final Map<String, Participation> participations = new ConcurrentHashMap<>();
+
+    void addReward(String id, double probability, int quantity) {
+        stocks.put(id, new Stock(id, probability, quantity));
+    }
+
+    void addParticipation(String id) {
+        participations.put(id, new Participation());
+    }
+
+    int totalRemaining() {
+        return stocks.values().stream().mapToInt(stock -> stock.remaining.get()).sum();
+    }
+
+    long completedParticipations() {
+        return participations.values().stream().filter(participation -> participation.hasDrawn).count();
+    }
+
+    @Override
+    public List<EventReward> findAvailableRewards(String eventId) {
+        List<EventReward> available = new ArrayList<>();
+        stocks.values().stream()
+                .filter(stock -> stock.remaining.get() > 0)
+                .forEach(stock -> available.add(stock.toReward(stock.remaining.get())));
+        return available;
+    }
+
+    @Override
+    public EventReward reserve(String rewardId) {
+        Stock stock = stocks.get(rewardId);
+        while (true) {
+            int remaining = stock.remaining.get();
+            if (remaining <= 0) {
+                return null;
+            }
+            if (stock.remaining.compareAndSet(remaining, remaining - 1)) {
+                return stock.toReward(remaining - 1);
+            }
+        }
+    }
+
+    @Override
+    public void restock(String rewardId) {
+        stocks.get(rewardId).remaining.incrementAndGet();
+    }
+
+    @Override
+    public boolean claimParticipation(String participationId, String claimToken, LocalDateTime staleBefore) {
+        Participation participation = participations.get(participationId);
+        synchronized (participation) {
+            if (participation.hasDrawn || (participation.claim != null
+                    && participation.claimedAt.isAfter(staleBefore))) {
+                return false;
+            }
+            participation.claim = claimToken;
+            participation.claimedAt = LocalDateTime.now();
+            return true;
+        }
+    }
+
+    @Override
+    public boolean completeParticipation(String participationId, String claimToken, String rewardId) {
+        Participation participation = participations.get(participationId);
+        synchronized (participation) {
+            if (!claimToken.equals(participation.claim)) {
+                return false;
+            }
+            participation.hasDrawn = true;
+            participation.rewardId = rewardId;
+            participation.claim = null;
+            return true;
+        }
+    }
+
+    @Override
+    public void releaseParticipation(String participationId, String claimToken) {
+        Participation participation = participations.get(participationId);
+        synchronized (participation) {
+            if (claimToken.equals(participation.claim)) {
+                participation.claim = null;
+            }
+        }
+    }
+
+    static final class Stock {
+        final String id;
+        final double probability;
+        final int total;
+        final AtomicInteger remaining;
+
+        private Stock(String id, double probability, int total) {
+            this.id = id;
+            this.probability = probability;
+            this.total = total;
+            this.remaining = new AtomicInteger(total);
+        }
+
+        private EventReward toReward(int remainingQuantity) {
+            return EventReward.builder()
+                    .id(id)
+                    .rewardName(id)
+                    .probability(probability)
+                    .totalQuantity(total)
+                    .remainingQuantity(remainingQuantity)
+                    .build();
+        }
+    }
+
+    private static final class Participation {
+        private boolean hasDrawn;
+        private String rewardId;
+        private String claim;
+        private LocalDateTime claimedAt;
+    }
+}
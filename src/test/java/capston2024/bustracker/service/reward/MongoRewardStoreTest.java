@@ -0,0 +1,183 @@
+package capston2024.bustracker.service.reward;
+
+import capston2024.bustracker.domain.EventParticipation;
+import capston2024.bustracker.domain.EventReward;
+import capston2024.bustracker.exception.BusinessException;
+import capston2024.bustracker.repository.EventRewardRepository;
+import capston2024.bustracker.support.EmbeddedMongo;
+import com.mongodb.DBRef;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MongoRewardStore 테스트 (임베디드 Mongo)
+ * - 재고 차감(remainingQuantity > 0 조건)과 되돌리기, 재고가 남은 상품 조회
+ * - drawClaim 토큰 기반 선점/완료/해제와 오래된 선점 재선점
+ * - 실제 쿼리로 동시에 뽑아도 재고보다 많이 지급하지 않음
+ * - ./gradlew integrationTest 로 실행 (일반 test 태스크에서는 제외)
+ */
+@Tag("integration")
+class MongoRewardStoreTest {
+
+    private static final String EVENT_ID = "event-1";
+
+    private static EmbeddedMongo mongo;
+    private static MongoTemplate mongoTemplate;
+    private static MongoRewardStore store;
+
+    @BeforeAll
+    static void startMongo() {
+        mongo = EmbeddedMongo.start();
+        mongoTemplate = mongo.template("reward-store-test");
+        EventRewardRepository repository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(EventRewardRepository.class);
+        store = new MongoRewardStore(mongoTemplate, repository);
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongo != null) {
+            mongo.close();
+        }
+    }
+
+    @BeforeEach
+    void clean() {
+        mongoTemplate.dropCollection(EventReward.class);
+        mongoTemplate.dropCollection(EventParticipation.class);
+    }
+
+    @Test
+    void reserveStopsAtZeroAndRestockReturnsStock() {
+        addReward("grade-1", 1.0, 2);
+        addReward("other-event", 1.0, 5, "event-2");
+
+        assertEquals(1, store.reserve("grade-1").getRemainingQuantity());
+        assertEquals(0, store.reserve("grade-1").getRemainingQuantity());
+        assertNull(store.reserve("grade-1"));
+        assertTrue(store.findAvailableRewards(EVENT_ID).isEmpty());
+
+        store.restock("grade-1");
+        List<EventReward> available = store.findAvailableRewards(EVENT_ID);
+        assertEquals(1, available.size());
+        assertEquals(1, available.get(0).getRemainingQuantity());
+    }
+
+    @Test
+    void claimCompleteAndReleaseFollowClaimToken() {
+        addParticipation("participation-0");
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(30);
+
+        assertTrue(store.claimParticipation("participation-0", "token-a", staleBefore));
+        assertFalse(store.claimParticipation("participation-0", "token-b", staleBefore));
+
+        // 다른 토큰으로는 해제/완료 불가
+        store.releaseParticipation("participation-0", "token-b");
+        assertFalse(store.completeParticipation("participation-0", "token-b", "grade-1"));
+
+        store.releaseParticipation("participation-0", "token-a");
+        assertTrue(store.claimParticipation("participation-0", "token-b", staleBefore));
+
+        // 선점 시각이 staleBefore 보다 이전이면 중단된 요청으로 보고 다시 선점
+        assertTrue(store.claimParticipation("participation-0", "token-c", LocalDateTime.now().plusSeconds(1)));
+        assertFalse(store.completeParticipation("participation-0", "token-b", "grade-1"));
+        assertTrue(store.completeParticipation("participation-0", "token-c", "grade-1"));
+
+        EventParticipation drawn = mongoTemplate.findById("participation-0", EventParticipation.class);
+        assertNotNull(drawn);
+        assertTrue(drawn.hasDrawn());
+        assertEquals("grade-1", drawn.getDrawnRewardId().getId());
+        assertNull(drawn.getDrawClaim());
+        assertFalse(store.claimParticipation("participation-0", "token-d", LocalDateTime.now().plusSeconds(1)));
+    }
+
+    @Test
+    void concurrentDrawsNeverOversell() throws Exception {
+        addReward("grade-1", 0.1, 10);
+        addReward("grade-2", 0.3, 40);
+        addReward("grade-3", 0.6, 100);
+        int totalStock = 150;
+        int participants = 600;
+        for (int i = 0; i < participants; i++) {
+            addParticipation("participation-" + i);
+        }
+        RewardDrawEngine engine = new RewardDrawEngine(store, 2_000);
+
+        AtomicInteger won = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(participants);
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < participants; i++) {
+                String participationId = "participation-" + i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        engine.draw(EVENT_ID, participationId);
+                        won.incrementAndGet();
+                    } catch (BusinessException e) {
+                        soldOut.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+        }
+
+        assertEquals(totalStock, won.get());
+        assertEquals(participants - totalStock, soldOut.get());
+        for (EventReward reward : mongoTemplate.findAll(EventReward.class)) {
+            assertEquals(0, reward.getRemainingQuantity());
+        }
+        List<EventParticipation> participations = mongoTemplate.findAll(EventParticipation.class);
+        assertEquals(totalStock, participations.stream().filter(EventParticipation::hasDrawn).count());
+        assertTrue(participations.stream().allMatch(participation -> participation.getDrawClaim() == null));
+    }
+
+    private static void addReward(String id, double probability, int quantity) {
+        addReward(id, probability, quantity, EVENT_ID);
+    }
+
+    private static void addReward(String id, double probability, int quantity, String eventId) {
+        mongoTemplate.insert(EventReward.builder()
+                .id(id)
+                .eventId(new DBRef("events", eventId))
+                .rewardName(id)
+                .probability(probability)
+                .totalQuantity(quantity)
+                .remainingQuantity(quantity)
+                .build());
+    }
+
+    private static void addParticipation(String id) {
+        mongoTemplate.insert(EventParticipation.builder()
+                .id(id)
+                .eventId(new DBRef("events", EVENT_ID))
+                .isEligibleForDraw(true)
+                .hasDrawn(false)
+                .build());
+    }
+}
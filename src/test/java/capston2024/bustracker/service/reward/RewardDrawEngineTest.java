@@ -0,0 +1,68 @@
+package capston2024.bustracker.service.reward;
+
+import capston2024.bustracker.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 상품 뽑기 엔진 테스트
+ * - 같은 참여 기록으로 동시에 뽑아도 한 번만 당첨
+ * - 별칭 테이블 추첨 비율이 확률 가중치를 따름
+ */
+class RewardDrawEngineTest {
+
+    private static final String EVENT_ID = "event-1";
+
+    @Test
+    void concurrentDrawsBySameParticipantAwardOnce() {
+        InMemoryRewardStore store = new InMemoryRewardStore();
+        store.addReward("grade-1", 1.0, 100);
+        store.addParticipation("participation-0");
+        RewardDrawEngine engine = new RewardDrawEngine(store, 2_000);
+
+        int attempts = 32;
+        AtomicInteger won = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < attempts; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        engine.draw(EVENT_ID, "participation-0");
+                        won.incrementAndGet();
+                    } catch (BusinessException ignored) {
+                        // 이미 뽑았거나 다른 요청이 뽑는 중
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(1, won.get());
+        assertEquals(99, store.stocks.get("grade-1").remaining.get());
+    }
+
+    @Test
+    void aliasTableFollowsWeights() {
+        double[] weights = {0.05, 0.10, 0.15, 0.20, 0.50};
+        RewardAliasTable table = new RewardAliasTable(weights);
+        SplittableRandom random = new SplittableRandom(42);
+        int samples = 1_000_000;
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(random)]++;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i], (double) counts[i] / samples, 0.005);
+        }
+    }
+}
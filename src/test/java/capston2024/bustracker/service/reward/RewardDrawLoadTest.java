@@ -0,0 +1,93 @@
+package capston2024.bustracker.service.reward;
+
+import capston2024.bustracker.domain.EventReward;
+import capston2024.bustracker.exception.BusinessException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 상품 뽑기 동시성 부하 테스트
+ * - 참여자 10,000명이 동시에 뽑아도 상품별 지급 수가 재고를 넘지 않는지 확인
+ * - 저장소는 Mongo 조건부 업데이트(remainingQuantity > 0, drawClaim)와 같은 의미의 메모리 구현 사용
+ *   (실제 Mongo 쿼리는 MongoRewardStoreTest 에서 확인)
+ * - ./gradlew loadTest 로 실행 (일반 test 태스크에서는 제외)
+ */
+@Tag("load")
+class RewardDrawLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RewardDrawLoadTest.class);
+
+    private static final String EVENT_ID = "event-1";
+    private static final int PARTICIPANTS = 10_000;
+
+    @Test
+    void tenThousandConcurrentDrawsNeverOversell() throws Exception {
+        InMemoryRewardStore store = new InMemoryRewardStore();
+        store.addReward("grade-1", 0.05, 10);
+        store.addReward("grade-2", 0.10, 50);
+        store.addReward("grade-3", 0.15, 200);
+        store.addReward("grade-4", 0.20, 740);
+        store.addReward("grade-5", 0.50, 2_000);
+        int totalStock = store.totalRemaining();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            store.addParticipation("participation-" + i);
+        }
+        RewardDrawEngine engine = new RewardDrawEngine(store, 2_000);
+
+        AtomicInteger won = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        Map<String, AtomicInteger> awarded = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(PARTICIPANTS);
+
+        long startNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < PARTICIPANTS; i++) {
+                String participationId = "participation-" + i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        EventReward reward = engine.draw(EVENT_ID, participationId);
+                        won.incrementAndGet();
+                        awarded.computeIfAbsent(reward.getId(), id -> new AtomicInteger()).incrementAndGet();
+                    } catch (BusinessException e) {
+                        soldOut.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            startNanos = System.nanoTime();
+            start.countDown();
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        log.info("상품 뽑기 부하 테스트: 뽑기={}, 당첨={}, 품절={}, 소요={}ms, 상품별 지급={}",
+                PARTICIPANTS, won.get(), soldOut.get(), elapsedMs, awarded);
+
+        // 재고만큼만 지급, 상품별 지급 수 = 초기 재고 - 남은 재고, 남은 재고는 음수가 되지 않음
+        assertEquals(totalStock, won.get());
+        assertEquals(PARTICIPANTS - totalStock, soldOut.get());
+        for (InMemoryRewardStore.Stock stock : store.stocks.values()) {
+            assertEquals(0, stock.remaining.get());
+            assertEquals(stock.total, awarded.get(stock.id).get());
+        }
+        assertEquals(totalStock, store.completedParticipations());
+    }
+}
@@ -0,0 +1,146 @@
+package capston2024.bustracker.service.token;
+
+import capston2024.bustracker.config.RealtimeMetrics;
+import capston2024.bustracker.domain.auth.TokenInfo;
+import capston2024.bustracker.support.EmbeddedMongo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * MongoTokenStore 테스트 (임베디드 Mongo)
+ * - 액세스 토큰은 해시(accessTokenHash)로 조회하고, 교체/재저장 후에는 이전 토큰으로 조회되지 않음 (노드 로컬 캐시 포함)
+ * - 액세스 토큰 교체는 저장된 토큰이 이전 토큰일 때만 반영 (동시 재발급은 한 번만 반영)
+ * - 액세스 토큰이 없는 기존 문서도 예외 없이 조회/교체, 해시가 없는 기존 문서는 초기화 때 해시 채움
+ * - ./gradlew integrationTest 로 실행 (일반 test 태스크에서는 제외)
+ */
+@Tag("integration")
+class MongoTokenStoreTest {
+
+    private static final String COLLECTION = "tokens";
+
+    private static EmbeddedMongo mongo;
+    private static MongoTemplate mongoTemplate;
+    private MongoTokenStore store;
+
+    @BeforeAll
+    static void startMongo() {
+        mongo = EmbeddedMongo.start();
+        mongoTemplate = mongo.template("token-store-test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongo != null) {
+            mongo.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(COLLECTION);
+        store = new MongoTokenStore(mongoTemplate, new RealtimeMetrics(new SimpleMeterRegistry()), 60_000, 100);
+        store.initialize();
+    }
+
+    @Test
+    void accessTokenIsFoundByHashAndReplacedTokenIsNot() {
+        store.upsert("user-1", "refresh-1", "access-1", expiration());
+
+        TokenInfo found = store.findByAccessToken("access-1");
+        assertNotNull(found);
+        assertEquals("user-1", found.getUsername());
+        assertEquals(MongoTokenStore.hash("access-1"), stored("user-1").getString("accessTokenHash"));
+        assertNull(store.findByAccessToken("access-unknown"));
+
+        // 캐시된 이전 토큰도 재저장 후에는 조회되지 않음
+        store.upsert("user-1", "refresh-2", "access-2", expiration());
+        assertNull(store.findByAccessToken("access-1"));
+        assertEquals("refresh-2", store.findByAccessToken("access-2").getRefreshToken());
+    }
+
+    @Test
+    void rotationAppliesOnlyWhileStoredTokenIsPrevious() {
+        store.upsert("user-1", "refresh-1", "access-1", expiration());
+        assertNotNull(store.findByAccessToken("access-1"));
+
+        assertEquals("access-2", store.rotateAccessToken("user-1", "access-1", "access-2", expiration()).getAccessToken());
+        // 같은 이전 토큰으로 다시 교체하면 먼저 교체된 토큰을 그대로 반환
+        assertEquals("access-2", store.rotateAccessToken("user-1", "access-1", "access-3", expiration()).getAccessToken());
+
+        assertNull(store.findByAccessToken("access-1"));
+        assertNull(store.findByAccessToken("access-3"));
+        assertEquals("user-1", store.findByAccessToken("access-2").getUsername());
+        assertEquals(MongoTokenStore.hash("access-2"), stored("user-1").getString("accessTokenHash"));
+        assertNull(store.rotateAccessToken("user-unknown", "access-1", "access-4", expiration()));
+    }
+
+    @Test
+    void concurrentRotationsFromSameTokenStoreOneToken() throws Exception {
+        store.upsert("user-1", "refresh-1", "access-1", expiration());
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+            for (int i = 0; i < requests; i++) {
+                String newAccessToken = "access-new-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.rotateAccessToken("user-1", "access-1", newAccessToken, expiration()).getAccessToken();
+                }));
+            }
+            start.countDown();
+        }
+
+        String winner = stored("user-1").getString("accessToken");
+        for (Future<String> result : results) {
+            assertEquals(winner, result.get());
+        }
+    }
+
+    @Test
+    void documentsWithoutAccessTokenAreHandledWithoutHashing() {
+        mongoTemplate.insert(new Document("username", "user-1").append("refreshToken", "refresh-1"), COLLECTION);
+        mongoTemplate.insert(new Document("username", "user-2").append("accessToken", null), COLLECTION);
+        mongoTemplate.insert(new Document("username", "user-3").append("accessToken", "legacy-access"), COLLECTION);
+
+        // 해시가 없는 기존 문서는 초기화 때 해시를 채우고, 액세스 토큰이 없는 문서는 건너뜀
+        store.initialize();
+        assertEquals("user-3", store.findByAccessToken("legacy-access").getUsername());
+        assertNull(stored("user-2").get("accessTokenHash"));
+
+        assertNull(store.findByAccessToken(null));
+        assertEquals("access-1", store.rotateAccessToken("user-1", null, "access-1", expiration()).getAccessToken());
+        assertEquals("user-1", store.findByAccessToken("access-1").getUsername());
+        // 이미 액세스 토큰이 있으면 이전 토큰 없이 교체되지 않음
+        assertEquals("legacy-access",
+                store.rotateAccessToken("user-3", null, "access-3", expiration()).getAccessToken());
+    }
+
+    private static Document stored(String username) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("username").is(username)), Document.class, COLLECTION);
+    }
+
+    private static Date expiration() {
+        return new Date(System.currentTimeMillis() + 60 * 60 * 1000);
+    }
+}
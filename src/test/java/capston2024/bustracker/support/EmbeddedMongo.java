@@ -0,0 +1,39 @@
+package capston2024.bustracker.support;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * 테스트용 임베디드 Mongo (테스트 클래스마다 @BeforeAll 에서 시작, @AfterAll 에서 종료)
+ */
+public final class EmbeddedMongo implements AutoCloseable {
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final MongoClient mongoClient;
+
+    private EmbeddedMongo(TransitionWalker.ReachedState<RunningMongodProcess> mongod) {
+        this.mongod = mongod;
+        ServerAddress address = mongod.current().getServerAddress();
+        this.mongoClient = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+    }
+
+    public static EmbeddedMongo start() {
+        return new EmbeddedMongo(Mongod.instance().start(Version.Main.V6_0));
+    }
+
+    public MongoTemplate template(String database) {
+        return new MongoTemplate(mongoClient, database);
+    }
+
+    @Override
+    public void close() {
+        mongoClient.close();
+        mongod.close();
+    }
+}